@@ -3,11 +3,25 @@ package com.juridix;
 import com.juridix.controller.LoginController;
 import com.juridix.db.Database;
 import com.juridix.db.DatabaseInitializer;
+import com.juridix.service.ConciliadorDocumentos;
+import com.juridix.service.SnapshotService;
 import javafx.application.Application;
 import javafx.stage.Stage;
 
+import java.time.Duration;
+
 public class MainApp extends Application {
 
+    private static final Duration INTERVALO_SNAPSHOTS = Duration.ofHours(1);
+    private static final Duration INTERVALO_CONCILIACION = Duration.ofMinutes(15);
+    // Reparar en la conciliación programada mueve huérfanos a cuarentena; solo si se pide con
+    // -Djuridix.conciliacion.reparar=true (tras restaurar un snapshot los documentos más nuevos
+    // parecen huérfanos y volver al estado anterior los necesitaría en su lugar)
+    private static final String PROPIEDAD_REPARAR = "juridix.conciliacion.reparar";
+
+    private final SnapshotService snapshotService = new SnapshotService();
+    private final ConciliadorDocumentos conciliadorDocumentos = new ConciliadorDocumentos();
+
     @Override
     public void start(Stage primaryStage) {
         try {
@@ -20,6 +34,13 @@ public class MainApp extends Application {
                 System.exit(1);
             }
 
+            // Snapshots incrementales en segundo plano
+            snapshotService.iniciarProgramacion(INTERVALO_SNAPSHOTS,
+                    SnapshotService.PoliticaRetencion.predeterminada());
+
+            // Archivos de documentos huérfanos y filas sin archivo, por tramos (por defecto solo informa)
+            conciliadorDocumentos.iniciarProgramacion(INTERVALO_CONCILIACION, Boolean.getBoolean(PROPIEDAD_REPARAR));
+
             System.out.println("✅ Aplicación iniciada correctamente");
 
             // Mostrar login
@@ -36,6 +57,9 @@ public class MainApp extends Application {
     @Override
     public void stop() {
         System.out.println("👋 Cerrando aplicación...");
+        snapshotService.detenerProgramacion();
+        conciliadorDocumentos.detenerProgramacion();
+        Database.cerrar();
     }
 
     public static void main(String[] args) {
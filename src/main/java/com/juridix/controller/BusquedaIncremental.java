@@ -0,0 +1,226 @@
+package com.juridix.controller;
+
+import javafx.animation.PauseTransition;
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Búsqueda mientras se escribe: espera a que el usuario deje de tipear (debounce),
+ * cancela la consulta anterior si el texto cambió y, cuando el texto nuevo solo
+ * agrega caracteres al anterior, filtra en memoria el resultado previo en lugar
+ * de volver a consultar la base. Registra la latencia de cada consulta real.
+ * Se usa solo desde el hilo de JavaFX.
+ * @param <T> Tipo de elemento buscado
+ * @param <F> Filtro adicional (estado, solo activos...); si cambia no se reutiliza el resultado previo
+ */
+public class BusquedaIncremental<T, F> {
+
+    @FunctionalInterface
+    public interface Consulta<T, F> {
+        List<T> buscar(String texto, F filtro) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Coincidencia<T> {
+        boolean coincide(T elemento, String texto);
+    }
+
+    private static final int MUESTRAS_LATENCIA = 256;
+
+    private final String clave;
+    private final EjecutorFondo ejecutor;
+    private final Consulta<T, F> consulta;
+    private final Coincidencia<T> coincidencia;
+    private final Consumer<List<T>> alResultado;
+    private final Consumer<Throwable> alFallar;
+    private final PauseTransition pausa;
+
+    private String textoPendiente;
+    private F filtroPendiente;
+
+    // Último resultado completo obtenido de la base (base para refinar en memoria)
+    private String ultimoTexto;
+    private F ultimoFiltro;
+    private List<T> ultimoResultado;
+
+    // Latencias en ms de las consultas a la base (buffer circular, se escribe desde hilos de fondo)
+    private final double[] latencias = new double[MUESTRAS_LATENCIA];
+    private long consultas;
+    private long refinadas;
+
+    /**
+     * @param clave Clave en el EjecutorFondo (una consulta nueva cancela la anterior con esa clave)
+     * @param demoraMs Tiempo sin teclear antes de buscar
+     * @param consulta Búsqueda en la base
+     * @param coincidencia Mismo criterio que la consulta, aplicado en memoria para refinar
+     */
+    public BusquedaIncremental(String clave, EjecutorFondo ejecutor, long demoraMs,
+                               Consulta<T, F> consulta, Coincidencia<T> coincidencia,
+                               Consumer<List<T>> alResultado, Consumer<Throwable> alFallar) {
+        this.clave = clave;
+        this.ejecutor = ejecutor;
+        this.consulta = consulta;
+        this.coincidencia = coincidencia;
+        this.alResultado = alResultado;
+        this.alFallar = alFallar;
+        this.pausa = new PauseTransition(Duration.millis(demoraMs));
+        this.pausa.setOnFinished(e -> ejecutar(textoPendiente, filtroPendiente));
+    }
+
+    /**
+     * Programa una búsqueda; cada llamada reinicia la espera
+     */
+    public void solicitar(String texto, F filtro) {
+        textoPendiente = texto == null ? "" : texto.trim();
+        filtroPendiente = filtro;
+        pausa.playFromStart();
+    }
+
+    /**
+     * Descarta la búsqueda pendiente, la consulta en curso y el resultado previo
+     * (llamar cuando cambian los datos o se vuelve al listado completo)
+     */
+    public void invalidar() {
+        pausa.stop();
+        ejecutor.cancelar(clave);
+        ultimoTexto = null;
+        ultimoFiltro = null;
+        ultimoResultado = null;
+    }
+
+    private void ejecutar(String texto, F filtro) {
+        if (puedeRefinar(texto, filtro)) {
+            // El texto nuevo contiene al anterior: el resultado es un subconjunto del que ya tenemos
+            ejecutor.cancelar(clave);
+            List<T> refinado = new ArrayList<>();
+            for (T elemento : ultimoResultado) {
+                if (coincidencia.coincide(elemento, texto)) {
+                    refinado.add(elemento);
+                }
+            }
+            synchronized (latencias) {
+                refinadas++;
+            }
+            recordar(texto, filtro, refinado);
+            alResultado.accept(refinado);
+            return;
+        }
+
+        ejecutor.ejecutar(clave,
+                () -> {
+                    long inicio = System.nanoTime();
+                    List<T> resultado = consulta.buscar(texto, filtro);
+                    registrarLatencia((System.nanoTime() - inicio) / 1_000_000.0);
+                    return resultado;
+                },
+                resultado -> {
+                    recordar(texto, filtro, resultado);
+                    alResultado.accept(resultado);
+                },
+                alFallar);
+    }
+
+    private boolean puedeRefinar(String texto, F filtro) {
+        // En la consulta '%' y '_' son comodines de LIKE; el filtro en memoria los tomaría literales
+        return ultimoResultado != null
+                && ultimoTexto != null && !ultimoTexto.isEmpty()
+                && Objects.equals(ultimoFiltro, filtro)
+                && !tieneComodines(texto) && !tieneComodines(ultimoTexto)
+                && contieneComoLike(texto, ultimoTexto);
+    }
+
+    private static boolean tieneComodines(String texto) {
+        return texto.indexOf('%') >= 0 || texto.indexOf('_') >= 0;
+    }
+
+    private void recordar(String texto, F filtro, List<T> resultado) {
+        ultimoTexto = texto;
+        ultimoFiltro = filtro;
+        ultimoResultado = resultado;
+    }
+
+    private void registrarLatencia(double ms) {
+        synchronized (latencias) {
+            latencias[(int) (consultas % MUESTRAS_LATENCIA)] = ms;
+            consultas++;
+        }
+    }
+
+    // ==================== UTILIDADES ====================
+
+    /**
+     * Equivalente en Java de "valor LIKE '%texto%'" de SQLite:
+     * sin distinguir mayúsculas solo en letras ASCII, como hace LIKE.
+     * No interpreta los comodines '%' y '_': con ellos no se refina en memoria
+     */
+    public static boolean contieneComoLike(String valor, String texto) {
+        if (valor == null) {
+            return false;
+        }
+        return minusculasAscii(valor).contains(minusculasAscii(texto));
+    }
+
+    private static String minusculasAscii(String s) {
+        char[] c = s.toCharArray();
+        for (int i = 0; i < c.length; i++) {
+            if (c[i] >= 'A' && c[i] <= 'Z') {
+                c[i] = (char) (c[i] + ('a' - 'A'));
+            }
+        }
+        return new String(c);
+    }
+
+    // ==================== ESTADÍSTICAS ====================
+
+    public EstadisticasBusqueda obtenerEstadisticas() {
+        synchronized (latencias) {
+            int n = (int) Math.min(consultas, MUESTRAS_LATENCIA);
+            double[] muestra = Arrays.copyOf(latencias, n);
+            Arrays.sort(muestra);
+            return new EstadisticasBusqueda(consultas, refinadas,
+                    percentil(muestra, 0.50), percentil(muestra, 0.95),
+                    n == 0 ? 0 : muestra[n - 1]);
+        }
+    }
+
+    private static double percentil(double[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, Math.min(indice, ordenadas.length - 1))];
+    }
+
+    public static class EstadisticasBusqueda {
+        private final long consultas;
+        private final long refinadas;
+        private final double p50Ms;
+        private final double p95Ms;
+        private final double maximaMs;
+
+        public EstadisticasBusqueda(long consultas, long refinadas, double p50Ms, double p95Ms, double maximaMs) {
+            this.consultas = consultas;
+            this.refinadas = refinadas;
+            this.p50Ms = p50Ms;
+            this.p95Ms = p95Ms;
+            this.maximaMs = maximaMs;
+        }
+
+        public long getConsultas() { return consultas; }
+        public long getRefinadas() { return refinadas; }
+        public double getP50Ms() { return p50Ms; }
+        public double getP95Ms() { return p95Ms; }
+        public double getMaximaMs() { return maximaMs; }
+
+        @Override
+        public String toString() {
+            return String.format("Consultas: %d | Refinadas en memoria: %d | p50: %.1f ms | p95: %.1f ms | Máx: %.1f ms",
+                    consultas, refinadas, p50Ms, p95Ms, maximaMs);
+        }
+    }
+}
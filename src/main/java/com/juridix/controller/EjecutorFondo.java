@@ -0,0 +1,120 @@
+package com.juridix.controller;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.concurrent.Task;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Ejecuta consultas a la base de datos fuera del hilo de JavaFX.
+ * Cada consulta corre en un hilo virtual envuelta en un Task; el resultado se
+ * publica en el hilo de la UI. Las consultas se identifican con una clave:
+ * una nueva consulta con la misma clave cancela la anterior y el resultado
+ * de la anterior se descarta aunque ya haya terminado.
+ */
+public class EjecutorFondo {
+
+    @FunctionalInterface
+    public interface Consulta<T> {
+        T ejecutar() throws Exception;
+    }
+
+    private final ExecutorService ejecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("juridix-fondo-", 0).factory());
+
+    // Última tarea lanzada por cada clave
+    private final Map<String, Task<?>> vigentes = new ConcurrentHashMap<>();
+
+    private final ReadOnlyBooleanWrapper ocupado = new ReadOnlyBooleanWrapper(false);
+
+    /**
+     * Lanza una consulta en segundo plano. Debe llamarse desde el hilo de JavaFX.
+     * @param clave Identifica la consulta; reemplaza y cancela la anterior con la misma clave
+     * @param consulta Trabajo a ejecutar (acceso a datos, sin tocar la UI)
+     * @param alTerminar Recibe el resultado en el hilo de JavaFX
+     * @param alFallar Recibe el error en el hilo de JavaFX
+     * @return La tarea lanzada
+     */
+    public <T> Task<T> ejecutar(String clave, Consulta<T> consulta,
+                                Consumer<T> alTerminar, Consumer<Throwable> alFallar) {
+        Task<T> tarea = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return consulta.ejecutar();
+            }
+        };
+
+        tarea.setOnSucceeded(e -> {
+            if (finalizar(clave, tarea)) {
+                alTerminar.accept(tarea.getValue());
+            }
+        });
+        tarea.setOnFailed(e -> {
+            if (finalizar(clave, tarea)) {
+                alFallar.accept(tarea.getException());
+            }
+        });
+        tarea.setOnCancelled(e -> finalizar(clave, tarea));
+
+        Task<?> anterior = vigentes.put(clave, tarea);
+        if (anterior != null) {
+            anterior.cancel(true);
+        }
+        actualizarOcupado();
+
+        ejecutor.execute(tarea);
+        return tarea;
+    }
+
+    /**
+     * Cancela la consulta en curso con esa clave, si hay una
+     */
+    public void cancelar(String clave) {
+        Task<?> tarea = vigentes.remove(clave);
+        if (tarea != null) {
+            tarea.cancel(true);
+        }
+        actualizarOcupado();
+    }
+
+    /**
+     * true mientras haya al menos una consulta en curso (para indicadores de carga)
+     */
+    public ReadOnlyBooleanProperty ocupadoProperty() {
+        return ocupado.getReadOnlyProperty();
+    }
+
+    public boolean isOcupado() {
+        return ocupado.get();
+    }
+
+    /**
+     * Cancela todo lo pendiente y no acepta nuevas consultas
+     */
+    public void cerrar() {
+        vigentes.values().forEach(t -> t.cancel(true));
+        vigentes.clear();
+        ejecutor.shutdownNow();
+    }
+
+    // Quita la tarea de las vigentes; devuelve false si fue reemplazada por una más nueva
+    private boolean finalizar(String clave, Task<?> tarea) {
+        boolean vigente = vigentes.remove(clave, tarea);
+        actualizarOcupado();
+        return vigente;
+    }
+
+    private void actualizarOcupado() {
+        if (Platform.isFxApplicationThread()) {
+            ocupado.set(!vigentes.isEmpty());
+        } else {
+            Platform.runLater(() -> ocupado.set(!vigentes.isEmpty()));
+        }
+    }
+}
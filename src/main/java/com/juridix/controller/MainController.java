@@ -26,8 +26,8 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -38,6 +38,14 @@ public class MainController {
     private Scene scene;
 
     private Usuario usuarioActual;
+
+    // Consultas fuera del hilo de JavaFX
+    private final EjecutorFondo ejecutorFondo = new EjecutorFondo();
+
+    // Búsqueda mientras se escribe (debounce + refinado en memoria)
+    private static final long DEMORA_BUSQUEDA_MS = 250;
+    private final BusquedaIncremental<Expediente, EstadoExpediente> busquedaExpedientes = crearBusquedaExpedientes();
+    private final BusquedaIncremental<Cliente, Boolean> busquedaClientes = crearBusquedaClientes();
     // Servicios
     private ExpedienteService expedienteService;
     private MovimientoService movimientoService;
@@ -47,6 +55,13 @@ public class MainController {
     private HonorarioService honorarioService;
     private GastoService gastoService;
     private PagoService pagoService;
+    private EconomiaService economiaService;
+    private BusquedaGlobalService busquedaGlobalService;
+    private CuentaCorrienteService cuentaCorrienteService;
+    private BackupService backupService;
+    private SnapshotService snapshotService;
+    private ImportacionService importacionService;
+    private ExportacionService exportacionService;
 
     // Componentes del formulario de expedientes
     private TextField txtNumero;
@@ -66,6 +81,14 @@ public class MainController {
     // Componentes de la tabla de expedientes
     private TableView<Expediente> tablaExpedientes;
     private ObservableList<Expediente> listaExpedientes;
+    private Label lblConteoExpedientes;
+
+    // Paginación por keyset de la tabla de expedientes (se cargan páginas al hacer scroll)
+    private static final int TAMANIO_PAGINA_EXPEDIENTES = 200;
+    private EstadoExpediente filtroPaginaExpedientes;
+    private Expediente ultimoExpedienteCargado;
+    private boolean hayMasExpedientes;
+    private boolean cargandoPaginaExpedientes;
 
     // Componentes de búsqueda
     private TextField txtBuscar;
@@ -84,6 +107,9 @@ public class MainController {
     // Servicios (agregar junto a los otros servicios)
     private ClienteService clienteService;
     private DocumentoClienteService documentoClienteService;
+    private VistaPreviaService vistaPreviaService;
+    // Miniaturas de 48 px ya decodificadas; se van cuando la caché del servicio suelta su vista (solo hilo FX)
+    private final Map<VistaPreviaService.VistaPrevia, javafx.scene.image.Image> miniaturas = new java.util.WeakHashMap<>();
 
     // Tabla de clientes
     private TableView<Cliente> tablaClientes;
@@ -105,10 +131,18 @@ public class MainController {
 
         this.clienteService = new ClienteService();
         this.documentoClienteService = new DocumentoClienteService();
+        this.vistaPreviaService = new VistaPreviaService();
 
         this.honorarioService = new HonorarioService();
         this.gastoService = new GastoService();
         this.pagoService = new PagoService();
+        this.economiaService = new EconomiaService();
+        this.busquedaGlobalService = new BusquedaGlobalService();
+        this.cuentaCorrienteService = new CuentaCorrienteService();
+        this.backupService = new BackupService();
+        this.snapshotService = new SnapshotService();
+        this.importacionService = new ImportacionService();
+        this.exportacionService = new ExportacionService();
 
         this.listaExpedientes = FXCollections.observableArrayList();
         this.listaClientes = FXCollections.observableArrayList();
@@ -186,16 +220,18 @@ public class MainController {
         //barra.getChildren().addAll(lblTitulo, txtBusquedaGlobal, btnBuscar, spacer, lblUsuario, btnCerrarSesion);
 
         // Actualizar badge
-        try {
-            Integer usuarioId = SesionUsuario.getUsuarioActual().getId();
-            List<EventoAgenda> eventosHoy = agendaService.listarHoy(usuarioId);
-            if (!eventosHoy.isEmpty()) {
-                lblBadgeNotif.setText("🔔 " + eventosHoy.size());
-                lblBadgeNotif.setVisible(true);
-            }
-        } catch (SQLException e) {
-            // Ignorar
-        }
+        Integer usuarioId = SesionUsuario.getUsuarioActual().getId();
+        ejecutorFondo.ejecutar("notificaciones-badge",
+                () -> agendaService.listarHoy(usuarioId).size(),
+                eventosHoy -> {
+                    if (eventosHoy > 0) {
+                        lblBadgeNotif.setText("🔔 " + eventosHoy);
+                        lblBadgeNotif.setVisible(true);
+                    }
+                },
+                error -> {
+                    // Ignorar: el badge es solo informativo
+                });
 
         barra.getChildren().addAll(lblTitulo, lblBadgeNotif, txtBusquedaGlobal, btnBuscar, spacer, lblUsuario, btnCerrarSesion);
         return barra;
@@ -350,6 +386,15 @@ public class MainController {
     // ==================== BÚSQUEDA GLOBAL ====================
 
     private void mostrarResultadosBusquedaGlobal(String busqueda) {
+        Integer usuarioId = SesionUsuario.getUsuarioActual().getId();
+        ejecutorFondo.ejecutar("busqueda-global",
+                () -> busquedaGlobalService.buscar(busqueda, usuarioId),
+                resultados -> mostrarResultadosBusquedaGlobal(busqueda, resultados),
+                error -> mostrarError("Error en la búsqueda: " + error.getMessage()));
+    }
+
+    private void mostrarResultadosBusquedaGlobal(String busqueda,
+                                                 Map<ResultadoBusqueda.Tipo, List<ResultadoBusqueda>> resultados) {
         Stage ventana = new Stage();
         ventana.initModality(Modality.APPLICATION_MODAL);
         ventana.setTitle("Resultados de búsqueda: " + busqueda);
@@ -363,44 +408,25 @@ public class MainController {
         TabPane tabPane = new TabPane();
 
         // ========== TAB 1: Clientes ==========
-        Tab tabClientes = new Tab("👥 Clientes");
+        List<ResultadoBusqueda> clientes = resultados.get(ResultadoBusqueda.Tipo.CLIENTE);
+        Tab tabClientes = new Tab("👥 Clientes (" + clientes.size() + ")");
         tabClientes.setClosable(false);
 
-        ListView<String> listClientes = new ListView<>();
-        ObservableList<String> resultadosClientes = FXCollections.observableArrayList();
-        listClientes.setItems(resultadosClientes);
-
-        try {
-            List<Cliente> clientes = clienteService.buscarPorCriterios(busqueda, true);
-            if (clientes.isEmpty()) {
-                resultadosClientes.add("No se encontraron clientes");
-            } else {
-                for (Cliente c : clientes) {
-                    resultadosClientes.add(c.getNombreCompleto() +
-                            (c.getDni() != null ? " - DNI: " + c.getDni() : "") +
-                            (c.getTelefono() != null ? " - Tel: " + c.getTelefono() : ""));
-                }
-            }
-        } catch (SQLException e) {
-            resultadosClientes.add("❌ Error al buscar clientes");
-        }
+        ListView<ResultadoBusqueda> listClientes = crearListaResultados(clientes);
+        listClientes.setPlaceholder(new Label("No se encontraron clientes"));
 
         // Doble clic para ver cliente
         listClientes.setOnMouseClicked(event -> {
-            if (event.getClickCount() == 2) {
-                String seleccionado = listClientes.getSelectionModel().getSelectedItem();
-                if (seleccionado != null && !seleccionado.startsWith("No se") && !seleccionado.startsWith("❌")) {
-                    try {
-                        // Extraer nombre del cliente
-                        String nombreCliente = seleccionado.split(" - ")[0];
-                        List<Cliente> clientes = clienteService.buscarPorNombre(nombreCliente);
-                        if (!clientes.isEmpty()) {
-                            ventana.close();
-                            abrirVistaDetalladaCliente(clientes.get(0));
-                        }
-                    } catch (SQLException e) {
-                        mostrarError("Error: " + e.getMessage());
+            ResultadoBusqueda seleccionado = listClientes.getSelectionModel().getSelectedItem();
+            if (event.getClickCount() == 2 && seleccionado != null) {
+                try {
+                    Optional<Cliente> cliente = clienteService.buscarPorId(seleccionado.getEntidadId());
+                    if (cliente.isPresent()) {
+                        ventana.close();
+                        abrirVistaDetalladaCliente(cliente.get());
                     }
+                } catch (SQLException e) {
+                    mostrarError("Error: " + e.getMessage());
                 }
             }
         });
@@ -408,43 +434,26 @@ public class MainController {
         tabClientes.setContent(listClientes);
 
         // ========== TAB 2: Expedientes ==========
-        Tab tabExpedientes = new Tab("📁 Expedientes");
+        List<ResultadoBusqueda> expedientes = resultados.get(ResultadoBusqueda.Tipo.EXPEDIENTE);
+        Tab tabExpedientes = new Tab("📁 Expedientes (" + expedientes.size() + ")");
         tabExpedientes.setClosable(false);
 
-        ListView<String> listExpedientes = new ListView<>();
-        ObservableList<String> resultadosExpedientes = FXCollections.observableArrayList();
-        listExpedientes.setItems(resultadosExpedientes);
-
-        try {
-            List<Expediente> expedientes = expedienteService.buscarPorCriterios(busqueda, busqueda, null, null);
-            if (expedientes.isEmpty()) {
-                resultadosExpedientes.add("No se encontraron expedientes");
-            } else {
-                for (Expediente exp : expedientes) {
-                    resultadosExpedientes.add(exp.getNumero() + " - " + exp.getCaratula() +
-                            " (" + exp.getEstado() + ")");
-                }
-            }
-        } catch (SQLException e) {
-            resultadosExpedientes.add("❌ Error al buscar expedientes");
-        }
+        ListView<ResultadoBusqueda> listExpedientes = crearListaResultados(expedientes);
+        listExpedientes.setPlaceholder(new Label("No se encontraron expedientes"));
 
         // Doble clic para cargar expediente
         listExpedientes.setOnMouseClicked(event -> {
-            if (event.getClickCount() == 2) {
-                String seleccionado = listExpedientes.getSelectionModel().getSelectedItem();
-                if (seleccionado != null && !seleccionado.startsWith("No se") && !seleccionado.startsWith("❌")) {
-                    try {
-                        String numero = seleccionado.split(" - ")[0];
-                        List<Expediente> expedientes = expedienteService.buscarPorCriterios(numero, null, null, null);
-                        if (!expedientes.isEmpty()) {
-                            ventana.close();
-                            cargarExpedienteEnFormulario(expedientes.get(0));
-                            mostrarInfo("Expediente cargado en el formulario");
-                        }
-                    } catch (SQLException e) {
-                        mostrarError("Error: " + e.getMessage());
+            ResultadoBusqueda seleccionado = listExpedientes.getSelectionModel().getSelectedItem();
+            if (event.getClickCount() == 2 && seleccionado != null) {
+                try {
+                    Optional<Expediente> expediente = expedienteService.buscarPorId(seleccionado.getEntidadId());
+                    if (expediente.isPresent()) {
+                        ventana.close();
+                        cargarExpedienteEnFormulario(expediente.get());
+                        mostrarInfo("Expediente cargado en el formulario");
                     }
+                } catch (SQLException e) {
+                    mostrarError("Error: " + e.getMessage());
                 }
             }
         });
@@ -452,34 +461,12 @@ public class MainController {
         tabExpedientes.setContent(listExpedientes);
 
         // ========== TAB 3: Agenda ==========
-        Tab tabAgenda = new Tab("📅 Eventos");
+        List<ResultadoBusqueda> eventos = resultados.get(ResultadoBusqueda.Tipo.EVENTO);
+        Tab tabAgenda = new Tab("📅 Eventos (" + eventos.size() + ")");
         tabAgenda.setClosable(false);
 
-        ListView<String> listEventos = new ListView<>();
-        ObservableList<String> resultadosEventos = FXCollections.observableArrayList();
-        listEventos.setItems(resultadosEventos);
-
-        try {
-            Integer usuarioId = SesionUsuario.getUsuarioActual().getId();
-            List<EventoAgenda> eventos = agendaService.listarPorUsuario(usuarioId);
-
-            List<EventoAgenda> eventosCoincidentes = eventos.stream()
-                    .filter(e -> e.getTitulo().toLowerCase().contains(busqueda.toLowerCase()) ||
-                            (e.getDescripcion() != null && e.getDescripcion().toLowerCase().contains(busqueda.toLowerCase())))
-                    .toList();
-
-            if (eventosCoincidentes.isEmpty()) {
-                resultadosEventos.add("No se encontraron eventos");
-            } else {
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
-                for (EventoAgenda evento : eventosCoincidentes) {
-                    resultadosEventos.add(evento.getFechaHora().format(formatter) + " - " +
-                            evento.getTitulo() + " (" + evento.getTipo() + ")");
-                }
-            }
-        } catch (SQLException e) {
-            resultadosEventos.add("❌ Error al buscar eventos");
-        }
+        ListView<ResultadoBusqueda> listEventos = crearListaResultados(eventos);
+        listEventos.setPlaceholder(new Label("No se encontraron eventos"));
 
         tabAgenda.setContent(listEventos);
 
@@ -496,6 +483,29 @@ public class MainController {
         ventana.show();
     }
 
+    private ListView<ResultadoBusqueda> crearListaResultados(List<ResultadoBusqueda> resultados) {
+        ListView<ResultadoBusqueda> lista = new ListView<>(FXCollections.observableArrayList(resultados));
+        lista.setCellFactory(lv -> new ListCell<ResultadoBusqueda>() {
+            @Override
+            protected void updateItem(ResultadoBusqueda item, boolean empty) {
+                super.updateItem(item, empty);
+                if (empty || item == null) {
+                    setText(null);
+                } else {
+                    String texto = item.getTitulo();
+                    if (item.getDetalle() != null) {
+                        texto += " - " + item.getDetalle();
+                    }
+                    if (item.getFragmento() != null && !item.getFragmento().isBlank()) {
+                        texto += "\n    " + item.getFragmento();
+                    }
+                    setText(texto);
+                }
+            }
+        });
+        return lista;
+    }
+
     private VBox crearTarjetaEstadistica(String titulo, String valorInicial, String color) {
         VBox contenedor = new VBox(5);
         contenedor.setAlignment(Pos.CENTER);
@@ -562,142 +572,146 @@ public class MainController {
     }
 
     private void cargarDashboard() {
-        try {
-            Integer usuarioId = SesionUsuario.getUsuarioActual().getId();
-
-            // Estadísticas de expedientes
-            ExpedienteService.EstadisticasExpedientes statsExp = expedienteService.obtenerEstadisticas();
-            lblTotalExpedientes.setText(String.valueOf(statsExp.getTotal()));
-            lblExpedientesActivos.setText(String.valueOf(statsExp.getActivos()));
-
-            // Estadísticas de agenda
-            List<EventoAgenda> eventosHoy = agendaService.listarHoy(usuarioId);
-            List<EventoAgenda> eventosSemana = agendaService.listarEstaSemana(usuarioId);
-
-            lblEventosHoy.setText(String.valueOf(eventosHoy.size()));
-            lblEventosSemana.setText(String.valueOf(eventosSemana.size()));
-
-            // Cargar próximos eventos
-            List<EventoAgenda> proximos = agendaService.listarProximos(usuarioId, 7);
-            ObservableList<String> eventosTexto = FXCollections.observableArrayList();
-
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
-            for (EventoAgenda evento : proximos) {
-                String texto = String.format("%s - %s (%s)",
-                        evento.getFechaHora().format(formatter),
-                        evento.getTitulo(),
-                        evento.getTipo().getDisplayName()
-                );
-                eventosTexto.add(texto);
-            }
-
-            if (eventosTexto.isEmpty()) {
-                eventosTexto.add("No hay eventos próximos");
-            }
+        Integer usuarioId = SesionUsuario.getUsuarioActual().getId();
+
+        ejecutorFondo.ejecutar("dashboard",
+                () -> new DatosDashboard(
+                        expedienteService.obtenerEstadisticas(),
+                        agendaService.listarHoy(usuarioId).size(),
+                        agendaService.listarEstaSemana(usuarioId).size(),
+                        agendaService.listarProximos(usuarioId, 7)),
+                datos -> {
+                    // Estadísticas de expedientes
+                    lblTotalExpedientes.setText(String.valueOf(datos.estadisticas.getTotal()));
+                    lblExpedientesActivos.setText(String.valueOf(datos.estadisticas.getActivos()));
+
+                    // Estadísticas de agenda
+                    lblEventosHoy.setText(String.valueOf(datos.eventosHoy));
+                    lblEventosSemana.setText(String.valueOf(datos.eventosSemana));
+
+                    // Cargar próximos eventos
+                    ObservableList<String> eventosTexto = FXCollections.observableArrayList();
+
+                    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+                    for (EventoAgenda evento : datos.proximos) {
+                        String texto = String.format("%s - %s (%s)",
+                                evento.getFechaHora().format(formatter),
+                                evento.getTitulo(),
+                                evento.getTipo().getDisplayName()
+                        );
+                        eventosTexto.add(texto);
+                    }
 
-            listProximosEventos.setItems(eventosTexto);
+                    if (eventosTexto.isEmpty()) {
+                        eventosTexto.add("No hay eventos próximos");
+                    }
 
-        } catch (SQLException e) {
-            mostrarError("Error al cargar dashboard: " + e.getMessage());
-            e.printStackTrace();
-        }
+                    listProximosEventos.setItems(eventosTexto);
+                },
+                error -> {
+                    mostrarError("Error al cargar dashboard: " + error.getMessage());
+                    error.printStackTrace();
+                });
     }
 
     private void actualizarNotificaciones() {
-        ObservableList<String> notificaciones = FXCollections.observableArrayList();
+        Integer usuarioId = SesionUsuario.getUsuarioActual().getId();
+
+        ejecutorFondo.ejecutar("notificaciones",
+                () -> construirNotificaciones(usuarioId),
+                notificaciones -> listNotificaciones.setItems(FXCollections.observableArrayList(notificaciones)),
+                error -> {
+                    listNotificaciones.setItems(FXCollections.observableArrayList(
+                            "❌ Error al cargar notificaciones",
+                            "Detalles: " + error.getMessage()));
+                    error.printStackTrace();
+                });
+    }
 
-        try {
-            Integer usuarioId = SesionUsuario.getUsuarioActual().getId();
-            LocalDate hoy = LocalDate.now();
-            LocalDate manana = hoy.plusDays(1);
-
-            // ========== EVENTOS DE HOY ==========
-            List<EventoAgenda> eventosHoy = agendaService.listarPorFecha(hoy).stream()
-                    .filter(e -> e.getUsuarioId().equals(usuarioId) && e.isPendiente())
-                    .toList();
-
-            if (!eventosHoy.isEmpty()) {
-                notificaciones.add("⚠️ HOY - " + eventosHoy.size() + " evento(s) pendiente(s)");
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm");
-                for (EventoAgenda evento : eventosHoy) {
-                    String icono = switch (evento.getTipo()) {
-                        case AUDIENCIA -> "⚖️";
-                        case VENCIMIENTO -> "⏰";
-                        case REUNION -> "👥";
-                        case PRESENTACION -> "📝";
-                        default -> "📌";
-                    };
-                    notificaciones.add("   " + icono + " " + evento.getFechaHora().format(formatter) + " - " + evento.getTitulo());
-                }
-                notificaciones.add(""); // Separador
-            }
+    private List<String> construirNotificaciones(Integer usuarioId) throws SQLException {
+        List<String> notificaciones = new ArrayList<>();
 
-            // ========== EVENTOS DE MAÑANA ==========
-            List<EventoAgenda> eventosManana = agendaService.listarPorFecha(manana).stream()
-                    .filter(e -> e.getUsuarioId().equals(usuarioId) && e.isPendiente())
-                    .toList();
-
-            if (!eventosManana.isEmpty()) {
-                notificaciones.add("📅 MAÑANA - " + eventosManana.size() + " evento(s)");
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm");
-                for (EventoAgenda evento : eventosManana) {
-                    String icono = switch (evento.getTipo()) {
-                        case AUDIENCIA -> "⚖️";
-                        case VENCIMIENTO -> "⏰";
-                        case REUNION -> "👥";
-                        case PRESENTACION -> "📝";
-                        default -> "📌";
-                    };
-                    notificaciones.add("   " + icono + " " + evento.getFechaHora().format(formatter) + " - " + evento.getTitulo());
-                }
-                notificaciones.add(""); // Separador
-            }
+        LocalDate hoy = LocalDate.now();
+        LocalDate manana = hoy.plusDays(1);
 
-            // ========== PRÓXIMOS 7 DÍAS (sin contar hoy y mañana) ==========
-            List<EventoAgenda> proximaSemana = agendaService.listarProximos(usuarioId, 7).stream()
-                    .filter(e -> e.isPendiente() &&
-                            !e.getFechaHora().toLocalDate().equals(hoy) &&
-                            !e.getFechaHora().toLocalDate().equals(manana))
-                    .toList();
-
-            if (!proximaSemana.isEmpty()) {
-                notificaciones.add("📆 PRÓXIMOS 7 DÍAS - " + proximaSemana.size() + " evento(s)");
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM HH:mm");
-                for (EventoAgenda evento : proximaSemana) {
-                    notificaciones.add("   📌 " + evento.getFechaHora().format(formatter) + " - " + evento.getTitulo());
-                }
+        // ========== EVENTOS DE HOY ==========
+        List<EventoAgenda> eventosHoy = agendaService.listarPendientesDelDia(usuarioId, hoy);
+
+        if (!eventosHoy.isEmpty()) {
+            notificaciones.add("⚠️ HOY - " + eventosHoy.size() + " evento(s) pendiente(s)");
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm");
+            for (EventoAgenda evento : eventosHoy) {
+                String icono = switch (evento.getTipo()) {
+                    case AUDIENCIA -> "⚖️";
+                    case VENCIMIENTO -> "⏰";
+                    case REUNION -> "👥";
+                    case PRESENTACION -> "📝";
+                    default -> "📌";
+                };
+                notificaciones.add("   " + icono + " " + evento.getFechaHora().format(formatter) + " - " + evento.getTitulo());
             }
+            notificaciones.add(""); // Separador
+        }
 
-            // ========== VENCIMIENTOS PRÓXIMOS ==========
-            List<EventoAgenda> vencimientos = agendaService.listarProximos(usuarioId, 7).stream()
-                    .filter(e -> e.getTipo() == TipoEvento.VENCIMIENTO && e.isPendiente())
-                    .toList();
-
-            if (!vencimientos.isEmpty()) {
-                notificaciones.add(""); // Separador
-                notificaciones.add("⏰ VENCIMIENTOS PRÓXIMOS");
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-                for (EventoAgenda v : vencimientos) {
-                    long diasRestantes = java.time.temporal.ChronoUnit.DAYS.between(LocalDate.now(), v.getFechaHora().toLocalDate());
-                    String urgencia = diasRestantes <= 1 ? "🔴" : diasRestantes <= 3 ? "🟡" : "🟢";
-                    notificaciones.add("   " + urgencia + " " + v.getFechaHora().toLocalDate().format(formatter) + " - " + v.getTitulo());
-                }
+        // ========== EVENTOS DE MAÑANA ==========
+        List<EventoAgenda> eventosManana = agendaService.listarPendientesDelDia(usuarioId, manana);
+
+        if (!eventosManana.isEmpty()) {
+            notificaciones.add("📅 MAÑANA - " + eventosManana.size() + " evento(s)");
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm");
+            for (EventoAgenda evento : eventosManana) {
+                String icono = switch (evento.getTipo()) {
+                    case AUDIENCIA -> "⚖️";
+                    case VENCIMIENTO -> "⏰";
+                    case REUNION -> "👥";
+                    case PRESENTACION -> "📝";
+                    default -> "📌";
+                };
+                notificaciones.add("   " + icono + " " + evento.getFechaHora().format(formatter) + " - " + evento.getTitulo());
+            }
+            notificaciones.add(""); // Separador
+        }
+
+        // ========== PRÓXIMOS 7 DÍAS (sin contar hoy y mañana) ==========
+        List<EventoAgenda> proximos = agendaService.listarProximos(usuarioId, 7);
+        List<EventoAgenda> proximaSemana = proximos.stream()
+                .filter(e -> e.isPendiente() &&
+                        !e.getFechaHora().toLocalDate().equals(hoy) &&
+                        !e.getFechaHora().toLocalDate().equals(manana))
+                .toList();
+
+        if (!proximaSemana.isEmpty()) {
+            notificaciones.add("📆 PRÓXIMOS 7 DÍAS - " + proximaSemana.size() + " evento(s)");
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM HH:mm");
+            for (EventoAgenda evento : proximaSemana) {
+                notificaciones.add("   📌 " + evento.getFechaHora().format(formatter) + " - " + evento.getTitulo());
             }
+        }
 
-            // ========== SI NO HAY NADA ==========
-            if (notificaciones.isEmpty()) {
-                notificaciones.add("✅ No hay notificaciones pendientes");
-                notificaciones.add("");
-                notificaciones.add("¡Todo al día! 🎉");
+        // ========== VENCIMIENTOS PRÓXIMOS ==========
+        List<EventoAgenda> vencimientos = proximos.stream()
+                .filter(e -> e.getTipo() == TipoEvento.VENCIMIENTO && e.isPendiente())
+                .toList();
+
+        if (!vencimientos.isEmpty()) {
+            notificaciones.add(""); // Separador
+            notificaciones.add("⏰ VENCIMIENTOS PRÓXIMOS");
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+            for (EventoAgenda v : vencimientos) {
+                long diasRestantes = java.time.temporal.ChronoUnit.DAYS.between(LocalDate.now(), v.getFechaHora().toLocalDate());
+                String urgencia = diasRestantes <= 1 ? "🔴" : diasRestantes <= 3 ? "🟡" : "🟢";
+                notificaciones.add("   " + urgencia + " " + v.getFechaHora().toLocalDate().format(formatter) + " - " + v.getTitulo());
             }
+        }
 
-        } catch (SQLException e) {
-            notificaciones.add("❌ Error al cargar notificaciones");
-            notificaciones.add("Detalles: " + e.getMessage());
-            e.printStackTrace();
+        // ========== SI NO HAY NADA ==========
+        if (notificaciones.isEmpty()) {
+            notificaciones.add("✅ No hay notificaciones pendientes");
+            notificaciones.add("");
+            notificaciones.add("¡Todo al día! 🎉");
         }
 
-        listNotificaciones.setItems(notificaciones);
+        return notificaciones;
     }
 
     // ==================== EXPEDIENTES ====================
@@ -811,12 +825,10 @@ public class MainController {
 
     // Método auxiliar para cargar clientes en el combo
     private void cargarComboClientes(ComboBox<Cliente> combo) {
-        try {
-            List<Cliente> clientes = clienteService.listarActivos();
-            combo.setItems(FXCollections.observableArrayList(clientes));
-        } catch (SQLException e) {
-            System.err.println("Error al cargar clientes: " + e.getMessage());
-        }
+        ejecutorFondo.ejecutar("clientes-combo",
+                () -> clienteService.listarActivos(),
+                clientes -> combo.setItems(FXCollections.observableArrayList(clientes)),
+                error -> System.err.println("Error al cargar clientes: " + error.getMessage()));
     }
     private HBox crearBotonesFormularioExpediente(ComboBox<Cliente> cmbClientes) {
         HBox botones = new HBox(10);
@@ -974,7 +986,23 @@ public class MainController {
                 }
         );
 
-        panel.getChildren().addAll(panelBusqueda, tablaExpedientes);
+        // Al acercarse al final del scroll se pide la página siguiente
+        tablaExpedientes.skinProperty().addListener((obs, oldSkin, newSkin) -> {
+            for (javafx.scene.Node nodo : tablaExpedientes.lookupAll(".scroll-bar")) {
+                if (nodo instanceof ScrollBar barra && barra.getOrientation() == javafx.geometry.Orientation.VERTICAL) {
+                    barra.valueProperty().addListener((o, anterior, valor) -> {
+                        if (valor.doubleValue() >= barra.getMax() * 0.9) {
+                            cargarSiguientePaginaExpedientes();
+                        }
+                    });
+                }
+            }
+        });
+
+        lblConteoExpedientes = new Label();
+        lblConteoExpedientes.setStyle("-fx-text-fill: #7f8c8d;");
+
+        panel.getChildren().addAll(panelBusqueda, tablaExpedientes, lblConteoExpedientes);
         VBox.setVgrow(tablaExpedientes, Priority.ALWAYS);
 
         return panel;
@@ -1088,12 +1116,11 @@ public class MainController {
         root.setBottom(botones);
 
         // Cargar movimientos
-        try {
-            List<Movimiento> movimientos = movimientoService.listarPorExpediente(expedienteSeleccionado.getId());
-            listaMovimientos.addAll(movimientos);
-        } catch (SQLException e) {
-            mostrarError("Error al cargar movimientos: " + e.getMessage());
-        }
+        Integer expedienteId = expedienteSeleccionado.getId();
+        ejecutorFondo.ejecutar("movimientos",
+                () -> movimientoService.listarPorExpediente(expedienteId),
+                listaMovimientos::setAll,
+                error -> mostrarError("Error al cargar movimientos: " + error.getMessage()));
 
         Scene scene = new Scene(root, 800, 500);
         ventanaMovimientos.setScene(scene);
@@ -1324,13 +1351,11 @@ public class MainController {
         tabla.getColumns().addAll(colFechaHora, colTitulo, colTipo, colUbicacion, colEstado, colAcciones);
 
         // Cargar eventos
-        try {
-            Integer usuarioId = SesionUsuario.getUsuarioActual().getId();
-            List<EventoAgenda> eventos = agendaService.listarEstaSemana(usuarioId);
-            listaEventos.addAll(eventos);
-        } catch (SQLException e) {
-            mostrarError("Error al cargar eventos: " + e.getMessage());
-        }
+        Integer usuarioId = SesionUsuario.getUsuarioActual().getId();
+        ejecutorFondo.ejecutar("agenda",
+                () -> agendaService.listarEstaSemana(usuarioId),
+                listaEventos::setAll,
+                error -> mostrarError("Error al cargar eventos: " + error.getMessage()));
 
         return tabla;
     }
@@ -1350,14 +1375,11 @@ public class MainController {
                 TableView<EventoAgenda> tabla = (TableView<EventoAgenda>) contenido.lookup("TableView");
                 if (tabla != null) {
                     ObservableList<EventoAgenda> lista = (ObservableList<EventoAgenda>) tabla.getUserData();
-                    try {
-                        Integer usuarioId = SesionUsuario.getUsuarioActual().getId();
-                        List<EventoAgenda> eventos = agendaService.listarEstaSemana(usuarioId);
-                        lista.clear();
-                        lista.addAll(eventos);
-                    } catch (SQLException e) {
-                        mostrarError("Error al cargar eventos: " + e.getMessage());
-                    }
+                    Integer usuarioId = SesionUsuario.getUsuarioActual().getId();
+                    ejecutorFondo.ejecutar("agenda",
+                            () -> agendaService.listarEstaSemana(usuarioId),
+                            eventos -> lista.setAll(eventos),
+                            error -> mostrarError("Error al cargar eventos: " + error.getMessage()));
                 }
             }
         }
@@ -1380,20 +1402,17 @@ public class MainController {
                 TableView<EventoAgenda> tabla = (TableView<EventoAgenda>) contenido.lookup("TableView");
                 if (tabla != null) {
                     ObservableList<EventoAgenda> lista = (ObservableList<EventoAgenda>) tabla.getUserData();
-                    try {
-                        Integer usuarioId = SesionUsuario.getUsuarioActual().getId();
-                        List<EventoAgenda> eventos = switch (filtro) {
-                            case "Hoy" -> agendaService.listarHoy(usuarioId);
-                            case "Esta Semana" -> agendaService.listarEstaSemana(usuarioId);
-                            case "Este Mes" -> agendaService.listarEsteMes(usuarioId);
-                            case "Pendientes" -> agendaService.listarPendientes(usuarioId);
-                            default -> agendaService.listarPorUsuario(usuarioId);
-                        };
-                        lista.clear();
-                        lista.addAll(eventos);
-                    } catch (SQLException e) {
-                        mostrarError("Error al filtrar eventos: " + e.getMessage());
-                    }
+                    Integer usuarioId = SesionUsuario.getUsuarioActual().getId();
+                    ejecutorFondo.ejecutar("agenda",
+                            () -> switch (filtro) {
+                                case "Hoy" -> agendaService.listarHoy(usuarioId);
+                                case "Esta Semana" -> agendaService.listarEstaSemana(usuarioId);
+                                case "Este Mes" -> agendaService.listarEsteMes(usuarioId);
+                                case "Pendientes" -> agendaService.listarPendientes(usuarioId);
+                                default -> agendaService.listarPorUsuario(usuarioId);
+                            },
+                            eventos -> lista.setAll(eventos),
+                            error -> mostrarError("Error al filtrar eventos: " + error.getMessage()));
                 }
             }
         }
@@ -1434,18 +1453,16 @@ public class MainController {
         // Selector de expediente (opcional)
         ComboBox<String> cmbExpediente = new ComboBox<>();
         cmbExpediente.setPromptText("Sin expediente asociado");
-        try {
-            List<Expediente> expedientes = expedienteService.listarActivos();
-            ObservableList<String> items = FXCollections.observableArrayList();
-            items.add("Sin expediente");
-            for (Expediente exp : expedientes) {
-                items.add(exp.getId() + " - " + exp.getNumero() + " - " + exp.getCaratula());
-            }
-            cmbExpediente.setItems(items);
-            cmbExpediente.setValue("Sin expediente");
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        cmbExpediente.setItems(FXCollections.observableArrayList("Sin expediente"));
+        cmbExpediente.setValue("Sin expediente");
+        ejecutorFondo.ejecutar("expedientes-evento",
+                () -> expedienteService.listarActivos(),
+                expedientes -> {
+                    for (Expediente exp : expedientes) {
+                        cmbExpediente.getItems().add(exp.getId() + " - " + exp.getNumero() + " - " + exp.getCaratula());
+                    }
+                },
+                Throwable::printStackTrace);
 
         if (evento != null) {
             txtTitulo.setText(evento.getTitulo());
@@ -1623,40 +1640,94 @@ public class MainController {
     }
 
     private void cargarExpedientes() {
-        try {
-            List<Expediente> expedientes = expedienteService.listarTodos();
-            listaExpedientes.clear();
-            listaExpedientes.addAll(expedientes);
-        } catch (SQLException e) {
-            mostrarError("Error al cargar expedientes: " + e.getMessage());
-            e.printStackTrace();
+        cargarExpedientesPaginados(null);
+    }
+
+    /**
+     * Reinicia la tabla con la primera página; el total sale de un COUNT aparte
+     */
+    private void cargarExpedientesPaginados(EstadoExpediente estado) {
+        busquedaExpedientes.invalidar();
+        filtroPaginaExpedientes = estado;
+        ultimoExpedienteCargado = null;
+        hayMasExpedientes = false;
+        cargandoPaginaExpedientes = true;
+
+        ejecutorFondo.ejecutar("expedientes",
+                () -> expedienteService.listarPagina(estado, null, TAMANIO_PAGINA_EXPEDIENTES),
+                pagina -> {
+                    listaExpedientes.setAll(pagina.getExpedientes());
+                    registrarPaginaExpedientes(pagina);
+                },
+                error -> {
+                    cargandoPaginaExpedientes = false;
+                    mostrarError("Error al cargar expedientes: " + error.getMessage());
+                    error.printStackTrace();
+                });
+
+        ejecutorFondo.ejecutar("expedientes-conteo",
+                () -> expedienteService.contar(estado),
+                total -> lblConteoExpedientes.setText(total + " expediente(s)"),
+                error -> lblConteoExpedientes.setText(""));
+    }
+
+    private void cargarSiguientePaginaExpedientes() {
+        if (!hayMasExpedientes || cargandoPaginaExpedientes) {
+            return;
         }
+        cargandoPaginaExpedientes = true;
+
+        EstadoExpediente estado = filtroPaginaExpedientes;
+        Expediente despuesDe = ultimoExpedienteCargado;
+
+        ejecutorFondo.ejecutar("expedientes",
+                () -> expedienteService.listarPagina(estado, despuesDe, TAMANIO_PAGINA_EXPEDIENTES),
+                pagina -> {
+                    listaExpedientes.addAll(pagina.getExpedientes());
+                    registrarPaginaExpedientes(pagina);
+                },
+                error -> {
+                    cargandoPaginaExpedientes = false;
+                    mostrarError("Error al cargar expedientes: " + error.getMessage());
+                });
     }
 
-    private void buscarExpedientes() {
-        try {
-            String textoBusqueda = txtBuscar.getText().trim();
-            EstadoExpediente estadoFiltro = cmbFiltroEstado.getValue();
+    private void registrarPaginaExpedientes(ExpedienteService.PaginaExpedientes pagina) {
+        if (pagina.getUltimo() != null) {
+            ultimoExpedienteCargado = pagina.getUltimo();
+        }
+        hayMasExpedientes = pagina.isHayMas();
+        cargandoPaginaExpedientes = false;
+    }
 
-            List<Expediente> resultados;
+    private void buscarExpedientes() {
+        String textoBusqueda = txtBuscar.getText().trim();
+        EstadoExpediente estadoFiltro = cmbFiltroEstado.getValue();
 
-            if (textoBusqueda.isEmpty() && estadoFiltro == null) {
-                resultados = expedienteService.listarTodos();
-            } else {
-                resultados = expedienteService.buscarPorCriterios(
-                        textoBusqueda.isEmpty() ? null : textoBusqueda,
-                        textoBusqueda.isEmpty() ? null : textoBusqueda,
-                        estadoFiltro,
-                        null
-                );
-            }
+        // Sin texto no hay nada que buscar: listado paginado (filtrado por estado si corresponde)
+        if (textoBusqueda.isEmpty()) {
+            cargarExpedientesPaginados(estadoFiltro);
+            return;
+        }
 
-            listaExpedientes.clear();
-            listaExpedientes.addAll(resultados);
+        hayMasExpedientes = false;
+        ejecutorFondo.cancelar("expedientes-conteo");
+        busquedaExpedientes.solicitar(textoBusqueda, estadoFiltro);
+    }
 
-        } catch (SQLException e) {
-            mostrarError("Error al buscar: " + e.getMessage());
-        }
+    private BusquedaIncremental<Expediente, EstadoExpediente> crearBusquedaExpedientes() {
+        // Misma clave que el listado paginado: una búsqueda nueva descarta la carga anterior
+        return new BusquedaIncremental<>("expedientes", ejecutorFondo, DEMORA_BUSQUEDA_MS,
+                (texto, estado) -> expedienteService.buscarPorCriterios(texto, texto, estado, null),
+                // Mismo criterio que buscarPorCriterios: número Y cliente contienen el texto
+                (exp, texto) -> BusquedaIncremental.contieneComoLike(exp.getNumero(), texto)
+                        && BusquedaIncremental.contieneComoLike(exp.getCliente(), texto),
+                resultados -> {
+                    listaExpedientes.setAll(resultados);
+                    lblConteoExpedientes.setText(resultados.size() + " resultado(s)");
+                    txtBuscar.setTooltip(new Tooltip(busquedaExpedientes.obtenerEstadisticas().toString()));
+                },
+                error -> mostrarError("Error al buscar: " + error.getMessage()));
     }
 
     private void cargarExpedienteEnFormulario(Expediente exp) {
@@ -1732,7 +1803,20 @@ public class MainController {
         barra.setStyle("-fx-background-color: #ecf0f1;");
 
         Label lblEstado = new Label("✅ Sistema listo");
-        barra.getChildren().add(lblEstado);
+
+        // Indicador de carga mientras haya consultas en segundo plano
+        ProgressIndicator indicadorCarga = new ProgressIndicator();
+        indicadorCarga.setPrefSize(16, 16);
+        Label lblCargando = new Label("Cargando...");
+        HBox cargando = new HBox(5, indicadorCarga, lblCargando);
+        cargando.setAlignment(Pos.CENTER_LEFT);
+        cargando.visibleProperty().bind(ejecutorFondo.ocupadoProperty());
+        cargando.managedProperty().bind(cargando.visibleProperty());
+
+        Region espacio = new Region();
+        HBox.setHgrow(espacio, Priority.ALWAYS);
+
+        barra.getChildren().addAll(lblEstado, espacio, cargando);
 
         return barra;
     }
@@ -1820,6 +1904,8 @@ public class MainController {
 
         Optional<ButtonType> resultado = confirmacion.showAndWait();
         if (resultado.isPresent() && resultado.get() == ButtonType.OK) {
+            cerrar();
+            stage.setOnHidden(null);
             SesionUsuario.cerrarSesion();
             LoginController loginController = new LoginController(stage);
             loginController.mostrar();
@@ -1861,40 +1947,60 @@ public class MainController {
         stage.setScene(scene);
         stage.setTitle("Juridix - Sistema de Gestión Jurídica");
         stage.setMaximized(true);
+        // Al cerrar la ventana principal (antes de MainApp.stop) se cortan las consultas en curso
+        stage.setOnHidden(e -> cerrar());
         stage.show();
     }
+
+    /**
+     * Cancela las consultas en segundo plano y libera sus hilos; se llama al cerrar la ventana
+     * o la sesión
+     */
+    public void cerrar() {
+        ejecutorFondo.cerrar();
+    }
     // ==================== OPERACIONES DE CLIENTES ====================
 
     private void cargarClientes() {
-        try {
-            List<Cliente> clientes = clienteService.listarActivos();
-            listaClientes.clear();
-            listaClientes.addAll(clientes);
-        } catch (SQLException e) {
-            mostrarError("Error al cargar clientes: " + e.getMessage());
-            e.printStackTrace();
-        }
+        busquedaClientes.invalidar();
+        ejecutorFondo.ejecutar("clientes",
+                () -> clienteService.listarActivos(),
+                clientes -> listaClientes.setAll(clientes),
+                error -> {
+                    mostrarError("Error al cargar clientes: " + error.getMessage());
+                    error.printStackTrace();
+                });
     }
 
     private void buscarClientes() {
-        try {
-            String textoBusqueda = txtBuscarCliente.getText().trim();
-            boolean soloActivos = true; // Puedes vincular esto con un CheckBox si quieres
-
-            List<Cliente> resultados;
-
-            if (textoBusqueda.isEmpty()) {
-                resultados = soloActivos ? clienteService.listarActivos() : clienteService.listarTodos();
-            } else {
-                resultados = clienteService.buscarPorCriterios(textoBusqueda, soloActivos);
-            }
+        String textoBusqueda = txtBuscarCliente.getText().trim();
+        boolean soloActivos = true; // Puedes vincular esto con un CheckBox si quieres
+
+        if (textoBusqueda.isEmpty()) {
+            busquedaClientes.invalidar();
+            ejecutorFondo.ejecutar("clientes",
+                    () -> soloActivos ? clienteService.listarActivos() : clienteService.listarTodos(),
+                    resultados -> listaClientes.setAll(resultados),
+                    error -> mostrarError("Error al buscar clientes: " + error.getMessage()));
+            return;
+        }
 
-            listaClientes.clear();
-            listaClientes.addAll(resultados);
+        busquedaClientes.solicitar(textoBusqueda, soloActivos);
+    }
 
-        } catch (SQLException e) {
-            mostrarError("Error al buscar clientes: " + e.getMessage());
-        }
+    private BusquedaIncremental<Cliente, Boolean> crearBusquedaClientes() {
+        return new BusquedaIncremental<>("clientes", ejecutorFondo, DEMORA_BUSQUEDA_MS,
+                (texto, soloActivos) -> clienteService.buscarPorCriterios(texto, soloActivos),
+                // Mismo criterio que ClienteDAO.buscarPorCriterios
+                (c, texto) -> BusquedaIncremental.contieneComoLike(c.getNombreCompleto(), texto)
+                        || BusquedaIncremental.contieneComoLike(c.getDni(), texto)
+                        || BusquedaIncremental.contieneComoLike(c.getEmail(), texto)
+                        || BusquedaIncremental.contieneComoLike(c.getTelefono(), texto),
+                resultados -> {
+                    listaClientes.setAll(resultados);
+                    txtBuscarCliente.setTooltip(new Tooltip(busquedaClientes.obtenerEstadisticas().toString()));
+                },
+                error -> mostrarError("Error al buscar clientes: " + error.getMessage()));
     }
 
     private void abrirFormularioCliente(Cliente cliente) {
@@ -2272,12 +2378,10 @@ public class MainController {
         });
 
         // Cargar expedientes del cliente
-        try {
-            List<Expediente> expedientes = new ExpedienteDAO().listarPorClienteId(cliente.getId());
-            listaExp.addAll(expedientes);
-        } catch (SQLException e) {
-            mostrarError("Error al cargar expedientes: " + e.getMessage());
-        }
+        ejecutorFondo.ejecutar("expedientes-cliente",
+                () -> new ExpedienteDAO().listarPorClienteId(cliente.getId()),
+                listaExp::setAll,
+                error -> mostrarError("Error al cargar expedientes: " + error.getMessage()));
 
         panel.getChildren().addAll(header, tablaExp);
         VBox.setVgrow(tablaExp, Priority.ALWAYS);
@@ -2327,6 +2431,40 @@ public class MainController {
         colFecha.setCellValueFactory(new PropertyValueFactory<>("fechaSubida"));
         colFecha.setPrefWidth(150);
 
+        // Miniatura o fragmento; se generan en segundo plano la primera vez y después salen de la caché
+        TableColumn<DocumentoCliente, Void> colVista = new TableColumn<>("Vista");
+        colVista.setPrefWidth(70);
+        colVista.setSortable(false);
+        colVista.setCellFactory(param -> new TableCell<>() {
+            @Override
+            protected void updateItem(Void item, boolean empty) {
+                super.updateItem(item, empty);
+                setGraphic(null);
+                setText(null);
+                setTooltip(null);
+                if (empty || getTableRow() == null || getTableRow().getItem() == null) {
+                    return;
+                }
+
+                DocumentoCliente doc = getTableRow().getItem();
+                mostrarVistaPrevia(doc, vista -> {
+                    // La celda pudo reciclarse para otro documento mientras se generaba
+                    if (getTableRow() == null || getTableRow().getItem() != doc) {
+                        return;
+                    }
+                    switch (vista.getTipo()) {
+                        case IMAGEN -> setGraphic(new javafx.scene.image.ImageView(miniaturas.computeIfAbsent(vista,
+                                v -> new javafx.scene.image.Image(v.getImagen().toUri().toString(), 48, 48, true, true, true))));
+                        case TEXTO -> {
+                            setText("📄");
+                            setTooltip(new Tooltip(vista.getTexto()));
+                        }
+                        default -> setText("📎");
+                    }
+                });
+            }
+        });
+
         // Columna de acciones
         TableColumn<DocumentoCliente, Void> colAcciones = new TableColumn<>("Acciones");
         colAcciones.setPrefWidth(150);
@@ -2375,22 +2513,72 @@ public class MainController {
             }
         });
 
-        tablaDocs.getColumns().addAll(colNombre, colTipo, colTamanio, colFecha, colAcciones);
+        tablaDocs.getColumns().addAll(colVista, colNombre, colTipo, colTamanio, colFecha, colAcciones);
+
+        // Vista previa ampliada del documento seleccionado
+        javafx.scene.image.ImageView imagenVista = new javafx.scene.image.ImageView();
+        TextArea textoVista = new TextArea();
+        textoVista.setEditable(false);
+        textoVista.setWrapText(true);
+        Label lblSinVista = new Label("Seleccione un documento para ver su vista previa");
+        StackPane panelVista = new StackPane(lblSinVista);
+        panelVista.setPrefHeight(180);
+        panelVista.setMinHeight(180);
+        panelVista.setStyle("-fx-background-color: #ecf0f1; -fx-background-radius: 5;");
+
+        tablaDocs.getSelectionModel().selectedItemProperty().addListener((obs, anterior, doc) -> {
+            if (doc == null) {
+                lblSinVista.setText("Seleccione un documento para ver su vista previa");
+                panelVista.getChildren().setAll(lblSinVista);
+                return;
+            }
+            lblSinVista.setText("Generando vista previa...");
+            panelVista.getChildren().setAll(lblSinVista);
+
+            mostrarVistaPrevia(doc, vista -> {
+                if (tablaDocs.getSelectionModel().getSelectedItem() != doc) {
+                    return;
+                }
+                switch (vista.getTipo()) {
+                    case IMAGEN -> {
+                        imagenVista.setImage(new javafx.scene.image.Image(vista.getImagen().toUri().toString(), true));
+                        panelVista.getChildren().setAll(imagenVista);
+                    }
+                    case TEXTO -> {
+                        textoVista.setText(vista.getTexto());
+                        panelVista.getChildren().setAll(textoVista);
+                    }
+                    default -> {
+                        lblSinVista.setText("Sin vista previa para este tipo de archivo");
+                        panelVista.getChildren().setAll(lblSinVista);
+                    }
+                }
+            });
+        });
 
         // Cargar documentos del cliente
-        try {
-            List<DocumentoCliente> documentos = documentoClienteService.listarPorCliente(cliente.getId());
-            listaDocs.addAll(documentos);
-        } catch (SQLException e) {
-            mostrarError("Error al cargar documentos: " + e.getMessage());
-        }
+        ejecutorFondo.ejecutar("documentos-cliente",
+                () -> documentoClienteService.listarPorCliente(cliente.getId()),
+                listaDocs::setAll,
+                error -> mostrarError("Error al cargar documentos: " + error.getMessage()));
 
-        panel.getChildren().addAll(header, tablaDocs);
+        panel.getChildren().addAll(header, tablaDocs, panelVista);
         VBox.setVgrow(tablaDocs, Priority.ALWAYS);
 
         return panel;
     }
 
+    // Entrega la vista previa en el hilo de JavaFX: en el acto si estaba en caché, si no al generarse
+    private void mostrarVistaPrevia(DocumentoCliente doc,
+                                    java.util.function.Consumer<VistaPreviaService.VistaPrevia> mostrar) {
+        java.util.concurrent.CompletableFuture<VistaPreviaService.VistaPrevia> vista = vistaPreviaService.obtener(doc);
+        if (vista.isDone()) {
+            mostrar.accept(vista.join());
+        } else {
+            vista.thenAccept(v -> javafx.application.Platform.runLater(() -> mostrar.accept(v)));
+        }
+    }
+
     // ========== Diálogo para subir documento ==========
     private void abrirDialogoSubirDocumento(Cliente cliente) {
         Stage ventana = new Stage();
@@ -2444,6 +2632,12 @@ public class MainController {
         HBox botones = new HBox(10);
         botones.setAlignment(Pos.CENTER);
 
+        String claveSubida = "subir-documento-" + cliente.getId();
+        Label lblAvanceSubida = new Label();
+        ProgressBar barraSubida = new ProgressBar(0);
+        barraSubida.setMaxWidth(Double.MAX_VALUE);
+        barraSubida.setVisible(false);
+
         Button btnSubir = new Button("⬆️ Subir");
         btnSubir.setStyle("-fx-background-color: #27ae60; -fx-text-fill: white; -fx-font-weight: bold;");
         btnSubir.setOnAction(e -> {
@@ -2459,25 +2653,45 @@ public class MainController {
                 return;
             }
 
-            try {
-                documentoClienteService.subirDocumento(
-                        cliente.getId(),
-                        archivoSeleccionado[0],
-                        cmbTipo.getValue(),
-                        txtDescripcion.getText(),
-                        SesionUsuario.getUsuarioActual().getId()
-                );
-
-                mostrarInfo("Documento subido correctamente");
-                ventana.close();
-
-            } catch (Exception ex) {
-                mostrarError("Error al subir documento: " + ex.getMessage());
-            }
+            File archivo = archivoSeleccionado[0];
+            btnSubir.setDisable(true);
+            barraSubida.setVisible(true);
+            lblAvanceSubida.setText("Copiando...");
+
+            // La copia corre en segundo plano; cerrar la ventana la cancela
+            ejecutorFondo.ejecutar(claveSubida,
+                    () -> documentoClienteService.subirDocumento(
+                            cliente.getId(),
+                            archivo,
+                            cmbTipo.getValue(),
+                            txtDescripcion.getText(),
+                            SesionUsuario.getUsuarioActual().getId(),
+                            (bytes, total) -> javafx.application.Platform.runLater(() -> {
+                                lblAvanceSubida.setText((bytes / 1024) + " de " + (total / 1024) + " KB");
+                                barraSubida.setProgress(total == 0 ? 1 : (double) bytes / total);
+                            })),
+                    resultado -> {
+                        ventana.close();
+                        mostrarInfo(String.format("Documento subido correctamente (%d KB, %d KB en disco, %d ms, %.1f MB/s)%s",
+                                resultado.getTamanioBytes() / 1024, resultado.getTamanioAlmacenado() / 1024,
+                                resultado.getDuracionMs(),
+                                resultado.getMegabytesPorSegundo(),
+                                resultado.isDuplicado() ? "\nEl contenido ya estaba guardado; no se duplicó." : ""));
+                    },
+                    error -> {
+                        btnSubir.setDisable(false);
+                        barraSubida.setVisible(false);
+                        lblAvanceSubida.setText("");
+                        mostrarError("Error al subir documento: " + error.getMessage());
+                    });
         });
 
         Button btnCancelar = new Button("❌ Cancelar");
-        btnCancelar.setOnAction(e -> ventana.close());
+        btnCancelar.setOnAction(e -> {
+            ejecutorFondo.cancelar(claveSubida);
+            ventana.close();
+        });
+        ventana.setOnCloseRequest(e -> ejecutorFondo.cancelar(claveSubida));
 
         botones.getChildren().addAll(btnSubir, btnCancelar);
 
@@ -2492,101 +2706,95 @@ public class MainController {
                 cmbTipo,
                 new Label("Descripción:"),
                 txtDescripcion,
+                barraSubida,
+                lblAvanceSubida,
                 botones
         );
 
-        Scene scene = new Scene(form, 500, 400);
+        Scene scene = new Scene(form, 500, 460);
         ventana.setScene(scene);
         ventana.showAndWait();
     }
     // ==================== EXPORTACIÓN DE REPORTES ====================
 
-    private void exportarClientesExcel() {
-        try {
-            List<Cliente> clientes = clienteService.listarTodos();
-
-            javafx.stage.FileChooser fileChooser = new javafx.stage.FileChooser();
-            fileChooser.setTitle("Guardar Excel");
-            fileChooser.setInitialFileName("clientes_" + LocalDate.now() + ".csv");
-            fileChooser.getExtensionFilters().add(
-                    new javafx.stage.FileChooser.ExtensionFilter("CSV", "*.csv")
-            );
-
-            File file = fileChooser.showSaveDialog(stage);
-            if (file != null) {
-                StringBuilder csv = new StringBuilder();
-                csv.append("Nombre,DNI,CUIT,Teléfono,Email,Domicilio,Activo\n");
-
-                for (Cliente c : clientes) {
-                    csv.append(escapeCsv(c.getNombreCompleto())).append(",");
-                    csv.append(escapeCsv(c.getDni())).append(",");
-                    csv.append(escapeCsv(c.getCuitCuil())).append(",");
-                    csv.append(escapeCsv(c.getTelefono())).append(",");
-                    csv.append(escapeCsv(c.getEmail())).append(",");
-                    csv.append(escapeCsv(c.getDomicilioCompleto())).append(",");
-                    csv.append(c.isActivo() ? "Sí" : "No").append("\n");
-                }
-
-                java.nio.file.Files.writeString(file.toPath(), csv.toString());
-                mostrarInfo("Excel exportado correctamente");
-
-                // Abrir el archivo
-                if (java.awt.Desktop.isDesktopSupported()) {
-                    java.awt.Desktop.getDesktop().open(file);
-                }
-            }
+    @FunctionalInterface
+    private interface TareaExportacion {
+        ExportacionService.ResultadoExportacion exportar(java.nio.file.Path destino,
+                                                         ExportacionService.ObservadorProgreso observador) throws Exception;
+    }
 
-        } catch (Exception e) {
-            mostrarError("Error al exportar: " + e.getMessage());
-        }
+    private void exportarClientesExcel() {
+        exportarArchivo("clientes", "CSV", "csv", exportacionService::exportarClientesCsv);
     }
 
     private void exportarExpedientesExcel() {
-        try {
-            List<Expediente> expedientes = expedienteService.listarTodos();
+        exportarArchivo("expedientes", "CSV", "csv", exportacionService::exportarExpedientesCsv);
+    }
 
-            javafx.stage.FileChooser fileChooser = new javafx.stage.FileChooser();
-            fileChooser.setTitle("Guardar Excel");
-            fileChooser.setInitialFileName("expedientes_" + LocalDate.now() + ".csv");
-            fileChooser.getExtensionFilters().add(
-                    new javafx.stage.FileChooser.ExtensionFilter("CSV", "*.csv")
-            );
+    private void exportarLibroExcel() {
+        exportarArchivo("juridix", "Libro de Excel", "xlsx", exportacionService::exportarLibroExcel);
+    }
 
-            File file = fileChooser.showSaveDialog(stage);
-            if (file != null) {
-                StringBuilder csv = new StringBuilder();
-                csv.append("Número,Carátula,Cliente,Demandado,Fuero,Juzgado,Estado,Fecha Inicio\n");
-
-                for (Expediente exp : expedientes) {
-                    csv.append(escapeCsv(exp.getNumero())).append(",");
-                    csv.append(escapeCsv(exp.getCaratula())).append(",");
-                    csv.append(escapeCsv(exp.getCliente())).append(",");
-                    csv.append(escapeCsv(exp.getDemandado())).append(",");
-                    csv.append(escapeCsv(exp.getFuero())).append(",");
-                    csv.append(escapeCsv(exp.getJuzgado())).append(",");
-                    csv.append(exp.getEstado()).append(",");
-                    csv.append(exp.getFechaInicio()).append("\n");
-                }
+    // Exporta en segundo plano con ventana de progreso; "Cancelar" interrumpe la exportación
+    private void exportarArchivo(String nombre, String tipo, String extension, TareaExportacion tarea) {
+        javafx.stage.FileChooser fileChooser = new javafx.stage.FileChooser();
+        fileChooser.setTitle("Guardar Excel");
+        fileChooser.setInitialFileName(nombre + "_" + LocalDate.now() + "." + extension);
+        fileChooser.getExtensionFilters().add(
+                new javafx.stage.FileChooser.ExtensionFilter(tipo, "*." + extension)
+        );
+
+        File file = fileChooser.showSaveDialog(stage);
+        if (file == null) {
+            return;
+        }
 
-                java.nio.file.Files.writeString(file.toPath(), csv.toString());
-                mostrarInfo("Excel exportado correctamente");
+        String clave = "exportar-" + nombre;
 
-                if (java.awt.Desktop.isDesktopSupported()) {
-                    java.awt.Desktop.getDesktop().open(file);
-                }
-            }
+        Stage ventana = new Stage();
+        ventana.initOwner(stage);
+        ventana.setTitle("Exportando " + nombre);
+        ventana.setResizable(false);
+
+        Label lblAvance = new Label("Preparando...");
+        ProgressBar barra = new ProgressBar(0);
+        barra.setPrefWidth(320);
+        Button btnCancelar = new Button("Cancelar");
+        btnCancelar.setOnAction(e -> {
+            ejecutorFondo.cancelar(clave);
+            ventana.close();
+        });
 
-        } catch (Exception e) {
-            mostrarError("Error al exportar: " + e.getMessage());
-        }
-    }
+        VBox root = new VBox(10, lblAvance, barra, btnCancelar);
+        root.setPadding(new Insets(20));
+        root.setAlignment(Pos.CENTER);
+        ventana.setScene(new Scene(root));
+        ventana.setOnCloseRequest(e -> ejecutorFondo.cancelar(clave));
+        ventana.show();
 
-    private String escapeCsv(String value) {
-        if (value == null) return "";
-        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
-            return "\"" + value.replace("\"", "\"\"") + "\"";
-        }
-        return value;
+        ejecutorFondo.ejecutar(clave,
+                () -> tarea.exportar(file.toPath(),
+                        (filas, total) -> javafx.application.Platform.runLater(() -> {
+                            lblAvance.setText(filas + " de " + total + " filas");
+                            barra.setProgress(total == 0 ? 1 : (double) filas / total);
+                        })),
+                resultado -> {
+                    ventana.close();
+                    mostrarInfo("Excel exportado correctamente (" + resultado.getFilas() + " filas)");
+
+                    // Abrir el archivo
+                    try {
+                        if (java.awt.Desktop.isDesktopSupported()) {
+                            java.awt.Desktop.getDesktop().open(file);
+                        }
+                    } catch (Exception e) {
+                        mostrarError("No se pudo abrir el archivo: " + e.getMessage());
+                    }
+                },
+                error -> {
+                    ventana.close();
+                    mostrarError("Error al exportar: " + error.getMessage());
+                });
     }
 
     // ==================== PANEL DE HERRAMIENTAS ====================
@@ -2690,17 +2898,21 @@ public class MainController {
 
         Button btnExportarTodo = new Button("📊 Exportar Todo a Excel");
         btnExportarTodo.setStyle("-fx-background-color: #16a085; -fx-text-fill: white; -fx-font-size: 14px; -fx-padding: 15;");
-        btnExportarTodo.setOnAction(e -> {
-            exportarClientesExcel();
-            exportarExpedientesExcel();
-            mostrarInfo("Datos exportados correctamente");
-        });
+        btnExportarTodo.setOnAction(e -> exportarLibroExcel());
 
         Button btnBackup = new Button("💾 Crear Backup de BD");
         btnBackup.setStyle("-fx-background-color: #8e44ad; -fx-text-fill: white; -fx-font-size: 14px; -fx-padding: 15;");
-        btnBackup.setOnAction(e -> crearBackupBaseDatos());
+        btnBackup.setOnAction(e -> crearBackupBaseDatos(btnBackup));
+
+        Button btnRestaurar = new Button("🕓 Restaurar Snapshot");
+        btnRestaurar.setStyle("-fx-background-color: #2c3e50; -fx-text-fill: white; -fx-font-size: 14px; -fx-padding: 15;");
+        btnRestaurar.setOnAction(e -> restaurarSnapshot(btnRestaurar));
 
-        herramientasRapidas.getChildren().addAll(btnExportarTodo, btnBackup);
+        Button btnImportar = new Button("📥 Importar CSV");
+        btnImportar.setStyle("-fx-background-color: #d35400; -fx-text-fill: white; -fx-font-size: 14px; -fx-padding: 15;");
+        btnImportar.setOnAction(e -> importarCsv(btnImportar));
+
+        herramientasRapidas.getChildren().addAll(btnExportarTodo, btnImportar, btnBackup, btnRestaurar);
 
         panel.getChildren().addAll(titulo, calculadoraPlazos, new Separator(), herramientasRapidas);
         return panel;
@@ -2729,27 +2941,169 @@ public class MainController {
         return fecha;
     }
 
-    // Método para crear backup
-    private void crearBackupBaseDatos() {
-        try {
-            javafx.stage.FileChooser fileChooser = new javafx.stage.FileChooser();
-            fileChooser.setTitle("Guardar Backup");
-            fileChooser.setInitialFileName("juridix_backup_" + LocalDate.now() + ".db");
-            fileChooser.getExtensionFilters().add(
-                    new javafx.stage.FileChooser.ExtensionFilter("Base de Datos SQLite", "*.db")
-            );
+    // Método para crear backup (API de backup online de SQLite, en segundo plano)
+    private void crearBackupBaseDatos(Button btnBackup) {
+        javafx.stage.FileChooser fileChooser = new javafx.stage.FileChooser();
+        fileChooser.setTitle("Guardar Backup");
+        fileChooser.setInitialFileName("juridix_backup_" + LocalDate.now() + ".db");
+        fileChooser.getExtensionFilters().addAll(
+                new javafx.stage.FileChooser.ExtensionFilter("Base de Datos SQLite", "*.db"),
+                new javafx.stage.FileChooser.ExtensionFilter("Base de Datos comprimida (gzip)", "*.db.gz")
+        );
 
-            File destino = fileChooser.showSaveDialog(stage);
-            if (destino != null) {
-                File origen = new File("juridix.db");
-                java.nio.file.Files.copy(origen.toPath(), destino.toPath(),
-                        java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-                mostrarInfo("Backup creado correctamente en:\n" + destino.getAbsolutePath());
-            }
+        File destino = fileChooser.showSaveDialog(stage);
+        if (destino == null) {
+            return;
+        }
+
+        boolean comprimir = destino.getName().endsWith(".gz");
+
+        // Ventana de progreso (no modal: se puede seguir trabajando mientras se copia)
+        Stage ventana = new Stage();
+        ventana.initOwner(stage);
+        ventana.setTitle("Creando backup");
+        ventana.setResizable(false);
 
-        } catch (Exception e) {
-            mostrarError("Error al crear backup: " + e.getMessage());
+        Label lblEtapa = new Label("Preparando...");
+        ProgressBar barra = new ProgressBar(0);
+        barra.setPrefWidth(320);
+
+        VBox root = new VBox(10, lblEtapa, barra);
+        root.setPadding(new Insets(20));
+        ventana.setScene(new Scene(root));
+        ventana.setOnCloseRequest(e -> e.consume());
+        ventana.show();
+
+        btnBackup.setDisable(true);
+
+        ejecutorFondo.ejecutar("backup",
+                () -> backupService.crearBackup(destino.toPath(), comprimir,
+                        (etapa, fraccion) -> javafx.application.Platform.runLater(() -> {
+                            lblEtapa.setText(etapa.getDescripcion() + "... " + Math.round(fraccion * 100) + "%");
+                            barra.setProgress(fraccion);
+                        })),
+                resultado -> {
+                    btnBackup.setDisable(false);
+                    ventana.close();
+                    mostrarInfo("Backup creado y verificado en:\n" + resultado.getArchivo().toAbsolutePath() +
+                            String.format("\n\nTamaño: %.1f MB", resultado.getTamanioBytes() / (1024.0 * 1024.0)));
+                },
+                error -> {
+                    btnBackup.setDisable(false);
+                    ventana.close();
+                    mostrarError("Error al crear backup: " + error.getMessage());
+                });
+    }
+
+    // Vuelve la base al estado de un snapshot programado (se toma antes un snapshot del estado actual)
+    private void restaurarSnapshot(Button btnRestaurar) {
+        ejecutorFondo.ejecutar("snapshots",
+                () -> snapshotService.listarSnapshots(),
+                snapshots -> elegirSnapshot(btnRestaurar, snapshots),
+                error -> mostrarError("No se pudieron leer los snapshots: " + error.getMessage()));
+    }
+
+    private void elegirSnapshot(Button btnRestaurar, List<SnapshotService.Snapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            mostrarAdvertencia("Todavía no hay snapshots guardados");
+            return;
         }
+
+        ChoiceDialog<SnapshotService.Snapshot> dialogo = new ChoiceDialog<>(snapshots.get(0), snapshots);
+        dialogo.setTitle("Restaurar Snapshot");
+        dialogo.setHeaderText("Seleccione el momento al que desea volver");
+        dialogo.setContentText("Snapshot:");
+
+        Optional<SnapshotService.Snapshot> elegido = dialogo.showAndWait();
+        if (elegido.isEmpty()) {
+            return;
+        }
+
+        Alert confirmacion = new Alert(Alert.AlertType.CONFIRMATION);
+        confirmacion.setTitle("Confirmar restauración");
+        confirmacion.setHeaderText("¿Restaurar la base de datos al " + elegido.get() + "?");
+        confirmacion.setContentText("Los cambios posteriores se reemplazan. Antes se guarda un snapshot del estado actual.");
+
+        Optional<ButtonType> resultado = confirmacion.showAndWait();
+        if (resultado.isEmpty() || resultado.get() != ButtonType.OK) {
+            return;
+        }
+
+        btnRestaurar.setDisable(true);
+        ejecutorFondo.ejecutar("restaurar-snapshot",
+                () -> {
+                    snapshotService.restaurarBaseActiva(elegido.get().getId());
+                    return elegido.get();
+                },
+                restaurado -> {
+                    btnRestaurar.setDisable(false);
+                    cargarDashboard();
+                    cargarExpedientes();
+                    cargarClientes();
+                    mostrarInfo("Base de datos restaurada al " + restaurado);
+                },
+                error -> {
+                    btnRestaurar.setDisable(false);
+                    mostrarError("Error al restaurar snapshot: " + error.getMessage());
+                });
+    }
+
+    // Importación masiva de clientes o expedientes desde CSV (en segundo plano)
+    private void importarCsv(Button btnImportar) {
+        ChoiceDialog<String> dialogo = new ChoiceDialog<>("Clientes", "Clientes", "Expedientes");
+        dialogo.setTitle("Importar CSV");
+        dialogo.setHeaderText("¿Qué desea importar?");
+        dialogo.setContentText("Datos:");
+
+        Optional<String> tipo = dialogo.showAndWait();
+        if (tipo.isEmpty()) {
+            return;
+        }
+        boolean clientes = tipo.get().equals("Clientes");
+
+        javafx.stage.FileChooser fileChooser = new javafx.stage.FileChooser();
+        fileChooser.setTitle("Importar " + tipo.get());
+        fileChooser.getExtensionFilters().add(
+                new javafx.stage.FileChooser.ExtensionFilter("CSV", "*.csv")
+        );
+
+        File archivo = fileChooser.showOpenDialog(stage);
+        if (archivo == null) {
+            return;
+        }
+
+        Integer usuarioId = SesionUsuario.getUsuarioActual().getId();
+        btnImportar.setDisable(true);
+
+        ejecutorFondo.ejecutar("importar-csv",
+                () -> clientes
+                        ? importacionService.importarClientes(archivo.toPath(), usuarioId)
+                        : importacionService.importarExpedientes(archivo.toPath(), usuarioId),
+                reporte -> {
+                    btnImportar.setDisable(false);
+                    if (clientes) {
+                        cargarClientes();
+                    } else {
+                        cargarExpedientes();
+                    }
+                    cargarDashboard();
+
+                    StringBuilder mensaje = new StringBuilder(String.format(
+                            "Filas leídas: %d\nImportadas: %d\nRechazadas: %d (duplicadas: %d)\n\nTiempo: %.1f s (%.0f filas/s)",
+                            reporte.getLeidas(), reporte.getImportadas(), reporte.getRechazadas(),
+                            reporte.getDuplicadas(), reporte.getDuracionMs() / 1000.0, reporte.getFilasPorSegundo()));
+
+                    if (reporte.getArchivoRechazos() != null) {
+                        mensaje.append("\n\nDetalle de rechazos en:\n").append(reporte.getArchivoRechazos());
+                        reporte.getMotivos().stream().limit(5)
+                                .forEach(motivo -> mensaje.append("\n• ").append(motivo));
+                    }
+                    mostrarInfo(mensaje.toString());
+                },
+                error -> {
+                    btnImportar.setDisable(false);
+                    mostrarError("Error al importar: " + error.getMessage());
+                });
     }
 
     // ==================== PANEL DE ECONOMÍA ====================
@@ -2765,32 +3119,39 @@ public class MainController {
         HBox resumenFinanciero = new HBox(20);
         resumenFinanciero.setAlignment(Pos.CENTER);
 
-        try {
-            // Calcular totales globales
-            double totalHonorariosPendientes = calcularTotalHonorariosPendientes();
-            double totalGastos = calcularTotalGastos();
-            double totalPagos = calcularTotalPagos();
-            double saldoPendiente = totalHonorariosPendientes - totalPagos;
+        Label lblCargandoResumen = new Label("Cargando resumen financiero...");
+        resumenFinanciero.getChildren().add(lblCargandoResumen);
 
-            VBox tarjetaHonorarios = crearTarjetaFinanciera("Honorarios Pendientes",
-                    String.format("$%.2f", totalHonorariosPendientes), "#3498db");
+        // Calcular totales globales (una sola consulta agregada) en segundo plano
+        ejecutorFondo.ejecutar("economia-resumen",
+                () -> economiaService.obtenerResumenFinanciero(),
+                resumen -> {
+                    TotalesFinancieros totalesActivos = resumen.getPorEstado(EstadoExpediente.ACTIVO);
 
-            VBox tarjetaGastos = crearTarjetaFinanciera("Total Gastos",
-                    String.format("$%.2f", totalGastos), "#e74c3c");
+                    double totalHonorariosPendientes = resumen.getGlobal().getHonorariosPendientes();
+                    double totalGastos = totalesActivos.getTotalGastos();
+                    double totalPagos = totalesActivos.getTotalPagos();
+                    double saldoPendiente = totalHonorariosPendientes - totalPagos;
 
-            VBox tarjetaPagos = crearTarjetaFinanciera("Pagos Recibidos",
-                    String.format("$%.2f", totalPagos), "#27ae60");
+                    VBox tarjetaHonorarios = crearTarjetaFinanciera("Honorarios Pendientes",
+                            String.format("$%.2f", totalHonorariosPendientes), "#3498db");
 
-            VBox tarjetaSaldo = crearTarjetaFinanciera("Saldo Pendiente",
-                    String.format("$%.2f", saldoPendiente), "#f39c12");
+                    VBox tarjetaGastos = crearTarjetaFinanciera("Total Gastos",
+                            String.format("$%.2f", totalGastos), "#e74c3c");
 
-            resumenFinanciero.getChildren().addAll(tarjetaHonorarios, tarjetaGastos, tarjetaPagos, tarjetaSaldo);
+                    VBox tarjetaPagos = crearTarjetaFinanciera("Pagos Recibidos",
+                            String.format("$%.2f", totalPagos), "#27ae60");
 
-        } catch (SQLException e) {
-            Label lblError = new Label("Error al cargar resumen financiero: " + e.getMessage());
-            lblError.setStyle("-fx-text-fill: red;");
-            resumenFinanciero.getChildren().add(lblError);
-        }
+                    VBox tarjetaSaldo = crearTarjetaFinanciera("Saldo Pendiente",
+                            String.format("$%.2f", saldoPendiente), "#f39c12");
+
+                    resumenFinanciero.getChildren().setAll(tarjetaHonorarios, tarjetaGastos, tarjetaPagos, tarjetaSaldo);
+                },
+                error -> {
+                    Label lblError = new Label("Error al cargar resumen financiero: " + error.getMessage());
+                    lblError.setStyle("-fx-text-fill: red;");
+                    resumenFinanciero.getChildren().setAll(lblError);
+                });
 
         // ========== SELECTOR DE EXPEDIENTE ==========
         HBox selectorExpediente = new HBox(10);
@@ -2803,12 +3164,10 @@ public class MainController {
         cmbExpedientes.setPromptText("Seleccione expediente...");
         cmbExpedientes.setPrefWidth(400);
 
-        try {
-            List<Expediente> expedientes = expedienteService.listarActivos();
-            cmbExpedientes.setItems(FXCollections.observableArrayList(expedientes));
-        } catch (SQLException e) {
-            mostrarError("Error al cargar expedientes: " + e.getMessage());
-        }
+        ejecutorFondo.ejecutar("economia-expedientes",
+                () -> expedienteService.listarActivos(),
+                expedientes -> cmbExpedientes.setItems(FXCollections.observableArrayList(expedientes)),
+                error -> mostrarError("Error al cargar expedientes: " + error.getMessage()));
 
         selectorExpediente.getChildren().addAll(lblSeleccionar, cmbExpedientes);
 
@@ -2978,32 +3337,29 @@ public class MainController {
     }
 
     private void cargarHonorariosPorExpediente(Integer expedienteId, ObservableList<Honorario> lista) {
-        try {
-            List<Honorario> honorarios = honorarioService.listarPorExpediente(expedienteId);
-            lista.clear();
-            lista.addAll(honorarios);
-        } catch (SQLException e) {
-            mostrarError("Error al cargar honorarios: " + e.getMessage());
-        }
+        ejecutorFondo.ejecutar("honorarios",
+                () -> honorarioService.listarPorExpediente(expedienteId),
+                lista::setAll,
+                error -> mostrarError("Error al cargar honorarios: " + error.getMessage()));
     }
 
     private void abrirFormularioHonorario(Honorario honorario, Integer expedienteId) {
 
         // Recargar lista de expedientes por si hay nuevos
         ComboBox<Expediente> cmbExpedientesForm = new ComboBox<>();
-        try {
-            List<Expediente> expedientes = expedienteService.listarActivos();
-            cmbExpedientesForm.setItems(FXCollections.observableArrayList(expedientes));
-            // Pre-seleccionar el expediente actual
-            if (expedienteId != null) {
-                expedientes.stream()
-                        .filter(e -> e.getId().equals(expedienteId))
-                        .findFirst()
-                        .ifPresent(cmbExpedientesForm::setValue);
-            }
-        } catch (SQLException e) {
-            mostrarError("Error al cargar expedientes: " + e.getMessage());
-        }
+        ejecutorFondo.ejecutar("expedientes-honorario",
+                () -> expedienteService.listarActivos(),
+                expedientes -> {
+                    cmbExpedientesForm.setItems(FXCollections.observableArrayList(expedientes));
+                    // Pre-seleccionar el expediente actual
+                    if (expedienteId != null) {
+                        expedientes.stream()
+                                .filter(e -> e.getId().equals(expedienteId))
+                                .findFirst()
+                                .ifPresent(cmbExpedientesForm::setValue);
+                    }
+                },
+                error -> mostrarError("Error al cargar expedientes: " + error.getMessage()));
 
         Stage ventana = new Stage();
         ventana.initModality(Modality.APPLICATION_MODAL);
@@ -3211,13 +3567,10 @@ public class MainController {
     }
 
     private void cargarGastosPorExpediente(Integer expedienteId, ObservableList<Gasto> lista) {
-        try {
-            List<Gasto> gastos = gastoService.listarPorExpediente(expedienteId);
-            lista.clear();
-            lista.addAll(gastos);
-        } catch (SQLException e) {
-            mostrarError("Error al cargar gastos: " + e.getMessage());
-        }
+        ejecutorFondo.ejecutar("gastos",
+                () -> gastoService.listarPorExpediente(expedienteId),
+                lista::setAll,
+                error -> mostrarError("Error al cargar gastos: " + error.getMessage()));
     }
 
     private void abrirFormularioGasto(Gasto gasto, Integer expedienteId) {
@@ -3312,37 +3665,6 @@ public class MainController {
         ventana.showAndWait();
     }
 
-    // ==================== MÉTODOS DE CÁLCULO GLOBALES ====================
-
-    private double calcularTotalHonorariosPendientes() throws SQLException {
-        List<Honorario> pendientes = honorarioService.listarPendientes();
-        return pendientes.stream()
-                .mapToDouble(h -> h.getMontoCalculado() != null ? h.getMontoCalculado() : 0.0)
-                .sum();
-    }
-
-    private double calcularTotalGastos() throws SQLException {
-        // Sumar todos los gastos de todos los expedientes
-        List<Expediente> expedientes = expedienteService.listarActivos();
-        double total = 0.0;
-        for (Expediente exp : expedientes) {
-            Double totalExp = gastoService.calcularTotalPorExpediente(exp.getId());
-            total += (totalExp != null ? totalExp : 0.0);
-        }
-        return total;
-    }
-
-    private double calcularTotalPagos() throws SQLException {
-        // Sumar todos los pagos de todos los expedientes
-        List<Expediente> expedientes = expedienteService.listarActivos();
-        double total = 0.0;
-        for (Expediente exp : expedientes) {
-            Double totalExp = pagoService.calcularTotalPorExpediente(exp.getId());
-            total += (totalExp != null ? totalExp : 0.0);
-        }
-        return total;
-    }
-
     // ==================== PANEL DE PAGOS ====================
 
     private VBox crearPanelPagos(ComboBox<Expediente> cmbExpedientes) {
@@ -3515,12 +3837,10 @@ public class MainController {
     }
 
     private void cargarTablaPagos(TableView<Pago> tabla, Integer expedienteId) {
-        try {
-            List<Pago> pagos = pagoService.listarPorExpediente(expedienteId);
-            tabla.setItems(FXCollections.observableArrayList(pagos));
-        } catch (SQLException ex) {
-            mostrarError("Error al cargar pagos: " + ex.getMessage());
-        }
+        ejecutorFondo.ejecutar("pagos",
+                () -> pagoService.listarPorExpediente(expedienteId),
+                pagos -> tabla.setItems(FXCollections.observableArrayList(pagos)),
+                error -> mostrarError("Error al cargar pagos: " + error.getMessage()));
     }
 
     // ==================== PANEL CUENTA CORRIENTE ====================
@@ -3549,20 +3869,20 @@ public class MainController {
         tablaMovimientos.setPrefHeight(400);
 
         TableColumn<MovimientoCuenta, LocalDate> colFecha = new TableColumn<>("Fecha");
-        colFecha.setCellValueFactory(data -> new SimpleObjectProperty<>(data.getValue().fecha));
+        colFecha.setCellValueFactory(data -> new SimpleObjectProperty<>(data.getValue().getFecha()));
         colFecha.setPrefWidth(100);
 
         TableColumn<MovimientoCuenta, String> colTipo = new TableColumn<>("Tipo");
-        colTipo.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().tipo));
+        colTipo.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getTipo()));
         colTipo.setPrefWidth(100);
 
         TableColumn<MovimientoCuenta, String> colDescripcion = new TableColumn<>("Descripción");
-        colDescripcion.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().descripcion));
+        colDescripcion.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getDescripcion()));
         colDescripcion.setPrefWidth(300);
 
         TableColumn<MovimientoCuenta, String> colDebe = new TableColumn<>("Debe");
         colDebe.setCellValueFactory(data -> {
-            double debe = data.getValue().debe;
+            double debe = data.getValue().getDebe();
             return new SimpleStringProperty(debe > 0 ? String.format("$%.2f", debe) : "-");
         });
         colDebe.setPrefWidth(100);
@@ -3570,7 +3890,7 @@ public class MainController {
 
         TableColumn<MovimientoCuenta, String> colHaber = new TableColumn<>("Haber");
         colHaber.setCellValueFactory(data -> {
-            double haber = data.getValue().haber;
+            double haber = data.getValue().getHaber();
             return new SimpleStringProperty(haber > 0 ? String.format("$%.2f", haber) : "-");
         });
         colHaber.setPrefWidth(100);
@@ -3578,113 +3898,78 @@ public class MainController {
 
         TableColumn<MovimientoCuenta, String> colSaldo = new TableColumn<>("Saldo");
         colSaldo.setCellValueFactory(data ->
-                new SimpleStringProperty(String.format("$%.2f", data.getValue().saldo)));
+                new SimpleStringProperty(String.format("$%.2f", data.getValue().getSaldo())));
         colSaldo.setPrefWidth(120);
         colSaldo.setStyle("-fx-alignment: CENTER-RIGHT;");
 
         tablaMovimientos.getColumns().addAll(colFecha, colTipo, colDescripcion, colDebe, colHaber, colSaldo);
 
-        // Listener para actualizar cuando cambia el expediente
-        cmbExpedientes.valueProperty().addListener((obs, oldVal, newVal) -> {
-            if (newVal != null) {
-                cargarCuentaCorriente(newVal.getId(), resumen, tablaMovimientos,
-                        cardHonorarios, cardGastos, cardPagos, cardSaldo);
-            }
-        });
+        // Paginación (el saldo acumulado se calcula en SQL sobre todo el historial)
+        Button btnAnterior = new Button("◀ Anterior");
+        Button btnSiguiente = new Button("Siguiente ▶");
+        Label lblPagina = new Label("Página 1 de 1");
+        btnAnterior.setDisable(true);
+        btnSiguiente.setDisable(true);
 
-        panel.getChildren().addAll(titulo, resumen, new Separator(), tablaMovimientos);
+        HBox paginacion = new HBox(10, btnAnterior, lblPagina, btnSiguiente);
+        paginacion.setAlignment(Pos.CENTER);
 
-        return panel;
-    }
+        ControlesCuentaCorriente controles = new ControlesCuentaCorriente(tablaMovimientos,
+                cardHonorarios, cardGastos, cardPagos, cardSaldo, btnAnterior, btnSiguiente, lblPagina);
 
-    private void cargarCuentaCorriente(Integer expedienteId, HBox resumen,
-                                       TableView<MovimientoCuenta> tabla, VBox cardHonorarios, VBox cardGastos,
-                                       VBox cardPagos, VBox cardSaldo) {
-        try {
-            // Obtener datos
-            List<Honorario> honorarios = honorarioService.listarPorExpediente(expedienteId);
-            List<Gasto> gastos = gastoService.listarPorExpediente(expedienteId);
-            List<Pago> pagos = pagoService.listarPorExpediente(expedienteId);
-
-            // Calcular totales
-            double totalHonorarios = honorarios.stream()
-                    .mapToDouble(h -> h.getMontoCalculado() != null ? h.getMontoCalculado() : 0.0)
-                    .sum();
-
-            double totalGastos = gastos.stream()
-                    .mapToDouble(g -> g.getMonto() != null ? g.getMonto() : 0.0)
-                    .sum();
-
-            double totalPagos = pagos.stream()
-                    .mapToDouble(p -> p.getMonto() != null ? p.getMonto() : 0.0)
-                    .sum();
-
-            double saldo = (totalHonorarios + totalGastos) - totalPagos;
-
-            // Actualizar tarjetas
-            actualizarTarjeta(cardHonorarios, String.format("$%.2f", totalHonorarios));
-            actualizarTarjeta(cardGastos, String.format("$%.2f", totalGastos));
-            actualizarTarjeta(cardPagos, String.format("$%.2f", totalPagos));
-            actualizarTarjeta(cardSaldo, String.format("$%.2f", saldo));
-
-            // Crear lista de movimientos
-            List<MovimientoCuenta> movimientos = new ArrayList<>();
-            double saldoAcumulado = 0.0;
-
-            // Agregar honorarios
-            for (Honorario h : honorarios) {
-                saldoAcumulado += h.getMontoCalculado() != null ? h.getMontoCalculado() : 0.0;
-                movimientos.add(new MovimientoCuenta(
-                        h.getFechaCreacion().toLocalDate(),
-                        "Honorario",
-                        h.getDescripcion(),
-                        h.getMontoCalculado() != null ? h.getMontoCalculado() : 0.0,
-                        0.0,
-                        saldoAcumulado
-                ));
+        btnAnterior.setOnAction(e -> {
+            Expediente exp = cmbExpedientes.getValue();
+            if (exp != null) {
+                cargarCuentaCorriente(exp.getId(), controles.pagina - 1, controles);
             }
+        });
 
-            // Agregar gastos
-            for (Gasto g : gastos) {
-                saldoAcumulado += g.getMonto() != null ? g.getMonto() : 0.0;
-                movimientos.add(new MovimientoCuenta(
-                        g.getFecha(),
-                        "Gasto",
-                        g.getConcepto(),
-                        g.getMonto() != null ? g.getMonto() : 0.0,
-                        0.0,
-                        saldoAcumulado
-                ));
+        btnSiguiente.setOnAction(e -> {
+            Expediente exp = cmbExpedientes.getValue();
+            if (exp != null) {
+                cargarCuentaCorriente(exp.getId(), controles.pagina + 1, controles);
             }
+        });
 
-            // Agregar pagos
-            for (Pago p : pagos) {
-                saldoAcumulado -= p.getMonto() != null ? p.getMonto() : 0.0;
-                movimientos.add(new MovimientoCuenta(
-                        p.getFecha(),
-                        "Pago",
-                        p.getConcepto() != null ? p.getConcepto() : "Pago recibido",
-                        0.0,
-                        p.getMonto() != null ? p.getMonto() : 0.0,
-                        saldoAcumulado
-                ));
+        // Listener para actualizar cuando cambia el expediente: se abre en la última página (saldo actual)
+        cmbExpedientes.valueProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal != null) {
+                cargarCuentaCorriente(newVal.getId(), -1, controles);
             }
+        });
 
-            // Ordenar por fecha
-            movimientos.sort(Comparator.comparing(m -> m.fecha));
+        panel.getChildren().addAll(titulo, resumen, new Separator(), tablaMovimientos, paginacion);
 
-            // Recalcular saldo acumulado después de ordenar
-            saldoAcumulado = 0.0;
-            for (MovimientoCuenta m : movimientos) {
-                saldoAcumulado += m.debe - m.haber;
-                m.saldo = saldoAcumulado;
-            }
+        return panel;
+    }
 
-            tabla.setItems(FXCollections.observableArrayList(movimientos));
+    /**
+     * Carga una página de la cuenta corriente; pagina negativa = última página
+     */
+    private void cargarCuentaCorriente(Integer expedienteId, int pagina, ControlesCuentaCorriente controles) {
+        int tamanio = CuentaCorrienteService.TAMANIO_PAGINA_PREDETERMINADO;
 
-        } catch (SQLException ex) {
-            mostrarError("Error al cargar cuenta corriente: " + ex.getMessage());
-        }
+        ejecutorFondo.ejecutar("cuenta-corriente",
+                () -> pagina < 0
+                        ? cuentaCorrienteService.obtenerUltimaPagina(expedienteId, tamanio)
+                        : cuentaCorrienteService.obtenerPagina(expedienteId, pagina, tamanio),
+                resultado -> {
+                    // Actualizar tarjetas
+                    TotalesFinancieros totales = resultado.getTotales();
+                    actualizarTarjeta(controles.cardHonorarios, String.format("$%.2f", totales.getTotalHonorarios()));
+                    actualizarTarjeta(controles.cardGastos, String.format("$%.2f", totales.getTotalGastos()));
+                    actualizarTarjeta(controles.cardPagos, String.format("$%.2f", totales.getTotalPagos()));
+                    actualizarTarjeta(controles.cardSaldo, String.format("$%.2f", totales.getSaldo()));
+
+                    controles.tabla.setItems(FXCollections.observableArrayList(resultado.getMovimientos()));
+
+                    controles.pagina = resultado.getPagina();
+                    controles.lblPagina.setText(String.format("Página %d de %d (%d movimientos)",
+                            resultado.getPagina() + 1, resultado.getTotalPaginas(), resultado.getTotalMovimientos()));
+                    controles.btnAnterior.setDisable(!resultado.tieneAnterior());
+                    controles.btnSiguiente.setDisable(!resultado.tieneSiguiente());
+                },
+                error -> mostrarError("Error al cargar cuenta corriente: " + error.getMessage()));
     }
 
     private void actualizarTarjeta(VBox tarjeta, String nuevoValor) {
@@ -3692,25 +3977,48 @@ public class MainController {
         lblValor.setText(nuevoValor);
     }
 
-    // Clase auxiliar para los movimientos de cuenta corriente
-    private static class MovimientoCuenta {
-        LocalDate fecha;
-        String tipo;
-        String descripcion;
-        double debe;
-        double haber;
-        double saldo;
-
-        public MovimientoCuenta(LocalDate fecha, String tipo, String descripcion,
-                                double debe, double haber, double saldo) {
-            this.fecha = fecha;
-            this.tipo = tipo;
-            this.descripcion = descripcion;
-            this.debe = debe;
-            this.haber = haber;
-            this.saldo = saldo;
+    // Datos del dashboard leídos en segundo plano
+    private static class DatosDashboard {
+        final ExpedienteService.EstadisticasExpedientes estadisticas;
+        final int eventosHoy;
+        final int eventosSemana;
+        final List<EventoAgenda> proximos;
+
+        DatosDashboard(ExpedienteService.EstadisticasExpedientes estadisticas, int eventosHoy,
+                       int eventosSemana, List<EventoAgenda> proximos) {
+            this.estadisticas = estadisticas;
+            this.eventosHoy = eventosHoy;
+            this.eventosSemana = eventosSemana;
+            this.proximos = proximos;
         }
     }
+
+    // Controles del panel de cuenta corriente y página actual
+    private static class ControlesCuentaCorriente {
+        final TableView<MovimientoCuenta> tabla;
+        final VBox cardHonorarios;
+        final VBox cardGastos;
+        final VBox cardPagos;
+        final VBox cardSaldo;
+        final Button btnAnterior;
+        final Button btnSiguiente;
+        final Label lblPagina;
+        int pagina;
+
+        ControlesCuentaCorriente(TableView<MovimientoCuenta> tabla, VBox cardHonorarios, VBox cardGastos,
+                                 VBox cardPagos, VBox cardSaldo, Button btnAnterior, Button btnSiguiente,
+                                 Label lblPagina) {
+            this.tabla = tabla;
+            this.cardHonorarios = cardHonorarios;
+            this.cardGastos = cardGastos;
+            this.cardPagos = cardPagos;
+            this.cardSaldo = cardSaldo;
+            this.btnAnterior = btnAnterior;
+            this.btnSiguiente = btnSiguiente;
+            this.lblPagina = lblPagina;
+        }
+    }
+
     private boolean mostrarConfirmacion(String mensaje) {
         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
         alert.setTitle("Confirmación");
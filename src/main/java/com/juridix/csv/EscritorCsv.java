@@ -0,0 +1,76 @@
+package com.juridix.csv;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Escritor CSV incremental: cada registro va directo al Writer (con buffer), sin armar el archivo en memoria.
+ * Los campos con separador, comillas o saltos de línea se escriben entre comillas (RFC 4180).
+ */
+public class EscritorCsv implements Closeable, Flushable {
+
+    private final Writer escritor;
+    private final char separador;
+
+    /**
+     * Crea (o reemplaza) el archivo en UTF-8
+     */
+    public EscritorCsv(Path archivo, char separador) throws IOException {
+        this(Files.newBufferedWriter(archivo, StandardCharsets.UTF_8), separador);
+    }
+
+    public EscritorCsv(Writer writer, char separador) {
+        this.escritor = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+        this.separador = separador;
+    }
+
+    /**
+     * Escribe un registro; los campos null quedan vacíos
+     */
+    public void escribir(String... campos) throws IOException {
+        for (int i = 0; i < campos.length; i++) {
+            if (i > 0) {
+                escritor.write(separador);
+            }
+            escribirCampo(campos[i]);
+        }
+        escritor.write("\r\n");
+    }
+
+    private void escribirCampo(String campo) throws IOException {
+        if (campo == null || campo.isEmpty()) {
+            return;
+        }
+
+        boolean requiereComillas = false;
+        for (int i = 0; i < campo.length() && !requiereComillas; i++) {
+            char c = campo.charAt(i);
+            requiereComillas = c == separador || c == '"' || c == '\n' || c == '\r';
+        }
+
+        if (!requiereComillas) {
+            escritor.write(campo);
+            return;
+        }
+
+        escritor.write('"');
+        escritor.write(campo.replace("\"", "\"\""));
+        escritor.write('"');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        escritor.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        escritor.close();
+    }
+}
@@ -0,0 +1,246 @@
+package com.juridix.csv;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector CSV incremental (RFC 4180): devuelve un registro por llamada sin cargar el archivo.
+ * Soporta campos entre comillas con separadores, comillas dobles ("") y saltos de línea adentro.
+ * El separador (',' o ';') se detecta en la primera línea, que se toma como encabezado.
+ * Abierto desde un archivo, la codificación también se detecta: UTF-8 si tiene BOM o es UTF-8
+ * válido, si no Windows-1252 (lo que guarda Excel en Windows como "CSV (delimitado por comas)").
+ */
+public class LectorCsv implements Closeable {
+
+    private static final char COMILLA = '"';
+    private static final char BOM = '\uFEFF';
+    private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+
+    private final BufferedReader lector;
+    private final char separador;
+    private final String[] encabezado;
+
+    // Línea del archivo donde empezó el último registro leído (1 = encabezado)
+    private long lineaRegistro;
+    private long lineaActual = 1;
+    private int pendiente = -2;
+
+    /**
+     * Abre el archivo detectando su codificación
+     * @throws IOException Si no se puede leer o no es texto UTF-8 ni Windows-1252
+     */
+    public LectorCsv(Path archivo) throws IOException {
+        this(archivo, detectarCodificacion(archivo));
+    }
+
+    public LectorCsv(Path archivo, Charset codificacion) throws IOException {
+        this(Files.newBufferedReader(archivo, codificacion));
+    }
+
+    public LectorCsv(Reader reader) throws IOException {
+        this.lector = reader instanceof BufferedReader br ? br : new BufferedReader(reader);
+
+        // Planilla guardada desde Excel: BOM al principio y ';' como separador
+        lector.mark(1);
+        if (lector.read() != BOM) {
+            lector.reset();
+        }
+
+        lector.mark(64 * 1024);
+        String primeraLinea = lector.readLine();
+        lector.reset();
+
+        if (primeraLinea == null) {
+            throw new IOException("El archivo CSV está vacío");
+        }
+        this.separador = detectarSeparador(primeraLinea);
+
+        String[] campos = siguiente();
+        for (int i = 0; i < campos.length; i++) {
+            campos[i] = campos[i].trim();
+        }
+        this.encabezado = campos;
+    }
+
+    // ==================== LECTURA ====================
+
+    /**
+     * Lee el próximo registro
+     * @return Los campos del registro, o null al llegar al final del archivo
+     * @throws IOException Si falla la lectura o hay una comilla sin cerrar
+     */
+    public String[] siguiente() throws IOException {
+        int c = leer();
+
+        // Líneas en blanco entre registros
+        while (c == '\r' || c == '\n') {
+            c = leer();
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        lineaRegistro = lineaActual;
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+
+        while (true) {
+            if (entreComillas) {
+                if (c == -1) {
+                    throw new IOException("Comilla sin cerrar en el registro de la línea " + lineaRegistro);
+                }
+                if (c == COMILLA) {
+                    int siguiente = leer();
+                    if (siguiente == COMILLA) {
+                        campo.append(COMILLA);
+                    } else {
+                        entreComillas = false;
+                        c = siguiente;
+                        continue;
+                    }
+                } else {
+                    campo.append((char) c);
+                }
+
+            } else if (c == COMILLA && campo.isEmpty()) {
+                entreComillas = true;
+
+            } else if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int siguiente = leer();
+                    if (siguiente != '\n') {
+                        devolver(siguiente);
+                    }
+                }
+                campos.add(campo.toString());
+                return campos.toArray(new String[0]);
+
+            } else {
+                campo.append((char) c);
+            }
+
+            c = leer();
+        }
+    }
+
+    public String[] getEncabezado() {
+        return encabezado.clone();
+    }
+
+    public char getSeparador() {
+        return separador;
+    }
+
+    /**
+     * Línea del archivo en la que empieza el último registro devuelto por siguiente()
+     */
+    public long getLineaRegistro() {
+        return lineaRegistro;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lector.close();
+    }
+
+    // ==================== CODIFICACIÓN ====================
+
+    /**
+     * UTF-8 si el archivo empieza con BOM o se decodifica entero sin errores; si no, Windows-1252.
+     * Recorre el archivo completo antes de importar para que un archivo ilegible se informe
+     * antes de guardar la primera fila, y no a mitad de camino.
+     * @throws IOException Si el archivo no es válido en ninguna de las dos codificaciones
+     */
+    public static Charset detectarCodificacion(Path archivo) throws IOException {
+        try (InputStream in = Files.newInputStream(archivo)) {
+            byte[] inicio = in.readNBytes(3);
+            if (inicio.length == 3 && (inicio[0] & 0xFF) == 0xEF && (inicio[1] & 0xFF) == 0xBB
+                    && (inicio[2] & 0xFF) == 0xBF) {
+                return StandardCharsets.UTF_8;
+            }
+        }
+
+        if (decodificable(archivo, StandardCharsets.UTF_8)) {
+            return StandardCharsets.UTF_8;
+        }
+        if (decodificable(archivo, WINDOWS_1252)) {
+            System.out.println("ℹ️ " + archivo.getFileName() + " no es UTF-8, se lee como Windows-1252");
+            return WINDOWS_1252;
+        }
+        throw new IOException("No se pudo leer " + archivo.getFileName()
+                + ": la codificación no es UTF-8 ni Windows-1252");
+    }
+
+    private static boolean decodificable(Path archivo, Charset codificacion) throws IOException {
+        // Un decoder explícito reporta los bytes inválidos en lugar de reemplazarlos por '?'
+        try (Reader reader = new InputStreamReader(Files.newInputStream(archivo), codificacion.newDecoder())) {
+            char[] buffer = new char[64 * 1024];
+            while (reader.read(buffer) != -1) {
+                // Solo interesa si falla
+            }
+            return true;
+        } catch (CharacterCodingException e) {
+            return false;
+        }
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private int leer() throws IOException {
+        int c;
+        if (pendiente != -2) {
+            c = pendiente;
+            pendiente = -2;
+        } else {
+            c = lector.read();
+        }
+        if (c == '\n') {
+            lineaActual++;
+        }
+        return c;
+    }
+
+    private void devolver(int c) {
+        if (c == '\n') {
+            lineaActual--;
+        }
+        pendiente = c;
+    }
+
+    /**
+     * El separador es el que más aparece fuera de comillas en el encabezado
+     */
+    private static char detectarSeparador(String linea) {
+        int comas = 0;
+        int puntosYComa = 0;
+        boolean entreComillas = false;
+
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (c == COMILLA) {
+                entreComillas = !entreComillas;
+            } else if (!entreComillas && c == ',') {
+                comas++;
+            } else if (!entreComillas && c == ';') {
+                puntosYComa++;
+            }
+        }
+        return puntosYComa > comas ? ';' : ',';
+    }
+}
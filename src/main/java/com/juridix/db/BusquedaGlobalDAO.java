@@ -0,0 +1,80 @@
+package com.juridix.db;
+
+import com.juridix.model.ResultadoBusqueda;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Búsqueda de texto completo sobre la tabla FTS5 busqueda_global
+ * (mantenida por triggers, ver DatabaseInitializer)
+ */
+public class BusquedaGlobalDAO {
+
+    // ==================== READ ====================
+
+    /**
+     * Busca en expedientes, clientes activos y eventos del usuario, ordenado por relevancia (bm25).
+     * Las coincidencias en el título pesan 10 veces más que en el contenido.
+     * @param expresion Expresión MATCH de FTS5 ya sanitizada
+     * @param usuarioId Usuario dueño de los eventos a incluir
+     * @param limite Cantidad máxima de resultados
+     * @return Resultados ordenados del más al menos relevante
+     * @throws SQLException Si ocurre un error en la base de datos
+     */
+    public List<ResultadoBusqueda> buscar(String expresion, Integer usuarioId, int limite) throws SQLException {
+        String sql = """
+            SELECT b.rowid % 4 AS tipo,
+                   b.rowid / 4 AS entidad_id,
+                   b.titulo,
+                   CASE b.rowid % 4
+                       WHEN 1 THEN (SELECT estado FROM expedientes WHERE id = b.rowid / 4)
+                       WHEN 2 THEN (SELECT 'DNI: ' || dni FROM clientes WHERE id = b.rowid / 4)
+                       WHEN 3 THEN (SELECT fecha_hora || ' (' || tipo || ')'
+                                    FROM eventos_agenda WHERE id = b.rowid / 4)
+                   END AS detalle,
+                   snippet(busqueda_global, 2, '[', ']', '', 8) AS fragmento,
+                   bm25(busqueda_global, 0.0, 10.0, 1.0) AS rango
+            FROM busqueda_global b
+            WHERE busqueda_global MATCH ?
+              AND (b.rowid % 4 <> 3 OR b.usuario_id = ?)
+            ORDER BY rango
+            LIMIT ?
+        """;
+
+        List<ResultadoBusqueda> resultados = new ArrayList<>();
+
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setString(1, expresion);
+            ps.setInt(2, usuarioId);
+            ps.setInt(3, limite);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ResultadoBusqueda.Tipo tipo = ResultadoBusqueda.Tipo.fromCodigo(rs.getInt("tipo"));
+                    if (tipo == null) {
+                        continue;
+                    }
+
+                    resultados.add(new ResultadoBusqueda(
+                            tipo,
+                            rs.getInt("entidad_id"),
+                            rs.getString("titulo"),
+                            rs.getString("detalle"),
+                            rs.getString("fragmento"),
+                            rs.getDouble("rango")
+                    ));
+                }
+            }
+
+            return resultados;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error en búsqueda global: " + e.getMessage());
+            throw e;
+        }
+    }
+}
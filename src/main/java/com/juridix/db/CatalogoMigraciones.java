@@ -0,0 +1,440 @@
+package com.juridix.db;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Migraciones del esquema en orden. Una migración publicada no se edita:
+ * cualquier cambio de tablas, índices o triggers va en una migración nueva
+ * con el número siguiente.
+ */
+final class CatalogoMigraciones {
+
+    private CatalogoMigraciones() {
+    }
+
+    static List<Migracion> todas() {
+        return List.of(
+                esquemaInicial(),
+                clienteIdEnExpedientes(),
+                indicesBase(),
+                indiceBusquedaGlobal(),
+                indicesAgendaPorUsuario(),
+                indicesKeysetExpedientes(),
+                usuarioAdmin(),
+                eliminarAppMetadata(),
+                hashContenidoDocumentos(),
+                compresionDocumentos()
+        );
+    }
+
+    // ==================== V1 - V3 ====================
+
+    // CREATE TABLE IF NOT EXISTS: en bases creadas antes de las migraciones no hace nada
+    private static Migracion esquemaInicial() {
+        return Migracion.sql(1, "Esquema inicial",
+                // ========== TABLA USUARIOS ==========
+                """
+                    CREATE TABLE IF NOT EXISTS usuarios (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        username TEXT UNIQUE NOT NULL,
+                        password_hash TEXT NOT NULL,
+                        rol TEXT NOT NULL CHECK(rol IN ('ADMIN', 'ABOGADO', 'SECRETARIO')),
+                        nombre_completo TEXT,
+                        email TEXT,
+                        activo INTEGER NOT NULL DEFAULT 1 CHECK(activo IN (0, 1)),
+                        fecha_creacion TEXT DEFAULT (datetime('now', 'localtime')),
+                        ultimo_acceso TEXT
+                    );
+                """,
+
+                // ========== TABLA EXPEDIENTES ==========
+                """
+                    CREATE TABLE IF NOT EXISTS expedientes (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        numero TEXT NOT NULL UNIQUE,
+                        caratula TEXT NOT NULL,
+                        cliente TEXT NOT NULL,
+                        demandado TEXT,
+                        fuero TEXT,
+                        juzgado TEXT,
+                        secretaria TEXT,
+                        estado TEXT NOT NULL CHECK(estado IN ('ACTIVO', 'ARCHIVADO', 'SUSPENDIDO', 'FINALIZADO')) DEFAULT 'ACTIVO',
+                        fecha_inicio TEXT NOT NULL,
+                        fecha_finalizacion TEXT,
+                        monto_estimado REAL,
+                        observaciones TEXT,
+                        creador_id INTEGER NOT NULL,
+                        fecha_creacion TEXT DEFAULT (datetime('now', 'localtime')),
+                        fecha_modificacion TEXT DEFAULT (datetime('now', 'localtime')),
+                        FOREIGN KEY (creador_id) REFERENCES usuarios(id) ON DELETE RESTRICT
+                    );
+                """,
+
+                // ========== TABLA MOVIMIENTOS ==========
+                """
+                    CREATE TABLE IF NOT EXISTS movimientos (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        expediente_id INTEGER NOT NULL,
+                        fecha DATE NOT NULL,
+                        tipo TEXT NOT NULL CHECK(tipo IN ('PRESENTACION', 'AUDIENCIA', 'RESOLUCION', 'NOTIFICACION', 'OTRO')),
+                        descripcion TEXT NOT NULL,
+                        cuaderno TEXT,
+                        foja INTEGER,
+                        observaciones TEXT,
+                        usuario_id INTEGER NOT NULL,
+                        fecha_creacion TEXT DEFAULT (datetime('now', 'localtime')),
+                        FOREIGN KEY (expediente_id) REFERENCES expedientes(id) ON DELETE CASCADE,
+                        FOREIGN KEY (usuario_id) REFERENCES usuarios(id)
+                    );
+                """,
+
+                // ========== TABLA EVENTOS AGENDA ==========
+                """
+                    CREATE TABLE IF NOT EXISTS eventos_agenda (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        titulo TEXT NOT NULL,
+                        descripcion TEXT,
+                        fecha_hora TEXT NOT NULL,
+                        duracion_minutos INTEGER DEFAULT 60,
+                        tipo TEXT NOT NULL CHECK(tipo IN ('AUDIENCIA', 'VENCIMIENTO', 'REUNION', 'PRESENTACION', 'OTRO')),
+                        expediente_id INTEGER,
+                        ubicacion TEXT,
+                        estado TEXT DEFAULT 'PENDIENTE' CHECK(estado IN ('PENDIENTE', 'COMPLETADO', 'CANCELADO')),
+                        recordatorio_minutos INTEGER DEFAULT 1440,
+                        color TEXT DEFAULT '#3498db',
+                        usuario_id INTEGER NOT NULL,
+                        fecha_creacion TEXT DEFAULT (datetime('now', 'localtime')),
+                        FOREIGN KEY (expediente_id) REFERENCES expedientes(id) ON DELETE SET NULL,
+                        FOREIGN KEY (usuario_id) REFERENCES usuarios(id)
+                    );
+                """,
+
+                // ========== TABLA CLIENTES ==========
+                """
+                    CREATE TABLE IF NOT EXISTS clientes (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        nombre_completo TEXT NOT NULL,
+                        dni TEXT,
+                        cuit_cuil TEXT,
+                        fecha_nacimiento TEXT,
+                        telefono TEXT,
+                        email TEXT,
+                        domicilio TEXT,
+                        localidad TEXT,
+                        provincia TEXT,
+                        codigo_postal TEXT,
+                        profesion TEXT,
+                        estado_civil TEXT,
+                        observaciones TEXT,
+                        activo INTEGER DEFAULT 1 CHECK(activo IN (0, 1)),
+                        usuario_creador_id INTEGER,
+                        fecha_creacion TEXT DEFAULT (datetime('now', 'localtime')),
+                        fecha_modificacion TEXT DEFAULT (datetime('now', 'localtime')),
+                        FOREIGN KEY (usuario_creador_id) REFERENCES usuarios(id)
+                    );
+                """,
+
+                // ========== TABLA DOCUMENTOS CLIENTE ==========
+                """
+                    CREATE TABLE IF NOT EXISTS documentos_cliente (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        cliente_id INTEGER NOT NULL,
+                        nombre_archivo TEXT NOT NULL,
+                        nombre_original TEXT NOT NULL,
+                        ruta_archivo TEXT NOT NULL,
+                        tipo_documento TEXT,
+                        descripcion TEXT,
+                        tamanio_bytes INTEGER,
+                        extension TEXT,
+                        usuario_id INTEGER,
+                        fecha_subida TEXT DEFAULT (datetime('now', 'localtime')),
+                        FOREIGN KEY (cliente_id) REFERENCES clientes(id) ON DELETE CASCADE,
+                        FOREIGN KEY (usuario_id) REFERENCES usuarios(id)
+                    );
+                """,
+
+                // ========== TABLA HONORARIOS ==========
+                """
+                    CREATE TABLE IF NOT EXISTS honorarios (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        expediente_id INTEGER NOT NULL,
+                        tipo TEXT NOT NULL CHECK(tipo IN ('PORCENTAJE', 'MONTO_FIJO', 'REGULACION_JUDICIAL')),
+                        porcentaje REAL,
+                        monto_fijo REAL,
+                        monto_calculado REAL,
+                        descripcion TEXT,
+                        estado TEXT DEFAULT 'PENDIENTE' CHECK(estado IN ('PENDIENTE', 'PARCIAL', 'COBRADO')),
+                        fecha_estimada TEXT,
+                        usuario_id INTEGER,
+                        fecha_creacion TEXT DEFAULT (datetime('now', 'localtime')),
+                        FOREIGN KEY (expediente_id) REFERENCES expedientes(id) ON DELETE CASCADE,
+                        FOREIGN KEY (usuario_id) REFERENCES usuarios(id)
+                    );
+                """,
+
+                // ========== TABLA GASTOS ==========
+                """
+                    CREATE TABLE IF NOT EXISTS gastos (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        expediente_id INTEGER NOT NULL,
+                        concepto TEXT NOT NULL,
+                        monto REAL NOT NULL,
+                        fecha DATE NOT NULL,
+                        categoria TEXT,
+                        comprobante TEXT,
+                        observaciones TEXT,
+                        usuario_id INTEGER,
+                        fecha_creacion TEXT DEFAULT (datetime('now', 'localtime')),
+                        FOREIGN KEY (expediente_id) REFERENCES expedientes(id) ON DELETE CASCADE,
+                        FOREIGN KEY (usuario_id) REFERENCES usuarios(id)
+                    );
+                """,
+
+                // ========== TABLA PAGOS ==========
+                """
+                    CREATE TABLE IF NOT EXISTS pagos (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        expediente_id INTEGER NOT NULL,
+                        cliente_id INTEGER,
+                        monto REAL NOT NULL,
+                        fecha DATE NOT NULL,
+                        forma_pago TEXT,
+                        referencia TEXT,
+                        concepto TEXT,
+                        observaciones TEXT,
+                        usuario_id INTEGER,
+                        fecha_creacion TEXT DEFAULT (datetime('now', 'localtime')),
+                        FOREIGN KEY (expediente_id) REFERENCES expedientes(id) ON DELETE CASCADE,
+                        FOREIGN KEY (cliente_id) REFERENCES clientes(id) ON DELETE SET NULL,
+                        FOREIGN KEY (usuario_id) REFERENCES usuarios(id)
+                    );
+                """
+        );
+    }
+
+    private static Migracion clienteIdEnExpedientes() {
+        return Migracion.java(2, "expedientes.cliente_id", "agregar-si-falta",
+                conn -> {
+                    if (!existeColumna(conn, "expedientes", "cliente_id")) {
+                        try (Statement stmt = conn.createStatement()) {
+                            stmt.execute("ALTER TABLE expedientes ADD COLUMN cliente_id INTEGER REFERENCES clientes(id)");
+                        }
+                    }
+                });
+    }
+
+    private static Migracion indicesBase() {
+        return Migracion.sql(3, "Índices base",
+                "CREATE INDEX IF NOT EXISTS idx_expedientes_cliente ON expedientes(cliente)",
+                "CREATE INDEX IF NOT EXISTS idx_expedientes_numero ON expedientes(numero)",
+                "CREATE INDEX IF NOT EXISTS idx_movimientos_expediente ON movimientos(expediente_id)",
+                "CREATE INDEX IF NOT EXISTS idx_movimientos_fecha ON movimientos(fecha)",
+                "CREATE INDEX IF NOT EXISTS idx_agenda_fecha ON eventos_agenda(fecha_hora)",
+                "CREATE INDEX IF NOT EXISTS idx_agenda_estado ON eventos_agenda(estado)",
+                "CREATE INDEX IF NOT EXISTS idx_clientes_nombre ON clientes(nombre_completo)",
+                "CREATE INDEX IF NOT EXISTS idx_clientes_dni ON clientes(dni)",
+                "CREATE INDEX IF NOT EXISTS idx_clientes_activo ON clientes(activo)",
+                "CREATE INDEX IF NOT EXISTS idx_documentos_cliente ON documentos_cliente(cliente_id)",
+                // Índices económicos
+                "CREATE INDEX IF NOT EXISTS idx_honorarios_expediente ON honorarios(expediente_id)",
+                "CREATE INDEX IF NOT EXISTS idx_gastos_expediente ON gastos(expediente_id)",
+                "CREATE INDEX IF NOT EXISTS idx_pagos_expediente ON pagos(expediente_id)",
+                "CREATE INDEX IF NOT EXISTS idx_pagos_cliente ON pagos(cliente_id)"
+        );
+    }
+
+    // ==================== V4: BÚSQUEDA GLOBAL ====================
+
+    /**
+     * Tabla FTS5 busqueda_global y los triggers que la mantienen sincronizada
+     * con expedientes, clientes (solo activos) y eventos_agenda.
+     * El rowid codifica entidad e ID (id * 4 + código de ResultadoBusqueda.Tipo)
+     * para que los triggers borren por rowid sin recorrer el índice.
+     * Al final reconstruye el contenido, así que también repara bases donde
+     * la tabla ya existía.
+     */
+    private static Migracion indiceBusquedaGlobal() {
+        List<String> sentencias = new ArrayList<>();
+
+        // remove_diacritics 2: "perez" encuentra "Pérez"; prefijos de 2 y 3 caracteres precalculados
+        sentencias.add("""
+            CREATE VIRTUAL TABLE IF NOT EXISTS busqueda_global USING fts5(
+                usuario_id UNINDEXED,
+                titulo,
+                contenido,
+                tokenize = 'unicode61 remove_diacritics 2',
+                prefix = '2 3'
+            )
+        """);
+
+        // Expedientes
+        sentencias.add("""
+            CREATE TRIGGER IF NOT EXISTS trg_busqueda_expedientes_ai AFTER INSERT ON expedientes BEGIN
+                INSERT INTO busqueda_global(rowid, usuario_id, titulo, contenido)
+                VALUES (NEW.id * 4 + 1, NULL, NEW.numero || ' ' || NEW.caratula, """ + contenidoExpediente("NEW.") + """
+            );
+            END
+        """);
+        sentencias.add("""
+            CREATE TRIGGER IF NOT EXISTS trg_busqueda_expedientes_au AFTER UPDATE ON expedientes BEGIN
+                DELETE FROM busqueda_global WHERE rowid = OLD.id * 4 + 1;
+                INSERT INTO busqueda_global(rowid, usuario_id, titulo, contenido)
+                VALUES (NEW.id * 4 + 1, NULL, NEW.numero || ' ' || NEW.caratula, """ + contenidoExpediente("NEW.") + """
+            );
+            END
+        """);
+        sentencias.add("""
+            CREATE TRIGGER IF NOT EXISTS trg_busqueda_expedientes_ad AFTER DELETE ON expedientes BEGIN
+                DELETE FROM busqueda_global WHERE rowid = OLD.id * 4 + 1;
+            END
+        """);
+
+        // Clientes (los inactivos no aparecen en la búsqueda)
+        sentencias.add("""
+            CREATE TRIGGER IF NOT EXISTS trg_busqueda_clientes_ai AFTER INSERT ON clientes BEGIN
+                INSERT INTO busqueda_global(rowid, usuario_id, titulo, contenido)
+                SELECT NEW.id * 4 + 2, NULL, NEW.nombre_completo, """ + contenidoCliente("NEW.") + """
+                WHERE NEW.activo = 1;
+            END
+        """);
+        sentencias.add("""
+            CREATE TRIGGER IF NOT EXISTS trg_busqueda_clientes_au AFTER UPDATE ON clientes BEGIN
+                DELETE FROM busqueda_global WHERE rowid = OLD.id * 4 + 2;
+                INSERT INTO busqueda_global(rowid, usuario_id, titulo, contenido)
+                SELECT NEW.id * 4 + 2, NULL, NEW.nombre_completo, """ + contenidoCliente("NEW.") + """
+                WHERE NEW.activo = 1;
+            END
+        """);
+        sentencias.add("""
+            CREATE TRIGGER IF NOT EXISTS trg_busqueda_clientes_ad AFTER DELETE ON clientes BEGIN
+                DELETE FROM busqueda_global WHERE rowid = OLD.id * 4 + 2;
+            END
+        """);
+
+        // Eventos de agenda (filtrados por usuario al buscar)
+        sentencias.add("""
+            CREATE TRIGGER IF NOT EXISTS trg_busqueda_agenda_ai AFTER INSERT ON eventos_agenda BEGIN
+                INSERT INTO busqueda_global(rowid, usuario_id, titulo, contenido)
+                VALUES (NEW.id * 4 + 3, NEW.usuario_id, NEW.titulo, """ + contenidoEvento("NEW.") + """
+            );
+            END
+        """);
+        sentencias.add("""
+            CREATE TRIGGER IF NOT EXISTS trg_busqueda_agenda_au AFTER UPDATE ON eventos_agenda BEGIN
+                DELETE FROM busqueda_global WHERE rowid = OLD.id * 4 + 3;
+                INSERT INTO busqueda_global(rowid, usuario_id, titulo, contenido)
+                VALUES (NEW.id * 4 + 3, NEW.usuario_id, NEW.titulo, """ + contenidoEvento("NEW.") + """
+            );
+            END
+        """);
+        sentencias.add("""
+            CREATE TRIGGER IF NOT EXISTS trg_busqueda_agenda_ad AFTER DELETE ON eventos_agenda BEGIN
+                DELETE FROM busqueda_global WHERE rowid = OLD.id * 4 + 3;
+            END
+        """);
+
+        // Indexar los datos existentes
+        sentencias.add("DELETE FROM busqueda_global");
+        sentencias.add("INSERT INTO busqueda_global(rowid, usuario_id, titulo, contenido) " +
+                "SELECT id * 4 + 1, NULL, numero || ' ' || caratula, " + contenidoExpediente("") +
+                " FROM expedientes");
+        sentencias.add("INSERT INTO busqueda_global(rowid, usuario_id, titulo, contenido) " +
+                "SELECT id * 4 + 2, NULL, nombre_completo, " + contenidoCliente("") +
+                " FROM clientes WHERE activo = 1");
+        sentencias.add("INSERT INTO busqueda_global(rowid, usuario_id, titulo, contenido) " +
+                "SELECT id * 4 + 3, usuario_id, titulo, " + contenidoEvento("") +
+                " FROM eventos_agenda");
+
+        return Migracion.sql(4, "Índice de búsqueda global (FTS5)", sentencias.toArray(new String[0]));
+    }
+
+    // Texto indexado en la columna "contenido" de cada entidad ("NEW." dentro de triggers)
+    private static String contenidoExpediente(String p) {
+        return "IFNULL(" + p + "cliente, '') || ' ' || IFNULL(" + p + "demandado, '') || ' ' || " +
+                "IFNULL(" + p + "fuero, '') || ' ' || IFNULL(" + p + "juzgado, '') || ' ' || " +
+                "IFNULL(" + p + "observaciones, '')";
+    }
+
+    // DNI y CUIT también sin separadores, para encontrarlos escritos de cualquier forma
+    private static String contenidoCliente(String p) {
+        return "IFNULL(" + p + "dni, '') || ' ' || REPLACE(IFNULL(" + p + "dni, ''), '.', '') || ' ' || " +
+                "IFNULL(" + p + "cuit_cuil, '') || ' ' || REPLACE(IFNULL(" + p + "cuit_cuil, ''), '-', '') || ' ' || " +
+                "IFNULL(" + p + "email, '') || ' ' || IFNULL(" + p + "telefono, '') || ' ' || " +
+                "IFNULL(" + p + "observaciones, '')";
+    }
+
+    private static String contenidoEvento(String p) {
+        return "IFNULL(" + p + "descripcion, '') || ' ' || IFNULL(" + p + "ubicacion, '')";
+    }
+
+    // ==================== V5 - V8 ====================
+
+    // Vistas de calendario: usuario + estado por igualdad y fecha_hora como rango
+    private static Migracion indicesAgendaPorUsuario() {
+        return Migracion.sql(5, "Índice de agenda por usuario, estado y fecha",
+                "CREATE INDEX IF NOT EXISTS idx_agenda_usuario_estado_fecha ON eventos_agenda(usuario_id, estado, fecha_hora)",
+                "DROP INDEX IF EXISTS idx_agenda_usuario" // cubierto por el índice compuesto
+        );
+    }
+
+    // Listado paginado por keyset (fecha_creacion, id), con y sin filtro de estado
+    private static Migracion indicesKeysetExpedientes() {
+        return Migracion.sql(6, "Índices keyset de expedientes",
+                "CREATE INDEX IF NOT EXISTS idx_expedientes_creacion ON expedientes(fecha_creacion, id)",
+                "CREATE INDEX IF NOT EXISTS idx_expedientes_estado_creacion ON expedientes(estado, fecha_creacion, id)",
+                "DROP INDEX IF EXISTS idx_expedientes_estado" // cubierto por idx_expedientes_estado_creacion
+        );
+    }
+
+    private static Migracion usuarioAdmin() {
+        return Migracion.java(7, "Usuario administrador inicial", "crear-si-no-existe",
+                UserBootstrap::crearAdminSiNoExiste);
+    }
+
+    // La versión del esquema pasó de app_metadata a schema_version
+    private static Migracion eliminarAppMetadata() {
+        return Migracion.sql(8, "Eliminar app_metadata", "DROP TABLE IF EXISTS app_metadata");
+    }
+
+    // ==================== V9 ====================
+
+    // Almacén de documentos por contenido: cada fila apunta a un archivo identificado por su SHA-256
+    // y la cantidad de filas con el mismo hash es la cantidad de referencias a ese archivo
+    private static Migracion hashContenidoDocumentos() {
+        return Migracion.sql(9, "Hash de contenido en documentos_cliente",
+                "ALTER TABLE documentos_cliente ADD COLUMN hash_contenido TEXT",
+                "CREATE INDEX IF NOT EXISTS idx_documentos_hash ON documentos_cliente(hash_contenido)"
+        );
+    }
+
+    // ==================== V10 ====================
+
+    // tamanio_bytes sigue siendo el tamaño del documento; tamanio_almacenado es lo que ocupa en disco.
+    // Todo lo guardado hasta ahora está sin comprimir, así que ambos coinciden
+    private static Migracion compresionDocumentos() {
+        return Migracion.sql(10, "Compresión de documentos_cliente",
+                "ALTER TABLE documentos_cliente ADD COLUMN tamanio_almacenado INTEGER",
+                "ALTER TABLE documentos_cliente ADD COLUMN compresion TEXT NOT NULL DEFAULT 'NINGUNA'",
+                "UPDATE documentos_cliente SET tamanio_almacenado = tamanio_bytes"
+        );
+    }
+
+    // ==================== UTILIDADES ====================
+
+    private static boolean existeColumna(Connection conn, String tabla, String columna) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + tabla + ")")) {
+            while (rs.next()) {
+                if (columna.equalsIgnoreCase(rs.getString("name"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
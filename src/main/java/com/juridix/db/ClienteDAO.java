@@ -3,6 +3,7 @@ package com.juridix.db;
 import com.juridix.db.Database;
 import com.juridix.model.Cliente;
 
+import java.io.IOException;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -11,40 +12,21 @@ import java.util.Optional;
 
 public class ClienteDAO {
 
+    private static final String SQL_INSERTAR = """
+        INSERT INTO clientes (
+            nombre_completo, dni, cuit_cuil, fecha_nacimiento, telefono,
+            email, domicilio, localidad, provincia, codigo_postal,
+            profesion, estado_civil, observaciones, activo, usuario_creador_id
+        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
     // ==================== CREATE ====================
 
     public Cliente guardar(Cliente cliente) throws SQLException {
-        String sql = """
-            INSERT INTO clientes (
-                nombre_completo, dni, cuit_cuil, fecha_nacimiento, telefono,
-                email, domicilio, localidad, provincia, codigo_postal,
-                profesion, estado_civil, observaciones, activo, usuario_creador_id
-            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-        """;
-
         try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            ps.setString(1, cliente.getNombreCompleto());
-            ps.setString(2, cliente.getDni());
-            ps.setString(3, cliente.getCuitCuil());
-            ps.setString(4, cliente.getFechaNacimientoAsString());
-            ps.setString(5, cliente.getTelefono());
-            ps.setString(6, cliente.getEmail());
-            ps.setString(7, cliente.getDomicilio());
-            ps.setString(8, cliente.getLocalidad());
-            ps.setString(9, cliente.getProvincia());
-            ps.setString(10, cliente.getCodigoPostal());
-            ps.setString(11, cliente.getProfesion());
-            ps.setString(12, cliente.getEstadoCivil());
-            ps.setString(13, cliente.getObservaciones());
-            ps.setInt(14, cliente.isActivo() ? 1 : 0);
+             PreparedStatement ps = conn.prepareStatement(SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
 
-            if (cliente.getUsuarioCreadorId() != null) {
-                ps.setInt(15, cliente.getUsuarioCreadorId());
-            } else {
-                ps.setNull(15, Types.INTEGER);
-            }
+            asignarInsercion(ps, cliente);
 
             int affectedRows = ps.executeUpdate();
 
@@ -66,6 +48,22 @@ public class ClienteDAO {
         }
     }
 
+    /**
+     * Inserta todos los clientes en una sola transacción con addBatch
+     * y asigna a cada uno su ID generado
+     * @return La misma lista, con los IDs asignados
+     */
+    public List<Cliente> guardarLote(List<Cliente> clientes) throws SQLException {
+        try {
+            Lotes.insertar(SQL_INSERTAR, clientes, this::asignarInsercion, Cliente::setId);
+            return clientes;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al guardar lote de clientes: " + e.getMessage());
+            throw e;
+        }
+    }
+
     // ==================== READ ====================
 
     public Optional<Cliente> buscarPorId(Integer id) throws SQLException {
@@ -112,6 +110,30 @@ public class ClienteDAO {
         }
     }
 
+    /**
+     * DNIs cargados (sin repetir ni vacíos), tal como están guardados
+     */
+    public List<String> listarDnis() throws SQLException {
+        String sql = "SELECT DISTINCT dni FROM clientes WHERE dni IS NOT NULL AND TRIM(dni) <> ''";
+
+        List<String> dnis = new ArrayList<>();
+
+        try (Connection conn = Database.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                dnis.add(rs.getString(1));
+            }
+
+            return dnis;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al listar DNIs: " + e.getMessage());
+            throw e;
+        }
+    }
+
     public List<Cliente> listarTodos() throws SQLException {
         String sql = """
             SELECT * FROM clientes 
@@ -136,6 +158,30 @@ public class ClienteDAO {
         }
     }
 
+    /**
+     * Recorre todos los clientes (mismo orden que listarTodos) con un cursor de solo avance:
+     * cada fila se mapea y se entrega al procesador sin acumular la tabla en memoria
+     */
+    public void recorrerTodos(ProcesadorFila<Cliente> procesador) throws SQLException, IOException {
+        String sql = """
+            SELECT * FROM clientes
+            ORDER BY nombre_completo ASC
+        """;
+
+        try (Connection conn = Database.getConnection();
+             Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                procesador.procesar(mapearCliente(rs));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al recorrer clientes: " + e.getMessage());
+            throw e;
+        }
+    }
+
     public List<Cliente> listarActivos() throws SQLException {
         String sql = """
             SELECT * FROM clientes 
@@ -406,4 +452,29 @@ public class ClienteDAO {
 
         return cliente;
     }
+
+    // ==================== PARÁMETROS ====================
+
+    private void asignarInsercion(PreparedStatement ps, Cliente cliente) throws SQLException {
+        ps.setString(1, cliente.getNombreCompleto());
+        ps.setString(2, cliente.getDni());
+        ps.setString(3, cliente.getCuitCuil());
+        ps.setString(4, cliente.getFechaNacimientoAsString());
+        ps.setString(5, cliente.getTelefono());
+        ps.setString(6, cliente.getEmail());
+        ps.setString(7, cliente.getDomicilio());
+        ps.setString(8, cliente.getLocalidad());
+        ps.setString(9, cliente.getProvincia());
+        ps.setString(10, cliente.getCodigoPostal());
+        ps.setString(11, cliente.getProfesion());
+        ps.setString(12, cliente.getEstadoCivil());
+        ps.setString(13, cliente.getObservaciones());
+        ps.setInt(14, cliente.isActivo() ? 1 : 0);
+
+        if (cliente.getUsuarioCreadorId() != null) {
+            ps.setInt(15, cliente.getUsuarioCreadorId());
+        } else {
+            ps.setNull(15, Types.INTEGER);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,472 @@
+package com.juridix.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool acotado de conexiones SQLite.
+ * Mantiene conexiones "calientes" abiertas, las valida antes de prestarlas,
+ * detecta conexiones que no se devuelven (fugas) y expone métricas de uso.
+ * Las conexiones entregadas son envoltorios: close() las devuelve al pool.
+ * Cada conexión física recibe el {@link ConnectionProfile} al crearse y tiene
+ * su propia {@link StatementCache} de sentencias preparadas.
+ */
+public class ConnectionPool {
+
+    // Con -Djuridix.pool.rastrearFugas=true cada préstamo guarda la pila de quien lo pidió, para
+    // mostrarla si se detecta una fuga. Capturarla en cada préstamo es caro, así que va apagado.
+    static final String PROPIEDAD_RASTREAR_FUGAS = "juridix.pool.rastrearFugas";
+    private static final boolean RASTREAR_FUGAS = Boolean.getBoolean(PROPIEDAD_RASTREAR_FUGAS);
+
+    private final String url;
+    private final ConnectionProfile perfil;
+    private final int tamanioMinimo;
+    private final int tamanioMaximo;
+    private final long timeoutEsperaMs;
+    private final long umbralFugaMs;
+    private final long validarSiInactivaMs;
+    private final int capacidadCacheSentencias;
+
+    private final LinkedBlockingDeque<ConexionFisica> libres = new LinkedBlockingDeque<>();
+    private final Map<Connection, Prestamo> prestadas = new ConcurrentHashMap<>();
+    private final AtomicInteger totalConexiones = new AtomicInteger();
+    private final AtomicBoolean cerrado = new AtomicBoolean(false);
+
+    // Métricas
+    private final AtomicLong prestamos = new AtomicLong();
+    private final AtomicLong esperas = new AtomicLong();
+    private final AtomicLong tiempoEsperaTotalNanos = new AtomicLong();
+    private final AtomicLong tiempoEsperaMaximoNanos = new AtomicLong();
+    private final AtomicLong conexionesCreadas = new AtomicLong();
+    private final AtomicLong conexionesDescartadas = new AtomicLong();
+    private final AtomicLong fugasDetectadas = new AtomicLong();
+    private final StatementCache.Contadores contadoresCache = new StatementCache.Contadores();
+
+    private final ScheduledExecutorService vigilante;
+
+    public ConnectionPool(String url, ConnectionProfile perfil, int tamanioMinimo, int tamanioMaximo,
+                          long timeoutEsperaMs, long umbralFugaMs, int capacidadCacheSentencias) throws SQLException {
+        if (tamanioMinimo < 0 || tamanioMaximo <= 0 || tamanioMinimo > tamanioMaximo) {
+            throw new IllegalArgumentException("Tamaños de pool inválidos: min=" + tamanioMinimo + ", max=" + tamanioMaximo);
+        }
+
+        this.url = url;
+        this.perfil = perfil;
+        this.tamanioMinimo = tamanioMinimo;
+        this.tamanioMaximo = tamanioMaximo;
+        this.timeoutEsperaMs = timeoutEsperaMs;
+        this.umbralFugaMs = umbralFugaMs;
+        this.validarSiInactivaMs = 30_000;
+        this.capacidadCacheSentencias = capacidadCacheSentencias;
+
+        // Conexiones calientes
+        for (int i = 0; i < tamanioMinimo; i++) {
+            totalConexiones.incrementAndGet();
+            libres.offer(crearConexionFisica());
+        }
+
+        this.vigilante = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "juridix-pool-vigilante");
+            t.setDaemon(true);
+            return t;
+        });
+
+        long periodo = Math.max(1_000, umbralFugaMs / 2);
+        vigilante.scheduleAtFixedRate(this::detectarFugas, periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    // ==================== PRÉSTAMO ====================
+
+    /**
+     * Obtiene una conexión del pool. Debe cerrarse (try-with-resources) para devolverla.
+     * @throws SQLException Si no hay conexión disponible dentro del tiempo de espera
+     */
+    public Connection obtenerConexion() throws SQLException {
+        if (cerrado.get()) {
+            throw new SQLException("El pool de conexiones está cerrado");
+        }
+
+        long inicio = System.nanoTime();
+        long limite = inicio + TimeUnit.MILLISECONDS.toNanos(timeoutEsperaMs);
+        boolean espero = false;
+
+        while (true) {
+            ConexionFisica fisica = libres.pollFirst();
+
+            if (fisica == null) {
+                fisica = crearSiHayCupo();
+            }
+
+            if (fisica == null) {
+                espero = true;
+                long restante = limite - System.nanoTime();
+                if (restante <= 0) {
+                    throw new SQLException("Tiempo de espera agotado al obtener conexión (" +
+                            timeoutEsperaMs + " ms). Activas: " + prestadas.size() + "/" + tamanioMaximo);
+                }
+                try {
+                    fisica = libres.pollFirst(restante, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrumpido mientras se esperaba una conexión", e);
+                }
+                if (fisica == null) {
+                    continue;
+                }
+            }
+
+            if (!esValida(fisica)) {
+                descartar(fisica);
+                continue;
+            }
+
+            registrarEspera(System.nanoTime() - inicio, espero);
+            return prestar(fisica);
+        }
+    }
+
+    private ConexionFisica crearSiHayCupo() throws SQLException {
+        while (true) {
+            int actual = totalConexiones.get();
+            if (actual >= tamanioMaximo) {
+                return null;
+            }
+            if (totalConexiones.compareAndSet(actual, actual + 1)) {
+                try {
+                    return crearConexionFisica();
+                } catch (SQLException e) {
+                    totalConexiones.decrementAndGet();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private Connection prestar(ConexionFisica fisica) {
+        prestamos.incrementAndGet();
+
+        ConexionPrestada handler = new ConexionPrestada(fisica);
+        Connection proxy = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                handler
+        );
+
+        prestadas.put(proxy, new Prestamo(Thread.currentThread().getName(),
+                RASTREAR_FUGAS ? new Throwable("Conexión obtenida aquí") : null));
+        handler.proxy = proxy;
+        return proxy;
+    }
+
+    private void devolver(Connection proxy, ConexionFisica fisica) {
+        prestadas.remove(proxy);
+
+        if (cerrado.get()) {
+            descartar(fisica);
+            return;
+        }
+
+        try {
+            fisica.cache.liberarEnUso();
+
+            // Restaurar estado por si el usuario dejó una transacción abierta
+            if (!fisica.conexion.getAutoCommit()) {
+                fisica.conexion.rollback();
+                fisica.conexion.setAutoCommit(true);
+            }
+            fisica.ultimoUso = System.currentTimeMillis();
+            libres.offerFirst(fisica);
+        } catch (SQLException e) {
+            System.err.println("⚠️ Conexión descartada al devolverla al pool: " + e.getMessage());
+            descartar(fisica);
+        }
+    }
+
+    // ==================== CICLO DE VIDA ====================
+
+    private ConexionFisica crearConexionFisica() throws SQLException {
+        Connection conn = DriverManager.getConnection(url);
+        try {
+            perfil.aplicar(conn);
+            conn.setAutoCommit(true);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        conexionesCreadas.incrementAndGet();
+        return new ConexionFisica(conn, new StatementCache(conn, capacidadCacheSentencias, contadoresCache));
+    }
+
+    private boolean esValida(ConexionFisica fisica) {
+        try {
+            if (fisica.conexion.isClosed()) {
+                return false;
+            }
+            // Solo se valida con ida y vuelta si estuvo inactiva un buen rato
+            if (System.currentTimeMillis() - fisica.ultimoUso > validarSiInactivaMs) {
+                return fisica.conexion.isValid(2);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void descartar(ConexionFisica fisica) {
+        totalConexiones.decrementAndGet();
+        conexionesDescartadas.incrementAndGet();
+        fisica.cache.cerrar();
+        try {
+            fisica.conexion.close();
+        } catch (SQLException e) {
+            System.err.println("⚠️ Error al cerrar conexión descartada: " + e.getMessage());
+        }
+    }
+
+    private void registrarEspera(long nanos, boolean espero) {
+        if (espero) {
+            esperas.incrementAndGet();
+        }
+        tiempoEsperaTotalNanos.addAndGet(nanos);
+        tiempoEsperaMaximoNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private void detectarFugas() {
+        long ahora = System.currentTimeMillis();
+        for (Prestamo prestamo : prestadas.values()) {
+            if (!prestamo.reportado && ahora - prestamo.desde > umbralFugaMs) {
+                prestamo.reportado = true;
+                fugasDetectadas.incrementAndGet();
+                System.err.println("⚠️ Posible fuga de conexión: prestada hace " + (ahora - prestamo.desde) +
+                        " ms al hilo '" + prestamo.hilo + "'");
+                if (prestamo.origen != null) {
+                    prestamo.origen.printStackTrace();
+                } else {
+                    System.err.println("ℹ️ Para ver dónde se obtuvo, iniciar con -D" + PROPIEDAD_RASTREAR_FUGAS + "=true");
+                }
+            }
+        }
+    }
+
+    /**
+     * Cierra el pool y todas las conexiones libres.
+     * Las conexiones prestadas se cierran al ser devueltas.
+     */
+    public void cerrar() {
+        if (!cerrado.compareAndSet(false, true)) {
+            return;
+        }
+
+        vigilante.shutdownNow();
+
+        ConexionFisica fisica;
+        while ((fisica = libres.pollFirst()) != null) {
+            descartar(fisica);
+        }
+
+        if (!prestadas.isEmpty()) {
+            System.err.println("⚠️ Pool cerrado con " + prestadas.size() + " conexiones aún prestadas");
+        }
+    }
+
+    // ==================== MÉTRICAS ====================
+
+    public EstadisticasPool obtenerEstadisticas() {
+        long totalPrestamos = prestamos.get();
+        double esperaPromedioMs = totalPrestamos == 0 ? 0.0 :
+                tiempoEsperaTotalNanos.get() / (double) totalPrestamos / 1_000_000.0;
+
+        return new EstadisticasPool(
+                prestadas.size(),
+                libres.size(),
+                tamanioMaximo,
+                totalPrestamos,
+                esperas.get(),
+                esperaPromedioMs,
+                tiempoEsperaMaximoNanos.get() / 1_000_000.0,
+                conexionesCreadas.get(),
+                conexionesDescartadas.get(),
+                fugasDetectadas.get(),
+                contadoresCache.getAciertos(),
+                contadoresCache.getFallos(),
+                contadoresCache.getDesalojos()
+        );
+    }
+
+    public ConnectionProfile getPerfil() {
+        return perfil;
+    }
+
+    public int getTamanioMinimo() {
+        return tamanioMinimo;
+    }
+
+    public int getTamanioMaximo() {
+        return tamanioMaximo;
+    }
+
+    // ==================== CLASES INTERNAS ====================
+
+    private static class ConexionFisica {
+        private final Connection conexion;
+        private final StatementCache cache;
+        private volatile long ultimoUso;
+
+        ConexionFisica(Connection conexion, StatementCache cache) {
+            this.conexion = conexion;
+            this.cache = cache;
+            this.ultimoUso = System.currentTimeMillis();
+        }
+    }
+
+    private static class Prestamo {
+        private final long desde = System.currentTimeMillis();
+        private final String hilo;
+        // Pila del préstamo; null si el rastreo de fugas está apagado
+        private final Throwable origen;
+        private volatile boolean reportado;
+
+        Prestamo(String hilo, Throwable origen) {
+            this.hilo = hilo;
+            this.origen = origen;
+        }
+    }
+
+    /**
+     * Envoltorio dinámico de una conexión prestada.
+     * close() la devuelve al pool; cualquier uso posterior falla.
+     */
+    private class ConexionPrestada implements InvocationHandler {
+        private final ConexionFisica fisica;
+        private final AtomicBoolean devuelta = new AtomicBoolean(false);
+        private Connection proxy;
+
+        ConexionPrestada(ConexionFisica fisica) {
+            this.fisica = fisica;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (devuelta.compareAndSet(false, true)) {
+                        devolver(this.proxy, fisica);
+                    }
+                    return null;
+                case "isClosed":
+                    return devuelta.get() || fisica.conexion.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ConexionPooled[" + fisica.conexion + "]";
+                default:
+                    break;
+            }
+
+            if (devuelta.get()) {
+                throw new SQLException("La conexión ya fue devuelta al pool");
+            }
+
+            // prepareStatement(sql) y prepareStatement(sql, autoGeneratedKeys) pasan por la caché
+            if ("prepareStatement".equals(method.getName())) {
+                if (args.length == 1) {
+                    return fisica.cache.preparar((String) args[0], null, this.proxy);
+                }
+                if (args.length == 2 && args[1] instanceof Integer) {
+                    return fisica.cache.preparar((String) args[0], (Integer) args[1], this.proxy);
+                }
+            }
+
+            try {
+                return method.invoke(fisica.conexion, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Instantánea de las métricas del pool
+     */
+    public static class EstadisticasPool {
+        private final int activas;
+        private final int libres;
+        private final int maximo;
+        private final long prestamos;
+        private final long esperas;
+        private final double esperaPromedioMs;
+        private final double esperaMaximaMs;
+        private final long creadas;
+        private final long descartadas;
+        private final long fugas;
+        private final long aciertosCache;
+        private final long fallosCache;
+        private final long desalojosCache;
+
+        public EstadisticasPool(int activas, int libres, int maximo, long prestamos, long esperas,
+                                double esperaPromedioMs, double esperaMaximaMs,
+                                long creadas, long descartadas, long fugas,
+                                long aciertosCache, long fallosCache, long desalojosCache) {
+            this.activas = activas;
+            this.libres = libres;
+            this.maximo = maximo;
+            this.prestamos = prestamos;
+            this.esperas = esperas;
+            this.esperaPromedioMs = esperaPromedioMs;
+            this.esperaMaximaMs = esperaMaximaMs;
+            this.creadas = creadas;
+            this.descartadas = descartadas;
+            this.fugas = fugas;
+            this.aciertosCache = aciertosCache;
+            this.fallosCache = fallosCache;
+            this.desalojosCache = desalojosCache;
+        }
+
+        public int getActivas() { return activas; }
+        public int getLibres() { return libres; }
+        public int getMaximo() { return maximo; }
+        public long getPrestamos() { return prestamos; }
+        public long getEsperas() { return esperas; }
+        public double getEsperaPromedioMs() { return esperaPromedioMs; }
+        public double getEsperaMaximaMs() { return esperaMaximaMs; }
+        public long getCreadas() { return creadas; }
+        public long getDescartadas() { return descartadas; }
+        public long getFugas() { return fugas; }
+        public long getAciertosCache() { return aciertosCache; }
+        public long getFallosCache() { return fallosCache; }
+        public long getDesalojosCache() { return desalojosCache; }
+
+        public double getTasaAciertosCache() {
+            long total = aciertosCache + fallosCache;
+            return total == 0 ? 0.0 : aciertosCache * 100.0 / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "Activas: %d | Libres: %d | Máx: %d | Préstamos: %d | Esperas: %d | " +
+                            "Espera prom: %.3f ms | Espera máx: %.3f ms | Creadas: %d | Descartadas: %d | Fugas: %d | " +
+                            "Caché sentencias: %d aciertos / %d fallos (%.1f%%), %d desalojos",
+                    activas, libres, maximo, prestamos, esperas, esperaPromedioMs, esperaMaximaMs,
+                    creadas, descartadas, fugas,
+                    aciertosCache, fallosCache, getTasaAciertosCache(), desalojosCache
+            );
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.juridix.db;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+/**
+ * Perfil de ajuste (PRAGMAs) que se aplica a cada conexión SQLite al crearla.
+ * Se carga desde juridix-db.properties: primero el del classpath (valores por defecto)
+ * y luego, si existe, el del directorio de trabajo, que tiene prioridad.
+ */
+public class ConnectionProfile {
+
+    public static final String ARCHIVO_CONFIGURACION = "juridix-db.properties";
+
+    private static final String[] TEMP_STORE_VALIDOS = {"DEFAULT", "FILE", "MEMORY"};
+    private static final String[] SYNCHRONOUS_VALIDOS = {"OFF", "NORMAL", "FULL", "EXTRA"};
+    private static final String[] JOURNAL_VALIDOS = {"DELETE", "TRUNCATE", "PERSIST", "MEMORY", "WAL", "OFF"};
+
+    private final String journalMode;
+    private final String synchronous;
+    private final int busyTimeoutMs;
+    private final boolean foreignKeys;
+    private final long cacheSize;
+    private final long mmapSize;
+    private final String tempStore;
+    private final String origen;
+
+    public ConnectionProfile(String journalMode, String synchronous, int busyTimeoutMs, boolean foreignKeys,
+                             long cacheSize, long mmapSize, String tempStore, String origen) {
+        this.journalMode = validarOpcion("journal_mode", journalMode, JOURNAL_VALIDOS);
+        this.tempStore = validarOpcion("temp_store", tempStore, TEMP_STORE_VALIDOS);
+        this.busyTimeoutMs = busyTimeoutMs;
+        this.foreignKeys = foreignKeys;
+        this.cacheSize = cacheSize;
+        this.mmapSize = mmapSize;
+        this.origen = origen;
+
+        String sync = validarOpcion("synchronous", synchronous, SYNCHRONOUS_VALIDOS);
+        // synchronous=NORMAL solo es seguro ante cortes de energía con WAL
+        if (!"WAL".equals(this.journalMode) && ("NORMAL".equals(sync) || "OFF".equals(sync))) {
+            System.err.println("⚠️ synchronous=" + sync + " sin WAL no es seguro, se usa FULL");
+            sync = "FULL";
+        }
+        this.synchronous = sync;
+
+        if (busyTimeoutMs < 0) {
+            throw new IllegalArgumentException("busy_timeout no puede ser negativo");
+        }
+        if (mmapSize < 0) {
+            throw new IllegalArgumentException("mmap_size no puede ser negativo");
+        }
+    }
+
+    // ==================== CARGA ====================
+
+    /**
+     * Carga el perfil desde el classpath y el directorio de trabajo
+     */
+    public static ConnectionProfile cargar() {
+        Properties props = new Properties();
+        StringBuilder origen = new StringBuilder("valores por defecto");
+
+        try (InputStream in = ConnectionProfile.class.getResourceAsStream("/" + ARCHIVO_CONFIGURACION)) {
+            if (in != null) {
+                props.load(in);
+                origen = new StringBuilder("classpath:" + ARCHIVO_CONFIGURACION);
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️ No se pudo leer " + ARCHIVO_CONFIGURACION + " del classpath: " + e.getMessage());
+        }
+
+        Path externo = Paths.get(ARCHIVO_CONFIGURACION);
+        if (Files.isRegularFile(externo)) {
+            try (InputStream in = Files.newInputStream(externo)) {
+                props.load(in);
+                origen.append(" + ").append(externo.toAbsolutePath());
+            } catch (IOException e) {
+                System.err.println("⚠️ No se pudo leer " + externo.toAbsolutePath() + ": " + e.getMessage());
+            }
+        }
+
+        return desdePropiedades(props, origen.toString());
+    }
+
+    /**
+     * Arma el perfil desde las propiedades. Un valor mal escrito no impide arrancar: se avisa
+     * y se usa el valor por defecto de esa opción.
+     */
+    public static ConnectionProfile desdePropiedades(Properties props, String origen) {
+        return new ConnectionProfile(
+                opcion(props, "sqlite.journal_mode", "WAL", JOURNAL_VALIDOS),
+                opcion(props, "sqlite.synchronous", "NORMAL", SYNCHRONOUS_VALIDOS),
+                (int) numero(props, "sqlite.busy_timeout", 5000, 0, Integer.MAX_VALUE),
+                booleano(props, "sqlite.foreign_keys", true),
+                numero(props, "sqlite.cache_size", -16000, Long.MIN_VALUE, Long.MAX_VALUE),
+                numero(props, "sqlite.mmap_size", 268435456, 0, Long.MAX_VALUE),
+                opcion(props, "sqlite.temp_store", "MEMORY", TEMP_STORE_VALIDOS),
+                origen
+        );
+    }
+
+    private static String opcion(Properties props, String clave, String porDefecto, String[] validos) {
+        String valor = props.getProperty(clave, porDefecto).trim().toUpperCase();
+        for (String v : validos) {
+            if (v.equals(valor)) {
+                return valor;
+            }
+        }
+        avisarValorInvalido(clave, valor, porDefecto);
+        return porDefecto;
+    }
+
+    private static long numero(Properties props, String clave, long porDefecto, long minimo, long maximo) {
+        String valor = props.getProperty(clave);
+        if (valor == null) {
+            return porDefecto;
+        }
+        try {
+            long numero = Long.parseLong(valor.trim());
+            if (numero >= minimo && numero <= maximo) {
+                return numero;
+            }
+        } catch (NumberFormatException e) {
+            // Se avisa abajo
+        }
+        avisarValorInvalido(clave, valor, String.valueOf(porDefecto));
+        return porDefecto;
+    }
+
+    private static boolean booleano(Properties props, String clave, boolean porDefecto) {
+        String valor = props.getProperty(clave);
+        if (valor == null) {
+            return porDefecto;
+        }
+        if ("true".equalsIgnoreCase(valor.trim())) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(valor.trim())) {
+            return false;
+        }
+        avisarValorInvalido(clave, valor, String.valueOf(porDefecto));
+        return porDefecto;
+    }
+
+    private static void avisarValorInvalido(String clave, String valor, String porDefecto) {
+        System.err.println("⚠️ Valor inválido en " + ARCHIVO_CONFIGURACION + " para " + clave + ": '"
+                + valor.trim() + "', se usa " + porDefecto);
+    }
+
+    // ==================== APLICACIÓN ====================
+
+    /**
+     * Aplica todos los PRAGMAs del perfil a una conexión recién creada
+     */
+    public void aplicar(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            // busy_timeout primero: el cambio de journal_mode puede necesitar esperar un lock
+            stmt.execute("PRAGMA busy_timeout=" + busyTimeoutMs);
+            stmt.execute("PRAGMA journal_mode=" + journalMode);
+            stmt.execute("PRAGMA synchronous=" + synchronous);
+            stmt.execute("PRAGMA foreign_keys=" + (foreignKeys ? "ON" : "OFF"));
+            stmt.execute("PRAGMA cache_size=" + cacheSize);
+            stmt.execute("PRAGMA mmap_size=" + mmapSize);
+            stmt.execute("PRAGMA temp_store=" + tempStore);
+        }
+    }
+
+    /**
+     * Genera un reporte con los valores realmente vigentes en la conexión
+     */
+    public String generarReporte(Connection conn) throws SQLException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("⚙️ Perfil de conexión SQLite (").append(origen).append(")\n");
+
+        try (Statement stmt = conn.createStatement()) {
+            agregarPragma(sb, stmt, "journal_mode", null);
+            agregarPragma(sb, stmt, "synchronous", SYNCHRONOUS_VALIDOS);
+            agregarPragma(sb, stmt, "busy_timeout", null);
+            agregarPragma(sb, stmt, "foreign_keys", new String[]{"OFF", "ON"});
+            agregarPragma(sb, stmt, "cache_size", null);
+            agregarPragma(sb, stmt, "mmap_size", null);
+            agregarPragma(sb, stmt, "temp_store", TEMP_STORE_VALIDOS);
+        }
+
+        return sb.toString();
+    }
+
+    private void agregarPragma(StringBuilder sb, Statement stmt, String pragma, String[] nombres) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("PRAGMA " + pragma)) {
+            String valor = rs.next() ? rs.getString(1) : "(sin valor)";
+            // Algunos PRAGMAs devuelven el índice numérico de la opción
+            if (nombres != null && valor.matches("\\d+") && Integer.parseInt(valor) < nombres.length) {
+                valor = nombres[Integer.parseInt(valor)];
+            }
+            sb.append("   ").append(pragma).append(" = ").append(valor).append("\n");
+        }
+    }
+
+    private static String validarOpcion(String pragma, String valor, String[] validos) {
+        for (String v : validos) {
+            if (v.equals(valor)) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Valor inválido para " + pragma + ": " + valor);
+    }
+
+    // ==================== GETTERS ====================
+
+    public String getJournalMode() { return journalMode; }
+    public String getSynchronous() { return synchronous; }
+    public int getBusyTimeoutMs() { return busyTimeoutMs; }
+    public boolean isForeignKeys() { return foreignKeys; }
+    public long getCacheSize() { return cacheSize; }
+    public long getMmapSize() { return mmapSize; }
+    public String getTempStore() { return tempStore; }
+    public String getOrigen() { return origen; }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "journal_mode=%s | synchronous=%s | busy_timeout=%d | foreign_keys=%s | cache_size=%d | mmap_size=%d | temp_store=%s",
+                journalMode, synchronous, busyTimeoutMs, foreignKeys ? "ON" : "OFF", cacheSize, mmapSize, tempStore
+        );
+    }
+}
@@ -0,0 +1,157 @@
+package com.juridix.db;
+
+import com.juridix.model.MovimientoCuenta;
+import com.juridix.model.TotalesFinancieros;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cuenta corriente de un expediente calculada en SQL:
+ * honorarios, gastos y pagos unidos con UNION ALL, ordenados por fecha
+ * y con el saldo acumulado calculado por una función de ventana.
+ */
+public class CuentaCorrienteDAO {
+
+    // Orden dentro de un mismo día: honorarios, gastos y luego pagos
+    private static final String MOVIMIENTOS_CTE = """
+        WITH movimientos AS (
+            SELECT date(fecha_creacion) AS fecha, 0 AS orden, id, 'Honorario' AS tipo,
+                   descripcion, COALESCE(monto_calculado, 0) AS debe, 0.0 AS haber
+            FROM honorarios
+            WHERE expediente_id = ?
+            UNION ALL
+            SELECT fecha, 1, id, 'Gasto', concepto, monto, 0.0
+            FROM gastos
+            WHERE expediente_id = ?
+            UNION ALL
+            SELECT fecha, 2, id, 'Pago', COALESCE(concepto, 'Pago recibido'), 0.0, monto
+            FROM pagos
+            WHERE expediente_id = ?
+        )
+    """;
+
+    // ==================== READ ====================
+
+    /**
+     * Lista una página de la cuenta corriente ya ordenada y con saldo acumulado.
+     * El saldo se calcula sobre todo el historial, no solo sobre la página.
+     * @param expedienteId ID del expediente
+     * @param desde Cantidad de renglones a saltear
+     * @param limite Cantidad máxima de renglones a devolver
+     * @return Renglones de la página
+     * @throws SQLException Si ocurre un error en la base de datos
+     */
+    public List<MovimientoCuenta> listarMovimientos(Integer expedienteId, int desde, int limite) throws SQLException {
+        String sql = MOVIMIENTOS_CTE + """
+            SELECT fecha, tipo, id, descripcion, debe, haber,
+                   SUM(debe - haber) OVER (
+                       ORDER BY fecha, orden, id
+                       ROWS BETWEEN UNBOUNDED PRECEDING AND CURRENT ROW
+                   ) AS saldo
+            FROM movimientos
+            ORDER BY fecha, orden, id
+            LIMIT ? OFFSET ?
+        """;
+
+        List<MovimientoCuenta> movimientos = new ArrayList<>();
+
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, expedienteId);
+            ps.setInt(2, expedienteId);
+            ps.setInt(3, expedienteId);
+            ps.setInt(4, limite);
+            ps.setInt(5, desde);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    movimientos.add(new MovimientoCuenta(
+                            MovimientoCuenta.parsearFecha(rs.getString("fecha")),
+                            rs.getString("tipo"),
+                            rs.getInt("id"),
+                            rs.getString("descripcion"),
+                            rs.getDouble("debe"),
+                            rs.getDouble("haber"),
+                            rs.getDouble("saldo")
+                    ));
+                }
+            }
+
+            return movimientos;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al listar cuenta corriente: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    // ==================== ESTADÍSTICAS ====================
+
+    /**
+     * Cuenta los renglones de la cuenta corriente (para paginar)
+     */
+    public int contarMovimientos(Integer expedienteId) throws SQLException {
+        String sql = """
+            SELECT (SELECT COUNT(*) FROM honorarios WHERE expediente_id = ?)
+                 + (SELECT COUNT(*) FROM gastos WHERE expediente_id = ?)
+                 + (SELECT COUNT(*) FROM pagos WHERE expediente_id = ?)
+        """;
+
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, expedienteId);
+            ps.setInt(2, expedienteId);
+            ps.setInt(3, expedienteId);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+
+            return 0;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al contar movimientos de cuenta: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Totales de honorarios, gastos y pagos del expediente en una sola consulta
+     */
+    public TotalesFinancieros calcularTotales(Integer expedienteId) throws SQLException {
+        String sql = """
+            SELECT (SELECT COALESCE(SUM(monto_calculado), 0) FROM honorarios WHERE expediente_id = ?),
+                   (SELECT COALESCE(SUM(monto_calculado), 0) FROM honorarios
+                     WHERE expediente_id = ? AND estado = 'PENDIENTE'),
+                   (SELECT COALESCE(SUM(monto), 0) FROM gastos WHERE expediente_id = ?),
+                   (SELECT COALESCE(SUM(monto), 0) FROM pagos WHERE expediente_id = ?)
+        """;
+
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            for (int i = 1; i <= 4; i++) {
+                ps.setInt(i, expedienteId);
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return new TotalesFinancieros(1, rs.getDouble(1), rs.getDouble(2),
+                            rs.getDouble(3), rs.getDouble(4));
+                }
+            }
+
+            return TotalesFinancieros.vacio();
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al calcular totales de cuenta: " + e.getMessage());
+            throw e;
+        }
+    }
+}
@@ -7,29 +7,100 @@ import java.sql.SQLException;
 public class Database {
     private static final String URL = "jdbc:sqlite:juridix.db";
 
+    // Configuración del pool
+    private static final int POOL_MINIMO = 2;
+    private static final int POOL_MAXIMO = 8;
+    private static final long TIMEOUT_ESPERA_MS = 10_000;
+    private static final long UMBRAL_FUGA_MS = 60_000;
+    private static final int CACHE_SENTENCIAS_POR_CONEXION = 64;
+
+    private static volatile ConnectionPool pool;
+
     private Database() {
         // Constructor privado
     }
 
     /**
-     * Obtiene una nueva conexión a la base de datos
-     * IMPORTANTE: Cada llamada retorna una NUEVA conexión que debe cerrarse después de usarse
+     * Obtiene una conexión del pool
+     * IMPORTANTE: Cada conexión obtenida debe cerrarse después de usarse (la devuelve al pool)
+     * Dentro de Transaccion.ejecutar devuelve la conexión de la transacción (cerrarla no hace nada)
      */
     public static Connection getConnection() throws SQLException {
-        try {
-            // Cargar el driver
-            Class.forName("org.sqlite.JDBC");
+        Connection enTransaccion = Transaccion.conexionActual();
+        if (enTransaccion != null) {
+            return enTransaccion;
+        }
+        return getPool().obtenerConexion();
+    }
+
+    /**
+     * Devuelve el pool, creándolo (con sus conexiones calientes) la primera vez
+     */
+    public static ConnectionPool getPool() throws SQLException {
+        ConnectionPool actual = pool;
+        if (actual == null) {
+            synchronized (Database.class) {
+                actual = pool;
+                if (actual == null) {
+                    try {
+                        // Cargar el driver una sola vez
+                        Class.forName("org.sqlite.JDBC");
+                    } catch (ClassNotFoundException e) {
+                        throw new SQLException("Driver SQLite no encontrado", e);
+                    }
+
+                    ConnectionProfile perfil = ConnectionProfile.cargar();
+                    actual = new ConnectionPool(URL, perfil, POOL_MINIMO, POOL_MAXIMO,
+                            TIMEOUT_ESPERA_MS, UMBRAL_FUGA_MS, CACHE_SENTENCIAS_POR_CONEXION);
+                    pool = actual;
+
+                    reportarPerfil(actual);
+                }
+            }
+        }
+        return actual;
+    }
 
-            // Crear nueva conexión
-            Connection conn = DriverManager.getConnection(URL);
+    /**
+     * Imprime los PRAGMAs vigentes tal como los ve una conexión del pool
+     */
+    private static void reportarPerfil(ConnectionPool pool) {
+        try (Connection conn = pool.obtenerConexion()) {
+            System.out.print(pool.getPerfil().generarReporte(conn));
+        } catch (SQLException e) {
+            System.err.println("⚠️ No se pudo generar el reporte del perfil de conexión: " + e.getMessage());
+        }
+    }
 
-            // Configurar para SQLite
-            conn.setAutoCommit(true); // MUY IMPORTANTE
+    /**
+     * Abre una conexión propia a la base, fuera del pool y sin el perfil de PRAGMAs.
+     * Para quien necesita una conexión de larga vida que no compita por las del pool
+     * (por ejemplo, observar PRAGMA data_version). Quien la abre debe cerrarla.
+     */
+    public static Connection abrirConexionDirecta() throws SQLException {
+        // Asegura que el driver esté cargado
+        getPool();
+        return DriverManager.getConnection(URL);
+    }
 
-            return conn;
+    /**
+     * Métricas actuales del pool (null si todavía no se creó)
+     */
+    public static ConnectionPool.EstadisticasPool getEstadisticasPool() {
+        ConnectionPool actual = pool;
+        return actual != null ? actual.obtenerEstadisticas() : null;
+    }
 
-        } catch (ClassNotFoundException e) {
-            throw new SQLException("Driver SQLite no encontrado", e);
+    /**
+     * Cierra el pool y sus conexiones. Llamar al cerrar la aplicación.
+     */
+    public static void cerrar() {
+        synchronized (Database.class) {
+            if (pool != null) {
+                System.out.println("📊 Pool de conexiones: " + pool.obtenerEstadisticas());
+                pool.cerrar();
+                pool = null;
+            }
         }
     }
 
@@ -44,4 +115,4 @@ public class Database {
             return false;
         }
     }
-}
\ No newline at end of file
+}
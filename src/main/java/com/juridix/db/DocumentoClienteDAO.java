@@ -1,6 +1,7 @@
 package com.juridix.db;
 
 import com.juridix.db.Database;
+import com.juridix.model.CompresionDocumento;
 import com.juridix.model.DocumentoCliente;
 import com.juridix.model.TipoDocumentoCliente;
 
@@ -17,8 +18,9 @@ public class DocumentoClienteDAO {
         String sql = """
             INSERT INTO documentos_cliente (
                 cliente_id, nombre_archivo, nombre_original, ruta_archivo,
-                tipo_documento, descripcion, tamanio_bytes, extension, usuario_id
-            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                tipo_documento, descripcion, tamanio_bytes, extension, usuario_id,
+                hash_contenido, tamanio_almacenado, compresion
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
         """;
 
         try (Connection conn = Database.getConnection();
@@ -45,6 +47,17 @@ public class DocumentoClienteDAO {
                 ps.setNull(9, Types.INTEGER);
             }
 
+            ps.setString(10, documento.getHashContenido());
+
+            if (documento.getTamanioAlmacenado() != null) {
+                ps.setLong(11, documento.getTamanioAlmacenado());
+            } else {
+                ps.setNull(11, Types.BIGINT);
+            }
+
+            ps.setString(12, documento.getCompresion() != null
+                    ? documento.getCompresion().name() : CompresionDocumento.NINGUNA.name());
+
             int affectedRows = ps.executeUpdate();
 
             if (affectedRows == 0) {
@@ -146,6 +159,88 @@ public class DocumentoClienteDAO {
         }
     }
 
+    /**
+     * Documentos del almacén por contenido con hash en [desde, hasta), ordenados por hash
+     * (usa idx_documentos_hash). La conciliación los recorre por tramos de prefijo.
+     */
+    public List<DocumentoCliente> listarPorRangoHash(String desde, String hasta) throws SQLException {
+        String sql = """
+            SELECT * FROM documentos_cliente
+            WHERE hash_contenido >= ? AND hash_contenido < ?
+            ORDER BY hash_contenido
+        """;
+
+        List<DocumentoCliente> documentos = new ArrayList<>();
+
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setString(1, desde);
+            ps.setString(2, hasta);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    documentos.add(mapearDocumento(rs));
+                }
+            }
+
+            return documentos;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al listar documentos por hash: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Documentos anteriores al almacén por contenido (cada uno con su propio archivo)
+     */
+    public List<DocumentoCliente> listarSinHash() throws SQLException {
+        String sql = """
+            SELECT * FROM documentos_cliente
+            WHERE hash_contenido IS NULL
+            ORDER BY ruta_archivo
+        """;
+
+        List<DocumentoCliente> documentos = new ArrayList<>();
+
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            while (rs.next()) {
+                documentos.add(mapearDocumento(rs));
+            }
+
+            return documentos;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al listar documentos sin hash: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * true si algún documento apunta a ese archivo
+     */
+    public boolean existeRuta(String rutaArchivo) throws SQLException {
+        String sql = "SELECT 1 FROM documentos_cliente WHERE ruta_archivo = ? LIMIT 1";
+
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setString(1, rutaArchivo);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al buscar documento por ruta: " + e.getMessage());
+            throw e;
+        }
+    }
+
     // ==================== UPDATE ====================
 
     public DocumentoCliente actualizar(DocumentoCliente documento) throws SQLException {
@@ -225,6 +320,31 @@ public class DocumentoClienteDAO {
         }
     }
 
+    /**
+     * Cantidad de documentos que apuntan al contenido con ese hash (referencias al archivo guardado)
+     */
+    public int contarPorHash(String hash) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM documentos_cliente WHERE hash_contenido = ?";
+
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setString(1, hash);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+
+            return 0;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al contar referencias de documento: " + e.getMessage());
+            throw e;
+        }
+    }
+
     // ==================== MAPEO ====================
 
     private DocumentoCliente mapearDocumento(ResultSet rs) throws SQLException {
@@ -256,6 +376,14 @@ public class DocumentoClienteDAO {
         }
 
         doc.setFechaSubidaFromString(rs.getString("fecha_subida"));
+        doc.setHashContenido(rs.getString("hash_contenido"));
+
+        long almacenado = rs.getLong("tamanio_almacenado");
+        if (!rs.wasNull()) {
+            doc.setTamanioAlmacenado(almacenado);
+        }
+
+        doc.setCompresion(CompresionDocumento.fromString(rs.getString("compresion")));
 
         return doc;
     }
@@ -0,0 +1,83 @@
+package com.juridix.db;
+
+import com.juridix.model.EstadoExpediente;
+import com.juridix.model.TotalesFinancieros;
+
+import java.sql.*;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Consultas de agregación económica sobre honorarios, gastos y pagos
+ */
+public class EconomiaDAO {
+
+    // ==================== ESTADÍSTICAS ====================
+
+    /**
+     * Calcula honorarios, gastos y pagos agrupados por estado del expediente en una sola consulta.
+     * Cada tabla se agrega primero por expediente para que los JOIN no multipliquen filas.
+     * @return Mapa con una entrada por cada EstadoExpediente (totales en cero si no hay datos)
+     * @throws SQLException Si ocurre un error en la base de datos
+     */
+    public Map<EstadoExpediente, TotalesFinancieros> calcularTotalesPorEstado() throws SQLException {
+        String sql = """
+            SELECT e.estado,
+                   COUNT(*),
+                   COALESCE(SUM(h.total), 0),
+                   COALESCE(SUM(h.pendiente), 0),
+                   COALESCE(SUM(g.total), 0),
+                   COALESCE(SUM(p.total), 0)
+            FROM expedientes e
+            LEFT JOIN (
+                SELECT expediente_id,
+                       SUM(monto_calculado) AS total,
+                       SUM(CASE WHEN estado = 'PENDIENTE' THEN monto_calculado ELSE 0 END) AS pendiente
+                FROM honorarios
+                GROUP BY expediente_id
+            ) h ON h.expediente_id = e.id
+            LEFT JOIN (
+                SELECT expediente_id, SUM(monto) AS total
+                FROM gastos
+                GROUP BY expediente_id
+            ) g ON g.expediente_id = e.id
+            LEFT JOIN (
+                SELECT expediente_id, SUM(monto) AS total
+                FROM pagos
+                GROUP BY expediente_id
+            ) p ON p.expediente_id = e.id
+            GROUP BY e.estado
+        """;
+
+        Map<EstadoExpediente, TotalesFinancieros> totales = new EnumMap<>(EstadoExpediente.class);
+        for (EstadoExpediente estado : EstadoExpediente.values()) {
+            totales.put(estado, TotalesFinancieros.vacio());
+        }
+
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            while (rs.next()) {
+                EstadoExpediente estado = EstadoExpediente.fromString(rs.getString(1));
+                if (estado == null) {
+                    continue;
+                }
+
+                totales.put(estado, new TotalesFinancieros(
+                        rs.getInt(2),
+                        rs.getDouble(3),
+                        rs.getDouble(4),
+                        rs.getDouble(5),
+                        rs.getDouble(6)
+                ));
+            }
+
+            return totales;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al calcular totales financieros: " + e.getMessage());
+            throw e;
+        }
+    }
+}
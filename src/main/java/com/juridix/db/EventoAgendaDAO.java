@@ -8,12 +8,18 @@ import com.juridix.model.EstadoEvento;
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public class EventoAgendaDAO {
 
+    private static final DateTimeFormatter FECHA_HORA_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
     // ==================== CREATE ====================
 
     public EventoAgenda guardar(EventoAgenda evento) throws SQLException {
@@ -145,7 +151,7 @@ public class EventoAgendaDAO {
     public List<EventoAgenda> listarPorFecha(LocalDate fecha) throws SQLException {
         String sql = """
             SELECT * FROM eventos_agenda 
-            WHERE DATE(fecha_hora) = ?
+            WHERE fecha_hora >= ? AND fecha_hora < ?
             ORDER BY fecha_hora ASC
         """;
 
@@ -154,7 +160,8 @@ public class EventoAgendaDAO {
         try (Connection conn = Database.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            ps.setString(1, fecha.toString());
+            ps.setString(1, formatear(fecha.atStartOfDay()));
+            ps.setString(2, formatear(fecha.plusDays(1).atStartOfDay()));
 
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
@@ -173,7 +180,7 @@ public class EventoAgendaDAO {
     public List<EventoAgenda> listarPorRangoFechas(LocalDate desde, LocalDate hasta) throws SQLException {
         String sql = """
             SELECT * FROM eventos_agenda 
-            WHERE DATE(fecha_hora) BETWEEN ? AND ?
+            WHERE fecha_hora >= ? AND fecha_hora < ?
             ORDER BY fecha_hora ASC
         """;
 
@@ -182,8 +189,8 @@ public class EventoAgendaDAO {
         try (Connection conn = Database.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            ps.setString(1, desde.toString());
-            ps.setString(2, hasta.toString());
+            ps.setString(1, formatear(desde.atStartOfDay()));
+            ps.setString(2, formatear(hasta.plusDays(1).atStartOfDay()));
 
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
@@ -199,6 +206,58 @@ public class EventoAgendaDAO {
         }
     }
 
+    /**
+     * Eventos de un usuario en el intervalo [desde, hasta) con alguno de los estados indicados.
+     * Compara fecha_hora directamente (sin DATE()) para recorrer idx_agenda_usuario_estado_fecha
+     * como rango; el IN sobre estado se resuelve como un rango por estado.
+     * @param usuarioId ID del usuario
+     * @param desde Inicio del intervalo (inclusive)
+     * @param hasta Fin del intervalo (exclusivo)
+     * @param estados Estados a incluir (null o vacío = todos)
+     * @return Eventos ordenados por fecha y hora
+     * @throws SQLException Si ocurre un error en la base de datos
+     */
+    public List<EventoAgenda> listarPorUsuarioEnRango(Integer usuarioId, LocalDateTime desde, LocalDateTime hasta,
+                                                      Set<EstadoEvento> estados) throws SQLException {
+        Set<EstadoEvento> filtro = estados == null || estados.isEmpty()
+                ? EnumSet.allOf(EstadoEvento.class)
+                : EnumSet.copyOf(estados);
+
+        String sql = """
+            SELECT * FROM eventos_agenda
+            WHERE usuario_id = ?
+            AND estado IN (%s)
+            AND fecha_hora >= ? AND fecha_hora < ?
+            ORDER BY fecha_hora ASC
+        """.formatted(String.join(", ", Collections.nCopies(filtro.size(), "?")));
+
+        List<EventoAgenda> eventos = new ArrayList<>();
+
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            int i = 1;
+            ps.setInt(i++, usuarioId);
+            for (EstadoEvento estado : filtro) {
+                ps.setString(i++, estado.name());
+            }
+            ps.setString(i++, formatear(desde));
+            ps.setString(i, formatear(hasta));
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    eventos.add(mapearEvento(rs));
+                }
+            }
+
+            return eventos;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al listar eventos del usuario por rango: " + e.getMessage());
+            throw e;
+        }
+    }
+
     public List<EventoAgenda> listarPorExpediente(Integer expedienteId) throws SQLException {
         String sql = """
             SELECT * FROM eventos_agenda 
@@ -410,6 +469,11 @@ public class EventoAgendaDAO {
 
     // ==================== MAPEO ====================
 
+    // Mismo formato que guarda EventoAgenda, para comparar fecha_hora como texto
+    private static String formatear(LocalDateTime fechaHora) {
+        return fechaHora.format(FECHA_HORA_FORMATTER);
+    }
+
     private EventoAgenda mapearEvento(ResultSet rs) throws SQLException {
         EventoAgenda evento = new EventoAgenda();
 
@@ -3,15 +3,26 @@ package com.juridix.db;
 import com.juridix.model.Expediente;
 import com.juridix.model.EstadoExpediente;
 
+import java.io.IOException;
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class ExpedienteDAO {
 
+    private static final String SQL_INSERTAR = """
+        INSERT INTO expedientes (
+            numero, caratula, cliente, demandado, fuero, juzgado,
+            secretaria, estado, fecha_inicio, fecha_finalizacion,
+            monto_estimado, observaciones, creador_id
+        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
     // ==================== CREATE ====================
 
     /**
@@ -21,36 +32,10 @@ public class ExpedienteDAO {
      * @throws SQLException Si ocurre un error en la base de datos
      */
     public Expediente guardar(Expediente expediente) throws SQLException {
-        String sql = """
-            INSERT INTO expedientes (
-                numero, caratula, cliente, demandado, fuero, juzgado, 
-                secretaria, estado, fecha_inicio, fecha_finalizacion, 
-                monto_estimado, observaciones, creador_id
-            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-        """;
-
         try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
 
-            ps.setString(1, expediente.getNumero());
-            ps.setString(2, expediente.getCaratula());
-            ps.setString(3, expediente.getCliente());
-            ps.setString(4, expediente.getDemandado());
-            ps.setString(5, expediente.getFuero());
-            ps.setString(6, expediente.getJuzgado());
-            ps.setString(7, expediente.getSecretaria());
-            ps.setString(8, expediente.getEstado().name());
-            ps.setString(9, expediente.getFechaInicioAsString());
-            ps.setString(10, expediente.getFechaFinalizacionAsString());
-
-            if (expediente.getMontoEstimado() != null) {
-                ps.setDouble(11, expediente.getMontoEstimado());
-            } else {
-                ps.setNull(11, Types.DOUBLE);
-            }
-
-            ps.setString(12, expediente.getObservaciones());
-            ps.setInt(13, expediente.getCreadorId());
+            asignarInsercion(ps, expediente);
 
             int affectedRows = ps.executeUpdate();
 
@@ -75,6 +60,24 @@ public class ExpedienteDAO {
         }
     }
 
+    /**
+     * Inserta todos los expedientes en una sola transacción con addBatch
+     * y asigna a cada uno su ID generado
+     * @param expedientes Expedientes a insertar
+     * @return La misma lista, con los IDs asignados
+     * @throws SQLException Si falla alguna inserción (no se guarda ninguno)
+     */
+    public List<Expediente> guardarLote(List<Expediente> expedientes) throws SQLException {
+        try {
+            Lotes.insertar(SQL_INSERTAR, expedientes, this::asignarInsercion, Expediente::setId);
+            return expedientes;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al guardar lote de expedientes: " + e.getMessage());
+            throw e;
+        }
+    }
+
     // ==================== READ ====================
 
     /**
@@ -167,6 +170,32 @@ public class ExpedienteDAO {
         }
     }
 
+    /**
+     * Números de todos los expedientes cargados
+     * @return Lista de números
+     * @throws SQLException Si ocurre un error en la base de datos
+     */
+    public List<String> listarNumeros() throws SQLException {
+        String sql = "SELECT numero FROM expedientes";
+
+        List<String> numeros = new ArrayList<>();
+
+        try (Connection conn = Database.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                numeros.add(rs.getString(1));
+            }
+
+            return numeros;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al listar números de expediente: " + e.getMessage());
+            throw e;
+        }
+    }
+
     /**
      * Verifica si existe un expediente con el número dado, excluyendo un ID específico
      * Útil para validar al actualizar
@@ -225,6 +254,85 @@ public class ExpedienteDAO {
         }
     }
 
+    /**
+     * Recorre todos los expedientes (mismo orden que listarTodos) con un cursor de solo avance.
+     * El orden lo resuelve idx_expedientes_creacion, así que SQLite no arma un ordenamiento
+     * temporal y cada fila se entrega al procesador apenas se lee.
+     * @param procesador Recibe cada expediente
+     * @throws SQLException Si ocurre un error en la base de datos
+     * @throws IOException Si el procesador falla al escribir
+     */
+    public void recorrerTodos(ProcesadorFila<Expediente> procesador) throws SQLException, IOException {
+        String sql = """
+            SELECT * FROM expedientes
+            ORDER BY fecha_creacion DESC
+        """;
+
+        try (Connection conn = Database.getConnection();
+             Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                procesador.procesar(mapearExpediente(rs));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al recorrer expedientes: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Lista una página de expedientes por keyset sobre (fecha_creacion, id), del más nuevo al más viejo.
+     * En lugar de OFFSET continúa a partir del último expediente de la página anterior,
+     * así cada página cuesta lo mismo sin importar cuán atrás esté.
+     * @param estado Estado a filtrar (null = todos)
+     * @param despuesDe Último expediente de la página anterior (null = primera página)
+     * @param limite Cantidad máxima de expedientes
+     * @return Expedientes de la página
+     * @throws SQLException Si ocurre un error en la base de datos
+     */
+    public List<Expediente> listarPagina(EstadoExpediente estado, Expediente despuesDe, int limite) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT * FROM expedientes WHERE 1=1");
+        List<Object> parametros = new ArrayList<>();
+
+        if (estado != null) {
+            sql.append(" AND estado = ?");
+            parametros.add(estado.name());
+        }
+
+        if (despuesDe != null) {
+            sql.append(" AND (fecha_creacion, id) < (?, ?)");
+            parametros.add(despuesDe.getFechaCreacionAsString());
+            parametros.add(despuesDe.getId());
+        }
+
+        sql.append(" ORDER BY fecha_creacion DESC, id DESC LIMIT ?");
+        parametros.add(limite);
+
+        List<Expediente> expedientes = new ArrayList<>();
+
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < parametros.size(); i++) {
+                ps.setObject(i + 1, parametros.get(i));
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    expedientes.add(mapearExpediente(rs));
+                }
+            }
+
+            return expedientes;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al listar página de expedientes: " + e.getMessage());
+            throw e;
+        }
+    }
+
     /**
      * Busca expedientes por estado
      * @param estado El estado a buscar
@@ -568,6 +676,42 @@ public class ExpedienteDAO {
         }
     }
 
+    /**
+     * Cuenta expedientes de todos los estados en una sola pasada (GROUP BY estado)
+     * @return Mapa con una entrada por cada EstadoExpediente (0 si no hay expedientes en ese estado)
+     * @throws SQLException Si ocurre un error en la base de datos
+     */
+    public Map<EstadoExpediente, Integer> contarAgrupadoPorEstado() throws SQLException {
+        String sql = """
+            SELECT estado, COUNT(*) FROM expedientes GROUP BY estado
+        """;
+
+        Map<EstadoExpediente, Integer> conteos = new EnumMap<>(EstadoExpediente.class);
+        for (EstadoExpediente estado : EstadoExpediente.values()) {
+            conteos.put(estado, 0);
+        }
+
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            while (rs.next()) {
+                EstadoExpediente estado = EstadoExpediente.fromString(rs.getString(1));
+                if (estado != null) {
+                    conteos.put(estado, rs.getInt(2));
+                } else {
+                    System.err.println("⚠️ Estado de expediente desconocido en la base: " + rs.getString(1));
+                }
+            }
+
+            return conteos;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al contar agrupado por estado: " + e.getMessage());
+            throw e;
+        }
+    }
+
     // ==================== MÉTODOS AUXILIARES ====================
 
     /**
@@ -640,4 +784,28 @@ public class ExpedienteDAO {
             throw e;
         }
     }
+
+    // ==================== PARÁMETROS ====================
+
+    private void asignarInsercion(PreparedStatement ps, Expediente expediente) throws SQLException {
+        ps.setString(1, expediente.getNumero());
+        ps.setString(2, expediente.getCaratula());
+        ps.setString(3, expediente.getCliente());
+        ps.setString(4, expediente.getDemandado());
+        ps.setString(5, expediente.getFuero());
+        ps.setString(6, expediente.getJuzgado());
+        ps.setString(7, expediente.getSecretaria());
+        ps.setString(8, expediente.getEstado().name());
+        ps.setString(9, expediente.getFechaInicioAsString());
+        ps.setString(10, expediente.getFechaFinalizacionAsString());
+
+        if (expediente.getMontoEstimado() != null) {
+            ps.setDouble(11, expediente.getMontoEstimado());
+        } else {
+            ps.setNull(11, Types.DOUBLE);
+        }
+
+        ps.setString(12, expediente.getObservaciones());
+        ps.setInt(13, expediente.getCreadorId());
+    }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.juridix.db;
 import com.juridix.db.Database;
 import com.juridix.model.Gasto;
 
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -10,32 +11,31 @@ import java.util.Optional;
 
 public class GastoDAO {
 
+    private static final String SQL_INSERTAR = """
+        INSERT INTO gastos (
+            expediente_id, concepto, monto, fecha, categoria,
+            comprobante, observaciones, usuario_id
+        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    private static final String SQL_ACTUALIZAR = """
+        UPDATE gastos SET
+            concepto = ?,
+            monto = ?,
+            fecha = ?,
+            categoria = ?,
+            comprobante = ?,
+            observaciones = ?
+        WHERE id = ?
+    """;
+
     // ==================== CREATE ====================
 
     public Gasto guardar(Gasto gasto) throws SQLException {
-        String sql = """
-            INSERT INTO gastos (
-                expediente_id, concepto, monto, fecha, categoria,
-                comprobante, observaciones, usuario_id
-            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?)
-        """;
-
         try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            ps.setInt(1, gasto.getExpedienteId());
-            ps.setString(2, gasto.getConcepto());
-            ps.setDouble(3, gasto.getMonto());
-            ps.setString(4, gasto.getFechaAsString());
-            ps.setString(5, gasto.getCategoria());
-            ps.setString(6, gasto.getComprobante());
-            ps.setString(7, gasto.getObservaciones());
-
-            if (gasto.getUsuarioId() != null) {
-                ps.setInt(8, gasto.getUsuarioId());
-            } else {
-                ps.setNull(8, Types.INTEGER);
-            }
+             PreparedStatement ps = conn.prepareStatement(SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
+
+            asignarInsercion(ps, gasto);
 
             ps.executeUpdate();
 
@@ -53,6 +53,22 @@ public class GastoDAO {
         }
     }
 
+    /**
+     * Inserta todos los gastos en una sola transacción con addBatch
+     * y asigna a cada uno su ID generado
+     * @return La misma lista, con los IDs asignados
+     */
+    public List<Gasto> guardarLote(List<Gasto> gastos) throws SQLException {
+        try {
+            Lotes.insertar(SQL_INSERTAR, gastos, this::asignarInsercion, Gasto::setId);
+            return gastos;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al guardar lote de gastos: " + e.getMessage());
+            throw e;
+        }
+    }
+
     // ==================== READ ====================
 
     public Optional<Gasto> buscarPorId(Integer id) throws SQLException {
@@ -105,30 +121,37 @@ public class GastoDAO {
         }
     }
 
-    // ==================== UPDATE ====================
-
-    public Gasto actualizar(Gasto gasto) throws SQLException {
+    /**
+     * Recorre todos los gastos agrupados por expediente con un cursor de solo avance
+     * (el orden sale de idx_gastos_expediente, sin ordenamiento temporal)
+     */
+    public void recorrerTodos(ProcesadorFila<Gasto> procesador) throws SQLException, IOException {
         String sql = """
-            UPDATE gastos SET
-                concepto = ?,
-                monto = ?,
-                fecha = ?,
-                categoria = ?,
-                comprobante = ?,
-                observaciones = ?
-            WHERE id = ?
+            SELECT * FROM gastos
+            ORDER BY expediente_id, id
         """;
 
         try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                procesador.procesar(mapearGasto(rs));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al recorrer gastos: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    // ==================== UPDATE ====================
 
-            ps.setString(1, gasto.getConcepto());
-            ps.setDouble(2, gasto.getMonto());
-            ps.setString(3, gasto.getFechaAsString());
-            ps.setString(4, gasto.getCategoria());
-            ps.setString(5, gasto.getComprobante());
-            ps.setString(6, gasto.getObservaciones());
-            ps.setInt(7, gasto.getId());
+    public Gasto actualizar(Gasto gasto) throws SQLException {
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_ACTUALIZAR)) {
+
+            asignarActualizacion(ps, gasto);
 
             ps.executeUpdate();
             return gasto;
@@ -139,6 +162,20 @@ public class GastoDAO {
         }
     }
 
+    /**
+     * Actualiza todos los gastos en una sola transacción con addBatch
+     */
+    public List<Gasto> actualizarLote(List<Gasto> gastos) throws SQLException {
+        try {
+            Lotes.actualizar(SQL_ACTUALIZAR, gastos, this::asignarActualizacion);
+            return gastos;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al actualizar lote de gastos: " + e.getMessage());
+            throw e;
+        }
+    }
+
     // ==================== DELETE ====================
 
     public void eliminar(Integer id) throws SQLException {
@@ -158,6 +195,25 @@ public class GastoDAO {
 
     // ==================== ESTADÍSTICAS ====================
 
+    public int contarTotal() throws SQLException {
+        String sql = "SELECT COUNT(*) FROM gastos";
+
+        try (Connection conn = Database.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+
+            return 0;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al contar gastos: " + e.getMessage());
+            throw e;
+        }
+    }
+
     public Double calcularTotalPorExpediente(Integer expedienteId) throws SQLException {
         String sql = """
             SELECT COALESCE(SUM(monto), 0) 
@@ -207,4 +263,32 @@ public class GastoDAO {
 
         return gasto;
     }
-}
\ No newline at end of file
+
+    // ==================== PARÁMETROS ====================
+
+    private void asignarInsercion(PreparedStatement ps, Gasto gasto) throws SQLException {
+        ps.setInt(1, gasto.getExpedienteId());
+        ps.setString(2, gasto.getConcepto());
+        ps.setDouble(3, gasto.getMonto());
+        ps.setString(4, gasto.getFechaAsString());
+        ps.setString(5, gasto.getCategoria());
+        ps.setString(6, gasto.getComprobante());
+        ps.setString(7, gasto.getObservaciones());
+
+        if (gasto.getUsuarioId() != null) {
+            ps.setInt(8, gasto.getUsuarioId());
+        } else {
+            ps.setNull(8, Types.INTEGER);
+        }
+    }
+
+    private void asignarActualizacion(PreparedStatement ps, Gasto gasto) throws SQLException {
+        ps.setString(1, gasto.getConcepto());
+        ps.setDouble(2, gasto.getMonto());
+        ps.setString(3, gasto.getFechaAsString());
+        ps.setString(4, gasto.getCategoria());
+        ps.setString(5, gasto.getComprobante());
+        ps.setString(6, gasto.getObservaciones());
+        ps.setInt(7, gasto.getId());
+    }
+}
@@ -5,6 +5,7 @@ import com.juridix.model.Honorario;
 import com.juridix.model.TipoHonorario;
 import com.juridix.model.EstadoHonorario;
 
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -12,49 +13,32 @@ import java.util.Optional;
 
 public class HonorarioDAO {
 
+    private static final String SQL_INSERTAR = """
+        INSERT INTO honorarios (
+            expediente_id, tipo, porcentaje, monto_fijo, monto_calculado,
+            descripcion, estado, fecha_estimada, usuario_id
+        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    private static final String SQL_ACTUALIZAR = """
+        UPDATE honorarios SET
+            tipo = ?,
+            porcentaje = ?,
+            monto_fijo = ?,
+            monto_calculado = ?,
+            descripcion = ?,
+            estado = ?,
+            fecha_estimada = ?
+        WHERE id = ?
+    """;
+
     // ==================== CREATE ====================
 
     public Honorario guardar(Honorario honorario) throws SQLException {
-        String sql = """
-            INSERT INTO honorarios (
-                expediente_id, tipo, porcentaje, monto_fijo, monto_calculado,
-                descripcion, estado, fecha_estimada, usuario_id
-            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
-        """;
-
         try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            ps.setInt(1, honorario.getExpedienteId());
-            ps.setString(2, honorario.getTipo().name());
+             PreparedStatement ps = conn.prepareStatement(SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
 
-            if (honorario.getPorcentaje() != null) {
-                ps.setDouble(3, honorario.getPorcentaje());
-            } else {
-                ps.setNull(3, Types.DOUBLE);
-            }
-
-            if (honorario.getMontoFijo() != null) {
-                ps.setDouble(4, honorario.getMontoFijo());
-            } else {
-                ps.setNull(4, Types.DOUBLE);
-            }
-
-            if (honorario.getMontoCalculado() != null) {
-                ps.setDouble(5, honorario.getMontoCalculado());
-            } else {
-                ps.setNull(5, Types.DOUBLE);
-            }
-
-            ps.setString(6, honorario.getDescripcion());
-            ps.setString(7, honorario.getEstado().name());
-            ps.setString(8, honorario.getFechaEstimadaAsString());
-
-            if (honorario.getUsuarioId() != null) {
-                ps.setInt(9, honorario.getUsuarioId());
-            } else {
-                ps.setNull(9, Types.INTEGER);
-            }
+            asignarInsercion(ps, honorario);
 
             ps.executeUpdate();
 
@@ -72,6 +56,22 @@ public class HonorarioDAO {
         }
     }
 
+    /**
+     * Inserta todos los honorarios en una sola transacción con addBatch
+     * y asigna a cada uno su ID generado
+     * @return La misma lista, con los IDs asignados
+     */
+    public List<Honorario> guardarLote(List<Honorario> honorarios) throws SQLException {
+        try {
+            Lotes.insertar(SQL_INSERTAR, honorarios, this::asignarInsercion, Honorario::setId);
+            return honorarios;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al guardar lote de honorarios: " + e.getMessage());
+            throw e;
+        }
+    }
+
     // ==================== READ ====================
 
     public Optional<Honorario> buscarPorId(Integer id) throws SQLException {
@@ -152,48 +152,37 @@ public class HonorarioDAO {
         }
     }
 
-    // ==================== UPDATE ====================
-
-    public Honorario actualizar(Honorario honorario) throws SQLException {
+    /**
+     * Recorre todos los honorarios agrupados por expediente con un cursor de solo avance
+     * (el orden sale de idx_honorarios_expediente, sin ordenamiento temporal)
+     */
+    public void recorrerTodos(ProcesadorFila<Honorario> procesador) throws SQLException, IOException {
         String sql = """
-            UPDATE honorarios SET
-                tipo = ?,
-                porcentaje = ?,
-                monto_fijo = ?,
-                monto_calculado = ?,
-                descripcion = ?,
-                estado = ?,
-                fecha_estimada = ?
-            WHERE id = ?
+            SELECT * FROM honorarios
+            ORDER BY expediente_id, id
         """;
 
         try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+             ResultSet rs = stmt.executeQuery(sql)) {
 
-            ps.setString(1, honorario.getTipo().name());
-
-            if (honorario.getPorcentaje() != null) {
-                ps.setDouble(2, honorario.getPorcentaje());
-            } else {
-                ps.setNull(2, Types.DOUBLE);
+            while (rs.next()) {
+                procesador.procesar(mapearHonorario(rs));
             }
 
-            if (honorario.getMontoFijo() != null) {
-                ps.setDouble(3, honorario.getMontoFijo());
-            } else {
-                ps.setNull(3, Types.DOUBLE);
-            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error al recorrer honorarios: " + e.getMessage());
+            throw e;
+        }
+    }
 
-            if (honorario.getMontoCalculado() != null) {
-                ps.setDouble(4, honorario.getMontoCalculado());
-            } else {
-                ps.setNull(4, Types.DOUBLE);
-            }
+    // ==================== UPDATE ====================
 
-            ps.setString(5, honorario.getDescripcion());
-            ps.setString(6, honorario.getEstado().name());
-            ps.setString(7, honorario.getFechaEstimadaAsString());
-            ps.setInt(8, honorario.getId());
+    public Honorario actualizar(Honorario honorario) throws SQLException {
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_ACTUALIZAR)) {
+
+            asignarActualizacion(ps, honorario);
 
             ps.executeUpdate();
             return honorario;
@@ -204,6 +193,20 @@ public class HonorarioDAO {
         }
     }
 
+    /**
+     * Actualiza todos los honorarios en una sola transacción con addBatch
+     */
+    public List<Honorario> actualizarLote(List<Honorario> honorarios) throws SQLException {
+        try {
+            Lotes.actualizar(SQL_ACTUALIZAR, honorarios, this::asignarActualizacion);
+            return honorarios;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al actualizar lote de honorarios: " + e.getMessage());
+            throw e;
+        }
+    }
+
     // ==================== DELETE ====================
 
     public void eliminar(Integer id) throws SQLException {
@@ -223,6 +226,25 @@ public class HonorarioDAO {
 
     // ==================== ESTADÍSTICAS ====================
 
+    public int contarTotal() throws SQLException {
+        String sql = "SELECT COUNT(*) FROM honorarios";
+
+        try (Connection conn = Database.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+
+            return 0;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al contar honorarios: " + e.getMessage());
+            throw e;
+        }
+    }
+
     public Double calcularTotalPorExpediente(Integer expedienteId) throws SQLException {
         String sql = """
             SELECT COALESCE(SUM(monto_calculado), 0) 
@@ -286,4 +308,66 @@ public class HonorarioDAO {
 
         return honorario;
     }
-}
\ No newline at end of file
+
+    // ==================== PARÁMETROS ====================
+
+    private void asignarInsercion(PreparedStatement ps, Honorario honorario) throws SQLException {
+        ps.setInt(1, honorario.getExpedienteId());
+        ps.setString(2, honorario.getTipo().name());
+
+        if (honorario.getPorcentaje() != null) {
+            ps.setDouble(3, honorario.getPorcentaje());
+        } else {
+            ps.setNull(3, Types.DOUBLE);
+        }
+
+        if (honorario.getMontoFijo() != null) {
+            ps.setDouble(4, honorario.getMontoFijo());
+        } else {
+            ps.setNull(4, Types.DOUBLE);
+        }
+
+        if (honorario.getMontoCalculado() != null) {
+            ps.setDouble(5, honorario.getMontoCalculado());
+        } else {
+            ps.setNull(5, Types.DOUBLE);
+        }
+
+        ps.setString(6, honorario.getDescripcion());
+        ps.setString(7, honorario.getEstado().name());
+        ps.setString(8, honorario.getFechaEstimadaAsString());
+
+        if (honorario.getUsuarioId() != null) {
+            ps.setInt(9, honorario.getUsuarioId());
+        } else {
+            ps.setNull(9, Types.INTEGER);
+        }
+    }
+
+    private void asignarActualizacion(PreparedStatement ps, Honorario honorario) throws SQLException {
+        ps.setString(1, honorario.getTipo().name());
+
+        if (honorario.getPorcentaje() != null) {
+            ps.setDouble(2, honorario.getPorcentaje());
+        } else {
+            ps.setNull(2, Types.DOUBLE);
+        }
+
+        if (honorario.getMontoFijo() != null) {
+            ps.setDouble(3, honorario.getMontoFijo());
+        } else {
+            ps.setNull(3, Types.DOUBLE);
+        }
+
+        if (honorario.getMontoCalculado() != null) {
+            ps.setDouble(4, honorario.getMontoCalculado());
+        } else {
+            ps.setNull(4, Types.DOUBLE);
+        }
+
+        ps.setString(5, honorario.getDescripcion());
+        ps.setString(6, honorario.getEstado().name());
+        ps.setString(7, honorario.getFechaEstimadaAsString());
+        ps.setInt(8, honorario.getId());
+    }
+}
@@ -0,0 +1,110 @@
+package com.juridix.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Inserciones y actualizaciones por lotes (addBatch/executeBatch) dentro de una sola transacción:
+ * una conexión, una sentencia preparada y un solo commit para toda la colección.
+ */
+final class Lotes {
+
+    // Filas por executeBatch; acota la memoria de los parámetros acumulados en el driver
+    static final int TAMANIO_LOTE = 500;
+
+    @FunctionalInterface
+    interface Asignador<T> {
+        void asignar(PreparedStatement ps, T elemento) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface AsignadorId<T> {
+        void asignar(T elemento, int id);
+    }
+
+    private Lotes() {
+        // Clase utilitaria
+    }
+
+    /**
+     * Inserta todos los elementos y les asigna el ID generado.
+     * Dentro de la transacción (BEGIN IMMEDIATE) nadie más inserta, así que los IDs de cada
+     * executeBatch son consecutivos y terminan en last_insert_rowid().
+     * Los IDs se asignan recién después del commit: si algo falla, ningún elemento queda con
+     * el ID de una fila que se revirtió.
+     */
+    static <T> void insertar(String sql, List<T> elementos, Asignador<T> asignador,
+                             AsignadorId<T> asignadorId) throws SQLException {
+        if (elementos.isEmpty()) {
+            return;
+        }
+
+        int[] ids = new int[elementos.size()];
+
+        Transaccion.ejecutarSinResultado(() -> {
+            try (Connection conn = Database.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql);
+                 Statement ultimoId = conn.createStatement()) {
+
+                for (int desde = 0; desde < elementos.size(); desde += TAMANIO_LOTE) {
+                    List<T> lote = elementos.subList(desde, Math.min(desde + TAMANIO_LOTE, elementos.size()));
+
+                    for (T elemento : lote) {
+                        asignador.asignar(ps, elemento);
+                        ps.addBatch();
+                    }
+                    verificarFilas(ps.executeBatch(), desde);
+
+                    try (ResultSet rs = ultimoId.executeQuery("SELECT last_insert_rowid()")) {
+                        rs.next();
+                        int primero = rs.getInt(1) - lote.size() + 1;
+                        for (int i = 0; i < lote.size(); i++) {
+                            ids[desde + i] = primero + i;
+                        }
+                    }
+                }
+            }
+        });
+
+        for (int i = 0; i < ids.length; i++) {
+            asignadorId.asignar(elementos.get(i), ids[i]);
+        }
+    }
+
+    /**
+     * Actualiza todos los elementos; falla (y revierte todo) si alguno no existe
+     */
+    static <T> void actualizar(String sql, List<T> elementos, Asignador<T> asignador) throws SQLException {
+        if (elementos.isEmpty()) {
+            return;
+        }
+
+        Transaccion.ejecutarSinResultado(() -> {
+            try (Connection conn = Database.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
+
+                for (int desde = 0; desde < elementos.size(); desde += TAMANIO_LOTE) {
+                    List<T> lote = elementos.subList(desde, Math.min(desde + TAMANIO_LOTE, elementos.size()));
+
+                    for (T elemento : lote) {
+                        asignador.asignar(ps, elemento);
+                        ps.addBatch();
+                    }
+                    verificarFilas(ps.executeBatch(), desde);
+                }
+            }
+        });
+    }
+
+    private static void verificarFilas(int[] filas, int desde) throws SQLException {
+        for (int i = 0; i < filas.length; i++) {
+            if (filas[i] == 0) {
+                throw new SQLException("El elemento " + (desde + i + 1) + " del lote no modificó ninguna fila");
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.juridix.db;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Paso numerado de evolución del esquema. Una vez publicada, una migración no se modifica:
+ * su checksum queda registrado en schema_version y un cambio se detecta al arrancar.
+ */
+public abstract class Migracion {
+
+    @FunctionalInterface
+    public interface Paso {
+        void aplicar(Connection conn) throws SQLException;
+    }
+
+    private final int version;
+    private final String descripcion;
+
+    protected Migracion(int version, String descripcion) {
+        if (version <= 0) {
+            throw new IllegalArgumentException("La versión de una migración debe ser positiva");
+        }
+        if (descripcion == null || descripcion.trim().isEmpty()) {
+            throw new IllegalArgumentException("La migración debe tener una descripción");
+        }
+        this.version = version;
+        this.descripcion = descripcion;
+    }
+
+    public int getVersion() { return version; }
+    public String getDescripcion() { return descripcion; }
+
+    /**
+     * Aplica la migración. Se ejecuta dentro de una transacción que abre el MigradorEsquema.
+     */
+    public abstract void aplicar(Connection conn) throws SQLException;
+
+    /**
+     * Huella del contenido de la migración (SHA-256 en hexadecimal)
+     */
+    public abstract String getChecksum();
+
+    @Override
+    public String toString() {
+        return String.format("V%d - %s", version, descripcion);
+    }
+
+    // ==================== FÁBRICAS ====================
+
+    /**
+     * Migración de sentencias SQL, ejecutadas en orden. El checksum se calcula sobre el texto.
+     */
+    public static Migracion sql(int version, String descripcion, String... sentencias) {
+        List<String> lista = List.of(sentencias);
+        String checksum = sha256(String.join("\n;\n", lista));
+
+        return new Migracion(version, descripcion) {
+            @Override
+            public void aplicar(Connection conn) throws SQLException {
+                try (Statement stmt = conn.createStatement()) {
+                    for (String sentencia : lista) {
+                        stmt.execute(sentencia);
+                    }
+                }
+            }
+
+            @Override
+            public String getChecksum() {
+                return checksum;
+            }
+        };
+    }
+
+    /**
+     * Migración escrita en Java, para pasos que necesitan consultar antes de modificar.
+     * @param revision Identifica el contenido del paso; cambiarla solo si se corrige la migración a propósito
+     */
+    public static Migracion java(int version, String descripcion, String revision, Paso paso) {
+        String checksum = sha256("java:" + version + ":" + revision);
+
+        return new Migracion(version, descripcion) {
+            @Override
+            public void aplicar(Connection conn) throws SQLException {
+                paso.aplicar(conn);
+            }
+
+            @Override
+            public String getChecksum() {
+                return checksum;
+            }
+        };
+    }
+
+    static String sha256(String texto) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(texto.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
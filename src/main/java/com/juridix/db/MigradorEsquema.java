@@ -0,0 +1,159 @@
+package com.juridix.db;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aplica las migraciones pendientes en orden de versión, cada una en su propia transacción,
+ * y las registra en schema_version con checksum y duración.
+ */
+public class MigradorEsquema {
+
+    private final List<Migracion> migraciones;
+
+    public MigradorEsquema(List<Migracion> migraciones) {
+        List<Migracion> ordenadas = new ArrayList<>(migraciones);
+        ordenadas.sort((a, b) -> Integer.compare(a.getVersion(), b.getVersion()));
+
+        for (int i = 1; i < ordenadas.size(); i++) {
+            if (ordenadas.get(i).getVersion() == ordenadas.get(i - 1).getVersion()) {
+                throw new IllegalArgumentException("Versión de migración duplicada: " + ordenadas.get(i).getVersion());
+            }
+        }
+
+        this.migraciones = Collections.unmodifiableList(ordenadas);
+    }
+
+    /**
+     * Lleva la base a la última versión del catálogo
+     * @param conn Conexión a usar (queda con autocommit restaurado al terminar)
+     * @return Resumen de lo aplicado
+     * @throws SQLException Si una migración falla (se revierte solo esa) o un checksum no coincide
+     */
+    public ResultadoMigracion migrar(Connection conn) throws SQLException {
+        long inicio = System.nanoTime();
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS schema_version (
+                    version INTEGER PRIMARY KEY,
+                    descripcion TEXT NOT NULL,
+                    checksum TEXT NOT NULL,
+                    fecha_aplicacion TEXT DEFAULT (datetime('now', 'localtime')),
+                    duracion_ms INTEGER
+                )
+            """);
+        }
+
+        Map<Integer, String> aplicadas = leerAplicadas(conn);
+        int versionInicial = aplicadas.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+
+        // Una migración ya aplicada que cambió de contenido es un error de desarrollo: no seguir
+        for (Migracion migracion : migraciones) {
+            String registrado = aplicadas.get(migracion.getVersion());
+            if (registrado != null && !registrado.equals(migracion.getChecksum())) {
+                throw new SQLException("La migración " + migracion + " fue modificada después de aplicarse " +
+                        "(checksum registrado " + registrado + ", actual " + migracion.getChecksum() + ")");
+            }
+        }
+
+        List<String> aplicadasAhora = new ArrayList<>();
+        boolean autoCommitOriginal = conn.getAutoCommit();
+
+        try {
+            for (Migracion migracion : migraciones) {
+                if (aplicadas.containsKey(migracion.getVersion())) {
+                    continue;
+                }
+
+                long inicioPaso = System.nanoTime();
+                conn.setAutoCommit(false);
+                try {
+                    migracion.aplicar(conn);
+                    long duracionMs = (System.nanoTime() - inicioPaso) / 1_000_000;
+                    registrar(conn, migracion, duracionMs);
+                    conn.commit();
+
+                    aplicadasAhora.add(migracion.toString());
+                    System.out.println("✅ Migración " + migracion + " aplicada en " + duracionMs + " ms");
+
+                } catch (SQLException | RuntimeException e) {
+                    conn.rollback();
+                    System.err.println("❌ Error en migración " + migracion + ": " + e.getMessage());
+                    throw e;
+                }
+            }
+        } finally {
+            conn.setAutoCommit(autoCommitOriginal);
+        }
+
+        int versionFinal = migraciones.isEmpty() ? versionInicial
+                : Math.max(versionInicial, migraciones.get(migraciones.size() - 1).getVersion());
+
+        return new ResultadoMigracion(versionInicial, versionFinal, aplicadasAhora,
+                (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private Map<Integer, String> leerAplicadas(Connection conn) throws SQLException {
+        Map<Integer, String> aplicadas = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                aplicadas.put(rs.getInt(1), rs.getString(2));
+            }
+        }
+        return aplicadas;
+    }
+
+    private void registrar(Connection conn, Migracion migracion, long duracionMs) throws SQLException {
+        String sql = """
+            INSERT INTO schema_version (version, descripcion, checksum, duracion_ms)
+            VALUES (?, ?, ?, ?)
+        """;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, migracion.getVersion());
+            ps.setString(2, migracion.getDescripcion());
+            ps.setString(3, migracion.getChecksum());
+            ps.setLong(4, duracionMs);
+            ps.executeUpdate();
+        }
+    }
+
+    // ==================== CLASE INTERNA ====================
+
+    public static class ResultadoMigracion {
+        private final int versionInicial;
+        private final int versionFinal;
+        private final List<String> aplicadas;
+        private final long duracionMs;
+
+        public ResultadoMigracion(int versionInicial, int versionFinal, List<String> aplicadas, long duracionMs) {
+            this.versionInicial = versionInicial;
+            this.versionFinal = versionFinal;
+            this.aplicadas = Collections.unmodifiableList(aplicadas);
+            this.duracionMs = duracionMs;
+        }
+
+        public int getVersionInicial() { return versionInicial; }
+        public int getVersionFinal() { return versionFinal; }
+        public List<String> getAplicadas() { return aplicadas; }
+        public long getDuracionMs() { return duracionMs; }
+
+        public boolean huboCambios() {
+            return !aplicadas.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            if (!huboCambios()) {
+                return String.format("Esquema al día en v%d (verificado en %d ms)", versionFinal, duracionMs);
+            }
+            return String.format("Esquema v%d -> v%d: %d migración(es) en %d ms",
+                    versionInicial, versionFinal, aplicadas.size(), duracionMs);
+        }
+    }
+}
@@ -12,33 +12,31 @@ import java.util.Optional;
 
 public class MovimientoDAO {
 
+    private static final String SQL_INSERTAR = """
+        INSERT INTO movimientos (
+            expediente_id, fecha, tipo, descripcion, cuaderno, 
+            foja, observaciones, usuario_id
+        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    private static final String SQL_ACTUALIZAR = """
+        UPDATE movimientos SET
+            fecha = ?,
+            tipo = ?,
+            descripcion = ?,
+            cuaderno = ?,
+            foja = ?,
+            observaciones = ?
+        WHERE id = ?
+    """;
+
     // ==================== CREATE ====================
 
     public Movimiento guardar(Movimiento movimiento) throws SQLException {
-        String sql = """
-            INSERT INTO movimientos (
-                expediente_id, fecha, tipo, descripcion, cuaderno, 
-                foja, observaciones, usuario_id
-            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?)
-        """;
-
         try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            ps.setInt(1, movimiento.getExpedienteId());
-            ps.setString(2, movimiento.getFechaAsString());
-            ps.setString(3, movimiento.getTipo().name());
-            ps.setString(4, movimiento.getDescripcion());
-            ps.setString(5, movimiento.getCuaderno());
-
-            if (movimiento.getFoja() != null) {
-                ps.setInt(6, movimiento.getFoja());
-            } else {
-                ps.setNull(6, Types.INTEGER);
-            }
+             PreparedStatement ps = conn.prepareStatement(SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
 
-            ps.setString(7, movimiento.getObservaciones());
-            ps.setInt(8, movimiento.getUsuarioId());
+            asignarInsercion(ps, movimiento);
 
             int affectedRows = ps.executeUpdate();
 
@@ -60,6 +58,22 @@ public class MovimientoDAO {
         }
     }
 
+    /**
+     * Inserta todos los movimientos en una sola transacción con addBatch
+     * y asigna a cada uno su ID generado
+     * @return La misma lista, con los IDs asignados
+     */
+    public List<Movimiento> guardarLote(List<Movimiento> movimientos) throws SQLException {
+        try {
+            Lotes.insertar(SQL_INSERTAR, movimientos, this::asignarInsercion, Movimiento::setId);
+            return movimientos;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al guardar lote de movimientos: " + e.getMessage());
+            throw e;
+        }
+    }
+
     // ==================== READ ====================
 
     public Optional<Movimiento> buscarPorId(Integer id) throws SQLException {
@@ -202,33 +216,10 @@ public class MovimientoDAO {
     // ==================== UPDATE ====================
 
     public Movimiento actualizar(Movimiento movimiento) throws SQLException {
-        String sql = """
-            UPDATE movimientos SET
-                fecha = ?,
-                tipo = ?,
-                descripcion = ?,
-                cuaderno = ?,
-                foja = ?,
-                observaciones = ?
-            WHERE id = ?
-        """;
-
         try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, movimiento.getFechaAsString());
-            ps.setString(2, movimiento.getTipo().name());
-            ps.setString(3, movimiento.getDescripcion());
-            ps.setString(4, movimiento.getCuaderno());
-
-            if (movimiento.getFoja() != null) {
-                ps.setInt(5, movimiento.getFoja());
-            } else {
-                ps.setNull(5, Types.INTEGER);
-            }
+             PreparedStatement ps = conn.prepareStatement(SQL_ACTUALIZAR)) {
 
-            ps.setString(6, movimiento.getObservaciones());
-            ps.setInt(7, movimiento.getId());
+            asignarActualizacion(ps, movimiento);
 
             int affectedRows = ps.executeUpdate();
 
@@ -244,6 +235,20 @@ public class MovimientoDAO {
         }
     }
 
+    /**
+     * Actualiza todos los movimientos en una sola transacción con addBatch
+     */
+    public List<Movimiento> actualizarLote(List<Movimiento> movimientos) throws SQLException {
+        try {
+            Lotes.actualizar(SQL_ACTUALIZAR, movimientos, this::asignarActualizacion);
+            return movimientos;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al actualizar lote de movimientos: " + e.getMessage());
+            throw e;
+        }
+    }
+
     // ==================== DELETE ====================
 
     public void eliminar(Integer id) throws SQLException {
@@ -313,4 +318,39 @@ public class MovimientoDAO {
 
         return mov;
     }
-}
\ No newline at end of file
+
+    // ==================== PARÁMETROS ====================
+
+    private void asignarInsercion(PreparedStatement ps, Movimiento movimiento) throws SQLException {
+        ps.setInt(1, movimiento.getExpedienteId());
+        ps.setString(2, movimiento.getFechaAsString());
+        ps.setString(3, movimiento.getTipo().name());
+        ps.setString(4, movimiento.getDescripcion());
+        ps.setString(5, movimiento.getCuaderno());
+
+        if (movimiento.getFoja() != null) {
+            ps.setInt(6, movimiento.getFoja());
+        } else {
+            ps.setNull(6, Types.INTEGER);
+        }
+
+        ps.setString(7, movimiento.getObservaciones());
+        ps.setInt(8, movimiento.getUsuarioId());
+    }
+
+    private void asignarActualizacion(PreparedStatement ps, Movimiento movimiento) throws SQLException {
+        ps.setString(1, movimiento.getFechaAsString());
+        ps.setString(2, movimiento.getTipo().name());
+        ps.setString(3, movimiento.getDescripcion());
+        ps.setString(4, movimiento.getCuaderno());
+
+        if (movimiento.getFoja() != null) {
+            ps.setInt(5, movimiento.getFoja());
+        } else {
+            ps.setNull(5, Types.INTEGER);
+        }
+
+        ps.setString(6, movimiento.getObservaciones());
+        ps.setInt(7, movimiento.getId());
+    }
+}
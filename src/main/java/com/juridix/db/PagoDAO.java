@@ -3,6 +3,7 @@ package com.juridix.db;
 import com.juridix.db.Database;
 import com.juridix.model.Pago;
 
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -10,39 +11,31 @@ import java.util.Optional;
 
 public class PagoDAO {
 
+    private static final String SQL_INSERTAR = """
+        INSERT INTO pagos (
+            expediente_id, cliente_id, monto, fecha, forma_pago,
+            referencia, concepto, observaciones, usuario_id
+        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    private static final String SQL_ACTUALIZAR = """
+        UPDATE pagos SET
+            monto = ?,
+            fecha = ?,
+            forma_pago = ?,
+            referencia = ?,
+            concepto = ?,
+            observaciones = ?
+        WHERE id = ?
+    """;
+
     // ==================== CREATE ====================
 
     public Pago guardar(Pago pago) throws SQLException {
-        String sql = """
-            INSERT INTO pagos (
-                expediente_id, cliente_id, monto, fecha, forma_pago,
-                referencia, concepto, observaciones, usuario_id
-            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
-        """;
-
         try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
 
-            ps.setInt(1, pago.getExpedienteId());
-
-            if (pago.getClienteId() != null) {
-                ps.setInt(2, pago.getClienteId());
-            } else {
-                ps.setNull(2, Types.INTEGER);
-            }
-
-            ps.setDouble(3, pago.getMonto());
-            ps.setString(4, pago.getFechaAsString());
-            ps.setString(5, pago.getFormaPago());
-            ps.setString(6, pago.getReferencia());
-            ps.setString(7, pago.getConcepto());
-            ps.setString(8, pago.getObservaciones());
-
-            if (pago.getUsuarioId() != null) {
-                ps.setInt(9, pago.getUsuarioId());
-            } else {
-                ps.setNull(9, Types.INTEGER);
-            }
+            asignarInsercion(ps, pago);
 
             ps.executeUpdate();
 
@@ -60,6 +53,22 @@ public class PagoDAO {
         }
     }
 
+    /**
+     * Inserta todos los pagos en una sola transacción con addBatch
+     * y asigna a cada uno su ID generado
+     * @return La misma lista, con los IDs asignados
+     */
+    public List<Pago> guardarLote(List<Pago> pagos) throws SQLException {
+        try {
+            Lotes.insertar(SQL_INSERTAR, pagos, this::asignarInsercion, Pago::setId);
+            return pagos;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al guardar lote de pagos: " + e.getMessage());
+            throw e;
+        }
+    }
+
     // ==================== READ ====================
 
     public Optional<Pago> buscarPorId(Integer id) throws SQLException {
@@ -140,30 +149,37 @@ public class PagoDAO {
         }
     }
 
-    // ==================== UPDATE ====================
-
-    public Pago actualizar(Pago pago) throws SQLException {
+    /**
+     * Recorre todos los pagos agrupados por expediente con un cursor de solo avance
+     * (el orden sale de idx_pagos_expediente, sin ordenamiento temporal)
+     */
+    public void recorrerTodos(ProcesadorFila<Pago> procesador) throws SQLException, IOException {
         String sql = """
-            UPDATE pagos SET
-                monto = ?,
-                fecha = ?,
-                forma_pago = ?,
-                referencia = ?,
-                concepto = ?,
-                observaciones = ?
-            WHERE id = ?
+            SELECT * FROM pagos
+            ORDER BY expediente_id, id
         """;
 
         try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                procesador.procesar(mapearPago(rs));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al recorrer pagos: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    // ==================== UPDATE ====================
+
+    public Pago actualizar(Pago pago) throws SQLException {
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_ACTUALIZAR)) {
 
-            ps.setDouble(1, pago.getMonto());
-            ps.setString(2, pago.getFechaAsString());
-            ps.setString(3, pago.getFormaPago());
-            ps.setString(4, pago.getReferencia());
-            ps.setString(5, pago.getConcepto());
-            ps.setString(6, pago.getObservaciones());
-            ps.setInt(7, pago.getId());
+            asignarActualizacion(ps, pago);
 
             ps.executeUpdate();
             return pago;
@@ -174,6 +190,20 @@ public class PagoDAO {
         }
     }
 
+    /**
+     * Actualiza todos los pagos en una sola transacción con addBatch
+     */
+    public List<Pago> actualizarLote(List<Pago> pagos) throws SQLException {
+        try {
+            Lotes.actualizar(SQL_ACTUALIZAR, pagos, this::asignarActualizacion);
+            return pagos;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al actualizar lote de pagos: " + e.getMessage());
+            throw e;
+        }
+    }
+
     // ==================== DELETE ====================
 
     public void eliminar(Integer id) throws SQLException {
@@ -193,6 +223,25 @@ public class PagoDAO {
 
     // ==================== ESTADÍSTICAS ====================
 
+    public int contarTotal() throws SQLException {
+        String sql = "SELECT COUNT(*) FROM pagos";
+
+        try (Connection conn = Database.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+
+            return 0;
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al contar pagos: " + e.getMessage());
+            throw e;
+        }
+    }
+
     public Double calcularTotalPorExpediente(Integer expedienteId) throws SQLException {
         String sql = """
             SELECT COALESCE(SUM(monto), 0) 
@@ -274,4 +323,39 @@ public class PagoDAO {
 
         return pago;
     }
-}
\ No newline at end of file
+
+    // ==================== PARÁMETROS ====================
+
+    private void asignarInsercion(PreparedStatement ps, Pago pago) throws SQLException {
+        ps.setInt(1, pago.getExpedienteId());
+
+        if (pago.getClienteId() != null) {
+            ps.setInt(2, pago.getClienteId());
+        } else {
+            ps.setNull(2, Types.INTEGER);
+        }
+
+        ps.setDouble(3, pago.getMonto());
+        ps.setString(4, pago.getFechaAsString());
+        ps.setString(5, pago.getFormaPago());
+        ps.setString(6, pago.getReferencia());
+        ps.setString(7, pago.getConcepto());
+        ps.setString(8, pago.getObservaciones());
+
+        if (pago.getUsuarioId() != null) {
+            ps.setInt(9, pago.getUsuarioId());
+        } else {
+            ps.setNull(9, Types.INTEGER);
+        }
+    }
+
+    private void asignarActualizacion(PreparedStatement ps, Pago pago) throws SQLException {
+        ps.setDouble(1, pago.getMonto());
+        ps.setString(2, pago.getFechaAsString());
+        ps.setString(3, pago.getFormaPago());
+        ps.setString(4, pago.getReferencia());
+        ps.setString(5, pago.getConcepto());
+        ps.setString(6, pago.getObservaciones());
+        ps.setInt(7, pago.getId());
+    }
+}
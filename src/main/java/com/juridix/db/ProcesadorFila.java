@@ -0,0 +1,12 @@
+package com.juridix.db;
+
+import java.io.IOException;
+
+/**
+ * Recibe las filas de un recorrido con cursor (recorrerTodos de los DAOs) a medida que se leen,
+ * sin acumularlas en una lista. Puede escribir a un archivo; un IOException corta el recorrido.
+ */
+@FunctionalInterface
+public interface ProcesadorFila<T> {
+    void procesar(T elemento) throws IOException;
+}
@@ -0,0 +1,250 @@
+package com.juridix.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché LRU de PreparedStatement para una conexión física del pool.
+ * La clave es el texto SQL (más el modo de claves generadas). El DAO recibe un
+ * envoltorio cuyo close() limpia los parámetros y deja la sentencia compilada
+ * disponible para la próxima llamada con el mismo SQL.
+ * No es thread-safe: una conexión física solo la usa un hilo a la vez.
+ */
+public class StatementCache {
+
+    private final Connection conexion;
+    private final int capacidad;
+    private final Contadores contadores;
+    private final LinkedHashMap<String, Entrada> entradas;
+
+    public StatementCache(Connection conexion, int capacidad, Contadores contadores) {
+        this.conexion = conexion;
+        this.capacidad = capacidad;
+        this.contadores = contadores;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Devuelve una sentencia preparada para el SQL, reutilizando la compilada si existe
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS / NO_GENERATED_KEYS, o null si no se indicó
+     */
+    public PreparedStatement preparar(String sql, Integer autoGeneratedKeys, Connection conexionLogica) throws SQLException {
+        if (capacidad <= 0) {
+            return crear(sql, autoGeneratedKeys);
+        }
+
+        String clave = autoGeneratedKeys == null ? sql : autoGeneratedKeys + "#" + sql;
+        Entrada entrada = entradas.get(clave);
+
+        if (entrada != null && entrada.enUso) {
+            // Mismo SQL abierto dos veces sobre la conexión: la segunda va sin caché
+            contadores.fallos.increment();
+            return crear(sql, autoGeneratedKeys);
+        }
+
+        if (entrada != null && entrada.sentencia.isClosed()) {
+            entradas.remove(clave);
+            entrada = null;
+        }
+
+        if (entrada != null) {
+            contadores.aciertos.increment();
+        } else {
+            contadores.fallos.increment();
+            entrada = new Entrada(crear(sql, autoGeneratedKeys));
+            entradas.put(clave, entrada);
+            desalojarExcedente();
+        }
+
+        entrada.enUso = true;
+        entrada.generacion++;
+        return envolver(entrada, conexionLogica);
+    }
+
+    private PreparedStatement crear(String sql, Integer autoGeneratedKeys) throws SQLException {
+        return autoGeneratedKeys == null
+                ? conexion.prepareStatement(sql)
+                : conexion.prepareStatement(sql, autoGeneratedKeys);
+    }
+
+    private void desalojarExcedente() {
+        Iterator<Entrada> it = entradas.values().iterator();
+        while (entradas.size() > capacidad && it.hasNext()) {
+            Entrada candidata = it.next();
+            if (candidata.enUso) {
+                continue;
+            }
+            it.remove();
+            contadores.desalojos.increment();
+            cerrarSilencioso(candidata.sentencia);
+        }
+    }
+
+    /**
+     * Cierra todas las sentencias. Se llama al descartar la conexión física.
+     */
+    public void cerrar() {
+        for (Entrada entrada : entradas.values()) {
+            cerrarSilencioso(entrada.sentencia);
+        }
+        entradas.clear();
+    }
+
+    /**
+     * Cierra los ResultSet que un DAO haya dejado abiertos, para que ninguna
+     * sentencia cacheada retenga un snapshot de lectura al devolver la conexión.
+     */
+    public void liberarEnUso() {
+        List<String> invalidas = new ArrayList<>();
+        for (Map.Entry<String, Entrada> e : entradas.entrySet()) {
+            Entrada entrada = e.getValue();
+            if (entrada.enUso) {
+                try {
+                    entrada.liberar();
+                } catch (SQLException ex) {
+                    invalidas.add(e.getKey());
+                    cerrarSilencioso(entrada.sentencia);
+                }
+            }
+        }
+        invalidas.forEach(entradas::remove);
+    }
+
+    public int getTamanio() {
+        return entradas.size();
+    }
+
+    private static void cerrarSilencioso(PreparedStatement ps) {
+        try {
+            ps.close();
+        } catch (SQLException e) {
+            System.err.println("⚠️ Error al cerrar sentencia cacheada: " + e.getMessage());
+        }
+    }
+
+    private PreparedStatement envolver(Entrada entrada, Connection conexionLogica) {
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                new SentenciaCacheada(entrada, conexionLogica)
+        );
+    }
+
+    // ==================== CLASES INTERNAS ====================
+
+    private static class Entrada {
+        private final PreparedStatement sentencia;
+        private ResultSet ultimoResultSet;
+        private boolean enUso;
+        private long generacion;
+
+        Entrada(PreparedStatement sentencia) {
+            this.sentencia = sentencia;
+        }
+
+        void liberar() throws SQLException {
+            enUso = false;
+            if (ultimoResultSet != null) {
+                if (!ultimoResultSet.isClosed()) {
+                    ultimoResultSet.close();
+                }
+                ultimoResultSet = null;
+            }
+            sentencia.clearParameters();
+            // Un lote que falló antes de executeBatch dejaría filas encoladas para el próximo uso
+            sentencia.clearBatch();
+        }
+    }
+
+    /**
+     * Envoltorio de una sentencia cacheada: close() la devuelve a la caché
+     */
+    private class SentenciaCacheada implements InvocationHandler {
+        private final Entrada entrada;
+        private final Connection conexionLogica;
+        private final long generacion;
+        private boolean cerrada;
+
+        SentenciaCacheada(Entrada entrada, Connection conexionLogica) {
+            this.entrada = entrada;
+            this.conexionLogica = conexionLogica;
+            this.generacion = entrada.generacion;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!cerrada) {
+                        cerrada = true;
+                        if (generacion != entrada.generacion) {
+                            // La caché ya la recuperó y se la prestó a otro uso
+                            return null;
+                        }
+                        try {
+                            entrada.liberar();
+                        } catch (SQLException e) {
+                            // Sentencia inutilizable: se quita de la caché
+                            entradas.values().remove(entrada);
+                            cerrarSilencioso(entrada.sentencia);
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return cerrada || entrada.sentencia.isClosed();
+                case "getConnection":
+                    return conexionLogica;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+
+            if (cerrada || generacion != entrada.generacion) {
+                throw new SQLException("La sentencia ya fue cerrada");
+            }
+
+            try {
+                Object resultado = method.invoke(entrada.sentencia, args);
+                if ("executeQuery".equals(method.getName())) {
+                    entrada.ultimoResultSet = (ResultSet) resultado;
+                }
+                return resultado;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Contadores compartidos por todas las cachés del pool
+     */
+    public static class Contadores {
+        private final LongAdder aciertos = new LongAdder();
+        private final LongAdder fallos = new LongAdder();
+        private final LongAdder desalojos = new LongAdder();
+
+        public long getAciertos() { return aciertos.sum(); }
+        public long getFallos() { return fallos.sum(); }
+        public long getDesalojos() { return desalojos.sum(); }
+
+        public double getTasaAciertos() {
+            long total = getAciertos() + getFallos();
+            return total == 0 ? 0.0 : getAciertos() * 100.0 / total;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.juridix.db;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Unidad de trabajo: agrupa varias llamadas a DAOs en una sola transacción sobre una sola conexión.
+ * Mientras hay una transacción abierta en el hilo, Database.getConnection() devuelve esa conexión
+ * (su close() no hace nada), así que los DAOs participan sin cambios.
+ *
+ * <pre>
+ * Transaccion.ejecutar(() -> {
+ *     dao.buscarPorId(id);
+ *     return dao.actualizar(expediente);
+ * });
+ * </pre>
+ *
+ * Se confirma si el trabajo termina normalmente y se revierte ante cualquier excepción,
+ * que se propaga sin envolver. Una llamada anidada se suma a la transacción externa.
+ */
+public final class Transaccion {
+
+    @FunctionalInterface
+    public interface Trabajo<T> {
+        T ejecutar() throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface Accion {
+        void ejecutar() throws SQLException;
+    }
+
+    // Conexión participante de la transacción en curso en cada hilo
+    private static final ThreadLocal<Connection> ACTUAL = new ThreadLocal<>();
+
+    private Transaccion() {
+        // Clase utilitaria
+    }
+
+    /**
+     * Ejecuta el trabajo en una transacción y devuelve su resultado
+     */
+    public static <T> T ejecutar(Trabajo<T> trabajo) throws SQLException {
+        if (ACTUAL.get() != null) {
+            return trabajo.ejecutar();
+        }
+
+        try (Connection conn = Database.getPool().obtenerConexion()) {
+            // IMMEDIATE toma el bloqueo de escritura al empezar: leer y después escribir no puede
+            // fallar con SQLITE_BUSY porque otra conexión escribió en el medio
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("BEGIN IMMEDIATE");
+            }
+
+            ACTUAL.set(participante(conn));
+            boolean confirmada = false;
+            try {
+                T resultado = trabajo.ejecutar();
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("COMMIT");
+                }
+                confirmada = true;
+                return resultado;
+
+            } finally {
+                ACTUAL.remove();
+                if (!confirmada) {
+                    revertir(conn);
+                }
+            }
+        }
+    }
+
+    /**
+     * Variante de ejecutar para trabajos sin resultado
+     */
+    public static void ejecutarSinResultado(Accion accion) throws SQLException {
+        ejecutar(() -> {
+            accion.ejecutar();
+            return null;
+        });
+    }
+
+    /**
+     * true si el hilo actual está dentro de una transacción
+     */
+    public static boolean enCurso() {
+        return ACTUAL.get() != null;
+    }
+
+    /**
+     * Conexión de la transacción en curso en este hilo, o null
+     */
+    static Connection conexionActual() {
+        return ACTUAL.get();
+    }
+
+    private static void revertir(Connection conn) {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ROLLBACK");
+        } catch (SQLException e) {
+            // Sin transacción abierta (falló el COMMIT y SQLite ya la cerró) no hay nada que revertir
+            System.err.println("⚠️ Error al revertir transacción: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Envoltorio que presta la conexión a los DAOs: close() no la devuelve al pool
+     * y el control de la transacción queda reservado a esta clase
+     */
+    private static Connection participante(Connection conn) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            return null;
+                        case "commit":
+                        case "rollback":
+                        case "setAutoCommit":
+                            throw new SQLException("La transacción la controla Transaccion.ejecutar");
+                        case "getAutoCommit":
+                            return false;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "Transaccion[" + conn + "]";
+                        default:
+                            break;
+                    }
+
+                    try {
+                        return method.invoke(conn, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+        );
+    }
+}
@@ -4,27 +4,52 @@ import com.juridix.seguridad.PasswordUtil;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 
 public class UserBootstrap {
 
+    private static final String USUARIO_ADMIN = "admin";
+    private static final String PASSWORD_ADMIN_INICIAL = "admin123";
+
     public static void crearAdminSiNoExiste() {
+        try (Connection conn = Database.getConnection()) {
+            crearAdminSiNoExiste(conn);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Crea el usuario admin inicial si no existe.
+     * Consulta primero para no pagar el hash BCrypt cuando el usuario ya está creado.
+     * @return true si se creó el usuario
+     */
+    public static boolean crearAdminSiNoExiste(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT 1 FROM usuarios WHERE username = ?")) {
+            ps.setString(1, USUARIO_ADMIN);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    System.out.println("ℹ️ Usuario admin ya existe");
+                    return false;
+                }
+            }
+        }
 
         String sql = """
-            INSERT OR IGNORE INTO usuarios (username, password_hash, rol)
-            VALUES (?, ?, ?)
+            INSERT OR IGNORE INTO usuarios (username, password_hash, rol, nombre_completo, activo)
+            VALUES (?, ?, 'ADMIN', 'Administrador', 1)
         """;
 
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, "admin");
-            ps.setString(2, PasswordUtil.hash("admin123"));
-            ps.setString(3, "ABOGADO");
-
-            ps.executeUpdate();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, USUARIO_ADMIN);
+            ps.setString(2, PasswordUtil.hash(PASSWORD_ADMIN_INICIAL));
 
-        } catch (Exception e) {
-            e.printStackTrace();
+            boolean creado = ps.executeUpdate() > 0;
+            if (creado) {
+                System.out.println("✅ Usuario admin creado");
+            }
+            return creado;
         }
     }
 }
@@ -0,0 +1,466 @@
+package com.juridix.export;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Escritor de libros Excel (.xlsx) en streaming: cada hoja se escribe como SpreadsheetML directo
+ * a la entrada del ZipOutputStream, fila por fila, sin armar ningún árbol XML.
+ * En memoria quedan solo la tabla de textos compartidos (acotada, ver LIMITE_COMPARTIDOS)
+ * y los nombres de las hojas; workbook.xml, styles.xml y sharedStrings.xml se escriben al cerrar.
+ *
+ * <pre>
+ * try (EscritorXlsx xlsx = new EscritorXlsx(archivo)) {
+ *     xlsx.nuevaHoja("Clientes", "Nombre", "Alta");
+ *     xlsx.fila("Pérez, Juan", LocalDate.now());
+ * }
+ * </pre>
+ *
+ * Tipos de celda según el valor: Number numérica, LocalDate/LocalDateTime fecha (número de serie
+ * de Excel con formato dd/mm/yyyy), Boolean lógica, null vacía y cualquier otro objeto, texto.
+ */
+public class EscritorXlsx implements Closeable {
+
+    private static final String NS_MAIN = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String NS_REL = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    // Estilos definidos en styles.xml (índices de cellXfs)
+    private static final int ESTILO_ENCABEZADO = 1;
+    private static final int ESTILO_FECHA = 2;
+    private static final int ESTILO_FECHA_HORA = 3;
+    private static final int ESTILO_DECIMAL = 4;
+
+    // Textos distintos que se comparten como máximo; los que llegan después (o los largos)
+    // se escriben en línea para que la memoria no dependa del tamaño de la exportación
+    private static final int LIMITE_COMPARTIDOS = 50_000;
+    private static final int LARGO_MAXIMO_COMPARTIDO = 100;
+    private static final int LARGO_MAXIMO_CELDA = 32_767;
+    private static final int MAXIMO_FILAS_HOJA = 1_048_576;
+
+    private static final LocalDate ORIGEN_FECHAS = LocalDate.of(1899, 12, 30);
+
+    private static final String RELACIONES_PAQUETE = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" \
+            Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" \
+            Target="xl/workbook.xml"/>\
+            </Relationships>""";
+
+    // 0 general, 1 encabezado, 2 fecha, 3 fecha y hora, 4 decimal con separador de miles
+    private static final String ESTILOS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <styleSheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main">\
+            <numFmts count="2">\
+            <numFmt numFmtId="164" formatCode="dd/mm/yyyy"/>\
+            <numFmt numFmtId="165" formatCode="dd/mm/yyyy hh:mm"/>\
+            </numFmts>\
+            <fonts count="2">\
+            <font><sz val="11"/><name val="Calibri"/></font>\
+            <font><b/><sz val="11"/><name val="Calibri"/></font>\
+            </fonts>\
+            <fills count="2"><fill><patternFill patternType="none"/></fill>\
+            <fill><patternFill patternType="gray125"/></fill></fills>\
+            <borders count="1"><border><left/><right/><top/><bottom/><diagonal/></border></borders>\
+            <cellStyleXfs count="1"><xf numFmtId="0" fontId="0" fillId="0" borderId="0"/></cellStyleXfs>\
+            <cellXfs count="5">\
+            <xf numFmtId="0" fontId="0" fillId="0" borderId="0" xfId="0"/>\
+            <xf numFmtId="0" fontId="1" fillId="0" borderId="0" xfId="0" applyFont="1"/>\
+            <xf numFmtId="164" fontId="0" fillId="0" borderId="0" xfId="0" applyNumberFormat="1"/>\
+            <xf numFmtId="165" fontId="0" fillId="0" borderId="0" xfId="0" applyNumberFormat="1"/>\
+            <xf numFmtId="4" fontId="0" fillId="0" borderId="0" xfId="0" applyNumberFormat="1"/>\
+            </cellXfs>\
+            <cellStyles count="1"><cellStyle name="Normal" xfId="0" builtinId="0"/></cellStyles>\
+            </styleSheet>""";
+
+    private final ZipOutputStream zip;
+    private final Writer xml;
+
+    private final Map<String, Integer> compartidos = new LinkedHashMap<>();
+    private long referenciasCompartidas;
+
+    private final List<String> hojas = new ArrayList<>();
+    private final Set<String> nombresEnUso = new HashSet<>();
+    private boolean hojaAbierta;
+    private int filaActual;
+    private String[] letrasColumnas = new String[0];
+    private boolean cerrado;
+
+    /**
+     * Crea (o reemplaza) el archivo
+     */
+    public EscritorXlsx(Path archivo) throws IOException {
+        this(Files.newOutputStream(archivo));
+    }
+
+    /**
+     * Escribe el libro en el stream indicado; close() también lo cierra
+     */
+    public EscritorXlsx(OutputStream salida) {
+        this.zip = new ZipOutputStream(new BufferedOutputStream(salida, 64 * 1024));
+        this.xml = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    // ==================== HOJAS Y FILAS ====================
+
+    /**
+     * Cierra la hoja en curso (si hay) y empieza otra con una fila de encabezado en negrita
+     * @param nombre Nombre de la pestaña (se ajusta a las reglas de Excel: 31 caracteres, sin []:*?/\)
+     * @param encabezado Títulos de las columnas
+     */
+    public void nuevaHoja(String nombre, String... encabezado) throws IOException {
+        verificarAbierto();
+        cerrarHoja();
+
+        String nombreHoja = nombreUnico(nombre);
+        hojas.add(nombreHoja);
+
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + hojas.size() + ".xml"));
+        xml.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        xml.write("<worksheet xmlns=\"" + NS_MAIN + "\" xmlns:r=\"" + NS_REL + "\">");
+
+        // Encabezado fijo al desplazarse
+        if (encabezado.length > 0) {
+            xml.write("<sheetViews><sheetView workbookViewId=\"0\">"
+                    + "<pane ySplit=\"1\" topLeftCell=\"A2\" activePane=\"bottomLeft\" state=\"frozen\"/>"
+                    + "</sheetView></sheetViews>");
+
+            xml.write("<cols>");
+            for (int i = 0; i < encabezado.length; i++) {
+                int ancho = Math.max(12, Math.min(50, encabezado[i] == null ? 0 : encabezado[i].length() + 4));
+                xml.write("<col min=\"" + (i + 1) + "\" max=\"" + (i + 1) + "\" width=\"" + ancho
+                        + "\" customWidth=\"1\"/>");
+            }
+            xml.write("</cols>");
+        }
+
+        xml.write("<sheetData>");
+        hojaAbierta = true;
+        filaActual = 0;
+
+        if (encabezado.length > 0) {
+            escribirFila(ESTILO_ENCABEZADO, (Object[]) encabezado);
+        }
+    }
+
+    /**
+     * Agrega una fila a la hoja en curso
+     */
+    public void fila(Object... valores) throws IOException {
+        verificarAbierto();
+        if (!hojaAbierta) {
+            throw new IllegalStateException("Primero hay que crear una hoja con nuevaHoja");
+        }
+        escribirFila(-1, valores);
+    }
+
+    /**
+     * Filas escritas en la hoja en curso, incluido el encabezado
+     */
+    public int getFilasHojaActual() {
+        return filaActual;
+    }
+
+    private void escribirFila(int estiloForzado, Object... valores) throws IOException {
+        if (filaActual >= MAXIMO_FILAS_HOJA) {
+            throw new IllegalStateException("La hoja superó el máximo de " + MAXIMO_FILAS_HOJA + " filas de Excel");
+        }
+        filaActual++;
+        xml.write("<row r=\"" + filaActual + "\">");
+
+        for (int i = 0; i < valores.length; i++) {
+            Object valor = valores[i];
+            if (valor == null) {
+                continue;
+            }
+
+            String referencia = letraColumna(i) + filaActual;
+
+            if (valor instanceof Number numero && estiloForzado < 0) {
+                escribirNumero(referencia, numero);
+            } else if (valor instanceof LocalDate fecha && estiloForzado < 0) {
+                escribirValor(referencia, ESTILO_FECHA, Long.toString(ChronoUnit.DAYS.between(ORIGEN_FECHAS, fecha)));
+            } else if (valor instanceof LocalDateTime fechaHora && estiloForzado < 0) {
+                escribirValor(referencia, ESTILO_FECHA_HORA, Double.toString(serial(fechaHora)));
+            } else if (valor instanceof Boolean logico && estiloForzado < 0) {
+                xml.write("<c r=\"" + referencia + "\" t=\"b\"><v>" + (logico ? 1 : 0) + "</v></c>");
+            } else {
+                escribirTexto(referencia, Math.max(estiloForzado, 0), valor.toString());
+            }
+        }
+
+        xml.write("</row>");
+    }
+
+    private void escribirNumero(String referencia, Number numero) throws IOException {
+        if (numero instanceof Integer || numero instanceof Long || numero instanceof Short || numero instanceof Byte) {
+            escribirValor(referencia, 0, numero.toString());
+            return;
+        }
+
+        if (numero instanceof BigDecimal decimal) {
+            escribirValor(referencia, ESTILO_DECIMAL, decimal.toPlainString());
+            return;
+        }
+
+        double valor = numero.doubleValue();
+        if (Double.isNaN(valor) || Double.isInfinite(valor)) {
+            escribirTexto(referencia, 0, numero.toString());
+        } else {
+            escribirValor(referencia, ESTILO_DECIMAL, Double.toString(valor));
+        }
+    }
+
+    private void escribirValor(String referencia, int estilo, String valor) throws IOException {
+        xml.write("<c r=\"" + referencia + "\"");
+        if (estilo > 0) {
+            xml.write(" s=\"" + estilo + "\"");
+        }
+        xml.write("><v>" + valor + "</v></c>");
+    }
+
+    private void escribirTexto(String referencia, int estilo, String texto) throws IOException {
+        if (texto.length() > LARGO_MAXIMO_CELDA) {
+            texto = texto.substring(0, LARGO_MAXIMO_CELDA);
+        }
+
+        String atributoEstilo = estilo > 0 ? " s=\"" + estilo + "\"" : "";
+        Integer indice = indiceCompartido(texto);
+
+        if (indice != null) {
+            xml.write("<c r=\"" + referencia + "\"" + atributoEstilo + " t=\"s\"><v>" + indice + "</v></c>");
+        } else {
+            xml.write("<c r=\"" + referencia + "\"" + atributoEstilo + " t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+            escaparXml(texto);
+            xml.write("</t></is></c>");
+        }
+    }
+
+    /**
+     * Índice del texto en la tabla compartida (lo agrega si hay lugar), o null si va en línea
+     */
+    private Integer indiceCompartido(String texto) {
+        if (texto.length() > LARGO_MAXIMO_COMPARTIDO) {
+            return null;
+        }
+
+        Integer indice = compartidos.get(texto);
+        if (indice == null) {
+            if (compartidos.size() >= LIMITE_COMPARTIDOS) {
+                return null;
+            }
+            indice = compartidos.size();
+            compartidos.put(texto, indice);
+        }
+
+        referenciasCompartidas++;
+        return indice;
+    }
+
+    private void cerrarHoja() throws IOException {
+        if (!hojaAbierta) {
+            return;
+        }
+        xml.write("</sheetData></worksheet>");
+        xml.flush();
+        zip.closeEntry();
+        hojaAbierta = false;
+    }
+
+    // ==================== CIERRE ====================
+
+    /**
+     * Cierra la hoja en curso y escribe las partes del libro que dependen de todas las hojas
+     */
+    @Override
+    public void close() throws IOException {
+        if (cerrado) {
+            return;
+        }
+
+        try {
+            cerrarHoja();
+            if (hojas.isEmpty()) {
+                nuevaHoja("Hoja1");
+                cerrarHoja();
+            }
+
+            escribirCompartidos();
+            escribirEntrada("xl/styles.xml", ESTILOS);
+            escribirEntrada("xl/workbook.xml", libro());
+            escribirEntrada("xl/_rels/workbook.xml.rels", relacionesLibro());
+            escribirEntrada("_rels/.rels", RELACIONES_PAQUETE);
+            escribirEntrada("[Content_Types].xml", tiposContenido());
+
+            xml.flush();
+            zip.finish();
+
+        } finally {
+            cerrado = true;
+            zip.close();
+        }
+    }
+
+    private void escribirCompartidos() throws IOException {
+        zip.putNextEntry(new ZipEntry("xl/sharedStrings.xml"));
+        xml.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        xml.write("<sst xmlns=\"" + NS_MAIN + "\" count=\"" + referenciasCompartidas
+                + "\" uniqueCount=\"" + compartidos.size() + "\">");
+
+        for (String texto : compartidos.keySet()) {
+            xml.write("<si><t xml:space=\"preserve\">");
+            escaparXml(texto);
+            xml.write("</t></si>");
+        }
+
+        xml.write("</sst>");
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    private void escribirEntrada(String nombre, String contenido) throws IOException {
+        zip.putNextEntry(new ZipEntry(nombre));
+        xml.write(contenido);
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    private String libro() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        sb.append("<workbook xmlns=\"").append(NS_MAIN).append("\" xmlns:r=\"").append(NS_REL).append("\"><sheets>");
+        for (int i = 0; i < hojas.size(); i++) {
+            sb.append("<sheet name=\"").append(escaparAtributo(hojas.get(i)))
+                    .append("\" sheetId=\"").append(i + 1)
+                    .append("\" r:id=\"rId").append(i + 1).append("\"/>");
+        }
+        sb.append("</sheets></workbook>");
+        return sb.toString();
+    }
+
+    private String relacionesLibro() {
+        String tipoBase = "http://schemas.openxmlformats.org/officeDocument/2006/relationships/";
+        StringBuilder sb = new StringBuilder();
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        sb.append("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        for (int i = 0; i < hojas.size(); i++) {
+            sb.append("<Relationship Id=\"rId").append(i + 1).append("\" Type=\"").append(tipoBase)
+                    .append("worksheet\" Target=\"worksheets/sheet").append(i + 1).append(".xml\"/>");
+        }
+        int siguiente = hojas.size() + 1;
+        sb.append("<Relationship Id=\"rId").append(siguiente).append("\" Type=\"").append(tipoBase)
+                .append("styles\" Target=\"styles.xml\"/>");
+        sb.append("<Relationship Id=\"rId").append(siguiente + 1).append("\" Type=\"").append(tipoBase)
+                .append("sharedStrings\" Target=\"sharedStrings.xml\"/>");
+        sb.append("</Relationships>");
+        return sb.toString();
+    }
+
+    private String tiposContenido() {
+        String tipoBase = "application/vnd.openxmlformats-officedocument.spreadsheetml.";
+        StringBuilder sb = new StringBuilder();
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        sb.append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">");
+        sb.append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>");
+        sb.append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>");
+        sb.append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"").append(tipoBase).append("sheet.main+xml\"/>");
+        for (int i = 0; i < hojas.size(); i++) {
+            sb.append("<Override PartName=\"/xl/worksheets/sheet").append(i + 1)
+                    .append(".xml\" ContentType=\"").append(tipoBase).append("worksheet+xml\"/>");
+        }
+        sb.append("<Override PartName=\"/xl/styles.xml\" ContentType=\"").append(tipoBase).append("styles+xml\"/>");
+        sb.append("<Override PartName=\"/xl/sharedStrings.xml\" ContentType=\"").append(tipoBase)
+                .append("sharedStrings+xml\"/>");
+        sb.append("</Types>");
+        return sb.toString();
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private void verificarAbierto() {
+        if (cerrado) {
+            throw new IllegalStateException("El libro ya fue cerrado");
+        }
+    }
+
+    /**
+     * Letra de la columna (0 = A, 26 = AA); se calculan una sola vez
+     */
+    private String letraColumna(int indice) {
+        if (indice >= letrasColumnas.length) {
+            String[] nuevas = new String[Math.max(indice + 1, letrasColumnas.length * 2)];
+            System.arraycopy(letrasColumnas, 0, nuevas, 0, letrasColumnas.length);
+            for (int i = letrasColumnas.length; i < nuevas.length; i++) {
+                StringBuilder sb = new StringBuilder();
+                for (int n = i + 1; n > 0; n = (n - 1) / 26) {
+                    sb.insert(0, (char) ('A' + (n - 1) % 26));
+                }
+                nuevas[i] = sb.toString();
+            }
+            letrasColumnas = nuevas;
+        }
+        return letrasColumnas[indice];
+    }
+
+    private static double serial(LocalDateTime fechaHora) {
+        long dias = ChronoUnit.DAYS.between(ORIGEN_FECHAS, fechaHora.toLocalDate());
+        return dias + fechaHora.toLocalTime().toSecondOfDay() / 86_400.0;
+    }
+
+    private String nombreUnico(String nombre) {
+        String base = nombre == null || nombre.isBlank() ? "Hoja" : nombre.replaceAll("[\\[\\]:*?/\\\\]", "_");
+        if (base.length() > 31) {
+            base = base.substring(0, 31);
+        }
+
+        String candidato = base;
+        for (int n = 2; !nombresEnUso.add(candidato.toLowerCase()); n++) {
+            String sufijo = " (" + n + ")";
+            candidato = base.substring(0, Math.min(base.length(), 31 - sufijo.length())) + sufijo;
+        }
+        return candidato;
+    }
+
+    /**
+     * Escapa el texto para XML y quita los caracteres de control que XML 1.0 no admite
+     */
+    private void escaparXml(String texto) throws IOException {
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '&' -> xml.write("&amp;");
+                case '<' -> xml.write("&lt;");
+                case '>' -> xml.write("&gt;");
+                default -> {
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        xml.write(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String escaparAtributo(String texto) {
+        return texto.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
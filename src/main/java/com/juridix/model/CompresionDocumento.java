@@ -0,0 +1,28 @@
+package com.juridix.model;
+
+public enum CompresionDocumento {
+    NINGUNA(""),
+    DEFLATE(".deflate");
+
+    // Sufijo del archivo guardado, para reconocer el formato sin consultar la base
+    private final String sufijo;
+
+    CompresionDocumento(String sufijo) {
+        this.sufijo = sufijo;
+    }
+
+    public String getSufijo() {
+        return sufijo;
+    }
+
+    public static CompresionDocumento fromString(String text) {
+        if (text != null) {
+            for (CompresionDocumento compresion : CompresionDocumento.values()) {
+                if (text.equalsIgnoreCase(compresion.name())) {
+                    return compresion;
+                }
+            }
+        }
+        return NINGUNA;
+    }
+}
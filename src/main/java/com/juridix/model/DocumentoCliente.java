@@ -15,6 +15,11 @@ public class DocumentoCliente {
     private String extension;
     private Integer usuarioId;
     private LocalDateTime fechaSubida;
+    // SHA-256 del contenido; null en documentos subidos antes del almacén por contenido
+    private String hashContenido;
+    // Bytes ocupados en disco; difiere de tamanioBytes cuando el contenido se guarda comprimido
+    private Long tamanioAlmacenado;
+    private CompresionDocumento compresion = CompresionDocumento.NINGUNA;
 
     // Formateador
     private static final DateTimeFormatter DATETIME_FORMATTER =
@@ -111,6 +116,30 @@ public class DocumentoCliente {
         this.usuarioId = usuarioId;
     }
 
+    public String getHashContenido() {
+        return hashContenido;
+    }
+
+    public void setHashContenido(String hashContenido) {
+        this.hashContenido = hashContenido;
+    }
+
+    public Long getTamanioAlmacenado() {
+        return tamanioAlmacenado;
+    }
+
+    public void setTamanioAlmacenado(Long tamanioAlmacenado) {
+        this.tamanioAlmacenado = tamanioAlmacenado;
+    }
+
+    public CompresionDocumento getCompresion() {
+        return compresion;
+    }
+
+    public void setCompresion(CompresionDocumento compresion) {
+        this.compresion = compresion;
+    }
+
     public LocalDateTime getFechaSubida() {
         return fechaSubida;
     }
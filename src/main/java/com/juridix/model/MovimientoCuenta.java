@@ -0,0 +1,50 @@
+package com.juridix.model;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Renglón de la cuenta corriente de un expediente (honorario, gasto o pago)
+ * con el saldo acumulado hasta ese renglón inclusive
+ */
+public class MovimientoCuenta {
+    private final LocalDate fecha;
+    private final String tipo;
+    private final Integer referenciaId;
+    private final String descripcion;
+    private final double debe;
+    private final double haber;
+    private final double saldo;
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    public MovimientoCuenta(LocalDate fecha, String tipo, Integer referenciaId, String descripcion,
+                            double debe, double haber, double saldo) {
+        this.fecha = fecha;
+        this.tipo = tipo;
+        this.referenciaId = referenciaId;
+        this.descripcion = descripcion;
+        this.debe = debe;
+        this.haber = haber;
+        this.saldo = saldo;
+    }
+
+    // Getters
+    public LocalDate getFecha() { return fecha; }
+    public String getTipo() { return tipo; }
+    public Integer getReferenciaId() { return referenciaId; }
+    public String getDescripcion() { return descripcion; }
+    public double getDebe() { return debe; }
+    public double getHaber() { return haber; }
+    public double getSaldo() { return saldo; }
+
+    // Conversión de fechas
+    public static LocalDate parsearFecha(String fecha) {
+        return fecha != null && !fecha.isEmpty() ? LocalDate.parse(fecha, DATE_FORMATTER) : null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s - %s (saldo $%.2f)", fecha, tipo, descripcion, saldo);
+    }
+}
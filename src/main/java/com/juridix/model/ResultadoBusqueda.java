@@ -0,0 +1,69 @@
+package com.juridix.model;
+
+/**
+ * Coincidencia de la búsqueda global (cliente, expediente o evento de agenda)
+ */
+public class ResultadoBusqueda {
+
+    public enum Tipo {
+        EXPEDIENTE(1),
+        CLIENTE(2),
+        EVENTO(3);
+
+        private final int codigo;
+
+        Tipo(int codigo) {
+            this.codigo = codigo;
+        }
+
+        public int getCodigo() {
+            return codigo;
+        }
+
+        public static Tipo fromCodigo(int codigo) {
+            for (Tipo tipo : values()) {
+                if (tipo.codigo == codigo) {
+                    return tipo;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Tipo tipo;
+    private final Integer entidadId;
+    private final String titulo;
+    private final String detalle;
+    private final String fragmento;
+    private final double rango;
+
+    public ResultadoBusqueda(Tipo tipo, Integer entidadId, String titulo, String detalle,
+                             String fragmento, double rango) {
+        this.tipo = tipo;
+        this.entidadId = entidadId;
+        this.titulo = titulo;
+        this.detalle = detalle;
+        this.fragmento = fragmento;
+        this.rango = rango;
+    }
+
+    // Getters
+    public Tipo getTipo() { return tipo; }
+    public Integer getEntidadId() { return entidadId; }
+    public String getTitulo() { return titulo; }
+    public String getDetalle() { return detalle; }
+    public String getFragmento() { return fragmento; }
+    public double getRango() { return rango; }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(titulo != null ? titulo : "");
+        if (detalle != null && !detalle.isBlank()) {
+            sb.append(" - ").append(detalle);
+        }
+        if (fragmento != null && !fragmento.isBlank()) {
+            sb.append("  …").append(fragmento).append("…");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,54 @@
+package com.juridix.model;
+
+/**
+ * Totales económicos agregados (honorarios, gastos y pagos) de un grupo de expedientes
+ */
+public class TotalesFinancieros {
+    private final int cantidadExpedientes;
+    private final double totalHonorarios;
+    private final double honorariosPendientes;
+    private final double totalGastos;
+    private final double totalPagos;
+
+    public TotalesFinancieros(int cantidadExpedientes, double totalHonorarios, double honorariosPendientes,
+                              double totalGastos, double totalPagos) {
+        this.cantidadExpedientes = cantidadExpedientes;
+        this.totalHonorarios = totalHonorarios;
+        this.honorariosPendientes = honorariosPendientes;
+        this.totalGastos = totalGastos;
+        this.totalPagos = totalPagos;
+    }
+
+    public static TotalesFinancieros vacio() {
+        return new TotalesFinancieros(0, 0.0, 0.0, 0.0, 0.0);
+    }
+
+    public int getCantidadExpedientes() { return cantidadExpedientes; }
+    public double getTotalHonorarios() { return totalHonorarios; }
+    public double getHonorariosPendientes() { return honorariosPendientes; }
+    public double getTotalGastos() { return totalGastos; }
+    public double getTotalPagos() { return totalPagos; }
+
+    // Métodos de utilidad
+    public double getSaldo() {
+        return totalHonorarios + totalGastos - totalPagos;
+    }
+
+    public TotalesFinancieros sumar(TotalesFinancieros otro) {
+        return new TotalesFinancieros(
+                cantidadExpedientes + otro.cantidadExpedientes,
+                totalHonorarios + otro.totalHonorarios,
+                honorariosPendientes + otro.honorariosPendientes,
+                totalGastos + otro.totalGastos,
+                totalPagos + otro.totalPagos
+        );
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "Expedientes: %d | Honorarios: $%.2f (pendientes $%.2f) | Gastos: $%.2f | Pagos: $%.2f",
+                cantidadExpedientes, totalHonorarios, honorariosPendientes, totalGastos, totalPagos
+        );
+    }
+}
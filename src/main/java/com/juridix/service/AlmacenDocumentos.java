@@ -0,0 +1,427 @@
+package com.juridix.service;
+
+import com.juridix.model.CompresionDocumento;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Almacén de documentos direccionado por contenido: cada archivo se guarda una sola vez
+ * en contenido/ab/abcdef... (su SHA-256), sin importar cuántos documentos lo referencien.
+ * Los archivos guardados no se modifican nunca; las referencias las cuenta documentos_cliente.
+ *
+ * El ingreso es en dos pasos para que la parte lenta quede fuera de cualquier bloqueo:
+ * preparar() copia a un temporal calculando el hash en la misma pasada, y confirmar()
+ * lo mueve a su lugar (o lo descarta si ese contenido ya estaba guardado).
+ *
+ * Según la PoliticaCompresion el contenido se guarda comprimido (abcdef....deflate). El hash es
+ * siempre el del documento original, así que comprimir no afecta la deduplicación.
+ */
+public class AlmacenDocumentos {
+
+    /**
+     * Recibe el avance de un ingreso (bytes copiados sobre el total conocido al empezar)
+     */
+    @FunctionalInterface
+    public interface ObservadorIngreso {
+        void progreso(long bytes, long total);
+    }
+
+    static final String DIRECTORIO_PREDETERMINADO = "documentos/contenido";
+
+    private static final int TAMANIO_BUFFER = 256 * 1024;
+    private static final long INTERVALO_AVISO = 1024 * 1024;
+    private static final byte[] SIN_DATOS = new byte[0];
+
+    private final Path raiz;
+    private final PoliticaCompresion politica;
+
+    public AlmacenDocumentos() {
+        this(Paths.get(DIRECTORIO_PREDETERMINADO), PoliticaCompresion.predeterminada());
+    }
+
+    public AlmacenDocumentos(Path raiz) {
+        this(raiz, PoliticaCompresion.predeterminada());
+    }
+
+    public AlmacenDocumentos(Path raiz, PoliticaCompresion politica) {
+        this.raiz = raiz;
+        this.politica = politica;
+    }
+
+    // ==================== INGRESO ====================
+
+    /**
+     * Copia el archivo a un temporal dentro del almacén y calcula su SHA-256 mientras copia
+     * @param tamanioMaximo Bytes permitidos; se controla durante la copia, no solo antes
+     * @throws IllegalArgumentException Si el archivo supera el tamaño máximo
+     */
+    public Ingreso preparar(Path origen, long tamanioMaximo) throws IOException {
+        return preparar(origen, tamanioMaximo, null);
+    }
+
+    /**
+     * Igual que preparar(origen, tamanioMaximo), avisando el avance cada INTERVALO_AVISO bytes.
+     * Si el hilo se interrumpe la copia corta con ClosedByInterruptException y no deja temporal.
+     * @param observador Puede ser null
+     */
+    public Ingreso preparar(Path origen, long tamanioMaximo, ObservadorIngreso observador) throws IOException {
+        Files.createDirectories(raiz);
+        Path temporal = Files.createTempFile(raiz, ".ingreso_", ".tmp");
+
+        long inicio = System.nanoTime();
+        CompresionDocumento compresion = politica.elegir(origen.getFileName().toString());
+        MessageDigest digest = nuevoDigest();
+        long copiados = 0;
+        long almacenados;
+
+        // transferTo copiaría sin pasar por la JVM, pero entonces el hash exigiría una segunda
+        // lectura; con un buffer directo se lee una sola vez y el mismo buffer alimenta ambos
+        ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANIO_BUFFER);
+        ByteBuffer comprimido = compresion == CompresionDocumento.DEFLATE
+                ? ByteBuffer.allocateDirect(TAMANIO_BUFFER) : null;
+        Deflater deflater = comprimido != null ? new Deflater(Deflater.DEFAULT_COMPRESSION) : null;
+
+        try (FileChannel in = FileChannel.open(origen, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(temporal, StandardOpenOption.WRITE)) {
+
+            long total = in.size();
+            long ultimoAviso = 0;
+
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                copiados += buffer.remaining();
+                if (copiados > tamanioMaximo) {
+                    throw new IllegalArgumentException("El archivo supera el tamaño máximo de "
+                            + (tamanioMaximo / (1024 * 1024)) + " MB");
+                }
+
+                digest.update(buffer.duplicate());
+                if (deflater != null) {
+                    deflater.setInput(buffer);
+                    while (!deflater.needsInput()) {
+                        volcar(deflater, comprimido, out);
+                    }
+                    // El Deflater conserva la referencia al buffer: tras clear() volvería a leerlo
+                    deflater.setInput(SIN_DATOS);
+                } else {
+                    escribirTodo(buffer, out);
+                }
+                buffer.clear();
+
+                if (observador != null && copiados - ultimoAviso >= INTERVALO_AVISO) {
+                    observador.progreso(copiados, Math.max(total, copiados));
+                    ultimoAviso = copiados;
+                }
+            }
+
+            if (deflater != null) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    volcar(deflater, comprimido, out);
+                }
+            }
+            almacenados = out.size();
+
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporal);
+            throw e;
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+
+        // Si comprimir casi no ahorra (texto ya comprimido dentro de un PDF, por ejemplo)
+        // se guarda tal cual y se evita descomprimir en cada apertura
+        if (compresion == CompresionDocumento.DEFLATE && almacenados > copiados * politica.getRelacionMaxima()) {
+            try {
+                temporal = descomprimirTemporal(temporal);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temporal);
+                throw e;
+            }
+            compresion = CompresionDocumento.NINGUNA;
+            almacenados = copiados;
+        }
+
+        if (observador != null) {
+            observador.progreso(copiados, copiados);
+        }
+
+        return new Ingreso(HexFormat.of().formatHex(digest.digest()), copiados, almacenados,
+                compresion, temporal, System.nanoTime() - inicio);
+    }
+
+    /**
+     * Deja el contenido preparado en su ubicación definitiva. Si ese contenido ya estaba guardado
+     * el temporal se descarta y se devuelve lo existente, con la compresión con que se guardó.
+     */
+    public Contenido confirmar(Ingreso ingreso) throws IOException {
+        Contenido existente = buscar(ingreso.getHash());
+        if (existente != null) {
+            descartar(ingreso);
+            return existente;
+        }
+
+        Path destino = ruta(ingreso.getHash(), ingreso.getCompresion());
+        Files.createDirectories(destino.getParent());
+        try {
+            Files.move(ingreso.temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(ingreso.temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return new Contenido(ingreso.getHash(), destino, ingreso.getCompresion(),
+                ingreso.getTamanioAlmacenado(), true);
+    }
+
+    /**
+     * Borra el temporal de un ingreso que no se va a confirmar
+     */
+    public void descartar(Ingreso ingreso) throws IOException {
+        Files.deleteIfExists(ingreso.temporal);
+    }
+
+    // ==================== LECTURA ====================
+
+    /**
+     * Contenido original (descomprimido si hace falta). El llamador debe cerrarlo.
+     */
+    public InputStream abrir(String hash, CompresionDocumento compresion) throws IOException {
+        InputStream in = Files.newInputStream(ruta(hash, compresion));
+        if (compresion == CompresionDocumento.DEFLATE) {
+            return new InflaterInputStream(in, new Inflater(), TAMANIO_BUFFER);
+        }
+        return in;
+    }
+
+    /**
+     * Escribe el contenido original en destino, reemplazándolo si existe
+     */
+    public void extraer(String hash, CompresionDocumento compresion, Path destino) throws IOException {
+        if (compresion != CompresionDocumento.DEFLATE) {
+            Files.copy(ruta(hash, compresion), destino, StandardCopyOption.REPLACE_EXISTING);
+            return;
+        }
+        try (InputStream in = abrir(hash, compresion)) {
+            Files.copy(in, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // ==================== CONSULTA Y BAJA ====================
+
+    /**
+     * Ubicación del contenido con ese hash guardado con esa compresión (exista o no)
+     */
+    public Path ruta(String hash, CompresionDocumento compresion) {
+        if (hash == null || !hash.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Hash de contenido inválido: " + hash);
+        }
+        return raiz.resolve(hash.substring(0, 2)).resolve(hash + compresion.getSufijo());
+    }
+
+    /**
+     * Contenido guardado con ese hash, o null si no hay
+     */
+    public Contenido buscar(String hash) throws IOException {
+        for (CompresionDocumento compresion : CompresionDocumento.values()) {
+            Path ruta = ruta(hash, compresion);
+            if (Files.exists(ruta)) {
+                return new Contenido(hash, ruta, compresion, Files.size(ruta), false);
+            }
+        }
+        return null;
+    }
+
+    public boolean existe(String hash) throws IOException {
+        return buscar(hash) != null;
+    }
+
+    /**
+     * Borra el contenido; solo debe llamarse cuando ya no quedan referencias
+     * @return true si el archivo existía
+     */
+    public boolean eliminar(String hash) throws IOException {
+        boolean existia = false;
+        for (CompresionDocumento compresion : CompresionDocumento.values()) {
+            existia |= Files.deleteIfExists(ruta(hash, compresion));
+        }
+        return existia;
+    }
+
+    public Path getRaiz() {
+        return raiz;
+    }
+
+    // ==================== UTILIDADES ====================
+
+    private static void volcar(Deflater deflater, ByteBuffer comprimido, FileChannel out) throws IOException {
+        comprimido.clear();
+        deflater.deflate(comprimido);
+        comprimido.flip();
+        escribirTodo(comprimido, out);
+    }
+
+    private static void escribirTodo(ByteBuffer buffer, FileChannel out) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    // Reemplaza un temporal comprimido por su versión sin comprimir
+    private Path descomprimirTemporal(Path comprimido) throws IOException {
+        Path plano = Files.createTempFile(raiz, ".ingreso_", ".tmp");
+        try (InputStream in = new InflaterInputStream(Files.newInputStream(comprimido),
+                new Inflater(), TAMANIO_BUFFER)) {
+            Files.copy(in, plano, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(plano);
+            throw e;
+        } finally {
+            Files.deleteIfExists(comprimido);
+        }
+        return plano;
+    }
+
+    private static MessageDigest nuevoDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    // ==================== CLASES INTERNAS ====================
+
+    /**
+     * Qué documentos se guardan comprimidos, según su extensión
+     */
+    public static class PoliticaCompresion {
+        // Formatos que ya vienen comprimidos: deflate no les saca nada
+        private static final Set<String> YA_COMPRIMIDOS = Set.of(
+                "jpg", "jpeg", "png", "gif", "zip", "rar", "7z", "gz",
+                "docx", "xlsx", "pptx", "mp3", "mp4"
+        );
+
+        private final boolean habilitada;
+        private final double relacionMaxima;
+
+        private PoliticaCompresion(boolean habilitada, double relacionMaxima) {
+            this.habilitada = habilitada;
+            this.relacionMaxima = relacionMaxima;
+        }
+
+        /**
+         * Comprime todo salvo los formatos ya comprimidos, si ahorra al menos un 10%
+         */
+        public static PoliticaCompresion predeterminada() {
+            return new PoliticaCompresion(true, 0.9);
+        }
+
+        /**
+         * Guarda todo tal cual
+         */
+        public static PoliticaCompresion sinCompresion() {
+            return new PoliticaCompresion(false, 1.0);
+        }
+
+        public CompresionDocumento elegir(String nombreArchivo) {
+            if (!habilitada) {
+                return CompresionDocumento.NINGUNA;
+            }
+            int punto = nombreArchivo.lastIndexOf('.');
+            String extension = punto == -1 ? "" : nombreArchivo.substring(punto + 1).toLowerCase(Locale.ROOT);
+            return YA_COMPRIMIDOS.contains(extension) ? CompresionDocumento.NINGUNA : CompresionDocumento.DEFLATE;
+        }
+
+        /**
+         * Tamaño comprimido máximo, como fracción del original, para conservar la compresión
+         */
+        public double getRelacionMaxima() {
+            return relacionMaxima;
+        }
+    }
+
+    /**
+     * Contenido copiado y con hash calculado, pendiente de confirmar
+     */
+    public static class Ingreso {
+        private final String hash;
+        private final long tamanioBytes;
+        private final long tamanioAlmacenado;
+        private final CompresionDocumento compresion;
+        private final Path temporal;
+        private final long duracionNanos;
+
+        Ingreso(String hash, long tamanioBytes, long tamanioAlmacenado, CompresionDocumento compresion,
+                Path temporal, long duracionNanos) {
+            this.hash = hash;
+            this.tamanioBytes = tamanioBytes;
+            this.tamanioAlmacenado = tamanioAlmacenado;
+            this.compresion = compresion;
+            this.temporal = temporal;
+            this.duracionNanos = duracionNanos;
+        }
+
+        public String getHash() { return hash; }
+        public long getTamanioBytes() { return tamanioBytes; }
+        public long getTamanioAlmacenado() { return tamanioAlmacenado; }
+        public CompresionDocumento getCompresion() { return compresion; }
+        public long getDuracionMs() { return duracionNanos / 1_000_000; }
+
+        /**
+         * Velocidad de la copia con hash, en MB/s
+         */
+        public double getMegabytesPorSegundo() {
+            if (duracionNanos <= 0) {
+                return 0;
+            }
+            return (tamanioBytes / (1024.0 * 1024.0)) / (duracionNanos / 1_000_000_000.0);
+        }
+    }
+
+    /**
+     * Contenido guardado en el almacén
+     */
+    public static class Contenido {
+        private final String hash;
+        private final Path ruta;
+        private final CompresionDocumento compresion;
+        private final long tamanioAlmacenado;
+        private final boolean nuevo;
+
+        Contenido(String hash, Path ruta, CompresionDocumento compresion, long tamanioAlmacenado, boolean nuevo) {
+            this.hash = hash;
+            this.ruta = ruta;
+            this.compresion = compresion;
+            this.tamanioAlmacenado = tamanioAlmacenado;
+            this.nuevo = nuevo;
+        }
+
+        public String getHash() { return hash; }
+        public Path getRuta() { return ruta; }
+        public CompresionDocumento getCompresion() { return compresion; }
+        public long getTamanioAlmacenado() { return tamanioAlmacenado; }
+
+        /**
+         * true si lo guardó este ingreso; false si ya estaba
+         */
+        public boolean isNuevo() { return nuevo; }
+    }
+}
@@ -0,0 +1,250 @@
+package com.juridix.service;
+
+import com.juridix.db.Database;
+import org.sqlite.SQLiteConnection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Backup en caliente de la base con la API de backup online de SQLite.
+ * Copia por tandas de páginas: entre tanda y tanda los demás hilos pueden escribir,
+ * y el resultado es una instantánea consistente (incluye lo que todavía está en el -wal).
+ * Bloquea al hilo que lo llama; desde la UI ejecutarlo en segundo plano.
+ */
+public class BackupService {
+
+    // 256 páginas de 4 KB = 1 MB por tanda
+    private static final int PAGINAS_POR_PASO = 256;
+    private static final int ESPERA_OCUPADA_MS = 50;
+    private static final int REINTENTOS_OCUPADA = 20;
+    private static final int SQLITE_OK = 0;
+
+    public enum Etapa {
+        COPIANDO("Copiando"),
+        VERIFICANDO("Verificando integridad"),
+        COMPRIMIENDO("Comprimiendo");
+
+        private final String descripcion;
+
+        Etapa(String descripcion) {
+            this.descripcion = descripcion;
+        }
+
+        public String getDescripcion() {
+            return descripcion;
+        }
+    }
+
+    @FunctionalInterface
+    public interface ObservadorProgreso {
+        /**
+         * @param fraccion Avance de la etapa entre 0 y 1
+         */
+        void progreso(Etapa etapa, double fraccion);
+    }
+
+    // ==================== BACKUP ====================
+
+    /**
+     * Crea un backup consistente de la base en uso
+     * @param destino Archivo a generar (se reemplaza si existe)
+     * @param comprimir true para escribirlo en formato gzip
+     * @param observador Recibe el avance (puede ser null); se llama desde el hilo que ejecuta el backup
+     * @return Resumen del backup generado
+     * @throws SQLException Si falla la copia o el resultado no pasa integrity_check
+     * @throws IOException Si falla la escritura del archivo final
+     */
+    public ResultadoBackup crearBackup(Path destino, boolean comprimir, ObservadorProgreso observador)
+            throws SQLException, IOException {
+
+        if (destino == null) {
+            throw new IllegalArgumentException("Debe indicar el archivo de destino");
+        }
+
+        ObservadorProgreso obs = observador != null ? observador : (etapa, fraccion) -> { };
+        long inicio = System.nanoTime();
+
+        Path directorio = destino.toAbsolutePath().getParent();
+        Files.createDirectories(directorio);
+
+        // Se copia a un temporal junto al destino: el archivo final solo aparece si todo salió bien
+        Path temporal = Files.createTempFile(directorio, ".juridix_backup_", ".db");
+
+        try {
+            int paginas = copiarBase(temporal, obs);
+            verificar(temporal, obs);
+
+            if (comprimir) {
+                comprimir(temporal, destino, obs);
+            } else {
+                Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+            ResultadoBackup resultado = new ResultadoBackup(destino, Files.size(destino), paginas,
+                    comprimir, duracionMs);
+
+            System.out.println("✅ Backup creado: " + resultado);
+            return resultado;
+
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    /**
+     * Copia la base "main" al archivo indicado por tandas de páginas
+     * @return Cantidad de páginas copiadas
+     */
+    int copiarBase(Path archivo, ObservadorProgreso obs) throws SQLException {
+        int[] totalPaginas = {0};
+
+        try (Connection conn = Database.getConnection()) {
+            SQLiteConnection sqlite = conn.unwrap(SQLiteConnection.class);
+
+            // Transacción de lectura abierta durante toda la copia: con WAL los escritores siguen
+            // trabajando y el backup lee siempre la misma instantánea. Sin ella, cada escritura de
+            // otra conexión obliga a SQLite a reiniciar la copia desde la primera página.
+            conn.setAutoCommit(false);
+            try {
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM sqlite_master")) {
+                    rs.next();
+                }
+                return copiarInstantanea(sqlite, archivo, totalPaginas, obs);
+            } finally {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al copiar la base de datos: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    private int copiarInstantanea(SQLiteConnection sqlite, Path archivo, int[] totalPaginas,
+                                  ObservadorProgreso obs) throws SQLException {
+        obs.progreso(Etapa.COPIANDO, 0);
+        int rc = sqlite.getDatabase().backup("main", archivo.toAbsolutePath().toString(),
+                (restantes, total) -> {
+                    totalPaginas[0] = total;
+                    obs.progreso(Etapa.COPIANDO, total == 0 ? 1 : (double) (total - restantes) / total);
+                },
+                ESPERA_OCUPADA_MS, REINTENTOS_OCUPADA, PAGINAS_POR_PASO);
+
+        if (rc != SQLITE_OK) {
+            throw new SQLException("El backup no se completó (código SQLite " + rc + ")");
+        }
+        obs.progreso(Etapa.COPIANDO, 1);
+        return totalPaginas[0];
+    }
+
+    /**
+     * Deja la copia en modo de journal DELETE (un único archivo autocontenido)
+     * y comprueba su integridad
+     */
+    void verificar(Path archivo, ObservadorProgreso obs) throws SQLException {
+        obs.progreso(Etapa.VERIFICANDO, 0);
+
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + archivo.toAbsolutePath());
+             Statement stmt = conn.createStatement()) {
+
+            stmt.execute("PRAGMA journal_mode = DELETE");
+
+            try (ResultSet rs = stmt.executeQuery("PRAGMA integrity_check")) {
+                String resultado = rs.next() ? rs.getString(1) : null;
+                if (!"ok".equalsIgnoreCase(resultado)) {
+                    throw new SQLException("La copia no pasó integrity_check: " + resultado);
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error al verificar el backup: " + e.getMessage());
+            throw e;
+        }
+
+        obs.progreso(Etapa.VERIFICANDO, 1);
+    }
+
+    /**
+     * Solo deja la copia en modo de journal DELETE, sin el integrity_check (que recorre
+     * toda la base); para copias que se verifican recién al usarlas
+     */
+    void dejarAutocontenida(Path archivo) throws SQLException {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + archivo.toAbsolutePath());
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA journal_mode = DELETE");
+        } catch (SQLException e) {
+            System.err.println("❌ Error al preparar la copia: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    private void comprimir(Path origen, Path destino, ObservadorProgreso obs) throws IOException {
+        long total = Files.size(origen);
+        long escritos = 0;
+        byte[] buffer = new byte[64 * 1024];
+
+        obs.progreso(Etapa.COMPRIMIENDO, 0);
+
+        Path temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+        try (InputStream in = Files.newInputStream(origen);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(temporal), buffer.length)) {
+
+            int leidos;
+            while ((leidos = in.read(buffer)) != -1) {
+                out.write(buffer, 0, leidos);
+                escritos += leidos;
+                obs.progreso(Etapa.COMPRIMIENDO, total == 0 ? 1 : (double) escritos / total);
+            }
+
+        } catch (IOException e) {
+            Files.deleteIfExists(temporal);
+            throw e;
+        }
+
+        Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // ==================== CLASE INTERNA ====================
+
+    public static class ResultadoBackup {
+        private final Path archivo;
+        private final long tamanioBytes;
+        private final int paginas;
+        private final boolean comprimido;
+        private final long duracionMs;
+
+        public ResultadoBackup(Path archivo, long tamanioBytes, int paginas, boolean comprimido, long duracionMs) {
+            this.archivo = archivo;
+            this.tamanioBytes = tamanioBytes;
+            this.paginas = paginas;
+            this.comprimido = comprimido;
+            this.duracionMs = duracionMs;
+        }
+
+        public Path getArchivo() { return archivo; }
+        public long getTamanioBytes() { return tamanioBytes; }
+        public int getPaginas() { return paginas; }
+        public boolean isComprimido() { return comprimido; }
+        public long getDuracionMs() { return duracionMs; }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%d páginas, %.1f KB%s, %d ms)", archivo.toAbsolutePath(), paginas,
+                    tamanioBytes / 1024.0, comprimido ? ", gzip" : "", duracionMs);
+        }
+    }
+}
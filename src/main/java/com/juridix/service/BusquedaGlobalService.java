@@ -0,0 +1,82 @@
+package com.juridix.service;
+
+import com.juridix.db.BusquedaGlobalDAO;
+import com.juridix.model.ResultadoBusqueda;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class BusquedaGlobalService {
+
+    public static final int LIMITE_PREDETERMINADO = 300;
+
+    private final BusquedaGlobalDAO busquedaGlobalDAO;
+
+    public BusquedaGlobalService() {
+        this.busquedaGlobalDAO = new BusquedaGlobalDAO();
+    }
+
+    public BusquedaGlobalService(BusquedaGlobalDAO busquedaGlobalDAO) {
+        this.busquedaGlobalDAO = busquedaGlobalDAO;
+    }
+
+    // ==================== BÚSQUEDA ====================
+
+    /**
+     * Busca el texto en clientes, expedientes y eventos del usuario.
+     * Cada palabra se busca como prefijo y deben aparecer todas; no distingue acentos ni mayúsculas.
+     * @param texto Texto ingresado por el usuario
+     * @param usuarioId Usuario cuyos eventos se incluyen
+     * @return Resultados agrupados por tipo, cada grupo ordenado por relevancia
+     * @throws SQLException Si hay un error de base de datos
+     */
+    public Map<ResultadoBusqueda.Tipo, List<ResultadoBusqueda>> buscar(String texto, Integer usuarioId) throws SQLException {
+        if (texto == null || texto.trim().isEmpty()) {
+            throw new IllegalArgumentException("El texto de búsqueda es obligatorio");
+        }
+        if (usuarioId == null) {
+            throw new IllegalArgumentException("El usuario es obligatorio");
+        }
+
+        Map<ResultadoBusqueda.Tipo, List<ResultadoBusqueda>> agrupados = new EnumMap<>(ResultadoBusqueda.Tipo.class);
+        for (ResultadoBusqueda.Tipo tipo : ResultadoBusqueda.Tipo.values()) {
+            agrupados.put(tipo, new ArrayList<>());
+        }
+
+        String expresion = construirExpresion(texto);
+        if (expresion.isEmpty()) {
+            return agrupados;
+        }
+
+        for (ResultadoBusqueda resultado : busquedaGlobalDAO.buscar(expresion, usuarioId, LIMITE_PREDETERMINADO)) {
+            agrupados.get(resultado.getTipo()).add(resultado);
+        }
+
+        agrupados.replaceAll((tipo, lista) -> Collections.unmodifiableList(lista));
+        return agrupados;
+    }
+
+    // ==================== UTILIDADES ====================
+
+    /**
+     * Convierte el texto libre en una expresión MATCH segura: cada palabra entre comillas
+     * (sin operadores FTS5) y con * para buscar por prefijo. "Gómez 30.123" -> "Gómez"* "30"* "123"*
+     */
+    static String construirExpresion(String texto) {
+        StringBuilder expresion = new StringBuilder();
+        for (String palabra : texto.split("[^\\p{L}\\p{N}]+")) {
+            if (palabra.isEmpty()) {
+                continue;
+            }
+            if (expresion.length() > 0) {
+                expresion.append(' ');
+            }
+            expresion.append('"').append(palabra).append("\"*");
+        }
+        return expresion.toString();
+    }
+}
@@ -1,6 +1,7 @@
 package com.juridix.service;
 
 import com.juridix.db.ClienteDAO;
+import com.juridix.db.Transaccion;
 import com.juridix.model.Cliente;
 
 import java.sql.SQLException;
@@ -79,20 +80,22 @@ public class ClienteService {
             throw new IllegalArgumentException("El cliente debe tener un ID para actualizarse");
         }
 
-        Optional<Cliente> existente = clienteDAO.buscarPorId(cliente.getId());
-        if (existente.isEmpty()) {
-            throw new IllegalArgumentException("No existe un cliente con el ID: " + cliente.getId());
-        }
+        return Transaccion.ejecutar(() -> {
+            Optional<Cliente> existente = clienteDAO.buscarPorId(cliente.getId());
+            if (existente.isEmpty()) {
+                throw new IllegalArgumentException("No existe un cliente con el ID: " + cliente.getId());
+            }
 
-        // Verificar DNI duplicado (excepto el mismo cliente)
-        if (cliente.getDni() != null && !cliente.getDni().trim().isEmpty()) {
-            Optional<Cliente> otroCLiente = clienteDAO.buscarPorDni(cliente.getDni());
-            if (otroCLiente.isPresent() && !otroCLiente.get().getId().equals(cliente.getId())) {
-                throw new IllegalArgumentException("Ya existe otro cliente con el DNI: " + cliente.getDni());
+            // Verificar DNI duplicado (excepto el mismo cliente)
+            if (cliente.getDni() != null && !cliente.getDni().trim().isEmpty()) {
+                Optional<Cliente> otroCLiente = clienteDAO.buscarPorDni(cliente.getDni());
+                if (otroCLiente.isPresent() && !otroCLiente.get().getId().equals(cliente.getId())) {
+                    throw new IllegalArgumentException("Ya existe otro cliente con el DNI: " + cliente.getDni());
+                }
             }
-        }
 
-        return clienteDAO.actualizar(cliente);
+            return clienteDAO.actualizar(cliente);
+        });
     }
 
     public void desactivarCliente(Integer id) throws SQLException {
@@ -100,12 +103,14 @@ public class ClienteService {
             throw new IllegalArgumentException("El ID debe ser un número positivo");
         }
 
-        Optional<Cliente> cliente = clienteDAO.buscarPorId(id);
-        if (cliente.isEmpty()) {
-            throw new IllegalArgumentException("No existe un cliente con el ID: " + id);
-        }
+        Transaccion.ejecutarSinResultado(() -> {
+            Optional<Cliente> cliente = clienteDAO.buscarPorId(id);
+            if (cliente.isEmpty()) {
+                throw new IllegalArgumentException("No existe un cliente con el ID: " + id);
+            }
 
-        clienteDAO.cambiarEstado(id, false);
+            clienteDAO.cambiarEstado(id, false);
+        });
     }
 
     public void activarCliente(Integer id) throws SQLException {
@@ -113,12 +118,14 @@ public class ClienteService {
             throw new IllegalArgumentException("El ID debe ser un número positivo");
         }
 
-        Optional<Cliente> cliente = clienteDAO.buscarPorId(id);
-        if (cliente.isEmpty()) {
-            throw new IllegalArgumentException("No existe un cliente con el ID: " + id);
-        }
+        Transaccion.ejecutarSinResultado(() -> {
+            Optional<Cliente> cliente = clienteDAO.buscarPorId(id);
+            if (cliente.isEmpty()) {
+                throw new IllegalArgumentException("No existe un cliente con el ID: " + id);
+            }
 
-        clienteDAO.cambiarEstado(id, true);
+            clienteDAO.cambiarEstado(id, true);
+        });
     }
 
     // ==================== DELETE ====================
@@ -128,15 +135,17 @@ public class ClienteService {
             throw new IllegalArgumentException("El ID debe ser un número positivo");
         }
 
-        Optional<Cliente> cliente = clienteDAO.buscarPorId(id);
-        if (cliente.isEmpty()) {
-            throw new IllegalArgumentException("No existe un cliente con el ID: " + id);
-        }
+        Transaccion.ejecutarSinResultado(() -> {
+            Optional<Cliente> cliente = clienteDAO.buscarPorId(id);
+            if (cliente.isEmpty()) {
+                throw new IllegalArgumentException("No existe un cliente con el ID: " + id);
+            }
 
-        // Aquí podrías verificar si tiene expedientes asociados antes de eliminar
-        // Por ahora lo dejamos simple
+            // Aquí podrías verificar si tiene expedientes asociados antes de eliminar
+            // Por ahora lo dejamos simple
 
-        clienteDAO.eliminar(id);
+            clienteDAO.eliminar(id);
+        });
     }
 
     // ==================== ESTADÍSTICAS ====================
@@ -159,7 +168,7 @@ public class ClienteService {
 
     // ==================== VALIDACIONES ====================
 
-    private void validarCliente(Cliente cliente) {
+    void validarCliente(Cliente cliente) {
         if (cliente == null) {
             throw new IllegalArgumentException("El cliente no puede ser nulo");
         }
@@ -0,0 +1,442 @@
+package com.juridix.service;
+
+import com.juridix.db.DocumentoClienteDAO;
+import com.juridix.model.DocumentoCliente;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Concilia los archivos de documentos con documentos_cliente y detecta:
+ *   - archivos huérfanos: ninguna fila apunta a ellos (bajas a medias, clientes borrados en cascada)
+ *   - filas sin archivo: apuntan a un archivo que no está
+ *   - temporales de ingresos interrumpidos
+ *
+ * Trabaja por segmentos para no recorrer todo de una vez: cada uno de los 256 prefijos de hash del
+ * almacén por contenido es un segmento, y la carpeta de documentos anteriores al almacén es otro.
+ * Cada corrida toma los siguientes segmentos desde donde quedó la anterior (el cursor se guarda
+ * en disco), recorre sus carpetas en paralelo y las cruza con las filas del mismo tramo, ambas
+ * ordenadas por ruta.
+ *
+ * Reparar mueve los huérfanos a documentos/huerfanos (no los borra: una base restaurada de un
+ * snapshot puede volver a necesitarlos) y borra los temporales viejos. Las filas sin archivo solo
+ * se informan: si la carpeta de documentos no está montada todas lo parecerían.
+ */
+public class ConciliadorDocumentos {
+
+    static final int SEGMENTOS_POR_CORRIDA = 16;
+
+    private static final int SEGMENTO_LEGADO = 256;
+    private static final int TOTAL_SEGMENTOS = SEGMENTO_LEGADO + 1;
+    private static final String DIRECTORIO_CUARENTENA = "documentos/huerfanos";
+    private static final String ARCHIVO_CURSOR = ".conciliacion";
+    private static final String PREFIJO_TEMPORAL = ".ingreso_";
+    private static final Duration ANTIGUEDAD_TEMPORALES = Duration.ofDays(1);
+
+    private final AlmacenDocumentos almacen;
+    private final Path directorioLegado;
+    private final Path directorioCuarentena;
+    private final DocumentoClienteDAO documentoDAO;
+
+    // Dos corridas a la vez avanzarían el mismo cursor
+    private final Object corrida = new Object();
+
+    private ScheduledExecutorService programador;
+
+    public ConciliadorDocumentos() {
+        this(new AlmacenDocumentos(), Paths.get(DocumentoClienteService.DIRECTORIO_BASE),
+                Paths.get(DIRECTORIO_CUARENTENA), new DocumentoClienteDAO());
+    }
+
+    public ConciliadorDocumentos(AlmacenDocumentos almacen, Path directorioLegado, Path directorioCuarentena,
+                                 DocumentoClienteDAO documentoDAO) {
+        this.almacen = almacen;
+        this.directorioLegado = directorioLegado;
+        this.directorioCuarentena = directorioCuarentena;
+        this.documentoDAO = documentoDAO;
+    }
+
+    // ==================== PROGRAMACIÓN ====================
+
+    /**
+     * Concilia SEGMENTOS_POR_CORRIDA segmentos cada "intervalo".
+     * Reemplaza una programación anterior si la había.
+     */
+    public synchronized void iniciarProgramacion(Duration intervalo, boolean reparar) {
+        if (intervalo == null || intervalo.isNegative() || intervalo.isZero()) {
+            throw new IllegalArgumentException("El intervalo debe ser positivo");
+        }
+
+        detenerProgramacion();
+
+        programador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "juridix-conciliacion");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        programador.scheduleWithFixedDelay(() -> ejecutarProgramado(reparar),
+                intervalo.toMillis(), intervalo.toMillis(), TimeUnit.MILLISECONDS);
+
+        System.out.println("✅ Conciliación de documentos programada cada " + intervalo.toMinutes() + " min"
+                + (reparar ? " (con reparación)" : " (solo informe)"));
+    }
+
+    /**
+     * Detiene la programación; espera a que termine una corrida en curso
+     */
+    public synchronized void detenerProgramacion() {
+        if (programador == null) {
+            return;
+        }
+        programador.shutdown();
+        try {
+            if (!programador.awaitTermination(30, TimeUnit.SECONDS)) {
+                System.err.println("⚠️ La conciliación en curso no terminó a tiempo");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        programador = null;
+    }
+
+    private void ejecutarProgramado(boolean reparar) {
+        // Una excepción no capturada cancelaría las ejecuciones siguientes
+        try {
+            conciliarSiguientes(SEGMENTOS_POR_CORRIDA, reparar);
+        } catch (Exception e) {
+            System.err.println("⚠️ Error en conciliación programada: " + e.getMessage());
+        }
+    }
+
+    // ==================== CONCILIACIÓN ====================
+
+    /**
+     * Concilia los próximos segmentos a partir del cursor y lo avanza
+     * @param segmentos Cantidad de segmentos (hay 257: 256 prefijos de hash y los documentos anteriores)
+     * @param reparar Si es true mueve los huérfanos a cuarentena y borra los temporales viejos
+     */
+    public ResultadoConciliacion conciliarSiguientes(int segmentos, boolean reparar) throws SQLException, IOException {
+        if (segmentos <= 0) {
+            throw new IllegalArgumentException("La cantidad de segmentos debe ser positiva");
+        }
+
+        synchronized (corrida) {
+            long inicio = System.nanoTime();
+            int cantidad = Math.min(segmentos, TOTAL_SEGMENTOS);
+            int desde = leerCursor();
+
+            List<Integer> tramo = new ArrayList<>();
+            for (int i = 0; i < cantidad; i++) {
+                tramo.add((desde + i) % TOTAL_SEGMENTOS);
+            }
+
+            Map<Integer, List<Path>> archivos = recorrerEnParalelo(tramo);
+            Hallazgos hallazgos = new Hallazgos();
+
+            for (int segmento : tramo) {
+                List<DocumentoCliente> filas = segmento == SEGMENTO_LEGADO
+                        ? documentoDAO.listarSinHash()
+                        : documentoDAO.listarPorRangoHash(prefijo(segmento), prefijo(segmento) + "g");
+                cruzar(archivos.get(segmento), filas, hallazgos);
+            }
+
+            int temporales = 0;
+            if (tramo.contains(0)) {
+                temporales = limpiarTemporales(reparar);
+            }
+
+            int reparados = verificarYReparar(hallazgos, reparar);
+            boolean cicloCompleto = tramo.contains(TOTAL_SEGMENTOS - 1);
+            escribirCursor((desde + cantidad) % TOTAL_SEGMENTOS);
+
+            ResultadoConciliacion resultado = new ResultadoConciliacion(cantidad, hallazgos.archivos,
+                    hallazgos.filas, hallazgos.huerfanos, hallazgos.sinArchivo, temporales,
+                    reparados + (reparar ? temporales : 0), cicloCompleto,
+                    (System.nanoTime() - inicio) / 1_000_000);
+
+            if (hallazgos.huerfanos.isEmpty() && hallazgos.sinArchivo.isEmpty() && temporales == 0) {
+                System.out.println("ℹ️ Conciliación de documentos: " + resultado);
+            } else {
+                System.out.println("⚠️ Conciliación de documentos: " + resultado);
+            }
+            return resultado;
+        }
+    }
+
+    // Un hilo por segmento: cada uno recorre su carpeta y devuelve los archivos ordenados
+    private Map<Integer, List<Path>> recorrerEnParalelo(List<Integer> tramo) throws IOException {
+        Map<Integer, Future<List<Path>>> pendientes = new LinkedHashMap<>();
+        Map<Integer, List<Path>> archivos = new LinkedHashMap<>();
+
+        try (ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int segmento : tramo) {
+                Path carpeta = segmento == SEGMENTO_LEGADO
+                        ? directorioLegado
+                        : almacen.getRaiz().resolve(prefijo(segmento));
+                pendientes.put(segmento, ejecutor.submit(() -> listarArchivos(carpeta)));
+            }
+
+            for (Map.Entry<Integer, Future<List<Path>>> pendiente : pendientes.entrySet()) {
+                archivos.put(pendiente.getKey(), pendiente.getValue().get());
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Conciliación interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Error al recorrer documentos: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        return archivos;
+    }
+
+    private static List<Path> listarArchivos(Path carpeta) throws IOException {
+        List<Path> archivos = new ArrayList<>();
+        if (!Files.isDirectory(carpeta)) {
+            return archivos;
+        }
+
+        Files.walkFileTree(carpeta, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path archivo, BasicFileAttributes atributos) {
+                if (atributos.isRegularFile()) {
+                    archivos.add(archivo);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path archivo, IOException e) {
+                System.err.println("⚠️ No se pudo leer " + archivo + ": " + e.getMessage());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        archivos.sort(Comparator.comparing(Path::toString));
+        return archivos;
+    }
+
+    /**
+     * Cruce por ruta de dos listas ordenadas. Las rutas se guardan tal como las arma el almacén
+     * (o el servicio, en los documentos anteriores), así que se comparan como texto.
+     */
+    private static void cruzar(List<Path> archivos, List<DocumentoCliente> filas, Hallazgos hallazgos) {
+        filas.sort(Comparator.comparing(DocumentoCliente::getRutaArchivo));
+        hallazgos.archivos += archivos.size();
+        hallazgos.filas += filas.size();
+
+        int i = 0;
+        int j = 0;
+        while (i < archivos.size() || j < filas.size()) {
+            if (j == filas.size()) {
+                hallazgos.huerfanos.add(archivos.get(i++));
+                continue;
+            }
+            if (i == archivos.size()) {
+                hallazgos.sinArchivo.add(filas.get(j++));
+                continue;
+            }
+
+            String archivo = archivos.get(i).toString();
+            String ruta = filas.get(j).getRutaArchivo();
+            int comparacion = archivo.compareTo(ruta);
+
+            if (comparacion < 0) {
+                hallazgos.huerfanos.add(archivos.get(i++));
+            } else if (comparacion > 0) {
+                hallazgos.sinArchivo.add(filas.get(j++));
+            } else {
+                // Varias filas pueden compartir el mismo archivo
+                i++;
+                while (j < filas.size() && filas.get(j).getRutaArchivo().equals(archivo)) {
+                    j++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Vuelve a comprobar cada hallazgo con el bloqueo de altas y bajas tomado (una subida pudo
+     * haber guardado su archivo justo antes de insertar la fila) y repara si corresponde.
+     * Descarta de los hallazgos los que ya no lo son.
+     */
+    private int verificarYReparar(Hallazgos hallazgos, boolean reparar) throws SQLException, IOException {
+        if (hallazgos.huerfanos.isEmpty() && hallazgos.sinArchivo.isEmpty()) {
+            return 0;
+        }
+
+        int reparados = 0;
+        DocumentoClienteService.BLOQUEO.lock();
+        try {
+            List<Path> huerfanos = new ArrayList<>();
+            for (Path archivo : hallazgos.huerfanos) {
+                if (!Files.exists(archivo) || documentoDAO.existeRuta(archivo.toString())) {
+                    continue;
+                }
+                huerfanos.add(archivo);
+                if (reparar) {
+                    moverACuarentena(archivo);
+                    reparados++;
+                }
+            }
+
+            List<DocumentoCliente> sinArchivo = new ArrayList<>();
+            for (DocumentoCliente fila : hallazgos.sinArchivo) {
+                if (!Files.exists(Paths.get(fila.getRutaArchivo()))
+                        && documentoDAO.buscarPorId(fila.getId()).isPresent()) {
+                    sinArchivo.add(fila);
+                    System.err.println("⚠️ Documento sin archivo: #" + fila.getId() + " cliente "
+                            + fila.getClienteId() + " '" + fila.getNombreOriginal() + "' -> " + fila.getRutaArchivo());
+                }
+            }
+
+            hallazgos.huerfanos = huerfanos;
+            hallazgos.sinArchivo = sinArchivo;
+        } finally {
+            DocumentoClienteService.BLOQUEO.unlock();
+        }
+        return reparados;
+    }
+
+    private void moverACuarentena(Path archivo) throws IOException {
+        Path base = archivo.startsWith(almacen.getRaiz()) ? almacen.getRaiz() : directorioLegado;
+        Path destino = directorioCuarentena.resolve(base.getFileName()).resolve(base.relativize(archivo));
+        Files.createDirectories(destino.getParent());
+        Files.move(archivo, destino, StandardCopyOption.REPLACE_EXISTING);
+        System.out.println("🧹 Huérfano movido a cuarentena: " + archivo + " -> " + destino);
+    }
+
+    // Temporales de ingresos que nunca se confirmaron (cierre de la app a mitad de una subida)
+    private int limpiarTemporales(boolean reparar) throws IOException {
+        if (!Files.isDirectory(almacen.getRaiz())) {
+            return 0;
+        }
+
+        Instant limite = Instant.now().minus(ANTIGUEDAD_TEMPORALES);
+        int viejos = 0;
+
+        try (Stream<Path> archivos = Files.list(almacen.getRaiz())) {
+            for (Path archivo : (Iterable<Path>) archivos::iterator) {
+                if (!archivo.getFileName().toString().startsWith(PREFIJO_TEMPORAL)
+                        || !Files.getLastModifiedTime(archivo).toInstant().isBefore(limite)) {
+                    continue;
+                }
+                viejos++;
+                if (reparar) {
+                    Files.deleteIfExists(archivo);
+                }
+            }
+        }
+        return viejos;
+    }
+
+    // ==================== CURSOR ====================
+
+    private int leerCursor() {
+        Path archivo = almacen.getRaiz().resolve(ARCHIVO_CURSOR);
+        try {
+            if (Files.exists(archivo)) {
+                int cursor = Integer.parseInt(Files.readString(archivo).trim());
+                if (cursor >= 0 && cursor < TOTAL_SEGMENTOS) {
+                    return cursor;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("⚠️ Cursor de conciliación ilegible, se reinicia: " + e.getMessage());
+        }
+        return 0;
+    }
+
+    private void escribirCursor(int cursor) throws IOException {
+        Files.createDirectories(almacen.getRaiz());
+        Files.writeString(almacen.getRaiz().resolve(ARCHIVO_CURSOR), Integer.toString(cursor));
+    }
+
+    private static String prefijo(int segmento) {
+        return String.format("%02x", segmento);
+    }
+
+    // ==================== CLASES INTERNAS ====================
+
+    private static class Hallazgos {
+        private int archivos;
+        private int filas;
+        private List<Path> huerfanos = new ArrayList<>();
+        private List<DocumentoCliente> sinArchivo = new ArrayList<>();
+    }
+
+    /**
+     * Resultado de una corrida de conciliación
+     */
+    public static class ResultadoConciliacion {
+        private final int segmentos;
+        private final int archivosRevisados;
+        private final int filasRevisadas;
+        private final List<Path> huerfanos;
+        private final List<DocumentoCliente> filasSinArchivo;
+        private final int temporalesViejos;
+        private final int reparados;
+        private final boolean cicloCompleto;
+        private final long duracionMs;
+
+        ResultadoConciliacion(int segmentos, int archivosRevisados, int filasRevisadas, List<Path> huerfanos,
+                              List<DocumentoCliente> filasSinArchivo, int temporalesViejos, int reparados,
+                              boolean cicloCompleto, long duracionMs) {
+            this.segmentos = segmentos;
+            this.archivosRevisados = archivosRevisados;
+            this.filasRevisadas = filasRevisadas;
+            this.huerfanos = List.copyOf(huerfanos);
+            this.filasSinArchivo = List.copyOf(filasSinArchivo);
+            this.temporalesViejos = temporalesViejos;
+            this.reparados = reparados;
+            this.cicloCompleto = cicloCompleto;
+            this.duracionMs = duracionMs;
+        }
+
+        public int getSegmentos() { return segmentos; }
+        public int getArchivosRevisados() { return archivosRevisados; }
+        public int getFilasRevisadas() { return filasRevisadas; }
+        public List<Path> getHuerfanos() { return huerfanos; }
+        public List<DocumentoCliente> getFilasSinArchivo() { return filasSinArchivo; }
+        public int getTemporalesViejos() { return temporalesViejos; }
+        public int getReparados() { return reparados; }
+
+        /**
+         * true si esta corrida llegó al último segmento (con las anteriores se revisó todo)
+         */
+        public boolean isCicloCompleto() { return cicloCompleto; }
+        public long getDuracionMs() { return duracionMs; }
+
+        @Override
+        public String toString() {
+            return String.format("%d segmentos, %d archivos y %d filas revisados: %d huérfanos, %d sin archivo, "
+                            + "%d temporales viejos, %d reparados (%d ms)",
+                    segmentos, archivosRevisados, filasRevisadas, huerfanos.size(), filasSinArchivo.size(),
+                    temporalesViejos, reparados, duracionMs);
+        }
+    }
+}
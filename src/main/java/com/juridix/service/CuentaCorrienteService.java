@@ -0,0 +1,109 @@
+package com.juridix.service;
+
+import com.juridix.db.CuentaCorrienteDAO;
+import com.juridix.model.MovimientoCuenta;
+import com.juridix.model.TotalesFinancieros;
+
+import java.sql.SQLException;
+import java.util.List;
+
+public class CuentaCorrienteService {
+
+    public static final int TAMANIO_PAGINA_PREDETERMINADO = 100;
+
+    private final CuentaCorrienteDAO cuentaCorrienteDAO;
+
+    public CuentaCorrienteService() {
+        this.cuentaCorrienteDAO = new CuentaCorrienteDAO();
+    }
+
+    public CuentaCorrienteService(CuentaCorrienteDAO cuentaCorrienteDAO) {
+        this.cuentaCorrienteDAO = cuentaCorrienteDAO;
+    }
+
+    // ==================== READ ====================
+
+    /**
+     * Obtiene una página de la cuenta corriente con totales y saldo acumulado
+     * @param expedienteId ID del expediente
+     * @param pagina Número de página, empezando en 0
+     * @param tamanioPagina Renglones por página
+     * @return Página de la cuenta corriente
+     * @throws SQLException Si hay un error de base de datos
+     */
+    public PaginaCuentaCorriente obtenerPagina(Integer expedienteId, int pagina, int tamanioPagina) throws SQLException {
+        if (expedienteId == null || expedienteId <= 0) {
+            throw new IllegalArgumentException("El ID del expediente debe ser válido");
+        }
+        if (pagina < 0) {
+            throw new IllegalArgumentException("La página no puede ser negativa");
+        }
+        if (tamanioPagina <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor a cero");
+        }
+
+        int totalMovimientos = cuentaCorrienteDAO.contarMovimientos(expedienteId);
+        TotalesFinancieros totales = cuentaCorrienteDAO.calcularTotales(expedienteId);
+        List<MovimientoCuenta> movimientos = cuentaCorrienteDAO.listarMovimientos(
+                expedienteId, pagina * tamanioPagina, tamanioPagina);
+
+        return new PaginaCuentaCorriente(movimientos, totales, totalMovimientos, pagina, tamanioPagina);
+    }
+
+    /**
+     * Página final de la cuenta corriente (la que muestra el saldo actual)
+     */
+    public PaginaCuentaCorriente obtenerUltimaPagina(Integer expedienteId, int tamanioPagina) throws SQLException {
+        if (expedienteId == null || expedienteId <= 0) {
+            throw new IllegalArgumentException("El ID del expediente debe ser válido");
+        }
+        if (tamanioPagina <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor a cero");
+        }
+        int total = cuentaCorrienteDAO.contarMovimientos(expedienteId);
+        int ultima = total == 0 ? 0 : (total - 1) / tamanioPagina;
+        return obtenerPagina(expedienteId, ultima, tamanioPagina);
+    }
+
+    // ==================== CLASE INTERNA ====================
+
+    public static class PaginaCuentaCorriente {
+        private final List<MovimientoCuenta> movimientos;
+        private final TotalesFinancieros totales;
+        private final int totalMovimientos;
+        private final int pagina;
+        private final int tamanioPagina;
+
+        public PaginaCuentaCorriente(List<MovimientoCuenta> movimientos, TotalesFinancieros totales,
+                                     int totalMovimientos, int pagina, int tamanioPagina) {
+            this.movimientos = movimientos;
+            this.totales = totales;
+            this.totalMovimientos = totalMovimientos;
+            this.pagina = pagina;
+            this.tamanioPagina = tamanioPagina;
+        }
+
+        public List<MovimientoCuenta> getMovimientos() { return movimientos; }
+        public TotalesFinancieros getTotales() { return totales; }
+        public int getTotalMovimientos() { return totalMovimientos; }
+        public int getPagina() { return pagina; }
+        public int getTamanioPagina() { return tamanioPagina; }
+
+        public int getTotalPaginas() {
+            return totalMovimientos == 0 ? 1 : (totalMovimientos + tamanioPagina - 1) / tamanioPagina;
+        }
+
+        public boolean tieneAnterior() {
+            return pagina > 0;
+        }
+
+        public boolean tieneSiguiente() {
+            return pagina + 1 < getTotalPaginas();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Página %d de %d (%d movimientos)", pagina + 1, getTotalPaginas(), totalMovimientos);
+        }
+    }
+}
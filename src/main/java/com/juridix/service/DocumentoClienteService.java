@@ -1,34 +1,49 @@
 package com.juridix.service;
 
 import com.juridix.db.DocumentoClienteDAO;
+import com.juridix.db.Transaccion;
+import com.juridix.model.CompresionDocumento;
 import com.juridix.model.DocumentoCliente;
 import com.juridix.model.TipoDocumentoCliente;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.sql.SQLException;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class DocumentoClienteService {
 
     private final DocumentoClienteDAO documentoDAO;
-    private static final String DIRECTORIO_BASE = "documentos/clientes";
+    private final AlmacenDocumentos almacen;
+    static final String DIRECTORIO_BASE = "documentos/clientes";
+    private static final String DIRECTORIO_APERTURA = "juridix-documentos";
+    private static final long TAMANIO_MAXIMO = 10L * 1024 * 1024;
+
+    // Alta y baja se excluyen entre sí: una baja que deja el contenido sin referencias no puede
+    // borrarlo mientras un alta del mismo contenido lo está dando por existente.
+    // ConciliadorDocumentos lo toma para verificar y reparar.
+    // Es un lock y no un monitor: las subidas corren en hilos virtuales y adentro hay JDBC y E/S
+    static final ReentrantLock BLOQUEO = new ReentrantLock();
 
     public DocumentoClienteService() {
         this.documentoDAO = new DocumentoClienteDAO();
+        this.almacen = new AlmacenDocumentos();
         crearDirectorioBase();
     }
 
     public DocumentoClienteService(DocumentoClienteDAO documentoDAO) {
+        this(documentoDAO, new AlmacenDocumentos());
+    }
+
+    public DocumentoClienteService(DocumentoClienteDAO documentoDAO, AlmacenDocumentos almacen) {
         this.documentoDAO = documentoDAO;
+        this.almacen = almacen;
         crearDirectorioBase();
     }
 
@@ -36,6 +51,19 @@ public class DocumentoClienteService {
 
     public DocumentoCliente subirDocumento(Integer clienteId, File archivo, TipoDocumentoCliente tipo,
                                            String descripcion, Integer usuarioId) throws SQLException, IOException {
+        return subirDocumento(clienteId, archivo, tipo, descripcion, usuarioId, null).getDocumento();
+    }
+
+    /**
+     * Sube un documento avisando el avance de la copia. Pensado para correr en segundo plano:
+     * si el hilo se interrumpe antes del alta en la base no queda nada guardado.
+     * @throws InterruptedIOException Si se canceló después de la copia
+     * @param observador Puede ser null
+     */
+    public ResultadoSubida subirDocumento(Integer clienteId, File archivo, TipoDocumentoCliente tipo,
+                                          String descripcion, Integer usuarioId,
+                                          AlmacenDocumentos.ObservadorIngreso observador)
+            throws SQLException, IOException {
 
         if (clienteId == null || clienteId <= 0) {
             throw new IllegalArgumentException("El ID del cliente debe ser válido");
@@ -49,37 +77,65 @@ public class DocumentoClienteService {
             throw new IllegalArgumentException("Debe ser un archivo válido");
         }
 
-        // Validar tamaño (máximo 10MB)
-        long tamanioMB = archivo.length() / (1024 * 1024);
-        if (tamanioMB > 10) {
+        // El tamaño se vuelve a controlar durante la copia: el archivo puede crecer entre medio
+        if (archivo.length() > TAMANIO_MAXIMO) {
             throw new IllegalArgumentException("El archivo no puede superar los 10MB");
         }
 
-        // Crear directorio del cliente
-        Path directorioCliente = Paths.get(DIRECTORIO_BASE, clienteId.toString());
-        Files.createDirectories(directorioCliente);
+        // Copia + hash fuera del bloqueo; solo el alta en el almacén y en la BD van dentro
+        AlmacenDocumentos.Ingreso ingreso = almacen.preparar(archivo.toPath(), TAMANIO_MAXIMO, observador);
 
-        // Generar nombre único para el archivo
-        String extension = obtenerExtension(archivo.getName());
-        String nombreUnico = generarNombreUnico(extension);
-        Path rutaDestino = directorioCliente.resolve(nombreUnico);
-
-        // Copiar archivo
-        Files.copy(archivo.toPath(), rutaDestino, StandardCopyOption.REPLACE_EXISTING);
-
-        // Crear registro en BD
         DocumentoCliente documento = new DocumentoCliente();
         documento.setClienteId(clienteId);
-        documento.setNombreArchivo(nombreUnico);
         documento.setNombreOriginal(archivo.getName());
-        documento.setRutaArchivo(rutaDestino.toString());
+        documento.setHashContenido(ingreso.getHash());
         documento.setTipoDocumento(tipo);
         documento.setDescripcion(descripcion);
-        documento.setTamanioBytes(archivo.length());
-        documento.setExtension(extension);
+        documento.setTamanioBytes(ingreso.getTamanioBytes());
+        documento.setExtension(obtenerExtension(archivo.getName()));
         documento.setUsuarioId(usuarioId);
 
-        return documentoDAO.guardar(documento);
+        // Cancelada justo después de la copia (o mientras esperaba el bloqueo): no se da de alta
+        try {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException();
+            }
+            BLOQUEO.lockInterruptibly();
+        } catch (InterruptedException e) {
+            almacen.descartar(ingreso);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Subida cancelada: " + archivo.getName());
+        }
+
+        try {
+            AlmacenDocumentos.Contenido contenido = almacen.confirmar(ingreso);
+            boolean contenidoNuevo = contenido.isNuevo();
+
+            // Si el contenido ya estaba se hereda cómo quedó guardado, aunque este ingreso lo comprimiera distinto
+            documento.setNombreArchivo(contenido.getRuta().getFileName().toString());
+            documento.setRutaArchivo(contenido.getRuta().toString());
+            documento.setTamanioAlmacenado(contenido.getTamanioAlmacenado());
+            documento.setCompresion(contenido.getCompresion());
+
+            try {
+                documento = documentoDAO.guardar(documento);
+            } catch (SQLException | RuntimeException e) {
+                // Si el contenido llegó con este documento, no debe quedar huérfano
+                if (contenidoNuevo) {
+                    almacen.eliminar(ingreso.getHash());
+                }
+                throw e;
+            }
+
+            System.out.printf("✅ Documento ingresado: %s (%d KB, %d KB en disco, %d ms, %.1f MB/s%s)%n",
+                    documento.getNombreOriginal(), ingreso.getTamanioBytes() / 1024,
+                    contenido.getTamanioAlmacenado() / 1024, ingreso.getDuracionMs(),
+                    ingreso.getMegabytesPorSegundo(), contenidoNuevo ? "" : ", contenido ya guardado");
+
+            return new ResultadoSubida(documento, ingreso, !contenidoNuevo);
+        } finally {
+            BLOQUEO.unlock();
+        }
     }
 
     // ==================== READ ====================
@@ -135,18 +191,36 @@ public class DocumentoClienteService {
             throw new IllegalArgumentException("No existe el documento con ID: " + id);
         }
 
-        // Eliminar archivo físico
-        Path rutaArchivo = Paths.get(documento.get().getRutaArchivo());
-        if (Files.exists(rutaArchivo)) {
-            Files.delete(rutaArchivo);
+        String hash = documento.get().getHashContenido();
+        if (hash == null) {
+            // Documento anterior al almacén por contenido: el archivo es solo suyo. Primero la fila:
+            // si falla el borrado del archivo queda un huérfano que la conciliación recoge
+            documentoDAO.eliminar(id);
+            Files.deleteIfExists(Paths.get(documento.get().getRutaArchivo()));
+            return;
         }
 
-        // Eliminar registro de BD
-        documentoDAO.eliminar(id);
+        BLOQUEO.lock();
+        try {
+            int referenciasRestantes = Transaccion.ejecutar(() -> {
+                documentoDAO.eliminar(id);
+                return documentoDAO.contarPorHash(hash);
+            });
+
+            if (referenciasRestantes == 0) {
+                almacen.eliminar(hash);
+            }
+        } finally {
+            BLOQUEO.unlock();
+        }
     }
 
     // ==================== OPERACIONES DE ARCHIVO ====================
 
+    /**
+     * Archivo con el contenido original del documento. Si está guardado comprimido se devuelve
+     * una copia descomprimida; en ningún caso debe modificarse el archivo devuelto.
+     */
     public File obtenerArchivo(Integer documentoId) throws SQLException, IOException {
         Optional<DocumentoCliente> documento = documentoDAO.buscarPorId(documentoId);
         if (documento.isEmpty()) {
@@ -158,11 +232,18 @@ public class DocumentoClienteService {
             throw new IOException("El archivo físico no existe");
         }
 
+        if (documento.get().getCompresion() == CompresionDocumento.DEFLATE) {
+            return extraerCopia(documento.get());
+        }
         return archivo;
     }
 
+    /**
+     * Abre el documento con la aplicación del sistema. El contenido guardado no tiene extensión
+     * y es compartido, así que se abre una copia temporal con el nombre original.
+     */
     public void abrirDocumento(Integer documentoId) throws SQLException, IOException {
-        File archivo = obtenerArchivo(documentoId);
+        File archivo = copiaParaAbrir(documentoId);
 
         // Abrir con la aplicación predeterminada del sistema
         if (java.awt.Desktop.isDesktopSupported()) {
@@ -206,10 +287,30 @@ public class DocumentoClienteService {
         return nombreArchivo.substring(lastIndexOf + 1).toLowerCase();
     }
 
-    private String generarNombreUnico(String extension) {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String uuid = UUID.randomUUID().toString().substring(0, 8);
-        return timestamp + "_" + uuid + (extension.isEmpty() ? "" : "." + extension);
+    private File copiaParaAbrir(Integer documentoId) throws SQLException, IOException {
+        Optional<DocumentoCliente> documento = documentoDAO.buscarPorId(documentoId);
+        if (documento.isEmpty()) {
+            throw new IllegalArgumentException("No existe el documento");
+        }
+        if (documento.get().getHashContenido() == null) {
+            return obtenerArchivo(documentoId);
+        }
+
+        if (!Files.exists(Paths.get(documento.get().getRutaArchivo()))) {
+            throw new IOException("El archivo físico no existe");
+        }
+        return extraerCopia(documento.get());
+    }
+
+    // Copia temporal con el nombre original, descomprimida si hace falta
+    private File extraerCopia(DocumentoCliente documento) throws IOException {
+        Path directorio = Paths.get(System.getProperty("java.io.tmpdir"), DIRECTORIO_APERTURA,
+                documento.getId().toString());
+        Files.createDirectories(directorio);
+
+        Path copia = directorio.resolve(Paths.get(documento.getNombreOriginal()).getFileName());
+        almacen.extraer(documento.getHashContenido(), documento.getCompresion(), copia);
+        return copia.toFile();
     }
 
     public boolean esExtensionPermitida(String extension) {
@@ -226,4 +327,38 @@ public class DocumentoClienteService {
 
         return false;
     }
-}
\ No newline at end of file
+
+    // ==================== CLASE INTERNA ====================
+
+    /**
+     * Documento subido junto con las métricas de la copia
+     */
+    public static class ResultadoSubida {
+        private final DocumentoCliente documento;
+        private final long tamanioBytes;
+        private final long tamanioAlmacenado;
+        private final long duracionMs;
+        private final double megabytesPorSegundo;
+        private final boolean duplicado;
+
+        ResultadoSubida(DocumentoCliente documento, AlmacenDocumentos.Ingreso ingreso, boolean duplicado) {
+            this.documento = documento;
+            this.tamanioBytes = ingreso.getTamanioBytes();
+            this.tamanioAlmacenado = documento.getTamanioAlmacenado();
+            this.duracionMs = ingreso.getDuracionMs();
+            this.megabytesPorSegundo = ingreso.getMegabytesPorSegundo();
+            this.duplicado = duplicado;
+        }
+
+        public DocumentoCliente getDocumento() { return documento; }
+        public long getTamanioBytes() { return tamanioBytes; }
+        public long getTamanioAlmacenado() { return tamanioAlmacenado; }
+        public long getDuracionMs() { return duracionMs; }
+        public double getMegabytesPorSegundo() { return megabytesPorSegundo; }
+
+        /**
+         * true si el contenido ya estaba guardado por otro documento y no se volvió a almacenar
+         */
+        public boolean isDuplicado() { return duplicado; }
+    }
+}
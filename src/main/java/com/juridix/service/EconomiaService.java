@@ -0,0 +1,71 @@
+package com.juridix.service;
+
+import com.juridix.db.EconomiaDAO;
+import com.juridix.model.EstadoExpediente;
+import com.juridix.model.TotalesFinancieros;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Servicio de totales económicos globales.
+ * Reemplaza los recorridos expediente por expediente con una única consulta agregada.
+ */
+public class EconomiaService {
+
+    private final EconomiaDAO economiaDAO;
+
+    public EconomiaService() {
+        this.economiaDAO = new EconomiaDAO();
+    }
+
+    public EconomiaService(EconomiaDAO economiaDAO) {
+        this.economiaDAO = economiaDAO;
+    }
+
+    // ==================== CÁLCULOS ====================
+
+    /**
+     * Obtiene los totales de honorarios, gastos y pagos, globales y por estado de expediente
+     * @return Resumen financiero
+     * @throws SQLException Si hay un error de base de datos
+     */
+    public ResumenFinanciero obtenerResumenFinanciero() throws SQLException {
+        return new ResumenFinanciero(economiaDAO.calcularTotalesPorEstado());
+    }
+
+    // ==================== CLASE INTERNA ====================
+
+    public static class ResumenFinanciero {
+        private final Map<EstadoExpediente, TotalesFinancieros> porEstado;
+        private final TotalesFinancieros global;
+
+        public ResumenFinanciero(Map<EstadoExpediente, TotalesFinancieros> porEstado) {
+            this.porEstado = Collections.unmodifiableMap(porEstado);
+
+            TotalesFinancieros suma = TotalesFinancieros.vacio();
+            for (TotalesFinancieros totales : porEstado.values()) {
+                suma = suma.sumar(totales);
+            }
+            this.global = suma;
+        }
+
+        public TotalesFinancieros getGlobal() {
+            return global;
+        }
+
+        public TotalesFinancieros getPorEstado(EstadoExpediente estado) {
+            return porEstado.getOrDefault(estado, TotalesFinancieros.vacio());
+        }
+
+        public Map<EstadoExpediente, TotalesFinancieros> getPorEstado() {
+            return porEstado;
+        }
+
+        @Override
+        public String toString() {
+            return "Global: " + global;
+        }
+    }
+}
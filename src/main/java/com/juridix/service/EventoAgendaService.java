@@ -8,9 +8,10 @@ import com.juridix.model.TipoEvento;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 public class EventoAgendaService {
 
@@ -110,27 +111,51 @@ public class EventoAgendaService {
         return eventoDAO.listarPendientes(usuarioId);
     }
 
+    /**
+     * Eventos del usuario en el intervalo [desde, hasta), filtrados por estado en la consulta
+     * @param estados Estados a incluir (null o vacío = todos)
+     */
+    public List<EventoAgenda> listarPorUsuarioEnRango(Integer usuarioId, LocalDateTime desde, LocalDateTime hasta,
+                                                      Set<EstadoEvento> estados) throws SQLException {
+        if (usuarioId == null || usuarioId <= 0) {
+            throw new IllegalArgumentException("El ID del usuario debe ser válido");
+        }
+        if (desde == null || hasta == null) {
+            throw new IllegalArgumentException("Las fechas no pueden ser nulas");
+        }
+        if (!desde.isBefore(hasta)) {
+            throw new IllegalArgumentException("La fecha inicial debe ser anterior a la final");
+        }
+        return eventoDAO.listarPorUsuarioEnRango(usuarioId, desde, hasta, estados);
+    }
+
     public List<EventoAgenda> listarHoy(Integer usuarioId) throws SQLException {
-        return listarPorFecha(LocalDate.now()).stream()
-                .filter(e -> e.getUsuarioId().equals(usuarioId))
-                .collect(Collectors.toList());
+        return listarDia(usuarioId, LocalDate.now(), null);
+    }
+
+    /**
+     * Eventos pendientes del usuario en un día
+     */
+    public List<EventoAgenda> listarPendientesDelDia(Integer usuarioId, LocalDate fecha) throws SQLException {
+        if (fecha == null) {
+            throw new IllegalArgumentException("La fecha no puede ser nula");
+        }
+        return listarDia(usuarioId, fecha, EnumSet.of(EstadoEvento.PENDIENTE));
     }
 
     public List<EventoAgenda> listarEstaSemana(Integer usuarioId) throws SQLException {
         LocalDate hoy = LocalDate.now();
-        LocalDate finSemana = hoy.plusDays(7);
-        return listarPorRangoFechas(hoy, finSemana).stream()
-                .filter(e -> e.getUsuarioId().equals(usuarioId))
-                .collect(Collectors.toList());
+        return listarPorUsuarioEnRango(usuarioId, hoy.atStartOfDay(), hoy.plusDays(8).atStartOfDay(), null);
     }
 
     public List<EventoAgenda> listarEsteMes(Integer usuarioId) throws SQLException {
-        LocalDate hoy = LocalDate.now();
-        LocalDate primerDia = hoy.withDayOfMonth(1);
-        LocalDate ultimoDia = hoy.withDayOfMonth(hoy.lengthOfMonth());
-        return listarPorRangoFechas(primerDia, ultimoDia).stream()
-                .filter(e -> e.getUsuarioId().equals(usuarioId))
-                .collect(Collectors.toList());
+        LocalDate primerDia = LocalDate.now().withDayOfMonth(1);
+        return listarPorUsuarioEnRango(usuarioId, primerDia.atStartOfDay(),
+                primerDia.plusMonths(1).atStartOfDay(), null);
+    }
+
+    private List<EventoAgenda> listarDia(Integer usuarioId, LocalDate fecha, Set<EstadoEvento> estados) throws SQLException {
+        return listarPorUsuarioEnRango(usuarioId, fecha.atStartOfDay(), fecha.plusDays(1).atStartOfDay(), estados);
     }
 
     // ==================== UPDATE ====================
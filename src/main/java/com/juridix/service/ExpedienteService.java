@@ -1,12 +1,16 @@
 package com.juridix.service;
 
 import com.juridix.db.ExpedienteDAO;
+import com.juridix.db.Transaccion;
 import com.juridix.model.Expediente;
 import com.juridix.model.EstadoExpediente;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -39,11 +43,6 @@ public class ExpedienteService {
         // Validaciones de negocio
         validarExpediente(expediente);
 
-        // Verificar que no exista el número
-        if (expedienteDAO.existeNumero(expediente.getNumero())) {
-            throw new IllegalArgumentException("Ya existe un expediente con el número: " + expediente.getNumero());
-        }
-
         // Establecer valores por defecto si no están
         if (expediente.getEstado() == null) {
             expediente.setEstado(EstadoExpediente.ACTIVO);
@@ -53,8 +52,13 @@ public class ExpedienteService {
             expediente.setFechaInicio(LocalDate.now());
         }
 
-        // Guardar en la base de datos
-        return expedienteDAO.guardar(expediente);
+        // Verificación y alta en una sola transacción
+        return Transaccion.ejecutar(() -> {
+            if (expedienteDAO.existeNumero(expediente.getNumero())) {
+                throw new IllegalArgumentException("Ya existe un expediente con el número: " + expediente.getNumero());
+            }
+            return expedienteDAO.guardar(expediente);
+        });
     }
 
     // ==================== READ ====================
@@ -94,6 +98,31 @@ public class ExpedienteService {
         return expedienteDAO.listarTodos();
     }
 
+    /**
+     * Lista una página de expedientes (más nuevos primero) continuando desde el último de la página anterior
+     * @param estado Estado a filtrar (null = todos)
+     * @param despuesDe Último expediente ya mostrado (null = primera página)
+     * @param tamanio Expedientes por página
+     * @return Página de expedientes
+     * @throws SQLException Si hay un error de base de datos
+     */
+    public PaginaExpedientes listarPagina(EstadoExpediente estado, Expediente despuesDe, int tamanio) throws SQLException {
+        if (tamanio <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor a cero");
+        }
+        if (despuesDe != null && (despuesDe.getId() == null || despuesDe.getFechaCreacion() == null)) {
+            throw new IllegalArgumentException("El expediente de referencia debe tener ID y fecha de creación");
+        }
+
+        // Se pide uno de más para saber si hay otra página sin contar
+        List<Expediente> expedientes = expedienteDAO.listarPagina(estado, despuesDe, tamanio + 1);
+        boolean hayMas = expedientes.size() > tamanio;
+        if (hayMas) {
+            expedientes = expedientes.subList(0, tamanio);
+        }
+        return new PaginaExpedientes(expedientes, hayMas);
+    }
+
     /**
      * Lista solo los expedientes activos
      * @return Lista de expedientes activos
@@ -176,19 +205,22 @@ public class ExpedienteService {
             throw new IllegalArgumentException("No se puede actualizar un expediente sin ID");
         }
 
-        // Verificar que el expediente existe
-        Optional<Expediente> existente = expedienteDAO.buscarPorId(expediente.getId());
-        if (existente.isEmpty()) {
-            throw new IllegalArgumentException("No existe un expediente con el ID: " + expediente.getId());
-        }
+        // Verificaciones y actualización en una sola transacción (una conexión, un commit)
+        return Transaccion.ejecutar(() -> {
+            // Verificar que el expediente existe
+            Optional<Expediente> existente = expedienteDAO.buscarPorId(expediente.getId());
+            if (existente.isEmpty()) {
+                throw new IllegalArgumentException("No existe un expediente con el ID: " + expediente.getId());
+            }
 
-        // Verificar que no haya otro expediente con el mismo número
-        if (expedienteDAO.existeNumeroExceptoId(expediente.getNumero(), expediente.getId())) {
-            throw new IllegalArgumentException("Ya existe otro expediente con el número: " + expediente.getNumero());
-        }
+            // Verificar que no haya otro expediente con el mismo número
+            if (expedienteDAO.existeNumeroExceptoId(expediente.getNumero(), expediente.getId())) {
+                throw new IllegalArgumentException("Ya existe otro expediente con el número: " + expediente.getNumero());
+            }
 
-        // Actualizar
-        return expedienteDAO.actualizar(expediente);
+            // Actualizar
+            return expedienteDAO.actualizar(expediente);
+        });
     }
 
     /**
@@ -205,13 +237,15 @@ public class ExpedienteService {
             throw new IllegalArgumentException("El nuevo estado no puede ser nulo");
         }
 
-        // Verificar que existe
-        Optional<Expediente> expediente = expedienteDAO.buscarPorId(id);
-        if (expediente.isEmpty()) {
-            throw new IllegalArgumentException("No existe un expediente con el ID: " + id);
-        }
+        Transaccion.ejecutarSinResultado(() -> {
+            // Verificar que existe
+            Optional<Expediente> expediente = expedienteDAO.buscarPorId(id);
+            if (expediente.isEmpty()) {
+                throw new IllegalArgumentException("No existe un expediente con el ID: " + id);
+            }
 
-        expedienteDAO.cambiarEstado(id, nuevoEstado);
+            expedienteDAO.cambiarEstado(id, nuevoEstado);
+        });
     }
 
     /**
@@ -238,17 +272,19 @@ public class ExpedienteService {
      * @throws SQLException Si hay un error de base de datos
      */
     public void finalizarExpediente(Integer id) throws SQLException {
-        // Buscar el expediente
-        Optional<Expediente> optExpediente = expedienteDAO.buscarPorId(id);
-        if (optExpediente.isEmpty()) {
-            throw new IllegalArgumentException("No existe un expediente con el ID: " + id);
-        }
+        Transaccion.ejecutarSinResultado(() -> {
+            // Buscar el expediente
+            Optional<Expediente> optExpediente = expedienteDAO.buscarPorId(id);
+            if (optExpediente.isEmpty()) {
+                throw new IllegalArgumentException("No existe un expediente con el ID: " + id);
+            }
 
-        Expediente expediente = optExpediente.get();
-        expediente.setEstado(EstadoExpediente.FINALIZADO);
-        expediente.setFechaFinalizacion(LocalDate.now());
+            Expediente expediente = optExpediente.get();
+            expediente.setEstado(EstadoExpediente.FINALIZADO);
+            expediente.setFechaFinalizacion(LocalDate.now());
 
-        expedienteDAO.actualizar(expediente);
+            expedienteDAO.actualizar(expediente);
+        });
     }
 
     // ==================== DELETE ====================
@@ -264,15 +300,17 @@ public class ExpedienteService {
             throw new IllegalArgumentException("El ID debe ser un número positivo");
         }
 
-        // Verificar que existe
-        Optional<Expediente> expediente = expedienteDAO.buscarPorId(id);
-        if (expediente.isEmpty()) {
-            throw new IllegalArgumentException("No existe un expediente con el ID: " + id);
-        }
+        Transaccion.ejecutarSinResultado(() -> {
+            // Verificar que existe
+            Optional<Expediente> expediente = expedienteDAO.buscarPorId(id);
+            if (expediente.isEmpty()) {
+                throw new IllegalArgumentException("No existe un expediente con el ID: " + id);
+            }
 
-        // En lugar de eliminar, se podría archivar
-        // Pero si realmente quieres eliminar:
-        expedienteDAO.eliminar(id);
+            // En lugar de eliminar, se podría archivar
+            // Pero si realmente quieres eliminar:
+            expedienteDAO.eliminar(id);
+        });
     }
 
     // ==================== ESTADÍSTICAS ====================
@@ -300,18 +338,19 @@ public class ExpedienteService {
     }
 
     /**
-     * Obtiene estadísticas resumidas de expedientes
+     * Cuenta los expedientes de un estado, o todos si el estado es null
+     */
+    public int contar(EstadoExpediente estado) throws SQLException {
+        return estado == null ? expedienteDAO.contarTotal() : expedienteDAO.contarPorEstado(estado);
+    }
+
+    /**
+     * Obtiene estadísticas resumidas de expedientes con una única consulta agrupada
      * @return Objeto con estadísticas
      * @throws SQLException Si hay un error de base de datos
      */
     public EstadisticasExpedientes obtenerEstadisticas() throws SQLException {
-        return new EstadisticasExpedientes(
-                expedienteDAO.contarTotal(),
-                expedienteDAO.contarPorEstado(EstadoExpediente.ACTIVO),
-                expedienteDAO.contarPorEstado(EstadoExpediente.ARCHIVADO),
-                expedienteDAO.contarPorEstado(EstadoExpediente.SUSPENDIDO),
-                expedienteDAO.contarPorEstado(EstadoExpediente.FINALIZADO)
-        );
+        return new EstadisticasExpedientes(expedienteDAO.contarAgrupadoPorEstado());
     }
 
     // ==================== VALIDACIONES ====================
@@ -321,7 +360,7 @@ public class ExpedienteService {
      * @param expediente El expediente a validar
      * @throws IllegalArgumentException Si alguna validación falla
      */
-    private void validarExpediente(Expediente expediente) {
+    void validarExpediente(Expediente expediente) {
         if (expediente == null) {
             throw new IllegalArgumentException("El expediente no puede ser nulo");
         }
@@ -372,36 +411,64 @@ public class ExpedienteService {
     // ==================== CLASE INTERNA PARA ESTADÍSTICAS ====================
 
     /**
-     * Clase para encapsular estadísticas de expedientes
+     * Clase para encapsular estadísticas de expedientes.
+     * Guarda un conteo por cada EstadoExpediente, así que un estado nuevo en el enum
+     * queda contado sin tocar esta clase (ver getCantidad).
      */
     public static class EstadisticasExpedientes {
+        private final Map<EstadoExpediente, Integer> porEstado;
         private final int total;
-        private final int activos;
-        private final int archivados;
-        private final int suspendidos;
-        private final int finalizados;
-
-        public EstadisticasExpedientes(int total, int activos, int archivados,
-                                       int suspendidos, int finalizados) {
-            this.total = total;
-            this.activos = activos;
-            this.archivados = archivados;
-            this.suspendidos = suspendidos;
-            this.finalizados = finalizados;
+
+        public EstadisticasExpedientes(Map<EstadoExpediente, Integer> conteos) {
+            Map<EstadoExpediente, Integer> copia = new EnumMap<>(EstadoExpediente.class);
+            int suma = 0;
+            for (EstadoExpediente estado : EstadoExpediente.values()) {
+                int cantidad = conteos.getOrDefault(estado, 0);
+                copia.put(estado, cantidad);
+                suma += cantidad;
+            }
+            this.porEstado = Collections.unmodifiableMap(copia);
+            this.total = suma;
         }
 
         public int getTotal() { return total; }
-        public int getActivos() { return activos; }
-        public int getArchivados() { return archivados; }
-        public int getSuspendidos() { return suspendidos; }
-        public int getFinalizados() { return finalizados; }
+        public int getActivos() { return getCantidad(EstadoExpediente.ACTIVO); }
+        public int getArchivados() { return getCantidad(EstadoExpediente.ARCHIVADO); }
+        public int getSuspendidos() { return getCantidad(EstadoExpediente.SUSPENDIDO); }
+        public int getFinalizados() { return getCantidad(EstadoExpediente.FINALIZADO); }
+
+        public int getCantidad(EstadoExpediente estado) {
+            return porEstado.getOrDefault(estado, 0);
+        }
+
+        public Map<EstadoExpediente, Integer> getPorEstado() {
+            return porEstado;
+        }
 
         @Override
         public String toString() {
-            return String.format(
-                    "Total: %d | Activos: %d | Archivados: %d | Suspendidos: %d | Finalizados: %d",
-                    total, activos, archivados, suspendidos, finalizados
-            );
+            StringBuilder sb = new StringBuilder("Total: ").append(total);
+            for (Map.Entry<EstadoExpediente, Integer> e : porEstado.entrySet()) {
+                sb.append(" | ").append(e.getKey().getDisplayName()).append(": ").append(e.getValue());
+            }
+            return sb.toString();
+        }
+    }
+
+    public static class PaginaExpedientes {
+        private final List<Expediente> expedientes;
+        private final boolean hayMas;
+
+        public PaginaExpedientes(List<Expediente> expedientes, boolean hayMas) {
+            this.expedientes = expedientes;
+            this.hayMas = hayMas;
+        }
+
+        public List<Expediente> getExpedientes() { return expedientes; }
+        public boolean isHayMas() { return hayMas; }
+
+        public Expediente getUltimo() {
+            return expedientes.isEmpty() ? null : expedientes.get(expedientes.size() - 1);
         }
     }
-}
\ No newline at end of file
+}
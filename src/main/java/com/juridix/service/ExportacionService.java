@@ -0,0 +1,305 @@
+package com.juridix.service;
+
+import com.juridix.csv.EscritorCsv;
+import com.juridix.db.ClienteDAO;
+import com.juridix.db.ExpedienteDAO;
+import com.juridix.db.GastoDAO;
+import com.juridix.db.HonorarioDAO;
+import com.juridix.db.PagoDAO;
+import com.juridix.db.ProcesadorFila;
+import com.juridix.export.EscritorXlsx;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.concurrent.CancellationException;
+import java.util.function.Function;
+
+/**
+ * Exportación de tablas completas a archivo.
+ * Las filas salen de un cursor de solo avance (recorrerTodos de los DAOs) directo al Writer con buffer,
+ * sin lista intermedia: la memoria no depende de la cantidad de filas.
+ * Se cancela interrumpiendo el hilo que exporta (EjecutorFondo.cancelar); el archivo parcial se descarta.
+ */
+public class ExportacionService {
+
+    // Cada cuántas filas se avisa el avance
+    private static final int FILAS_POR_AVISO = 1000;
+
+    private static final String[] COLUMNAS_CLIENTES = {
+            "Nombre", "DNI", "CUIT", "Teléfono", "Email", "Domicilio", "Activo"
+    };
+
+    private static final String[] COLUMNAS_EXPEDIENTES = {
+            "Número", "Carátula", "Cliente", "Demandado", "Fuero", "Juzgado", "Estado", "Fecha Inicio"
+    };
+
+    @FunctionalInterface
+    public interface ObservadorProgreso {
+        /**
+         * @param filas Filas escritas hasta el momento
+         * @param total Filas a exportar (estimado al empezar)
+         */
+        void progreso(long filas, long total);
+    }
+
+    @FunctionalInterface
+    private interface Recorrido<T> {
+        void recorrer(ProcesadorFila<T> procesador) throws SQLException, IOException;
+    }
+
+    private final ClienteDAO clienteDAO;
+    private final ExpedienteDAO expedienteDAO;
+    private final HonorarioDAO honorarioDAO;
+    private final GastoDAO gastoDAO;
+    private final PagoDAO pagoDAO;
+
+    public ExportacionService() {
+        this(new ClienteDAO(), new ExpedienteDAO(), new HonorarioDAO(), new GastoDAO(), new PagoDAO());
+    }
+
+    // Constructor alternativo para inyección de dependencias
+    public ExportacionService(ClienteDAO clienteDAO, ExpedienteDAO expedienteDAO, HonorarioDAO honorarioDAO,
+                              GastoDAO gastoDAO, PagoDAO pagoDAO) {
+        this.clienteDAO = clienteDAO;
+        this.expedienteDAO = expedienteDAO;
+        this.honorarioDAO = honorarioDAO;
+        this.gastoDAO = gastoDAO;
+        this.pagoDAO = pagoDAO;
+    }
+
+    // ==================== CSV ====================
+
+    /**
+     * Exporta todos los clientes a CSV
+     * @param destino Archivo a generar (se reemplaza si existe)
+     * @param observador Recibe el avance (puede ser null); se llama desde el hilo que exporta
+     * @throws CancellationException Si el hilo fue interrumpido
+     */
+    public ResultadoExportacion exportarClientesCsv(Path destino, ObservadorProgreso observador)
+            throws SQLException, IOException {
+        return exportarCsv(destino, COLUMNAS_CLIENTES, clienteDAO.contarTotal(), clienteDAO::recorrerTodos,
+                c -> new String[]{
+                        c.getNombreCompleto(),
+                        c.getDni(),
+                        c.getCuitCuil(),
+                        c.getTelefono(),
+                        c.getEmail(),
+                        c.getDomicilioCompleto(),
+                        c.isActivo() ? "Sí" : "No"
+                }, observador);
+    }
+
+    /**
+     * Exporta todos los expedientes a CSV
+     * @param destino Archivo a generar (se reemplaza si existe)
+     * @param observador Recibe el avance (puede ser null); se llama desde el hilo que exporta
+     * @throws CancellationException Si el hilo fue interrumpido
+     */
+    public ResultadoExportacion exportarExpedientesCsv(Path destino, ObservadorProgreso observador)
+            throws SQLException, IOException {
+        return exportarCsv(destino, COLUMNAS_EXPEDIENTES, expedienteDAO.contarTotal(), expedienteDAO::recorrerTodos,
+                e -> new String[]{
+                        e.getNumero(),
+                        e.getCaratula(),
+                        e.getCliente(),
+                        e.getDemandado(),
+                        e.getFuero(),
+                        e.getJuzgado(),
+                        e.getEstado() != null ? e.getEstado().toString() : null,
+                        e.getFechaInicio() != null ? e.getFechaInicio().toString() : null
+                }, observador);
+    }
+
+    private <T> ResultadoExportacion exportarCsv(Path destino, String[] columnas, long total, Recorrido<T> recorrido,
+                                                 Function<T, String[]> fila, ObservadorProgreso observador)
+            throws SQLException, IOException {
+
+        if (destino == null) {
+            throw new IllegalArgumentException("Debe indicar el archivo de destino");
+        }
+
+        ObservadorProgreso obs = observador != null ? observador : (filas, t) -> { };
+        long inicio = System.nanoTime();
+        long[] escritas = {0};
+
+        // Se escribe a un temporal junto al destino: el archivo final solo aparece completo
+        Path directorio = destino.toAbsolutePath().getParent();
+        Files.createDirectories(directorio);
+        Path temporal = Files.createTempFile(directorio, ".juridix_export_", ".tmp");
+
+        try {
+            try (EscritorCsv csv = new EscritorCsv(temporal, ',')) {
+                csv.escribir(columnas);
+                obs.progreso(0, total);
+
+                recorrido.recorrer(elemento -> {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new CancellationException("Exportación cancelada");
+                    }
+
+                    csv.escribir(fila.apply(elemento));
+                    escritas[0]++;
+
+                    if (escritas[0] % FILAS_POR_AVISO == 0) {
+                        obs.progreso(escritas[0], Math.max(total, escritas[0]));
+                    }
+                });
+            }
+
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+            obs.progreso(escritas[0], escritas[0]);
+
+            long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+            ResultadoExportacion resultado = new ResultadoExportacion(destino, escritas[0], Files.size(destino), duracionMs);
+
+            System.out.println("✅ Exportación creada: " + resultado);
+            return resultado;
+
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    // ==================== EXCEL ====================
+
+    /**
+     * Exporta clientes, expedientes, honorarios, gastos y pagos a un libro .xlsx con una hoja por tabla.
+     * Montos y fechas quedan como celdas numéricas y de fecha (se pueden sumar y ordenar en Excel).
+     * @param destino Archivo a generar (se reemplaza si existe)
+     * @param observador Recibe el avance sobre el total de filas de las cinco tablas (puede ser null)
+     * @throws CancellationException Si el hilo fue interrumpido
+     */
+    public ResultadoExportacion exportarLibroExcel(Path destino, ObservadorProgreso observador)
+            throws SQLException, IOException {
+
+        if (destino == null) {
+            throw new IllegalArgumentException("Debe indicar el archivo de destino");
+        }
+
+        ObservadorProgreso obs = observador != null ? observador : (filas, t) -> { };
+        long inicio = System.nanoTime();
+        long total = (long) clienteDAO.contarTotal() + expedienteDAO.contarTotal() + honorarioDAO.contarTotal()
+                + gastoDAO.contarTotal() + pagoDAO.contarTotal();
+        long[] escritas = {0};
+
+        Path directorio = destino.toAbsolutePath().getParent();
+        Files.createDirectories(directorio);
+        Path temporal = Files.createTempFile(directorio, ".juridix_export_", ".tmp");
+
+        try {
+            try (EscritorXlsx xlsx = new EscritorXlsx(temporal)) {
+                obs.progreso(0, total);
+
+                escribirHoja(xlsx, "Clientes", new String[]{
+                        "ID", "Nombre", "DNI", "CUIT/CUIL", "Fecha Nacimiento", "Teléfono", "Email",
+                        "Domicilio", "Localidad", "Provincia", "Código Postal", "Activo", "Alta"
+                }, clienteDAO::recorrerTodos, c -> new Object[]{
+                        c.getId(), c.getNombreCompleto(), c.getDni(), c.getCuitCuil(), c.getFechaNacimiento(),
+                        c.getTelefono(), c.getEmail(), c.getDomicilio(), c.getLocalidad(), c.getProvincia(),
+                        c.getCodigoPostal(), c.isActivo() ? "Sí" : "No", c.getFechaCreacion()
+                }, escritas, total, obs);
+
+                escribirHoja(xlsx, "Expedientes", new String[]{
+                        "ID", "Número", "Carátula", "Cliente", "Demandado", "Fuero", "Juzgado", "Secretaría",
+                        "Estado", "Fecha Inicio", "Fecha Finalización", "Monto Estimado"
+                }, expedienteDAO::recorrerTodos, e -> new Object[]{
+                        e.getId(), e.getNumero(), e.getCaratula(), e.getCliente(), e.getDemandado(), e.getFuero(),
+                        e.getJuzgado(), e.getSecretaria(), e.getEstado(), e.getFechaInicio(),
+                        e.getFechaFinalizacion(), e.getMontoEstimado()
+                }, escritas, total, obs);
+
+                escribirHoja(xlsx, "Honorarios", new String[]{
+                        "ID", "Expediente ID", "Tipo", "Porcentaje", "Monto Fijo", "Monto Calculado",
+                        "Estado", "Fecha Estimada", "Descripción"
+                }, honorarioDAO::recorrerTodos, h -> new Object[]{
+                        h.getId(), h.getExpedienteId(), h.getTipo(), h.getPorcentaje(), h.getMontoFijo(),
+                        h.getMontoCalculado(), h.getEstado(), h.getFechaEstimada(), h.getDescripcion()
+                }, escritas, total, obs);
+
+                escribirHoja(xlsx, "Gastos", new String[]{
+                        "ID", "Expediente ID", "Fecha", "Concepto", "Categoría", "Monto", "Comprobante", "Observaciones"
+                }, gastoDAO::recorrerTodos, g -> new Object[]{
+                        g.getId(), g.getExpedienteId(), g.getFecha(), g.getConcepto(), g.getCategoria(),
+                        g.getMonto(), g.getComprobante(), g.getObservaciones()
+                }, escritas, total, obs);
+
+                escribirHoja(xlsx, "Pagos", new String[]{
+                        "ID", "Expediente ID", "Cliente ID", "Fecha", "Monto", "Forma de Pago", "Referencia",
+                        "Concepto", "Observaciones"
+                }, pagoDAO::recorrerTodos, p -> new Object[]{
+                        p.getId(), p.getExpedienteId(), p.getClienteId(), p.getFecha(), p.getMonto(),
+                        p.getFormaPago(), p.getReferencia(), p.getConcepto(), p.getObservaciones()
+                }, escritas, total, obs);
+            }
+
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+            obs.progreso(escritas[0], escritas[0]);
+
+            long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+            ResultadoExportacion resultado = new ResultadoExportacion(destino, escritas[0], Files.size(destino), duracionMs);
+
+            System.out.println("✅ Libro Excel creado: " + resultado);
+            return resultado;
+
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    private <T> void escribirHoja(EscritorXlsx xlsx, String nombre, String[] columnas, Recorrido<T> recorrido,
+                                  Function<T, Object[]> fila, long[] escritas, long total, ObservadorProgreso obs)
+            throws SQLException, IOException {
+
+        xlsx.nuevaHoja(nombre, columnas);
+
+        recorrido.recorrer(elemento -> {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Exportación cancelada");
+            }
+
+            Object[] valores = fila.apply(elemento);
+            // Los enums se muestran con su nombre para el usuario (toString)
+            for (int i = 0; i < valores.length; i++) {
+                if (valores[i] instanceof Enum<?>) {
+                    valores[i] = valores[i].toString();
+                }
+            }
+            xlsx.fila(valores);
+            escritas[0]++;
+
+            if (escritas[0] % FILAS_POR_AVISO == 0) {
+                obs.progreso(escritas[0], Math.max(total, escritas[0]));
+            }
+        });
+    }
+
+    // ==================== CLASE INTERNA ====================
+
+    public static class ResultadoExportacion {
+        private final Path archivo;
+        private final long filas;
+        private final long tamanioBytes;
+        private final long duracionMs;
+
+        public ResultadoExportacion(Path archivo, long filas, long tamanioBytes, long duracionMs) {
+            this.archivo = archivo;
+            this.filas = filas;
+            this.tamanioBytes = tamanioBytes;
+            this.duracionMs = duracionMs;
+        }
+
+        public Path getArchivo() { return archivo; }
+        public long getFilas() { return filas; }
+        public long getTamanioBytes() { return tamanioBytes; }
+        public long getDuracionMs() { return duracionMs; }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%d filas, %.1f KB, %d ms)", archivo.toAbsolutePath(), filas,
+                    tamanioBytes / 1024.0, duracionMs);
+        }
+    }
+}
@@ -23,6 +23,15 @@ public class GastoService {
         return gastoDAO.guardar(gasto);
     }
 
+    /**
+     * Crea todos los gastos en una sola transacción. Si alguno no es válido no se guarda ninguno.
+     * @return Los gastos con sus IDs asignados
+     */
+    public List<Gasto> crearGastos(List<Gasto> gastos) throws SQLException {
+        ValidacionLote.validar(gastos, this::validarGasto);
+        return gastoDAO.guardarLote(gastos);
+    }
+
     // ==================== READ ====================
 
     public Optional<Gasto> buscarPorId(Integer id) throws SQLException {
@@ -51,6 +60,19 @@ public class GastoService {
         return gastoDAO.actualizar(gasto);
     }
 
+    /**
+     * Actualiza todos los gastos en una sola transacción. Si alguno no es válido no se modifica ninguno.
+     */
+    public List<Gasto> actualizarGastos(List<Gasto> gastos) throws SQLException {
+        ValidacionLote.validar(gastos, gasto -> {
+            validarGasto(gasto);
+            if (gasto.getId() == null) {
+                throw new IllegalArgumentException("El gasto debe tener un ID");
+            }
+        });
+        return gastoDAO.actualizarLote(gastos);
+    }
+
     // ==================== DELETE ====================
 
     public void eliminarGasto(Integer id) throws SQLException {
@@ -1,6 +1,7 @@
 package com.juridix.service;
 
 import com.juridix.db.HonorarioDAO;
+import com.juridix.db.Transaccion;
 import com.juridix.model.Honorario;
 import com.juridix.model.TipoHonorario;
 import com.juridix.model.EstadoHonorario;
@@ -28,6 +29,18 @@ public class HonorarioService {
         return honorarioDAO.guardar(honorario);
     }
 
+    /**
+     * Crea todos los honorarios en una sola transacción. Si alguno no es válido no se guarda ninguno.
+     * @return Los honorarios con sus IDs asignados
+     */
+    public List<Honorario> crearHonorarios(List<Honorario> honorarios) throws SQLException {
+        ValidacionLote.validar(honorarios, this::validarHonorario);
+
+        honorarios.forEach(this::calcularMonto);
+
+        return honorarioDAO.guardarLote(honorarios);
+    }
+
     // ==================== READ ====================
 
     public Optional<Honorario> buscarPorId(Integer id) throws SQLException {
@@ -63,12 +76,30 @@ public class HonorarioService {
     }
 
     public void marcarComoCobrado(Integer id) throws SQLException {
-        Optional<Honorario> honorario = honorarioDAO.buscarPorId(id);
-        if (honorario.isPresent()) {
-            Honorario h = honorario.get();
-            h.setEstado(EstadoHonorario.COBRADO);
-            honorarioDAO.actualizar(h);
-        }
+        Transaccion.ejecutarSinResultado(() -> {
+            Optional<Honorario> honorario = honorarioDAO.buscarPorId(id);
+            if (honorario.isPresent()) {
+                Honorario h = honorario.get();
+                h.setEstado(EstadoHonorario.COBRADO);
+                honorarioDAO.actualizar(h);
+            }
+        });
+    }
+
+    /**
+     * Actualiza todos los honorarios en una sola transacción. Si alguno no es válido no se modifica ninguno.
+     */
+    public List<Honorario> actualizarHonorarios(List<Honorario> honorarios) throws SQLException {
+        ValidacionLote.validar(honorarios, honorario -> {
+            validarHonorario(honorario);
+            if (honorario.getId() == null) {
+                throw new IllegalArgumentException("El honorario debe tener un ID");
+            }
+        });
+
+        honorarios.forEach(this::calcularMonto);
+
+        return honorarioDAO.actualizarLote(honorarios);
     }
 
     // ==================== DELETE ====================
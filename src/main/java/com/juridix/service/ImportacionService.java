@@ -0,0 +1,623 @@
+package com.juridix.service;
+
+import com.juridix.csv.EscritorCsv;
+import com.juridix.csv.LectorCsv;
+import com.juridix.db.ClienteDAO;
+import com.juridix.db.ExpedienteDAO;
+import com.juridix.db.Transaccion;
+import com.juridix.model.Cliente;
+import com.juridix.model.EstadoExpediente;
+import com.juridix.model.Expediente;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importación masiva de clientes y expedientes desde CSV.
+ * El archivo se lee registro por registro y se guarda en lotes transaccionales, así que la memoria
+ * no depende del tamaño del archivo (solo crece el conjunto de DNIs/números ya vistos).
+ * Cada fila pasa por las mismas validaciones que el alta manual; los duplicados (contra la base
+ * y dentro del mismo archivo) se detectan en memoria, sin una consulta por fila.
+ * Las filas rechazadas se escriben en un CSV aparte con la línea y el motivo.
+ */
+public class ImportacionService {
+
+    // Filas por transacción; acota la memoria del lote pendiente
+    static final int TAMANIO_LOTE = 1000;
+    private static final int MAX_MOTIVOS = 20;
+    private static final int FILAS_POR_AVISO = 10_000;
+
+    private static final DateTimeFormatter FECHA_DMY = DateTimeFormatter.ofPattern("d/M/yyyy");
+
+    // Otros nombres aceptados en el encabezado (ya normalizados)
+    private static final Map<String, String> ALIAS_COLUMNAS = Map.of(
+            "nombre", "nombre_completo",
+            "cuit", "cuit_cuil",
+            "cuil", "cuit_cuil",
+            "nro", "numero",
+            "numero_expediente", "numero",
+            "fecha_de_inicio", "fecha_inicio",
+            "monto", "monto_estimado"
+    );
+
+    private final ClienteDAO clienteDAO;
+    private final ExpedienteDAO expedienteDAO;
+    private final ClienteService clienteService;
+    private final ExpedienteService expedienteService;
+
+    public ImportacionService() {
+        this(new ClienteDAO(), new ExpedienteDAO());
+    }
+
+    // Constructor alternativo para inyección de dependencias
+    public ImportacionService(ClienteDAO clienteDAO, ExpedienteDAO expedienteDAO) {
+        this.clienteDAO = clienteDAO;
+        this.expedienteDAO = expedienteDAO;
+        this.clienteService = new ClienteService(clienteDAO);
+        this.expedienteService = new ExpedienteService(expedienteDAO);
+    }
+
+    // ==================== IMPORTACIÓN ====================
+
+    /**
+     * Importa clientes. Columnas reconocidas (sin importar mayúsculas ni acentos):
+     * nombre_completo (o nombre, obligatoria), dni, cuit_cuil (o cuit), fecha_nacimiento, telefono,
+     * email, domicilio, localidad, provincia, codigo_postal, profesion, estado_civil, observaciones, activo
+     * @param archivo CSV separado por ',' o ';' con encabezado
+     * @param usuarioId Usuario que figura como creador (puede ser null)
+     * @return Reporte con las cantidades, la velocidad y el archivo de rechazos
+     * @throws IllegalArgumentException Si falta una columna obligatoria
+     * @throws IOException Si falla la lectura del CSV o la escritura de los rechazos
+     * @throws SQLException Si falla la base de datos (los lotes ya confirmados quedan guardados)
+     */
+    public ReporteImportacion importarClientes(Path archivo, Integer usuarioId) throws IOException, SQLException {
+        return importar(archivo, new Destino<Cliente>() {
+            @Override
+            public List<String> columnasObligatorias() {
+                return List.of("nombre_completo");
+            }
+
+            @Override
+            public Cliente convertir(Fila fila) {
+                Cliente cliente = new Cliente(fila.texto("nombre_completo"));
+                cliente.setDni(fila.texto("dni"));
+                cliente.setCuitCuil(fila.texto("cuit_cuil"));
+                cliente.setFechaNacimiento(fila.fecha("fecha_nacimiento"));
+                cliente.setTelefono(fila.texto("telefono"));
+                cliente.setEmail(fila.texto("email"));
+                cliente.setDomicilio(fila.texto("domicilio"));
+                cliente.setLocalidad(fila.texto("localidad"));
+                cliente.setProvincia(fila.texto("provincia"));
+                cliente.setCodigoPostal(fila.texto("codigo_postal"));
+                cliente.setProfesion(fila.texto("profesion"));
+                cliente.setEstadoCivil(fila.texto("estado_civil"));
+                cliente.setObservaciones(fila.texto("observaciones"));
+                cliente.setActivo(fila.booleano("activo", true));
+                cliente.setUsuarioCreadorId(usuarioId);
+
+                clienteService.validarCliente(cliente);
+                return cliente;
+            }
+
+            @Override
+            public String clave(Cliente cliente) {
+                return cliente.getDni();
+            }
+
+            @Override
+            public String normalizarClave(String dni) {
+                // Solo dígitos: "20.123.456" y "20123456" son el mismo DNI
+                String digitos = dni.replaceAll("[^0-9]", "");
+                return digitos.isEmpty() ? null : digitos;
+            }
+
+            @Override
+            public String descripcionClave() {
+                return "DNI";
+            }
+
+            @Override
+            public List<String> clavesExistentes() throws SQLException {
+                return clienteDAO.listarDnis();
+            }
+
+            @Override
+            public void guardarLote(List<Cliente> clientes) throws SQLException {
+                clienteDAO.guardarLote(clientes);
+            }
+
+            @Override
+            public void guardar(Cliente cliente) throws SQLException {
+                clienteDAO.guardar(cliente);
+            }
+        });
+    }
+
+    /**
+     * Importa expedientes. Columnas reconocidas (sin importar mayúsculas ni acentos):
+     * numero, caratula y cliente (obligatorias), demandado, fuero, juzgado, secretaria, estado,
+     * fecha_inicio, fecha_finalizacion, monto_estimado, observaciones.
+     * Sin estado queda ACTIVO y sin fecha de inicio, la de hoy (igual que el alta manual).
+     * @param archivo CSV separado por ',' o ';' con encabezado
+     * @param usuarioId Usuario que figura como creador
+     * @return Reporte con las cantidades, la velocidad y el archivo de rechazos
+     * @throws IllegalArgumentException Si falta el usuario o una columna obligatoria
+     * @throws IOException Si falla la lectura del CSV o la escritura de los rechazos
+     * @throws SQLException Si falla la base de datos (los lotes ya confirmados quedan guardados)
+     */
+    public ReporteImportacion importarExpedientes(Path archivo, Integer usuarioId) throws IOException, SQLException {
+        if (usuarioId == null) {
+            throw new IllegalArgumentException("Debe indicar el usuario que importa los expedientes");
+        }
+
+        return importar(archivo, new Destino<Expediente>() {
+            @Override
+            public List<String> columnasObligatorias() {
+                return List.of("numero", "caratula", "cliente");
+            }
+
+            @Override
+            public Expediente convertir(Fila fila) {
+                Expediente expediente = new Expediente(fila.texto("numero"), fila.texto("caratula"),
+                        fila.texto("cliente"), usuarioId);
+                expediente.setDemandado(fila.texto("demandado"));
+                expediente.setFuero(fila.texto("fuero"));
+                expediente.setJuzgado(fila.texto("juzgado"));
+                expediente.setSecretaria(fila.texto("secretaria"));
+                expediente.setEstado(fila.estado("estado"));
+                expediente.setFechaInicio(fila.fecha("fecha_inicio"));
+                expediente.setFechaFinalizacion(fila.fecha("fecha_finalizacion"));
+                expediente.setMontoEstimado(fila.monto("monto_estimado"));
+                expediente.setObservaciones(fila.texto("observaciones"));
+
+                if (expediente.getEstado() == null) {
+                    expediente.setEstado(EstadoExpediente.ACTIVO);
+                }
+                if (expediente.getFechaInicio() == null) {
+                    expediente.setFechaInicio(LocalDate.now());
+                }
+
+                expedienteService.validarExpediente(expediente);
+                return expediente;
+            }
+
+            @Override
+            public String clave(Expediente expediente) {
+                return expediente.getNumero();
+            }
+
+            @Override
+            public String normalizarClave(String numero) {
+                // La columna es UNIQUE tal cual: solo se ignoran los espacios de los extremos
+                String valor = numero.trim();
+                return valor.isEmpty() ? null : valor;
+            }
+
+            @Override
+            public String descripcionClave() {
+                return "número de expediente";
+            }
+
+            @Override
+            public List<String> clavesExistentes() throws SQLException {
+                return expedienteDAO.listarNumeros();
+            }
+
+            @Override
+            public void guardarLote(List<Expediente> expedientes) throws SQLException {
+                expedienteDAO.guardarLote(expedientes);
+            }
+
+            @Override
+            public void guardar(Expediente expediente) throws SQLException {
+                expedienteDAO.guardar(expediente);
+            }
+        });
+    }
+
+    private <T> ReporteImportacion importar(Path archivo, Destino<T> destino) throws IOException, SQLException {
+        if (archivo == null) {
+            throw new IllegalArgumentException("Debe indicar el archivo a importar");
+        }
+
+        long inicio = System.nanoTime();
+
+        try (LectorCsv lector = new LectorCsv(archivo)) {
+            String[] encabezado = lector.getEncabezado();
+            Map<String, Integer> columnas = indexarColumnas(encabezado);
+
+            for (String obligatoria : destino.columnasObligatorias()) {
+                if (!columnas.containsKey(obligatoria)) {
+                    throw new IllegalArgumentException("Falta la columna obligatoria: " + obligatoria);
+                }
+            }
+
+            // Claves ya cargadas: un solo SELECT en lugar de una consulta por fila
+            Set<String> claves = new HashSet<>();
+            for (String existente : destino.clavesExistentes()) {
+                String clave = existente == null ? null : destino.normalizarClave(existente);
+                if (clave != null) {
+                    claves.add(clave);
+                }
+            }
+
+            Importacion<T> importacion = new Importacion<>(archivo, encabezado, lector.getSeparador(), destino, claves);
+            try {
+                String[] campos;
+                while ((campos = lector.siguiente()) != null) {
+                    importacion.procesar(lector.getLineaRegistro(), campos, columnas);
+                }
+                importacion.guardarPendientes();
+
+            } finally {
+                importacion.cerrarRechazos();
+            }
+
+            long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+            ReporteImportacion reporte = importacion.reporte(duracionMs);
+
+            System.out.println("✅ Importación de " + archivo.getFileName() + ": " + reporte);
+            return reporte;
+        }
+    }
+
+    /**
+     * Estado de una importación en curso: lote pendiente, claves vistas, contadores y rechazos
+     */
+    private static final class Importacion<T> {
+        private final Path archivo;
+        private final String[] encabezado;
+        private final char separador;
+        private final Destino<T> destino;
+        private final Set<String> claves;
+
+        private final List<Pendiente<T>> pendientes = new ArrayList<>(TAMANIO_LOTE);
+        private final List<String> motivos = new ArrayList<>();
+        private EscritorCsv rechazos;
+        private Path archivoRechazos;
+
+        private long leidas;
+        private long importadas;
+        private long rechazadas;
+        private long duplicadas;
+
+        Importacion(Path archivo, String[] encabezado, char separador, Destino<T> destino, Set<String> claves) {
+            this.archivo = archivo;
+            this.encabezado = encabezado;
+            this.separador = separador;
+            this.destino = destino;
+            this.claves = claves;
+        }
+
+        void procesar(long linea, String[] campos, Map<String, Integer> columnas) throws IOException, SQLException {
+            leidas++;
+
+            T elemento;
+            try {
+                elemento = destino.convertir(new Fila(campos, columnas));
+            } catch (IllegalArgumentException e) {
+                rechazar(linea, campos, e.getMessage());
+                return;
+            }
+
+            String original = destino.clave(elemento);
+            String clave = original == null ? null : destino.normalizarClave(original);
+            if (clave != null && !claves.add(clave)) {
+                duplicadas++;
+                rechazar(linea, campos, "Ya existe un registro con el " + destino.descripcionClave() + ": " + clave);
+                return;
+            }
+
+            pendientes.add(new Pendiente<>(linea, campos, elemento, clave));
+            if (pendientes.size() >= TAMANIO_LOTE) {
+                guardarPendientes();
+            }
+
+            if (leidas % FILAS_POR_AVISO == 0) {
+                System.out.println("ℹ️ Importación de " + archivo.getFileName() + ": " + leidas + " filas leídas");
+            }
+        }
+
+        /**
+         * Guarda el lote pendiente en una transacción. Si el lote falla (por ejemplo por una
+         * restricción de la base), se reintenta fila por fila en otra transacción para rechazar
+         * solo las filas con problemas.
+         */
+        void guardarPendientes() throws IOException, SQLException {
+            if (pendientes.isEmpty()) {
+                return;
+            }
+
+            List<T> elementos = new ArrayList<>(pendientes.size());
+            for (Pendiente<T> pendiente : pendientes) {
+                elementos.add(pendiente.elemento);
+            }
+
+            try {
+                destino.guardarLote(elementos);
+                importadas += elementos.size();
+
+            } catch (SQLException e) {
+                System.err.println("⚠️ Lote rechazado por la base, se reintenta fila por fila: " + e.getMessage());
+                guardarFilaPorFila();
+            }
+
+            pendientes.clear();
+        }
+
+        private void guardarFilaPorFila() throws IOException, SQLException {
+            List<Pendiente<T>> fallidas = new ArrayList<>();
+            List<String> errores = new ArrayList<>();
+
+            // En SQLite un INSERT que falla deshace solo esa sentencia: la transacción sigue abierta
+            int guardadas = Transaccion.ejecutar(() -> {
+                int ok = 0;
+                for (Pendiente<T> pendiente : pendientes) {
+                    try {
+                        destino.guardar(pendiente.elemento);
+                        ok++;
+                    } catch (SQLException e) {
+                        fallidas.add(pendiente);
+                        errores.add("Error de base de datos: " + e.getMessage());
+                    }
+                }
+                return ok;
+            });
+
+            importadas += guardadas;
+            for (int i = 0; i < fallidas.size(); i++) {
+                Pendiente<T> fallida = fallidas.get(i);
+                if (fallida.clave != null) {
+                    claves.remove(fallida.clave);
+                }
+                rechazar(fallida.linea, fallida.campos, errores.get(i));
+            }
+        }
+
+        private void rechazar(long linea, String[] campos, String motivo) throws IOException {
+            rechazadas++;
+            if (motivos.size() < MAX_MOTIVOS) {
+                motivos.add("Línea " + linea + ": " + motivo);
+            }
+
+            // El archivo de rechazos se crea recién con el primer rechazo
+            if (rechazos == null) {
+                String nombre = archivo.getFileName().toString().replaceFirst("(?i)\\.csv$", "");
+                archivoRechazos = archivo.toAbsolutePath().resolveSibling(nombre + "_rechazos.csv");
+                rechazos = new EscritorCsv(archivoRechazos, separador);
+
+                String[] titulos = new String[encabezado.length + 2];
+                titulos[0] = "Línea";
+                titulos[1] = "Motivo";
+                System.arraycopy(encabezado, 0, titulos, 2, encabezado.length);
+                rechazos.escribir(titulos);
+            }
+
+            String[] registro = new String[campos.length + 2];
+            registro[0] = String.valueOf(linea);
+            registro[1] = motivo;
+            System.arraycopy(campos, 0, registro, 2, campos.length);
+            rechazos.escribir(registro);
+        }
+
+        void cerrarRechazos() throws IOException {
+            if (rechazos != null) {
+                rechazos.close();
+            }
+        }
+
+        ReporteImportacion reporte(long duracionMs) {
+            return new ReporteImportacion(leidas, importadas, rechazadas, duplicadas, duracionMs,
+                    archivoRechazos, motivos);
+        }
+    }
+
+    private static final class Pendiente<T> {
+        private final long linea;
+        private final String[] campos;
+        private final T elemento;
+        private final String clave;
+
+        Pendiente(long linea, String[] campos, T elemento, String clave) {
+            this.linea = linea;
+            this.campos = campos;
+            this.elemento = elemento;
+            this.clave = clave;
+        }
+    }
+
+    /**
+     * Lo que cambia entre importar clientes y expedientes
+     */
+    private interface Destino<T> {
+        List<String> columnasObligatorias();
+
+        /**
+         * Arma y valida el elemento; IllegalArgumentException rechaza la fila
+         */
+        T convertir(Fila fila);
+
+        /**
+         * Valor que no puede repetirse (null si la fila no tiene)
+         */
+        String clave(T elemento);
+
+        /**
+         * Forma canónica de la clave para compararla; null si no identifica a nadie
+         */
+        String normalizarClave(String clave);
+
+        String descripcionClave();
+
+        List<String> clavesExistentes() throws SQLException;
+
+        void guardarLote(List<T> elementos) throws SQLException;
+
+        void guardar(T elemento) throws SQLException;
+    }
+
+    // ==================== CONVERSIÓN ====================
+
+    /**
+     * Acceso a los campos de un registro por nombre de columna normalizado
+     */
+    private static final class Fila {
+        private final String[] campos;
+        private final Map<String, Integer> columnas;
+
+        Fila(String[] campos, Map<String, Integer> columnas) {
+            this.campos = campos;
+            this.columnas = columnas;
+        }
+
+        /**
+         * Valor sin espacios en los extremos; null si la columna no está o está vacía
+         */
+        String texto(String columna) {
+            Integer indice = columnas.get(columna);
+            if (indice == null || indice >= campos.length) {
+                return null;
+            }
+            String valor = campos[indice].trim();
+            return valor.isEmpty() ? null : valor;
+        }
+
+        /**
+         * Acepta yyyy-MM-dd y dd/MM/yyyy
+         */
+        LocalDate fecha(String columna) {
+            String valor = texto(columna);
+            if (valor == null) {
+                return null;
+            }
+            try {
+                return valor.contains("/") ? LocalDate.parse(valor, FECHA_DMY) : LocalDate.parse(valor);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Fecha inválida en " + columna + ": " + valor);
+            }
+        }
+
+        /**
+         * Acepta 1234.50 y el formato local 1.234,50
+         */
+        Double monto(String columna) {
+            String valor = texto(columna);
+            if (valor == null) {
+                return null;
+            }
+            String numero = valor.replace("$", "").replace(" ", "");
+            if (numero.contains(",")) {
+                numero = numero.replace(".", "").replace(',', '.');
+            }
+            try {
+                return Double.parseDouble(numero);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Monto inválido en " + columna + ": " + valor);
+            }
+        }
+
+        boolean booleano(String columna, boolean porDefecto) {
+            String valor = texto(columna);
+            if (valor == null) {
+                return porDefecto;
+            }
+            return switch (normalizarTexto(valor)) {
+                case "1", "si", "s", "true", "activo" -> true;
+                case "0", "no", "n", "false", "inactivo" -> false;
+                default -> throw new IllegalArgumentException("Valor inválido en " + columna + ": " + valor);
+            };
+        }
+
+        EstadoExpediente estado(String columna) {
+            String valor = texto(columna);
+            if (valor == null) {
+                return null;
+            }
+            EstadoExpediente estado = EstadoExpediente.fromString(normalizarTexto(valor));
+            if (estado == null) {
+                throw new IllegalArgumentException("Estado inválido: " + valor);
+            }
+            return estado;
+        }
+    }
+
+    /**
+     * Posición de cada columna conocida; los nombres del encabezado se comparan
+     * sin mayúsculas, acentos ni espacios ("Fecha Inicio" = fecha_inicio)
+     */
+    private static Map<String, Integer> indexarColumnas(String[] encabezado) {
+        Map<String, Integer> columnas = new HashMap<>();
+        for (int i = 0; i < encabezado.length; i++) {
+            String nombre = normalizarTexto(encabezado[i]).replaceAll("[^a-z0-9]+", "_").replaceAll("^_|_$", "");
+            nombre = ALIAS_COLUMNAS.getOrDefault(nombre, nombre);
+            columnas.putIfAbsent(nombre, i);
+        }
+        return columnas;
+    }
+
+    private static String normalizarTexto(String texto) {
+        return Normalizer.normalize(texto.trim().toLowerCase(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "");
+    }
+
+    // ==================== CLASE INTERNA ====================
+
+    public static class ReporteImportacion {
+        private final long leidas;
+        private final long importadas;
+        private final long rechazadas;
+        private final long duplicadas;
+        private final long duracionMs;
+        private final Path archivoRechazos;
+        private final List<String> motivos;
+
+        public ReporteImportacion(long leidas, long importadas, long rechazadas, long duplicadas,
+                                  long duracionMs, Path archivoRechazos, List<String> motivos) {
+            this.leidas = leidas;
+            this.importadas = importadas;
+            this.rechazadas = rechazadas;
+            this.duplicadas = duplicadas;
+            this.duracionMs = duracionMs;
+            this.archivoRechazos = archivoRechazos;
+            this.motivos = Collections.unmodifiableList(new ArrayList<>(motivos));
+        }
+
+        public long getLeidas() { return leidas; }
+        public long getImportadas() { return importadas; }
+        public long getRechazadas() { return rechazadas; }
+        public long getDuplicadas() { return duplicadas; }
+        public long getDuracionMs() { return duracionMs; }
+
+        /**
+         * CSV con las filas rechazadas (línea, motivo y campos originales), o null si no hubo rechazos
+         */
+        public Path getArchivoRechazos() { return archivoRechazos; }
+
+        /**
+         * Primeros motivos de rechazo, para mostrar en pantalla
+         */
+        public List<String> getMotivos() { return motivos; }
+
+        public double getFilasPorSegundo() {
+            return duracionMs == 0 ? leidas : leidas * 1000.0 / duracionMs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d filas leídas, %d importadas, %d rechazadas (%d duplicadas) en %d ms (%.0f filas/s)",
+                    leidas, importadas, rechazadas, duplicadas, duracionMs, getFilasPorSegundo());
+        }
+    }
+}
@@ -28,6 +28,15 @@ public class MovimientoService {
         return movimientoDAO.guardar(movimiento);
     }
 
+    /**
+     * Crea todos los movimientos en una sola transacción. Si alguno no es válido no se guarda ninguno.
+     * @return Los movimientos con sus IDs asignados
+     */
+    public List<Movimiento> crearMovimientos(List<Movimiento> movimientos) throws SQLException {
+        ValidacionLote.validar(movimientos, this::validarMovimiento);
+        return movimientoDAO.guardarLote(movimientos);
+    }
+
     // ==================== READ ====================
 
     public Optional<Movimiento> buscarPorId(Integer id) throws SQLException {
@@ -92,6 +101,19 @@ public class MovimientoService {
         return movimientoDAO.actualizar(movimiento);
     }
 
+    /**
+     * Actualiza todos los movimientos en una sola transacción. Si alguno no es válido no se modifica ninguno.
+     */
+    public List<Movimiento> actualizarMovimientos(List<Movimiento> movimientos) throws SQLException {
+        ValidacionLote.validar(movimientos, movimiento -> {
+            validarMovimiento(movimiento);
+            if (movimiento.getId() == null) {
+                throw new IllegalArgumentException("El movimiento debe tener un ID para actualizarse");
+            }
+        });
+        return movimientoDAO.actualizarLote(movimientos);
+    }
+
     // ==================== DELETE ====================
 
     public void eliminarMovimiento(Integer id) throws SQLException {
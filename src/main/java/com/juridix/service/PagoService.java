@@ -23,6 +23,15 @@ public class PagoService {
         return pagoDAO.guardar(pago);
     }
 
+    /**
+     * Crea todos los pagos en una sola transacción. Si alguno no es válido no se guarda ninguno.
+     * @return Los pagos con sus IDs asignados
+     */
+    public List<Pago> crearPagos(List<Pago> pagos) throws SQLException {
+        ValidacionLote.validar(pagos, this::validarPago);
+        return pagoDAO.guardarLote(pagos);
+    }
+
     // ==================== READ ====================
 
     public Optional<Pago> buscarPorId(Integer id) throws SQLException {
@@ -58,6 +67,19 @@ public class PagoService {
         return pagoDAO.actualizar(pago);
     }
 
+    /**
+     * Actualiza todos los pagos en una sola transacción. Si alguno no es válido no se modifica ninguno.
+     */
+    public List<Pago> actualizarPagos(List<Pago> pagos) throws SQLException {
+        ValidacionLote.validar(pagos, pago -> {
+            validarPago(pago);
+            if (pago.getId() == null) {
+                throw new IllegalArgumentException("El pago debe tener un ID");
+            }
+        });
+        return pagoDAO.actualizarLote(pagos);
+    }
+
     // ==================== DELETE ====================
 
     public void eliminarPago(Integer id) throws SQLException {
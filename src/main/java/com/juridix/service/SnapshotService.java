@@ -0,0 +1,668 @@
+package com.juridix.service;
+
+import com.juridix.db.Database;
+import com.juridix.db.DatabaseInitializer;
+import com.juridix.db.MigradorEsquema;
+import org.sqlite.SQLiteConnection;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Snapshots periódicos de la base guardados como bloques direccionados por contenido.
+ * Cada snapshot es un manifiesto con la lista ordenada de hashes SHA-256 de sus bloques de 64 KB;
+ * un bloque que no cambió entre snapshots se guarda una sola vez. La copia de origen se obtiene
+ * con BackupService (consistente aunque la app esté escribiendo); lo que se escribe a disco y
+ * lo que ocupa cada snapshot es proporcional a lo que cambió.
+ * Antes de copiar se consulta PRAGMA data_version: si nadie confirmó cambios desde el último
+ * snapshot no se lee la base. El integrity_check se hace al restaurar, no al tomar el snapshot.
+ *
+ * Solo cubre la base: los archivos de documentos (documentos/contenido) no forman parte del
+ * snapshot. Al restaurar, las filas apuntan a blobs por hash y los que sigan en el almacén se
+ * reutilizan; los documentos subidos después del snapshot quedan huérfanos para la conciliación.
+ *
+ * Estructura en disco:
+ *   backups/snapshots/chunks/ab/abcdef...   (contenido de cada bloque)
+ *   backups/snapshots/manifiestos/20261017-153000.txt
+ */
+public class SnapshotService {
+
+    private static final String DIRECTORIO_BASE = "backups/snapshots";
+    static final int TAMANIO_CHUNK = 64 * 1024;
+
+    private static final DateTimeFormatter FORMATO_ID = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final String EXTENSION_MANIFIESTO = ".txt";
+    private static final String SEPARADOR_MANIFIESTO = "---";
+
+    // Snapshots, retención y restauración se excluyen entre sí (la retención borra bloques)
+    private static final Object BLOQUEO = new Object();
+
+    private final Path directorioChunks;
+    private final Path directorioManifiestos;
+    private final BackupService backupService;
+
+    private ScheduledExecutorService programador;
+
+    // Conexión propia para PRAGMA data_version, que cambia cuando otra conexión confirma algo.
+    // El valor solo tiene sentido para esa conexión, así que se guarda en memoria: el primer
+    // snapshot después de iniciar la app siempre lee la base
+    private Connection vigilancia;
+    private long versionUltimoSnapshot = -1;
+    private Snapshot ultimoSnapshot;
+
+    public SnapshotService() {
+        this(Paths.get(DIRECTORIO_BASE), new BackupService());
+    }
+
+    public SnapshotService(Path directorio, BackupService backupService) {
+        this.directorioChunks = directorio.resolve("chunks");
+        this.directorioManifiestos = directorio.resolve("manifiestos");
+        this.backupService = backupService;
+    }
+
+    // ==================== PROGRAMACIÓN ====================
+
+    /**
+     * Toma un snapshot cada "intervalo" y después aplica la política de retención.
+     * Reemplaza una programación anterior si la había.
+     */
+    public synchronized void iniciarProgramacion(Duration intervalo, PoliticaRetencion politica) {
+        if (intervalo == null || intervalo.isNegative() || intervalo.isZero()) {
+            throw new IllegalArgumentException("El intervalo debe ser positivo");
+        }
+        if (politica == null) {
+            throw new IllegalArgumentException("Debe indicar una política de retención");
+        }
+
+        detenerProgramacion();
+
+        programador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "juridix-snapshots");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        programador.scheduleWithFixedDelay(() -> ejecutarProgramado(politica),
+                intervalo.toMillis(), intervalo.toMillis(), TimeUnit.MILLISECONDS);
+
+        System.out.println("✅ Snapshots programados cada " + intervalo.toMinutes() + " min (" + politica + ")");
+    }
+
+    /**
+     * Detiene la programación; espera a que termine un snapshot en curso
+     */
+    public synchronized void detenerProgramacion() {
+        if (programador == null) {
+            return;
+        }
+        programador.shutdown();
+        try {
+            if (!programador.awaitTermination(30, TimeUnit.SECONDS)) {
+                System.err.println("⚠️ El snapshot en curso no terminó a tiempo");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        programador = null;
+
+        synchronized (BLOQUEO) {
+            cerrarVigilancia();
+        }
+    }
+
+    private void ejecutarProgramado(PoliticaRetencion politica) {
+        // Una excepción no capturada cancelaría las ejecuciones siguientes
+        try {
+            crearSnapshot();
+            aplicarRetencion(politica, LocalDateTime.now());
+        } catch (Exception e) {
+            System.err.println("⚠️ Error en snapshot programado: " + e.getMessage());
+        }
+    }
+
+    // ==================== SNAPSHOTS ====================
+
+    /**
+     * Toma un snapshot de la base en uso. Si nada cambió desde el último no crea uno nuevo.
+     * @return Resumen con los bloques nuevos que hubo que guardar
+     */
+    public ResultadoSnapshot crearSnapshot() throws SQLException, IOException {
+        synchronized (BLOQUEO) {
+            long inicio = System.nanoTime();
+
+            // Se lee antes de copiar: un cambio durante la copia hace que el próximo también copie
+            long version = versionDatos();
+            if (version >= 0 && version == versionUltimoSnapshot && ultimoSnapshot != null
+                    && Files.exists(rutaManifiesto(ultimoSnapshot.getId()))) {
+                System.out.println("ℹ️ Sin cambios desde el snapshot " + ultimoSnapshot.getId());
+                return new ResultadoSnapshot(ultimoSnapshot, 0, 0, false, (System.nanoTime() - inicio) / 1_000_000);
+            }
+
+            Files.createDirectories(directorioChunks);
+            Files.createDirectories(directorioManifiestos);
+
+            Path temporal = Files.createTempFile(directorioManifiestos.getParent(), ".snapshot_", ".db");
+            try {
+                backupService.copiarBase(temporal, (etapa, fraccion) -> { });
+                backupService.dejarAutocontenida(temporal);
+
+                List<String> chunks = new ArrayList<>();
+                int nuevos = 0;
+                long bytesNuevos = 0;
+
+                try (InputStream in = Files.newInputStream(temporal)) {
+                    byte[] bloque;
+                    while ((bloque = in.readNBytes(TAMANIO_CHUNK)).length > 0) {
+                        String hash = sha256(bloque);
+                        chunks.add(hash);
+                        if (guardarChunk(hash, bloque)) {
+                            nuevos++;
+                            bytesNuevos += bloque.length;
+                        }
+                    }
+                }
+
+                long tamanio = Files.size(temporal);
+                List<Snapshot> existentes = listarSnapshots();
+                Snapshot ultimo = existentes.isEmpty() ? null : existentes.get(0);
+
+                if (ultimo != null && ultimo.getTamanioBytes() == tamanio && ultimo.getChunks().equals(chunks)) {
+                    recordar(version, ultimo);
+                    System.out.println("ℹ️ Sin cambios desde el snapshot " + ultimo.getId());
+                    return new ResultadoSnapshot(ultimo, 0, 0, false, (System.nanoTime() - inicio) / 1_000_000);
+                }
+
+                LocalDateTime fecha = LocalDateTime.now().withNano(0);
+                Snapshot snapshot = new Snapshot(nuevoId(fecha), fecha, tamanio, chunks);
+                escribirManifiesto(snapshot);
+                recordar(version, snapshot);
+
+                ResultadoSnapshot resultado = new ResultadoSnapshot(snapshot, nuevos, bytesNuevos, true,
+                        (System.nanoTime() - inicio) / 1_000_000);
+                System.out.println("✅ Snapshot creado: " + resultado);
+                return resultado;
+
+            } finally {
+                Files.deleteIfExists(temporal);
+            }
+        }
+    }
+
+    /**
+     * PRAGMA data_version de la conexión de vigilancia; -1 si no se pudo leer (se copia igual)
+     */
+    private long versionDatos() {
+        try {
+            if (vigilancia == null || vigilancia.isClosed()) {
+                vigilancia = Database.abrirConexionDirecta();
+            }
+            try (Statement stmt = vigilancia.createStatement();
+                 ResultSet rs = stmt.executeQuery("PRAGMA data_version")) {
+                return rs.next() ? rs.getLong(1) : -1;
+            }
+        } catch (SQLException e) {
+            System.err.println("⚠️ No se pudo consultar data_version: " + e.getMessage());
+            cerrarVigilancia();
+            return -1;
+        }
+    }
+
+    private void recordar(long version, Snapshot snapshot) {
+        versionUltimoSnapshot = version;
+        ultimoSnapshot = snapshot;
+    }
+
+    private void cerrarVigilancia() {
+        if (vigilancia != null) {
+            try {
+                vigilancia.close();
+            } catch (SQLException e) {
+                System.err.println("⚠️ Error al cerrar la conexión de vigilancia: " + e.getMessage());
+            }
+            vigilancia = null;
+        }
+        versionUltimoSnapshot = -1;
+    }
+
+    /**
+     * Lista los snapshots guardados, del más reciente al más antiguo
+     */
+    public List<Snapshot> listarSnapshots() throws IOException {
+        List<Snapshot> snapshots = new ArrayList<>();
+        if (!Files.isDirectory(directorioManifiestos)) {
+            return snapshots;
+        }
+
+        try (Stream<Path> archivos = Files.list(directorioManifiestos)) {
+            for (Path archivo : (Iterable<Path>) archivos::iterator) {
+                String nombre = archivo.getFileName().toString();
+                if (nombre.endsWith(EXTENSION_MANIFIESTO)) {
+                    snapshots.add(leerManifiesto(archivo));
+                }
+            }
+        }
+
+        snapshots.sort((a, b) -> b.getId().compareTo(a.getId()));
+        return snapshots;
+    }
+
+    // ==================== RETENCIÓN ====================
+
+    /**
+     * Conserva el snapshot más reciente de cada hora, día y semana dentro de los límites de la
+     * política (y siempre el último); borra los demás manifiestos y los bloques que quedaron sin uso.
+     */
+    public ResultadoRetencion aplicarRetencion(PoliticaRetencion politica, LocalDateTime ahora) throws IOException {
+        if (politica == null || ahora == null) {
+            throw new IllegalArgumentException("Debe indicar la política y la fecha de referencia");
+        }
+
+        synchronized (BLOQUEO) {
+            List<Snapshot> snapshots = listarSnapshots();
+            Set<String> conservar = new HashSet<>();
+            Set<LocalDateTime> horasCubiertas = new HashSet<>();
+            Set<LocalDate> diasCubiertos = new HashSet<>();
+            Set<Integer> semanasCubiertas = new HashSet<>();
+
+            if (!snapshots.isEmpty()) {
+                conservar.add(snapshots.get(0).getId());
+            }
+
+            // De más reciente a más antiguo: el primero de cada período es el que se conserva
+            for (Snapshot s : snapshots) {
+                LocalDateTime fecha = s.getFecha();
+
+                if (fecha.isAfter(ahora.minusHours(politica.getHoras()))
+                        && horasCubiertas.add(fecha.truncatedTo(ChronoUnit.HOURS))) {
+                    conservar.add(s.getId());
+                }
+                if (fecha.isAfter(ahora.minusDays(politica.getDias()))
+                        && diasCubiertos.add(fecha.toLocalDate())) {
+                    conservar.add(s.getId());
+                }
+                int semana = fecha.get(IsoFields.WEEK_BASED_YEAR) * 100 + fecha.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+                if (fecha.isAfter(ahora.minusWeeks(politica.getSemanas()))
+                        && semanasCubiertas.add(semana)) {
+                    conservar.add(s.getId());
+                }
+            }
+
+            // Borrar manifiestos fuera de la política y juntar los bloques que siguen en uso
+            Set<String> enUso = new HashSet<>();
+            int eliminados = 0;
+            for (Snapshot s : snapshots) {
+                if (conservar.contains(s.getId())) {
+                    enUso.addAll(s.getChunks());
+                } else {
+                    Files.deleteIfExists(rutaManifiesto(s.getId()));
+                    eliminados++;
+                }
+            }
+
+            int chunksEliminados = 0;
+            long bytesLiberados = 0;
+            if (Files.isDirectory(directorioChunks)) {
+                List<Path> huerfanos = new ArrayList<>();
+                try (Stream<Path> archivos = Files.walk(directorioChunks)) {
+                    archivos.filter(Files::isRegularFile)
+                            .filter(p -> !enUso.contains(p.getFileName().toString()))
+                            .forEach(huerfanos::add);
+                }
+                for (Path huerfano : huerfanos) {
+                    bytesLiberados += Files.size(huerfano);
+                    Files.delete(huerfano);
+                    chunksEliminados++;
+                }
+            }
+
+            ResultadoRetencion resultado = new ResultadoRetencion(conservar.size(), eliminados,
+                    chunksEliminados, bytesLiberados);
+            if (eliminados > 0 || chunksEliminados > 0) {
+                System.out.println("🔧 Retención de snapshots: " + resultado);
+            }
+            return resultado;
+        }
+    }
+
+    // ==================== RESTAURACIÓN ====================
+
+    /**
+     * Reconstruye un snapshot como archivo .db independiente (verificando cada bloque)
+     */
+    public void restaurarEnArchivo(String id, Path destino) throws SQLException, IOException {
+        if (destino == null) {
+            throw new IllegalArgumentException("Debe indicar el archivo de destino");
+        }
+
+        synchronized (BLOQUEO) {
+            Path directorio = destino.toAbsolutePath().getParent();
+            Files.createDirectories(directorio);
+            Path temporal = Files.createTempFile(directorio, ".juridix_restore_", ".db");
+            try {
+                reconstruir(obtenerSnapshot(id), temporal);
+                Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+                System.out.println("✅ Snapshot " + id + " restaurado en " + destino.toAbsolutePath());
+            } finally {
+                Files.deleteIfExists(temporal);
+            }
+        }
+    }
+
+    /**
+     * Vuelve la base en uso al estado de un snapshot. Antes toma un snapshot del estado actual
+     * para poder deshacer la restauración. Las demás conexiones ven el cambio completo o nada.
+     */
+    public void restaurarBaseActiva(String id) throws SQLException, IOException {
+        synchronized (BLOQUEO) {
+            Snapshot snapshot = obtenerSnapshot(id);
+            crearSnapshot();
+
+            Path temporal = Files.createTempFile(directorioManifiestos.getParent(), ".restore_", ".db");
+            try {
+                reconstruir(snapshot, temporal);
+
+                try (Connection conn = Database.getConnection()) {
+                    SQLiteConnection sqlite = conn.unwrap(SQLiteConnection.class);
+                    int rc = sqlite.getDatabase().restore("main", temporal.toAbsolutePath().toString(), null);
+                    if (rc != 0) {
+                        throw new SQLException("La restauración no se completó (código SQLite " + rc + ")");
+                    }
+
+                    // El snapshot puede ser de antes de las últimas migraciones: sin esto el código
+                    // en ejecución fallaría por columnas faltantes hasta reiniciar la app
+                    MigradorEsquema.ResultadoMigracion migracion = DatabaseInitializer.migrar(conn);
+                    if (migracion.huboCambios()) {
+                        System.out.println("✅ " + migracion);
+                    }
+                } catch (SQLException e) {
+                    System.err.println("❌ Error al restaurar la base de datos: " + e.getMessage());
+                    throw e;
+                }
+
+                System.out.println("✅ Base de datos restaurada al snapshot " + id);
+            } finally {
+                Files.deleteIfExists(temporal);
+            }
+        }
+    }
+
+    private void reconstruir(Snapshot snapshot, Path destino) throws SQLException, IOException {
+        try (OutputStream out = Files.newOutputStream(destino)) {
+            for (String hash : snapshot.getChunks()) {
+                byte[] bloque = Files.readAllBytes(rutaChunk(hash));
+                if (!hash.equals(sha256(bloque))) {
+                    throw new IOException("Bloque dañado en el snapshot " + snapshot.getId() + ": " + hash);
+                }
+                out.write(bloque);
+            }
+        }
+
+        if (Files.size(destino) != snapshot.getTamanioBytes()) {
+            throw new IOException("Tamaño inesperado al reconstruir el snapshot " + snapshot.getId());
+        }
+        backupService.verificar(destino, (etapa, fraccion) -> { });
+    }
+
+    private Snapshot obtenerSnapshot(String id) throws IOException {
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar el snapshot");
+        }
+        Path manifiesto = rutaManifiesto(id);
+        if (!Files.exists(manifiesto)) {
+            throw new IllegalArgumentException("No existe el snapshot " + id);
+        }
+        return leerManifiesto(manifiesto);
+    }
+
+    // ==================== ALMACENAMIENTO ====================
+
+    // Devuelve true si el bloque no existía y se escribió
+    private boolean guardarChunk(String hash, byte[] bloque) throws IOException {
+        Path ruta = rutaChunk(hash);
+        if (Files.exists(ruta)) {
+            return false;
+        }
+        Files.createDirectories(ruta.getParent());
+        Path temporal = Files.createTempFile(ruta.getParent(), ".chunk_", ".tmp");
+        try {
+            Files.write(temporal, bloque);
+            moverAtomico(temporal, ruta);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+        return true;
+    }
+
+    private void escribirManifiesto(Snapshot snapshot) throws IOException {
+        Path ruta = rutaManifiesto(snapshot.getId());
+        Path temporal = Files.createTempFile(directorioManifiestos, ".manifiesto_", ".tmp");
+        try {
+            try (BufferedWriter w = Files.newBufferedWriter(temporal)) {
+                w.write("id=" + snapshot.getId());
+                w.newLine();
+                w.write("fecha=" + snapshot.getFecha());
+                w.newLine();
+                w.write("tamanio=" + snapshot.getTamanioBytes());
+                w.newLine();
+                w.write("tamanioChunk=" + TAMANIO_CHUNK);
+                w.newLine();
+                w.write(SEPARADOR_MANIFIESTO);
+                w.newLine();
+                for (String hash : snapshot.getChunks()) {
+                    w.write(hash);
+                    w.newLine();
+                }
+            }
+            moverAtomico(temporal, ruta);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    private Snapshot leerManifiesto(Path archivo) throws IOException {
+        String id = null;
+        LocalDateTime fecha = null;
+        long tamanio = -1;
+        List<String> chunks = new ArrayList<>();
+
+        try (BufferedReader r = Files.newBufferedReader(archivo)) {
+            String linea;
+            boolean enChunks = false;
+            while ((linea = r.readLine()) != null) {
+                if (linea.isBlank()) {
+                    continue;
+                }
+                if (enChunks) {
+                    chunks.add(linea.trim());
+                } else if (linea.equals(SEPARADOR_MANIFIESTO)) {
+                    enChunks = true;
+                } else if (linea.startsWith("id=")) {
+                    id = linea.substring(3);
+                } else if (linea.startsWith("fecha=")) {
+                    fecha = LocalDateTime.parse(linea.substring(6));
+                } else if (linea.startsWith("tamanio=")) {
+                    tamanio = Long.parseLong(linea.substring(8));
+                }
+            }
+        }
+
+        if (id == null || fecha == null || tamanio < 0) {
+            throw new IOException("Manifiesto inválido: " + archivo.getFileName());
+        }
+        return new Snapshot(id, fecha, tamanio, chunks);
+    }
+
+    private String nuevoId(LocalDateTime fecha) {
+        String base = fecha.format(FORMATO_ID);
+        String id = base;
+        for (int i = 1; Files.exists(rutaManifiesto(id)); i++) {
+            id = base + "-" + i;
+        }
+        return id;
+    }
+
+    private Path rutaChunk(String hash) {
+        return directorioChunks.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private Path rutaManifiesto(String id) {
+        return directorioManifiestos.resolve(id + EXTENSION_MANIFIESTO);
+    }
+
+    private static void moverAtomico(Path origen, Path destino) throws IOException {
+        try {
+            Files.move(origen, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(origen, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String sha256(byte[] datos) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(datos));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    // ==================== CLASES INTERNAS ====================
+
+    public static class Snapshot {
+        private final String id;
+        private final LocalDateTime fecha;
+        private final long tamanioBytes;
+        private final List<String> chunks;
+
+        public Snapshot(String id, LocalDateTime fecha, long tamanioBytes, List<String> chunks) {
+            this.id = id;
+            this.fecha = fecha;
+            this.tamanioBytes = tamanioBytes;
+            this.chunks = List.copyOf(chunks);
+        }
+
+        public String getId() { return id; }
+        public LocalDateTime getFecha() { return fecha; }
+        public long getTamanioBytes() { return tamanioBytes; }
+        public List<String> getChunks() { return chunks; }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%.1f MB)", fecha.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")),
+                    tamanioBytes / (1024.0 * 1024.0));
+        }
+    }
+
+    public static class PoliticaRetencion {
+        private final int horas;
+        private final int dias;
+        private final int semanas;
+
+        /**
+         * @param horas Horas hacia atrás en las que se conserva un snapshot por hora
+         * @param dias Días hacia atrás en los que se conserva uno por día
+         * @param semanas Semanas hacia atrás en las que se conserva uno por semana
+         */
+        public PoliticaRetencion(int horas, int dias, int semanas) {
+            if (horas < 0 || dias < 0 || semanas < 0) {
+                throw new IllegalArgumentException("Los períodos de retención no pueden ser negativos");
+            }
+            this.horas = horas;
+            this.dias = dias;
+            this.semanas = semanas;
+        }
+
+        public static PoliticaRetencion predeterminada() {
+            return new PoliticaRetencion(24, 7, 4);
+        }
+
+        public int getHoras() { return horas; }
+        public int getDias() { return dias; }
+        public int getSemanas() { return semanas; }
+
+        @Override
+        public String toString() {
+            return String.format("retención: %d h, %d días, %d semanas", horas, dias, semanas);
+        }
+    }
+
+    public static class ResultadoSnapshot {
+        private final Snapshot snapshot;
+        private final int chunksNuevos;
+        private final long bytesNuevos;
+        private final boolean creado;
+        private final long duracionMs;
+
+        public ResultadoSnapshot(Snapshot snapshot, int chunksNuevos, long bytesNuevos, boolean creado, long duracionMs) {
+            this.snapshot = snapshot;
+            this.chunksNuevos = chunksNuevos;
+            this.bytesNuevos = bytesNuevos;
+            this.creado = creado;
+            this.duracionMs = duracionMs;
+        }
+
+        public Snapshot getSnapshot() { return snapshot; }
+        public int getChunksNuevos() { return chunksNuevos; }
+        public long getBytesNuevos() { return bytesNuevos; }
+        public boolean isCreado() { return creado; }
+        public long getDuracionMs() { return duracionMs; }
+
+        @Override
+        public String toString() {
+            return String.format("%s | %d de %d bloques nuevos (%.1f KB) | %d ms", snapshot.getId(),
+                    chunksNuevos, snapshot.getChunks().size(), bytesNuevos / 1024.0, duracionMs);
+        }
+    }
+
+    public static class ResultadoRetencion {
+        private final int conservados;
+        private final int eliminados;
+        private final int chunksEliminados;
+        private final long bytesLiberados;
+
+        public ResultadoRetencion(int conservados, int eliminados, int chunksEliminados, long bytesLiberados) {
+            this.conservados = conservados;
+            this.eliminados = eliminados;
+            this.chunksEliminados = chunksEliminados;
+            this.bytesLiberados = bytesLiberados;
+        }
+
+        public int getConservados() { return conservados; }
+        public int getEliminados() { return eliminados; }
+        public int getChunksEliminados() { return chunksEliminados; }
+        public long getBytesLiberados() { return bytesLiberados; }
+
+        @Override
+        public String toString() {
+            return String.format("%d conservados, %d eliminados, %d bloques liberados (%.1f KB)",
+                    conservados, eliminados, chunksEliminados, bytesLiberados / 1024.0);
+        }
+    }
+}
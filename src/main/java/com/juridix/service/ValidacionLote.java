@@ -0,0 +1,49 @@
+package com.juridix.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Validación de un lote completo antes de tocar la base: junta los errores de todos
+ * los elementos (con su posición) en lugar de cortar en el primero.
+ */
+final class ValidacionLote {
+
+    private static final int MAXIMO_ERRORES_INFORMADOS = 10;
+
+    private ValidacionLote() {
+        // Clase utilitaria
+    }
+
+    /**
+     * @param validador Validación individual del servicio (lanza IllegalArgumentException)
+     * @throws IllegalArgumentException Si la lista es nula o algún elemento no es válido
+     */
+    static <T> void validar(List<T> elementos, Consumer<T> validador) {
+        if (elementos == null) {
+            throw new IllegalArgumentException("El lote no puede ser nulo");
+        }
+
+        List<String> errores = new ArrayList<>();
+        for (int i = 0; i < elementos.size(); i++) {
+            try {
+                validador.accept(elementos.get(i));
+            } catch (IllegalArgumentException e) {
+                errores.add("Elemento " + (i + 1) + ": " + e.getMessage());
+            } catch (RuntimeException e) {
+                // Un validador que falla de otra forma (por ejemplo un campo nulo) también se informa con su posición
+                errores.add("Elemento " + (i + 1) + ": " + e);
+            }
+        }
+
+        if (!errores.isEmpty()) {
+            StringBuilder mensaje = new StringBuilder("El lote tiene " + errores.size() + " elemento(s) inválido(s):");
+            errores.stream().limit(MAXIMO_ERRORES_INFORMADOS).forEach(e -> mensaje.append("\n").append(e));
+            if (errores.size() > MAXIMO_ERRORES_INFORMADOS) {
+                mensaje.append("\n... y ").append(errores.size() - MAXIMO_ERRORES_INFORMADOS).append(" más");
+            }
+            throw new IllegalArgumentException(mensaje.toString());
+        }
+    }
+}
@@ -0,0 +1,442 @@
+package com.juridix.service;
+
+import com.juridix.model.DocumentoCliente;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Vistas previas de documentos: miniaturas de imágenes y el comienzo de los .txt.
+ * Se generan la primera vez que se piden, en un grupo acotado de hilos, y se guardan en disco
+ * con el hash del contenido como nombre (un mismo archivo subido a varios clientes se procesa
+ * una vez). La caché tiene un tope de tamaño y descarta primero lo usado hace más tiempo.
+ *
+ * Los documentos anteriores al almacén por contenido no tienen hash y no tienen vista previa.
+ */
+public class VistaPreviaService {
+
+    static final String DIRECTORIO_PREDETERMINADO = "documentos/vistas_previas";
+    static final long TAMANIO_MAXIMO_PREDETERMINADO = 50L * 1024 * 1024;
+
+    private static final int LADO_MINIATURA = 160;
+    private static final int MAXIMO_CARACTERES = 1500;
+    private static final int MAXIMO_LINEAS = 30;
+    private static final int HILOS = 2;
+    private static final int MAXIMO_EN_MEMORIA = 256;
+    // La fecha de uso en disco solo ordena la caché al reiniciar: no hace falta más precisión
+    private static final long INTERVALO_TOQUE_MS = 60_000;
+    private static final String PREFIJO_TEMPORAL = ".generando_";
+
+    private static final Set<String> EXTENSIONES_IMAGEN = Set.of("jpg", "jpeg", "png", "gif", "bmp");
+    private static final Set<String> EXTENSIONES_TEXTO = Set.of("txt");
+
+    public enum Tipo { IMAGEN, TEXTO, SIN_VISTA }
+
+    private final Path directorio;
+    private final long tamanioMaximo;
+    private final AlmacenDocumentos almacen;
+    private final ExecutorService generadores;
+
+    // Índice de la caché en orden de acceso (el primero es el menos usado): nombre -> bytes.
+    // Se arma desde disco la primera vez, ordenado por fecha de modificación (que se toca en cada uso)
+    private final LinkedHashMap<String, Long> indice = new LinkedHashMap<>(64, 0.75f, true);
+    private long tamanioTotal;
+    private boolean indiceCargado;
+
+    // Vistas ya leídas de disco, para responder sin E/S desde el hilo de la interfaz.
+    // Solo tiene entradas que están en el índice; se protege con el mismo lock
+    private final LinkedHashMap<String, EnMemoria> enMemoria = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, EnMemoria> masVieja) {
+            return size() > MAXIMO_EN_MEMORIA;
+        }
+    };
+
+    // Una sola generación por vista previa aunque varias celdas la pidan a la vez
+    private final Map<String, CompletableFuture<VistaPrevia>> enCurso = new ConcurrentHashMap<>();
+
+    public VistaPreviaService() {
+        this(Paths.get(DIRECTORIO_PREDETERMINADO), TAMANIO_MAXIMO_PREDETERMINADO, new AlmacenDocumentos());
+    }
+
+    public VistaPreviaService(Path directorio, long tamanioMaximo, AlmacenDocumentos almacen) {
+        if (tamanioMaximo <= 0) {
+            throw new IllegalArgumentException("El tamaño máximo de la caché debe ser positivo");
+        }
+        this.directorio = directorio;
+        this.tamanioMaximo = tamanioMaximo;
+        this.almacen = almacen;
+
+        AtomicInteger numero = new AtomicInteger();
+        this.generadores = Executors.newFixedThreadPool(HILOS, r -> {
+            Thread hilo = new Thread(r, "juridix-vistas-previas-" + numero.getAndIncrement());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    // ==================== CONSULTA ====================
+
+    /**
+     * Vista previa del documento. Si ya se leyó antes el resultado viene completo y no se toca el
+     * disco (se llama desde el hilo de la interfaz); si no, se lee de la caché en disco o se genera
+     * en segundo plano. Nunca falla: ante cualquier error se completa con una vista SIN_VISTA.
+     */
+    public CompletableFuture<VistaPrevia> obtener(DocumentoCliente documento) {
+        Tipo tipo = tipoPara(documento.getExtension());
+        String hash = documento.getHashContenido();
+        if (hash == null || tipo == Tipo.SIN_VISTA) {
+            return CompletableFuture.completedFuture(VistaPrevia.SIN_VISTA);
+        }
+
+        String nombre = hash + (tipo == Tipo.IMAGEN ? ".png" : ".txt");
+
+        EnMemoria lista;
+        boolean tocarEnDisco = false;
+        synchronized (indice) {
+            lista = enMemoria.get(nombre);
+            if (lista != null) {
+                // Orden LRU en memoria en cada uso; en disco como mucho una vez por minuto, porque
+                // las celdas piden la vista en cada scroll y no deben llenar la cola de generadores
+                indice.get(nombre);
+                long ahora = System.currentTimeMillis();
+                if (ahora - lista.ultimoToque >= INTERVALO_TOQUE_MS) {
+                    lista.ultimoToque = ahora;
+                    tocarEnDisco = true;
+                }
+            }
+        }
+        if (lista != null) {
+            if (tocarEnDisco) {
+                generadores.execute(() -> tocar(nombre));
+            }
+            return CompletableFuture.completedFuture(lista.vista);
+        }
+
+        CompletableFuture<VistaPrevia> nueva = new CompletableFuture<>();
+        CompletableFuture<VistaPrevia> existente = enCurso.putIfAbsent(nombre, nueva);
+        if (existente != null) {
+            return existente;
+        }
+
+        generadores.execute(() -> {
+            try {
+                VistaPrevia vista = leerDeCache(tipo, nombre);
+                if (vista == null) {
+                    vista = generar(documento, tipo, nombre);
+                }
+                nueva.complete(vista);
+            } catch (Exception e) {
+                System.err.println("⚠️ No se pudo generar la vista previa de "
+                        + documento.getNombreOriginal() + ": " + e.getMessage());
+                nueva.complete(VistaPrevia.SIN_VISTA);
+            } finally {
+                enCurso.remove(nombre, nueva);
+            }
+        });
+        return nueva;
+    }
+
+    /**
+     * Qué vista previa corresponde a una extensión
+     */
+    public static Tipo tipoPara(String extension) {
+        String ext = extension == null ? "" : extension.toLowerCase(Locale.ROOT);
+        if (EXTENSIONES_IMAGEN.contains(ext)) {
+            return Tipo.IMAGEN;
+        }
+        if (EXTENSIONES_TEXTO.contains(ext)) {
+            return Tipo.TEXTO;
+        }
+        return Tipo.SIN_VISTA;
+    }
+
+    public long getTamanioCache() {
+        synchronized (indice) {
+            cargarIndice();
+            return tamanioTotal;
+        }
+    }
+
+    // ==================== GENERACIÓN ====================
+
+    private VistaPrevia generar(DocumentoCliente documento, Tipo tipo, String nombre) throws IOException {
+        Files.createDirectories(directorio);
+        Path temporal = Files.createTempFile(directorio, PREFIJO_TEMPORAL, ".tmp");
+
+        try {
+            try (InputStream in = almacen.abrir(documento.getHashContenido(), documento.getCompresion())) {
+                if (tipo == Tipo.IMAGEN) {
+                    BufferedImage miniatura = miniatura(in);
+                    if (miniatura == null) {
+                        return VistaPrevia.SIN_VISTA;
+                    }
+                    ImageIO.write(miniatura, "png", temporal.toFile());
+                } else {
+                    Files.writeString(temporal, fragmento(in), StandardCharsets.UTF_8);
+                }
+            }
+
+            Path archivo = directorio.resolve(nombre);
+            try {
+                Files.move(temporal, archivo, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            VistaPrevia vista = leer(tipo, archivo);
+            registrar(nombre, Files.size(archivo), vista);
+            return vista;
+
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    /**
+     * Lee la imagen ya reducida: el submuestreo del lector evita decodificar una foto de
+     * varios megapíxeles completa solo para achicarla a LADO_MINIATURA
+     * @return null si el formato no se reconoce
+     */
+    private static BufferedImage miniatura(InputStream in) throws IOException {
+        try (ImageInputStream entrada = new MemoryCacheImageInputStream(in)) {
+            Iterator<ImageReader> lectores = ImageIO.getImageReaders(entrada);
+            if (!lectores.hasNext()) {
+                return null;
+            }
+
+            ImageReader lector = lectores.next();
+            try {
+                lector.setInput(entrada, true, true);
+                int lado = Math.max(lector.getWidth(0), lector.getHeight(0));
+                int paso = Math.max(1, lado / (LADO_MINIATURA * 2));
+
+                ImageReadParam parametros = lector.getDefaultReadParam();
+                parametros.setSourceSubsampling(paso, paso, 0, 0);
+                return escalar(lector.read(0, parametros));
+            } finally {
+                lector.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage escalar(BufferedImage imagen) {
+        double factor = Math.min(1.0, (double) LADO_MINIATURA / Math.max(imagen.getWidth(), imagen.getHeight()));
+        int ancho = Math.max(1, (int) Math.round(imagen.getWidth() * factor));
+        int alto = Math.max(1, (int) Math.round(imagen.getHeight() * factor));
+
+        BufferedImage reducida = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = reducida.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(imagen, 0, 0, ancho, alto, null);
+        } finally {
+            g.dispose();
+        }
+        return reducida;
+    }
+
+    // Primeras líneas del texto; los bytes que no son UTF-8 válido se reemplazan
+    private static String fragmento(InputStream in) throws IOException {
+        StringBuilder texto = new StringBuilder();
+        BufferedReader lector = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        String linea;
+        int lineas = 0;
+        while (lineas < MAXIMO_LINEAS && texto.length() < MAXIMO_CARACTERES && (linea = lector.readLine()) != null) {
+            if (lineas == 0 && !linea.isEmpty() && linea.charAt(0) == '\uFEFF') {
+                linea = linea.substring(1);
+            }
+            texto.append(linea).append('\n');
+            lineas++;
+        }
+
+        if (texto.length() > MAXIMO_CARACTERES) {
+            texto.setLength(MAXIMO_CARACTERES);
+        }
+        return texto.toString();
+    }
+
+    private static VistaPrevia leer(Tipo tipo, Path archivo) throws IOException {
+        if (tipo == Tipo.IMAGEN) {
+            if (!Files.exists(archivo)) {
+                throw new IOException("No existe " + archivo);
+            }
+            return new VistaPrevia(Tipo.IMAGEN, archivo, null);
+        }
+        return new VistaPrevia(Tipo.TEXTO, null, Files.readString(archivo, StandardCharsets.UTF_8));
+    }
+
+    // ==================== CACHÉ LRU ====================
+
+    // Vista guardada en disco por una corrida anterior, o null si hay que generarla
+    private VistaPrevia leerDeCache(Tipo tipo, String nombre) {
+        if (!tocar(nombre)) {
+            return null;
+        }
+        try {
+            VistaPrevia vista = leer(tipo, directorio.resolve(nombre));
+            synchronized (indice) {
+                if (indice.containsKey(nombre)) {
+                    enMemoria.put(nombre, new EnMemoria(vista));
+                }
+            }
+            return vista;
+        } catch (IOException e) {
+            // Borrada por fuera de la app: se vuelve a generar
+            quitar(nombre);
+            return null;
+        }
+    }
+
+    // Marca la entrada como recién usada; false si no está en caché
+    private boolean tocar(String nombre) {
+        synchronized (indice) {
+            cargarIndice();
+            if (indice.get(nombre) == null) {
+                return false;
+            }
+            try {
+                Files.setLastModifiedTime(directorio.resolve(nombre), FileTime.fromMillis(System.currentTimeMillis()));
+                return true;
+            } catch (IOException e) {
+                quitar(nombre);
+                return false;
+            }
+        }
+    }
+
+    private void registrar(String nombre, long tamanio, VistaPrevia vista) {
+        synchronized (indice) {
+            cargarIndice();
+            Long anterior = indice.put(nombre, tamanio);
+            tamanioTotal += tamanio - (anterior != null ? anterior : 0);
+            enMemoria.put(nombre, new EnMemoria(vista));
+            desalojar();
+        }
+    }
+
+    private void quitar(String nombre) {
+        synchronized (indice) {
+            enMemoria.remove(nombre);
+            Long tamanio = indice.remove(nombre);
+            if (tamanio != null) {
+                tamanioTotal -= tamanio;
+            }
+        }
+    }
+
+    // Borra las menos usadas hasta volver bajo el tope; siempre conserva la más reciente
+    private void desalojar() {
+        Iterator<Map.Entry<String, Long>> entradas = indice.entrySet().iterator();
+        while (tamanioTotal > tamanioMaximo && indice.size() > 1 && entradas.hasNext()) {
+            Map.Entry<String, Long> masVieja = entradas.next();
+            try {
+                Files.deleteIfExists(directorio.resolve(masVieja.getKey()));
+            } catch (IOException e) {
+                System.err.println("⚠️ No se pudo borrar la vista previa " + masVieja.getKey() + ": " + e.getMessage());
+            }
+            tamanioTotal -= masVieja.getValue();
+            enMemoria.remove(masVieja.getKey());
+            entradas.remove();
+        }
+    }
+
+    private void cargarIndice() {
+        if (indiceCargado) {
+            return;
+        }
+        indiceCargado = true;
+        if (!Files.isDirectory(directorio)) {
+            return;
+        }
+
+        List<Path> archivos = new ArrayList<>();
+        try (Stream<Path> contenido = Files.list(directorio)) {
+            contenido.filter(Files::isRegularFile)
+                    .filter(p -> !p.getFileName().toString().startsWith("."))
+                    .forEach(archivos::add);
+
+            Map<Path, Long> modificados = new LinkedHashMap<>();
+            for (Path archivo : archivos) {
+                modificados.put(archivo, Files.getLastModifiedTime(archivo).toMillis());
+            }
+            archivos.sort(Comparator.comparing(modificados::get));
+
+            for (Path archivo : archivos) {
+                long tamanio = Files.size(archivo);
+                indice.put(archivo.getFileName().toString(), tamanio);
+                tamanioTotal += tamanio;
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️ No se pudo leer la caché de vistas previas: " + e.getMessage());
+        }
+
+        desalojar();
+    }
+
+    // ==================== CLASES INTERNAS ====================
+
+    // Vista ya leída y cuándo se actualizó por última vez su fecha de uso en disco
+    private static final class EnMemoria {
+        private final VistaPrevia vista;
+        private long ultimoToque = System.currentTimeMillis();
+
+        EnMemoria(VistaPrevia vista) {
+            this.vista = vista;
+        }
+    }
+
+    /**
+     * Vista previa lista para mostrar: la ruta de una miniatura PNG o un fragmento de texto
+     */
+    public static class VistaPrevia {
+        static final VistaPrevia SIN_VISTA = new VistaPrevia(Tipo.SIN_VISTA, null, null);
+
+        private final Tipo tipo;
+        private final Path imagen;
+        private final String texto;
+
+        VistaPrevia(Tipo tipo, Path imagen, String texto) {
+            this.tipo = tipo;
+            this.imagen = imagen;
+            this.texto = texto;
+        }
+
+        public Tipo getTipo() { return tipo; }
+        public Path getImagen() { return imagen; }
+        public String getTexto() { return texto; }
+    }
+}